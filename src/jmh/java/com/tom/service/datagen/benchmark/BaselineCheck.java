@@ -0,0 +1,97 @@
+package com.tom.service.datagen.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Compares a JMH JSON result with a stored baseline and exits non-zero when
+ * a score or the allocation per operation got worse by more than the
+ * tolerance. Benchmarks missing from either side are reported but ignored.
+ *
+ * <pre>BaselineCheck &lt;baseline.json&gt; &lt;result.json&gt; [tolerance]</pre>
+ */
+public final class BaselineCheck {
+
+	private static final String ALLOCATION = "gc.alloc.rate.norm";
+
+	private BaselineCheck() {
+	}
+
+	public static void main(String[] args) throws IOException {
+		if (args.length < 2) {
+			System.err.println("usage: BaselineCheck <baseline.json> <result.json> [tolerance]");
+			System.exit(2);
+		}
+		double tolerance = args.length > 2 ? Double.parseDouble(args[2]) : 0.10;
+		Map<String, JsonNode> baseline = read(new File(args[0]));
+		Map<String, JsonNode> current = read(new File(args[1]));
+
+		List<String> regressions = new ArrayList<>();
+		for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+			JsonNode before = baseline.get(entry.getKey());
+			if (before == null) {
+				System.out.println("new       " + entry.getKey());
+				continue;
+			}
+			compareScore(entry.getKey(), before, entry.getValue(), tolerance, regressions);
+			compareAllocation(entry.getKey(), before, entry.getValue(), tolerance, regressions);
+		}
+		baseline.keySet().stream().filter(key -> !current.containsKey(key))
+				.forEach(key -> System.out.println("missing   " + key));
+
+		if (!regressions.isEmpty()) {
+			regressions.forEach(System.err::println);
+			System.exit(1);
+		}
+		System.out.println("No regressions beyond " + Math.round(tolerance * 100) + "%");
+	}
+
+	private static void compareScore(String key, JsonNode before, JsonNode after, double tolerance,
+			List<String> regressions) {
+		double old = before.path("primaryMetric").path("score").asDouble();
+		double now = after.path("primaryMetric").path("score").asDouble();
+		boolean higherIsBetter = "thrpt".equals(after.path("mode").asText());
+		double change = old == 0 ? 0 : (now - old) / old;
+		boolean regressed = higherIsBetter ? change < -tolerance : change > tolerance;
+		String line = String.format("%-9s %s: %.3f -> %.3f %s (%+.1f%%)", regressed ? "REGRESSED" : "ok", key, old,
+				now, after.path("primaryMetric").path("scoreUnit").asText(), change * 100);
+		System.out.println(line);
+		if (regressed) {
+			regressions.add(line);
+		}
+	}
+
+	private static void compareAllocation(String key, JsonNode before, JsonNode after, double tolerance,
+			List<String> regressions) {
+		JsonNode old = before.path("secondaryMetrics").path(ALLOCATION).path("score");
+		JsonNode now = after.path("secondaryMetrics").path(ALLOCATION).path("score");
+		if (old.isMissingNode() || now.isMissingNode()) {
+			return;
+		}
+		// allow a few bytes of noise for benchmarks that allocate next to nothing
+		if (now.asDouble() > old.asDouble() * (1 + tolerance) + 16) {
+			regressions.add(String.format("REGRESSED %s: %.1f -> %.1f B/op allocated", key, old.asDouble(),
+					now.asDouble()));
+		}
+	}
+
+	private static Map<String, JsonNode> read(File file) throws IOException {
+		Map<String, JsonNode> results = new TreeMap<>();
+		for (JsonNode result : new ObjectMapper().readTree(file)) {
+			Map<String, String> params = new HashMap<>();
+			result.path("params").fields().forEachRemaining(param -> params.put(param.getKey(),
+					param.getValue().asText()));
+			results.put(result.path("benchmark").asText() + new TreeMap<>(params), result);
+		}
+		return results;
+	}
+
+}
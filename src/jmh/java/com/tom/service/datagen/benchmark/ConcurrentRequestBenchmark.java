@@ -0,0 +1,138 @@
+package com.tom.service.datagen.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.tom.service.datagen.common.GenerateData;
+import com.tom.service.datagen.encoder.RowLayout;
+import com.tom.service.datagen.engine.Chunk;
+import com.tom.service.datagen.engine.GenerationEngine;
+import com.tom.service.datagen.engine.GenerationJob;
+import com.tom.service.datagen.format.DatasetWriter;
+import com.tom.service.datagen.format.DatasetWriters;
+import com.tom.service.datagen.model.Employee;
+
+/**
+ * Many small streaming requests at once, each blocked on its client for
+ * {@code clientMillis} after every batch, as slow readers block the thread
+ * writing a response. {@code POOL} is the async executor the service ran
+ * response bodies on before virtual threads (8 threads, unbounded queue),
+ * {@code VIRTUAL} one virtual thread per request. One operation serves all
+ * {@code requests}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class ConcurrentRequestBenchmark {
+
+	private static final int ROWS = 200;
+	private static final int BATCH_SIZE = 50;
+
+	public enum Threads {
+		POOL, VIRTUAL
+	}
+
+	@Param({ "POOL", "VIRTUAL" })
+	private Threads threads;
+
+	@Param({ "64", "256" })
+	private int requests;
+
+	@Param({ "10" })
+	private long clientMillis;
+
+	private GenerateData data;
+	private GenerationEngine engine;
+	private DatasetWriters writers;
+	private ExecutorService executor;
+
+	@Setup
+	public void setUp() {
+		data = Fixtures.generateData();
+		engine = new GenerationEngine(0);
+		writers = Fixtures.datasetWriters();
+		executor = threads == Threads.POOL
+				? new ThreadPoolExecutor(8, 8, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>())
+				: Executors.newVirtualThreadPerTaskExecutor();
+	}
+
+	@TearDown
+	public void tearDown() {
+		executor.shutdownNow();
+		engine.shutdown();
+	}
+
+	@Benchmark
+	public void serveRequests() throws InterruptedException, ExecutionException {
+		List<Future<?>> responses = new ArrayList<>(requests);
+		for (int i = 0; i < requests; i++) {
+			long seed = i;
+			responses.add(executor.submit(() -> {
+				serve(GenerationJob.of(ROWS, 0, seed, Fixtures.POOLS));
+				return null;
+			}));
+		}
+		for (Future<?> response : responses) {
+			response.get();
+		}
+	}
+
+	private void serve(GenerationJob job) throws IOException {
+		try (DatasetWriter<Employee, ?> writer = writers.open(job.getFormat(), RowLayout.of(Employee.class),
+				OutputStream.nullOutputStream())) {
+			write(job, writer);
+		}
+	}
+
+	private <P> void write(GenerationJob job, DatasetWriter<Employee, P> writer) throws IOException {
+		engine.generate(job.getQuantity(), BATCH_SIZE, chunk -> writer.prepare(generate(job, chunk)),
+				(chunk, batch) -> {
+					writer.write(batch);
+					waitForClient();
+				});
+		writer.finish();
+	}
+
+	private List<Employee> generate(GenerationJob job, Chunk chunk) {
+		List<Employee> rows = new ArrayList<>(chunk.size());
+		for (int i = 0; i < chunk.size(); i++) {
+			rows.add(data.generateSingleEmployee(job, job.rowOf(chunk, i)));
+		}
+		return rows;
+	}
+
+	private void waitForClient() throws IOException {
+		try {
+			Thread.sleep(clientMillis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while writing", e);
+		}
+	}
+
+}
@@ -0,0 +1,82 @@
+package com.tom.service.datagen.benchmark;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.tom.service.datagen.distribution.CorrelatedSampler;
+import com.tom.service.datagen.distribution.Distribution;
+import com.tom.service.datagen.distribution.Distributions;
+import com.tom.service.datagen.distribution.Ziggurat;
+
+/**
+ * Cost of one draw per distribution type, against {@link Random#nextGaussian}
+ * as the baseline for the normal samplers.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DistributionBenchmark {
+
+	private static final Map<String, Map<String, Object>> SPECS = Map.of(
+			"normal", Map.of("type", "normal", "mean", 0, "stdDev", 1),
+			"lognormal", Map.of("type", "lognormal", "median", 70000, "sigma", 0.5),
+			"pareto", Map.of("type", "pareto", "scale", 1, "shape", 1.5),
+			"zipf", Map.of("type", "zipf", "n", 100000, "exponent", 1.1),
+			"empirical", Map.of("type", "empirical", "edges", List.of(0, 10, 20, 50, 100),
+					"weights", List.of(5, 3, 1, 1)),
+			"truncated", Map.of("type", "normal", "mean", 40, "stdDev", 10, "min", 19, "max", 67));
+
+	@Param({ "normal", "lognormal", "pareto", "zipf", "empirical", "truncated" })
+	private String type;
+
+	private final Random random = new Random(1);
+	private final double[] out = new double[3];
+	private Distribution distribution;
+	private CorrelatedSampler correlated;
+
+	@Setup
+	public void setUp() {
+		distribution = Distributions.parse(SPECS.get(type), IllegalArgumentException::new);
+		correlated = new CorrelatedSampler(new Distribution[] { distribution, distribution, distribution },
+				new double[][] { { 1, 0.8, 0.4 }, { 0.8, 1, 0.6 }, { 0.4, 0.6, 1 } });
+	}
+
+	@Benchmark
+	public double draw() {
+		return distribution.draw(random);
+	}
+
+	@Benchmark
+	public double correlatedTriple() {
+		correlated.draw(random, out);
+		return out[2];
+	}
+
+	@Benchmark
+	public double ziggurat() {
+		return Ziggurat.nextGaussian(random);
+	}
+
+	@Benchmark
+	public double nextGaussian() {
+		return random.nextGaussian();
+	}
+
+}
@@ -0,0 +1,69 @@
+package com.tom.service.datagen.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.tom.service.datagen.encoder.RowLayout;
+import com.tom.service.datagen.format.DatasetWriter;
+import com.tom.service.datagen.format.OutputFormat;
+import com.tom.service.datagen.model.Employee;
+
+/**
+ * Encoding cost of an already generated batch, per row: scores are rows per
+ * second and {@code gc.alloc.rate.norm} is bytes allocated per row.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EncodingBenchmark {
+
+	private static final int BATCH = 1000;
+
+	@Param({ "CSV", "PARQUET", "ARROW" })
+	private OutputFormat format;
+
+	private List<Employee> rows;
+	private DatasetWriter<Employee, ?> writer;
+
+	@Setup
+	public void setUp() throws IOException {
+		rows = Fixtures.employees(Fixtures.generateData(), BATCH);
+		writer = Fixtures.datasetWriters().open(format, RowLayout.of(Employee.class), OutputStream.nullOutputStream());
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		writer.finish();
+		writer.close();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public void encodeBatch() throws IOException {
+		encode(writer);
+	}
+
+	private <P> void encode(DatasetWriter<Employee, P> target) throws IOException {
+		target.write(target.prepare(rows));
+	}
+
+}
@@ -0,0 +1,104 @@
+package com.tom.service.datagen.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.tom.service.datagen.common.GenerateData;
+import com.tom.service.datagen.encoder.RowLayout;
+import com.tom.service.datagen.engine.Chunk;
+import com.tom.service.datagen.engine.GenerationEngine;
+import com.tom.service.datagen.engine.GenerationJob;
+import com.tom.service.datagen.format.DatasetWriter;
+import com.tom.service.datagen.format.DatasetWriters;
+import com.tom.service.datagen.model.Employee;
+
+/**
+ * Full pipeline as the streaming endpoint runs it: parallel generation on the
+ * engine, CSV encoding and in-order writes, into a discarding stream. The
+ * {@code rows} counter reports rows per second next to the runs per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class EndToEndBenchmark {
+
+	private static final int BATCH_SIZE = 10_000;
+
+	@Param({ "1000", "100000", "1000000" })
+	private int quantity;
+
+	private GenerateData data;
+	private GenerationEngine engine;
+	private DatasetWriters writers;
+
+	@Setup
+	public void setUp() {
+		data = Fixtures.generateData();
+		engine = new GenerationEngine(0);
+		writers = Fixtures.datasetWriters();
+	}
+
+	@TearDown
+	public void tearDown() {
+		engine.shutdown();
+	}
+
+	@Benchmark
+	public void generateCsv(RowCounter counter) throws IOException {
+		GenerationJob job = GenerationJob.of(quantity, 0, Fixtures.SEED, Fixtures.POOLS);
+		try (DatasetWriter<Employee, ?> writer = writers.open(job.getFormat(), RowLayout.of(Employee.class),
+				OutputStream.nullOutputStream())) {
+			run(job, writer);
+		}
+		counter.rows += quantity;
+	}
+
+	private <P> void run(GenerationJob job, DatasetWriter<Employee, P> writer) throws IOException {
+		engine.generate(job.getQuantity(), BATCH_SIZE, chunk -> writer.prepare(generate(job, chunk)),
+				(chunk, batch) -> writer.write(batch));
+		writer.finish();
+	}
+
+	private List<Employee> generate(GenerationJob job, Chunk chunk) {
+		List<Employee> rows = new ArrayList<>(chunk.size());
+		for (int i = 0; i < chunk.size(); i++) {
+			rows.add(data.generateSingleEmployee(job, job.rowOf(chunk, i)));
+		}
+		return rows;
+	}
+
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	public static class RowCounter {
+
+		public long rows;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			rows = 0;
+		}
+
+	}
+
+}
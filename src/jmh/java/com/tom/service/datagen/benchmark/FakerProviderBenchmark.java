@@ -0,0 +1,78 @@
+package com.tom.service.datagen.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.datafaker.Faker;
+
+/**
+ * One benchmark per Datafaker provider behind the employee value pools, i.e.
+ * what each field would cost per row if it were not pooled.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FakerProviderBenchmark {
+
+	private Faker faker;
+
+	@Setup
+	public void setUp() {
+		faker = new Faker(new Random(Fixtures.SEED));
+	}
+
+	@Benchmark
+	public String maleFirstName() {
+		return faker.name().malefirstName();
+	}
+
+	@Benchmark
+	public String femaleFirstName() {
+		return faker.name().femaleFirstName();
+	}
+
+	@Benchmark
+	public String lastName() {
+		return faker.name().lastName();
+	}
+
+	@Benchmark
+	public String safeEmailAddress() {
+		return faker.internet().safeEmailAddress();
+	}
+
+	@Benchmark
+	public String cellPhone() {
+		return faker.phoneNumber().cellPhone();
+	}
+
+	@Benchmark
+	public String industry() {
+		return faker.company().industry();
+	}
+
+	@Benchmark
+	public String jobTitle() {
+		return faker.job().title();
+	}
+
+	@Benchmark
+	public String fullAddress() {
+		return faker.address().fullAddress();
+	}
+
+}
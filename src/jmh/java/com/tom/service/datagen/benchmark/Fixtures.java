@@ -0,0 +1,42 @@
+package com.tom.service.datagen.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.springframework.util.unit.DataSize;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tom.service.datagen.common.GenerateData;
+import com.tom.service.datagen.engine.GenerationJob;
+import com.tom.service.datagen.format.DatasetWriters;
+import com.tom.service.datagen.model.Employee;
+import com.tom.service.datagen.pool.EmployeePools;
+import com.tom.service.datagen.pool.ValuePools;
+
+final class Fixtures {
+
+	static final long SEED = 42L;
+	static final EmployeePools POOLS = new ValuePools(4096, 7919L, "", "-", new ObjectMapper()).current();
+
+	private Fixtures() {
+	}
+
+	static GenerateData generateData() {
+		return new GenerateData();
+	}
+
+	static DatasetWriters datasetWriters() {
+		return new DatasetWriters(CompressionCodecName.SNAPPY, DataSize.ofMegabytes(32), DataSize.ofMegabytes(512));
+	}
+
+	static List<Employee> employees(GenerateData data, int count) {
+		GenerationJob job = GenerationJob.of(count, 0, SEED, POOLS);
+		List<Employee> rows = new ArrayList<>(count);
+		for (int row = 0; row < count; row++) {
+			rows.add(data.generateSingleEmployee(job, row));
+		}
+		return rows;
+	}
+
+}
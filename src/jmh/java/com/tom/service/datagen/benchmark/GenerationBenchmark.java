@@ -0,0 +1,56 @@
+package com.tom.service.datagen.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.tom.service.datagen.common.GenerateData;
+import com.tom.service.datagen.engine.GenerationJob;
+import com.tom.service.datagen.format.Compression;
+import com.tom.service.datagen.format.OutputFormat;
+import com.tom.service.datagen.model.Employee;
+import com.tom.service.datagen.unique.UniquenessMode;
+
+/**
+ * Cost of one {@link GenerateData#generateSingleEmployee} call. Constructive
+ * uniqueness keeps the tracker out of the measurement; see
+ * {@link UniquenessBenchmark} for the tracker itself.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GenerationBenchmark {
+
+	@Param({ "CONSTRUCTIVE" })
+	private UniquenessMode uniqueness;
+
+	private GenerateData data;
+	private GenerationJob job;
+	private long row;
+
+	@Setup
+	public void setUp() {
+		data = Fixtures.generateData();
+		job = GenerationJob.of(Long.MAX_VALUE, 0, Fixtures.SEED, null, uniqueness, 0.001, OutputFormat.CSV,
+				Compression.NONE, Fixtures.POOLS);
+	}
+
+	@Benchmark
+	public Employee singleRow() {
+		return data.generateSingleEmployee(job, row++);
+	}
+
+}
@@ -0,0 +1,65 @@
+package com.tom.service.datagen.benchmark;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.tom.service.datagen.encoder.RowBuffer;
+import com.tom.service.datagen.timeseries.BarFormat;
+import com.tom.service.datagen.timeseries.MarketFeed;
+import com.tom.service.datagen.timeseries.MarketProcess;
+import com.tom.service.datagen.timeseries.MarketSimulator;
+
+/**
+ * Simulated and encoded bars per second for a large feed; per-tick
+ * allocation shows up in {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MarketSimulatorBenchmark {
+
+	private static final int BATCH = 10_000;
+
+	@Param({ "CSV", "JSON" })
+	private BarFormat format;
+
+	@Param({ "1", "4" })
+	private int steps;
+
+	private MarketSimulator simulator;
+	private RowBuffer buffer;
+
+	@Setup
+	public void setUp() {
+		MarketFeed feed = new MarketFeed(MarketFeed.symbols(5000, 1L), Duration.ofSeconds(1),
+				Instant.parse("2024-01-02T14:30:00Z"), MarketProcess.GBM, 0.05, 0.2, steps, 1L);
+		simulator = new MarketSimulator(feed);
+		buffer = new RowBuffer(1 << 20);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public int bars() {
+		buffer.reset();
+		simulator.writeBars(buffer, format, BATCH);
+		return buffer.size();
+	}
+
+}
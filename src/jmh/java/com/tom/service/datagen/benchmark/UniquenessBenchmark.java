@@ -0,0 +1,61 @@
+package com.tom.service.datagen.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.tom.service.datagen.unique.UniquenessMode;
+import com.tom.service.datagen.unique.UniquenessTracker;
+
+/**
+ * Insert cost of the email/phone uniqueness trackers. Keys are built in a
+ * reused builder so only the tracker allocates; the tracker is recreated
+ * whenever it reaches its expected size.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UniquenessBenchmark {
+
+	private static final int EXPECTED = 1 << 20;
+	private static final String PREFIX = "employee.";
+
+	@Param({ "EXACT", "APPROXIMATE" })
+	private UniquenessMode mode;
+
+	private final StringBuilder key = new StringBuilder(64).append(PREFIX);
+	private UniquenessTracker tracker;
+	private int added;
+	private long next;
+
+	@Setup(Level.Iteration)
+	public void setUp() {
+		tracker = UniquenessTracker.create(mode, EXPECTED, 0.001);
+		added = 0;
+	}
+
+	@Benchmark
+	public boolean add() {
+		if (added++ == EXPECTED) {
+			setUp();
+		}
+		key.setLength(PREFIX.length());
+		key.append(next++).append("@example.com");
+		return tracker.add(key);
+	}
+
+}
@@ -1,32 +1,95 @@
 package com.tom.service.datagen.common;
 
+import java.time.LocalDate;
+
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.tom.service.datagen.format.Compression;
+import com.tom.service.datagen.format.OutputFormat;
+import com.tom.service.datagen.store.StoredResult;
 
 import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
 @Component
 public class ConnectionUtil {
+
+	public static final String SEED_HEADER = "X-Datagen-Seed";
+	public static final String REFERENCE_DATE_HEADER = "X-Datagen-Reference-Date";
 	
 	public boolean isClientConnected(HttpServletRequest request) {
 		try {
 			if (!request.isAsyncStarted() && request.getInputStream().available() == 0) {
-				ServiceLogger.warn("Client aborted the request before processing");
+				log.warn("Client aborted the request before processing");
 				return false;
 			}
 		} catch (Exception e) {
-			ServiceLogger.error("Error checking client connection", e);
+			log.error("Error checking client connection", e);
 			return false;
 		}
 		return true;
 	}
 
-	public ResponseEntity<byte[]> buildCsvResponse(byte[] csvData, String filename) {
+	public Compression negotiateCompression(OutputFormat format, Compression requested, HttpServletRequest request) {
+		if (requested != null) {
+			return requested;
+		}
+		if (format.isCompressed()) {
+			return Compression.NONE;
+		}
+		return Compression.negotiate(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+	}
+
+	public ResponseEntity<Resource> buildResultResponse(StoredResult result, String baseName, Compression requested,
+			HttpServletRequest request) {
+		OutputFormat format = result.getFormat();
+		Compression stored = result.getCompression();
+		Resource resource = result.toResource();
+
+		HttpHeaders headers = new HttpHeaders();
+		headers.add(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + format.filename(baseName));
+		headers.add(HttpHeaders.CONTENT_TYPE, format.getContentType());
+		if (stored != Compression.NONE) {
+			headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+			if (stored == requested || stored.isAcceptedBy(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+				headers.add(HttpHeaders.CONTENT_ENCODING, stored.getCoding());
+			} else {
+				resource = result.toDecodedResource();
+			}
+		}
+
+		return ResponseEntity.status(HttpStatus.OK).headers(headers).body(resource);
+	}
+
+	public ResponseEntity<StreamingResponseBody> buildStreamResponse(StreamingResponseBody body, OutputFormat format,
+			Compression compression, String baseName, long seed, LocalDate referenceDate) {
+		HttpHeaders headers = new HttpHeaders();
+		headers.add(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + format.filename(baseName));
+		headers.add(HttpHeaders.CONTENT_TYPE, format.getContentType());
+		headers.add(SEED_HEADER, Long.toString(seed));
+		headers.add(REFERENCE_DATE_HEADER, referenceDate.toString());
+		if (compression != Compression.NONE) {
+			headers.add(HttpHeaders.CONTENT_ENCODING, compression.getCoding());
+			headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+		}
+
+		return ResponseEntity.status(HttpStatus.CREATED).headers(headers).body(body);
+	}
+
+	public ResponseEntity<StreamingResponseBody> buildArchiveResponse(StreamingResponseBody body, String baseName,
+			long seed, LocalDate referenceDate) {
 		HttpHeaders headers = new HttpHeaders();
-		headers.add(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + filename);
-		headers.add(HttpHeaders.CONTENT_TYPE, "text/csv");
+		headers.add(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + baseName + ".zip");
+		headers.add(HttpHeaders.CONTENT_TYPE, "application/zip");
+		headers.add(SEED_HEADER, Long.toString(seed));
+		headers.add(REFERENCE_DATE_HEADER, referenceDate.toString());
 
-		return ResponseEntity.status(HttpStatus.CREATED).headers(headers).body(csvData);
+		return ResponseEntity.status(HttpStatus.CREATED).headers(headers).body(body);
 	}
 }
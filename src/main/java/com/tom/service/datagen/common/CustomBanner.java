@@ -13,6 +13,9 @@ import org.springframework.boot.SpringBootVersion;
 import org.springframework.core.env.Environment;
 import org.springframework.core.io.ClassPathResource;
 
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
 public class CustomBanner implements Banner {
 
 	@Override
@@ -54,7 +57,7 @@ public class CustomBanner implements Banner {
 	            publicIp = reader.readLine();
 	        }
 	    } catch (IOException e) {
-	        ServiceLogger.error(e.getMessage());
+	        log.error(e.getMessage());
 	    }
 	    return publicIp;
 	}
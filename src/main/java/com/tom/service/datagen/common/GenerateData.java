@@ -1,83 +1,131 @@
 package com.tom.service.datagen.common;
 
 import java.time.LocalDate;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ThreadLocalRandom;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.Random;
 
 import org.springframework.stereotype.Component;
 
-import com.tom.service.datagen.dto.RandomRequest;
+import com.tom.service.datagen.encoder.RowLayout;
+import com.tom.service.datagen.engine.GenerationJob;
+import com.tom.service.datagen.engine.GeneratorContext;
+import com.tom.service.datagen.engine.RowSource;
 import com.tom.service.datagen.model.Employee;
 import com.tom.service.datagen.model.enums.Gender;
-
-import net.datafaker.Faker;
+import com.tom.service.datagen.pool.EmployeePools;
+import com.tom.service.datagen.pool.ValuePool;
+import com.tom.service.datagen.profile.EmployeeProfile;
+import com.tom.service.datagen.unique.UniquenessStats;
+import com.tom.service.datagen.unique.UniquenessTracker;
 
 @Component
-public class GenerateData {
+public class GenerateData implements RowSource<Employee> {
 
-    private final Set<String> usedEmails = ConcurrentHashMap.newKeySet();
-    private final Set<String> usedPhoneNumbers = ConcurrentHashMap.newKeySet();
-	Faker faker = new Faker();
-	AtomicLong atomicCounter = new AtomicLong(0);
-	ThreadLocalRandom loc = ThreadLocalRandom.current();
-	
-    private int gender, age, experience, salary;
-    
-	public Employee generateSingleEmployee() {
-		Employee emp = new Employee();
-		emp.setId(atomicCounter.incrementAndGet());
-		boolean isMale = ThreadLocalRandom.current().nextInt(100) < gender;
-		emp.setGender(isMale ? Gender.MALE : Gender.FEMALE);
+	private static final int MAX_UNIQUE_ATTEMPTS = 16;
+	private static final RowLayout<Employee> LAYOUT = RowLayout.of(Employee.class);
 
-		do {
-			emp.setFirstName(isMale ? faker.name().malefirstName() : faker.name().femaleFirstName());
+	@Override
+	public String name() {
+		return "employees";
+	}
+
+	@Override
+	public RowLayout<Employee> layout() {
+		return LAYOUT;
+	}
+
+	public Employee generateSingleEmployee(GenerationJob job, long row) {
+		return generate(job, row);
+	}
 
-			emp.setEmail(faker.internet().safeEmailAddress());
-			emp.setPhoneNumber(faker.phoneNumber().cellPhone());
-		} while (usedEmails.contains(emp.getEmail()) || usedPhoneNumbers.contains(emp.getPhoneNumber()));
+	@Override
+	public Employee generate(GeneratorContext context, GenerationJob job, long row) {
+		context.reseed(job.rowSeed(row));
+		Random random = context.random();
+		StringBuilder text = context.text();
+		EmployeePools pools = job.getPools();
+		EmployeeProfile profile = job.getProfile();
 
-	    usedEmails.add(emp.getEmail());
-	    usedPhoneNumbers.add(emp.getPhoneNumber());
-		
-		emp.setLastName(faker.name().lastName());
-		emp.setDepartment(faker.company().industry());
-		emp.setJobTitle(faker.job().title());
-		emp.setAddress(faker.address().fullAddress());
+		Employee emp = new Employee();
+		emp.setId(row + 1);
+		boolean isMale = random.nextInt(100) < profile.gender();
+		emp.setGender(isMale ? Gender.MALE : Gender.FEMALE);
+		ValuePool firstNames = isMale ? pools.maleFirstNames() : pools.femaleFirstNames();
+		int firstName = firstNames.index(random);
+		int lastName = pools.lastNames().index(random);
+		emp.setFirstName(firstNames.get(firstName));
+		emp.setLastName(pools.lastNames().get(lastName));
 
-		emp.setAge(getRandomNumber(isAtributesMet(age) ? 19 : 41, isAtributesMet(age) ? 41 : 59));
+		UniquenessStats uniqueness = context.uniqueness();
+		long uniqueStartedAt = System.nanoTime();
+		emp.setEmail(uniqueEmail(pools, random, text, firstNames.slug(firstName),
+				pools.lastNames().slug(lastName), job.getUsedEmails(), uniqueness, row));
+		emp.setPhoneNumber(uniquePhoneNumber(pools, random, text, job.getUsedPhoneNumbers(), uniqueness, row));
+		uniqueness.time(System.nanoTime() - uniqueStartedAt);
 
-		emp.setYearsOfExperience(
-				getRandomNumber(isAtributesMet(experience) ? 1 : 11, isAtributesMet(experience) ? 11 : 31));
+		emp.setDepartment(pools.industries().draw(random));
+		emp.setJobTitle(pools.jobTitles().draw(random));
+		emp.setAddress(pools.fullAddress(text, random));
 
-		emp.setSalary(
-				getRandomNumber(isAtributesMet(salary) ? 30000 : 400000, isAtributesMet(salary) ? 400001 : 700001));
+		double[] numbers = context.numbers(3);
+		profile.draw(random, numbers);
+		emp.setAge(wholeNumber(numbers[0]));
+		emp.setYearsOfExperience(wholeNumber(numbers[1]));
+		emp.setSalary(wholeNumber(numbers[2]));
 
-		LocalDate hireDate = LocalDate.now().minusDays(getRandomNumber(1, 3650));
+		LocalDate hireDate = job.getReferenceDate().minusDays(getRandomNumber(random, 1, 3650));
 		emp.setHireDate(hireDate);
-	    emp.setTerminationDate(ThreadLocalRandom.current().nextInt(100) < 20 ? hireDate.plusDays(15) : null);
+	    emp.setTerminationDate(random.nextInt(100) < 20 ? hireDate.plusDays(15) : null);
+	    emp.setActive(emp.getTerminationDate() == null);
 		return emp;
 	}
 	
-	public void setVariables(RandomRequest request) {
-		ServiceLogger.info("Inserting values of variables || Gender: {}, Age: {}, Experience: {}, Salary: {}", request.gender(),
-				request.age(), request.experience(), request.salary());
-		gender = request.gender();
-		age = request.age();
-		experience = request.experience();
-		salary = request.salary();
+	private String uniqueEmail(EmployeePools pools, Random random, StringBuilder text, String firstName,
+			String lastName, UniquenessTracker tracker, UniquenessStats uniqueness, long row) {
+		if (!tracker.isConstructive()) {
+			for (int attempt = 0; attempt < MAX_UNIQUE_ATTEMPTS; attempt++) {
+				String email = pools.email(text, random, firstName, lastName, attempt);
+				if (tracker.add(email)) {
+					uniqueness.retried(attempt);
+					return email;
+				}
+			}
+			uniqueness.retried(MAX_UNIQUE_ATTEMPTS);
+			uniqueness.fellBack();
+		}
+		String email = pools.email(text, random, firstName, lastName, 0);
+		int at = email.indexOf('@');
+		String tagged = email.substring(0, at) + "+" + Long.toString(row, 36) + email.substring(at);
+		tracker.add(tagged);
+		return tagged;
 	}
-	
-	private int getRandomNumber(int min, int max) {
+
+	private String uniquePhoneNumber(EmployeePools pools, Random random, StringBuilder text,
+			UniquenessTracker tracker, UniquenessStats uniqueness, long row) {
+		if (!tracker.isConstructive()) {
+			for (int attempt = 0; attempt < MAX_UNIQUE_ATTEMPTS; attempt++) {
+				String phone = pools.phoneNumber(text, random);
+				if (tracker.add(phone)) {
+					uniqueness.retried(attempt);
+					return phone;
+				}
+			}
+			uniqueness.retried(MAX_UNIQUE_ATTEMPTS);
+			uniqueness.fellBack();
+		}
+		String tagged = pools.phoneNumber(text, random) + " x" + row;
+		tracker.add(tagged);
+		return tagged;
+	}
+
+	private static int wholeNumber(double value) {
+		return (int) Math.min(Integer.MAX_VALUE, Math.max(0, Math.round(value)));
+	}
+
+	private int getRandomNumber(Random random, int min, int max) {
 	    if (max <= min) {
 	        return min;
 	    }
-	    return loc.nextInt(max - min) + min;
+	    return random.nextInt(max - min) + min;
 	}
 
-	private boolean isAtributesMet(int atribute) {
-		return loc.nextInt(100) < atribute;
-	} 
-	
 }
@@ -0,0 +1,42 @@
+package com.tom.service.datagen.common;
+
+import java.time.Duration;
+import java.util.function.LongConsumer;
+
+import org.slf4j.Logger;
+
+/**
+ * Progress bar for long-running loops, logged at most once per interval
+ * plus once on completion. Does nothing when INFO is disabled for the
+ * logger. Meant to be fed from a single thread.
+ */
+public final class ProgressLog implements LongConsumer {
+
+	private static final int BAR_SIZE = 20;
+
+	private final Logger log;
+	private final String label;
+	private final long total;
+	private final long interval;
+	private long nextAt;
+
+	public ProgressLog(Logger log, String label, long total, Duration interval) {
+		this.log = log;
+		this.label = label;
+		this.total = total;
+		this.interval = interval.toNanos();
+		this.nextAt = System.nanoTime() + this.interval;
+	}
+
+	@Override
+	public void accept(long done) {
+		if ((done < total && System.nanoTime() - nextAt < 0) || !log.isInfoEnabled()) {
+			return;
+		}
+		nextAt = System.nanoTime() + interval;
+		int progress = total > 0 ? (int) (done * BAR_SIZE / total) : BAR_SIZE;
+		log.info("{} progress: [{}{}] {}/{}", label, "=".repeat(progress), " ".repeat(BAR_SIZE - progress), done,
+				total);
+	}
+
+}
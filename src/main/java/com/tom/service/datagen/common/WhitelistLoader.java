@@ -9,25 +9,46 @@ import java.util.stream.Collectors;
 
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.stereotype.Component;
 
 @Component
 public class WhitelistLoader {
 
     public String[] loadWhitelist() throws IOException {
-        List<String> paths = new ArrayList<>();
+        return load("classpath:/whitelist/*.txt").toArray(new String[0]);
+    }
+
+    /**
+     * Paths that require authentication even below a whitelisted one, given
+     * as {@code [METHOD ]pattern}; without a method every method matches.
+     */
+    public RequestMatcher[] loadAuthenticated() throws IOException {
+        List<RequestMatcher> matchers = new ArrayList<>();
+        for (String line : load("classpath:/authenticated/*.txt")) {
+            String[] parts = line.split("\\s+");
+            matchers.add(parts.length == 1 ? AntPathRequestMatcher.antMatcher(parts[0])
+                    : AntPathRequestMatcher.antMatcher(HttpMethod.valueOf(parts[0]), parts[1]));
+        }
+        return matchers.toArray(new RequestMatcher[0]);
+    }
+
+    private static List<String> load(String locationPattern) throws IOException {
+        List<String> lines = new ArrayList<>();
         var resolver = new PathMatchingResourcePatternResolver();
-        Resource[] resources = resolver.getResources("classpath:/whitelist/*.txt");
-        
+        Resource[] resources = resolver.getResources(locationPattern);
+
         for (Resource resource : resources) {
             try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.getInputStream()))) {
-                paths.addAll(reader.lines()
+                lines.addAll(reader.lines()
                         .map(String::trim)
                         .filter(line -> !line.isEmpty() && !line.startsWith("#"))
                         .collect(Collectors.toList()));
             }
         }
 
-        return paths.toArray(new String[0]);
+        return lines;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,31 @@
+package com.tom.service.datagen.config;
+
+import java.util.Locale;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.core.convert.converter.ConverterFactory;
+import org.springframework.format.FormatterRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+	@Override
+	public void addFormatters(FormatterRegistry registry) {
+		registry.addConverterFactory(new CaseInsensitiveEnumConverterFactory());
+	}
+
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private static final class CaseInsensitiveEnumConverterFactory implements ConverterFactory<String, Enum> {
+
+		@Override
+		public <E extends Enum> Converter<String, E> getConverter(Class<E> targetType) {
+			return source -> source.isBlank()
+					? null
+					: (E) Enum.valueOf(targetType, source.trim().toUpperCase(Locale.ROOT));
+		}
+
+	}
+
+}
@@ -1,5 +1,7 @@
 package com.tom.service.datagen.config;
 
+import java.time.Duration;
+
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -12,9 +14,14 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 
 import com.tom.service.datagen.common.WhitelistLoader;
 import com.tom.service.datagen.exception.AuthEntryPointJwt;
+import com.tom.service.datagen.security.BearerTokenFilter;
+import com.tom.service.datagen.security.CachingPasswordEncoder;
+import com.tom.service.datagen.security.TokenService;
 
 import lombok.RequiredArgsConstructor;
 
@@ -24,24 +31,37 @@ public class WebSecurityConfig {
 
 	private final WhitelistLoader whitelist;
 	private final AuthEntryPointJwt unauthorizedHandler;
+	private final TokenService tokens;
 	
 	@Value("${application.security.user}")
 	private String user;
 	
 	@Value("${application.security.password}")
 	private String password;
+
+	@Value("${application.security.bcryptStrength:12}")
+	private int bcryptStrength;
+
+	@Value("${application.security.credentialCache.ttl:5m}")
+	private Duration credentialCacheTtl;
+
+	@Value("${application.security.credentialCache.maxEntries:1024}")
+	private int credentialCacheMaxEntries;
 	
     @Bean
     SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
 	    String[] whiteListUrls = whitelist.loadWhitelist();
+	    RequestMatcher[] authenticatedUrls = whitelist.loadAuthenticated();
     	
     	http
     		.exceptionHandling(exception -> 
     			exception.authenticationEntryPoint(unauthorizedHandler))
             .authorizeHttpRequests(auth -> auth
+                .requestMatchers(authenticatedUrls).authenticated()
                 .requestMatchers(whiteListUrls).permitAll()
                 .anyRequest().authenticated()
             )
+            .addFilterBefore(new BearerTokenFilter(tokens, unauthorizedHandler), BasicAuthenticationFilter.class)
             .httpBasic(Customizer.withDefaults())
             .csrf(csrf -> csrf.disable());
         
@@ -58,8 +78,10 @@ public class WebSecurityConfig {
         return new InMemoryUserDetailsManager(genUser);
     }
     
+    /** BCrypt for the stored hash, with verified credentials remembered for a while. */
     @Bean
     PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(16);
+        return new CachingPasswordEncoder(new BCryptPasswordEncoder(bcryptStrength), credentialCacheTtl,
+        		credentialCacheMaxEntries);
     }
 }
@@ -0,0 +1,29 @@
+package com.tom.service.datagen.controller;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.tom.service.datagen.dto.TokenResponse;
+import com.tom.service.datagen.security.TokenService;
+
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/v1/auth")
+@RequiredArgsConstructor
+@Tag(name = "Authentication", description = "Exchange Basic credentials for a bearer token")
+public class AuthController {
+
+	private final TokenService tokens;
+
+	@PostMapping(value = "/token", produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<TokenResponse> issueToken(Authentication authentication) {
+		return ResponseEntity.ok(tokens.issue(authentication));
+	}
+
+}
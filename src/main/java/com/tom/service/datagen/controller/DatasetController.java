@@ -0,0 +1,158 @@
+package com.tom.service.datagen.controller;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.core.io.Resource;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.tom.service.datagen.common.ConnectionUtil;
+import com.tom.service.datagen.dto.DatasetResponse;
+import com.tom.service.datagen.dto.LoadResponse;
+import com.tom.service.datagen.dto.PublishResponse;
+import com.tom.service.datagen.engine.GenerationJob;
+import com.tom.service.datagen.format.Compression;
+import com.tom.service.datagen.format.OutputFormat;
+import com.tom.service.datagen.quota.QuotaService;
+import com.tom.service.datagen.schema.SchemaParser;
+import com.tom.service.datagen.schema.SchemaPlan;
+import com.tom.service.datagen.schema.SchemaRegistry;
+import com.tom.service.datagen.service.DatasetService;
+import com.tom.service.datagen.service.PublishService;
+import com.tom.service.datagen.service.SinkService;
+import com.tom.service.datagen.sink.KafkaSettings;
+import com.tom.service.datagen.sink.RecordFormat;
+import com.tom.service.datagen.sink.SinkMode;
+import com.tom.service.datagen.store.StoredResult;
+import com.tom.service.datagen.unique.UniquenessMode;
+
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+@RestController
+@RequestMapping("/v1/datasets")
+@RequiredArgsConstructor
+@Tag(name = "GenerateDatasets", description = "Schema-defined datasets")
+public class DatasetController {
+
+	private static final String DOWNLOAD_PATH = "/v1/datasets/download/";
+
+	private final SchemaRegistry registry;
+	private final DatasetService service;
+	private final SinkService sinks;
+	private final PublishService publisher;
+	private final ConnectionUtil util;
+	private final QuotaService quotas;
+
+	@GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<List<DatasetResponse>> listDatasets() {
+		return ResponseEntity.ok(registry.list().stream().map(DatasetResponse::of).toList());
+	}
+
+	@GetMapping(value = "/{name}", produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<DatasetResponse> describeDataset(@PathVariable String name) {
+		return ResponseEntity.ok(DatasetResponse.of(registry.get(name)));
+	}
+
+	@PostMapping(consumes = { "application/yaml", "application/x-yaml", MediaType.APPLICATION_JSON_VALUE,
+			MediaType.TEXT_PLAIN_VALUE }, produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<DatasetResponse> registerDataset(@RequestBody String schema) {
+		SchemaPlan plan = registry.register(SchemaParser.parse(schema));
+		return ResponseEntity.status(HttpStatus.CREATED).body(DatasetResponse.of(plan));
+	}
+
+	@DeleteMapping("/{name}")
+	public ResponseEntity<String> deleteDataset(@PathVariable String name) {
+		registry.remove(name);
+		return ResponseEntity.status(HttpStatus.NO_CONTENT).body("Deleted: " + name);
+	}
+
+	@PostMapping("/{name}/{quantity}")
+	public ResponseEntity<StreamingResponseBody> generateDataset(@PathVariable String name,
+			@PathVariable long quantity, @RequestParam(required = false) Long seed,
+			@RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate referenceDate,
+			@RequestParam(defaultValue = "0") long offset, @RequestParam(defaultValue = "CSV") OutputFormat format,
+			@RequestParam(required = false) Compression compression, HttpServletRequest request) {
+		SchemaPlan plan = registry.get(name);
+		GenerationJob job = quotas.charged(quantity, () -> service.newJob(quantity, offset, seed, referenceDate,
+				UniquenessMode.CONSTRUCTIVE, format, util.negotiateCompression(format, compression, request)));
+		StreamingResponseBody body = service.stream(job, plan, request);
+		return util.buildStreamResponse(body, format, job.getCompression(), name, job.getSeed(),
+				job.getReferenceDate());
+	}
+
+	@PostMapping(value = "/{name}/load/{quantity}", produces = MediaType.APPLICATION_JSON_VALUE)
+	public Mono<ResponseEntity<LoadResponse>> loadDataset(@PathVariable String name, @PathVariable long quantity,
+			@RequestParam(required = false) String table, @RequestParam(defaultValue = "BATCH") SinkMode mode,
+			@RequestParam(defaultValue = "true") boolean create, @RequestParam(required = false) Integer writers,
+			@RequestParam(required = false) Long seed,
+			@RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate referenceDate,
+			@RequestParam(defaultValue = "0") long offset) {
+		SchemaPlan plan = registry.get(name);
+		GenerationJob job = quotas.charged(quantity, () -> service.newJob(quantity, offset, seed, referenceDate,
+				UniquenessMode.CONSTRUCTIVE, OutputFormat.CSV, Compression.NONE));
+		String target = table != null ? table : name.replace('-', '_');
+		return Mono.fromCallable(() -> sinks.load(job, plan, target, mode, create, writers))
+				.subscribeOn(Schedulers.boundedElastic())
+				.map(response -> ResponseEntity.status(HttpStatus.CREATED).body(response));
+	}
+
+	@PostMapping(value = "/{name}/publish/{quantity}", produces = MediaType.APPLICATION_JSON_VALUE)
+	public Mono<ResponseEntity<PublishResponse>> publishDataset(@PathVariable String name,
+			@PathVariable long quantity, @RequestParam(required = false) String topic,
+			@RequestParam(defaultValue = "JSON") RecordFormat format, @RequestParam(required = false) Integer lingerMs,
+			@RequestParam(required = false) Integer batchSize, @RequestParam(required = false) Integer maxInFlight,
+			@RequestParam(required = false) String acks, @RequestParam(required = false) String compression,
+			@RequestParam(required = false) Long seed,
+			@RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate referenceDate,
+			@RequestParam(defaultValue = "0") long offset) {
+		SchemaPlan plan = registry.get(name);
+		GenerationJob job = quotas.charged(quantity, () -> service.newJob(quantity, offset, seed, referenceDate,
+				UniquenessMode.CONSTRUCTIVE, OutputFormat.CSV, Compression.NONE));
+		KafkaSettings settings = publisher.newSettings(topic != null ? topic : name, format, lingerMs, batchSize,
+				maxInFlight, acks, compression);
+		return Mono.fromCallable(() -> publisher.publish(job, plan, settings))
+				.subscribeOn(Schedulers.boundedElastic())
+				.map(response -> ResponseEntity.status(HttpStatus.CREATED).body(response));
+	}
+
+	@PostMapping(value = "/{name}/progress/{quantity}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public Flux<ServerSentEvent<String>> generateDatasetWithProgress(@PathVariable String name,
+			@PathVariable long quantity, @RequestParam(required = false) Long seed,
+			@RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate referenceDate,
+			@RequestParam(defaultValue = "false") boolean data,
+			@RequestParam(defaultValue = "CSV") OutputFormat format,
+			@RequestParam(required = false) Compression compression) {
+		SchemaPlan plan = registry.get(name);
+		GenerationJob job = quotas.charged(quantity,
+				() -> service.newJob(quantity, 0, seed, referenceDate, UniquenessMode.CONSTRUCTIVE, format,
+						compression));
+		return service.generateWithProgress(job, plan, data, DOWNLOAD_PATH);
+	}
+
+	@GetMapping("/download/{fileId}")
+	public ResponseEntity<Resource> downloadDataset(@PathVariable String fileId,
+			@RequestParam(required = false) Compression compression, HttpServletRequest request) {
+		StoredResult result = service.retrieve(fileId);
+		return util.buildResultResponse(result, "dataset", compression, request);
+	}
+
+}
@@ -1,27 +1,44 @@
 package com.tom.service.datagen.controller;
 
+import java.time.LocalDate;
+
+import org.springframework.core.io.Resource;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
-import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.tom.service.datagen.common.ConnectionUtil;
-import com.tom.service.datagen.common.GenerateData;
-import com.tom.service.datagen.dto.RandomRequest;
+import com.tom.service.datagen.dto.LoadResponse;
+import com.tom.service.datagen.dto.PublishResponse;
+import com.tom.service.datagen.engine.GenerationJob;
+import com.tom.service.datagen.format.Compression;
+import com.tom.service.datagen.format.OutputFormat;
+import com.tom.service.datagen.quota.QuotaService;
 import com.tom.service.datagen.service.EmployeeService;
+import com.tom.service.datagen.service.PublishService;
+import com.tom.service.datagen.sink.KafkaSettings;
+import com.tom.service.datagen.sink.RecordFormat;
+import com.tom.service.datagen.sink.SinkMode;
+import com.tom.service.datagen.store.StoredResult;
+import com.tom.service.datagen.unique.UniquenessMode;
 
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.servlet.http.HttpServletRequest;
-import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 @RestController
 @RequestMapping("/v1")
@@ -30,22 +47,27 @@ import reactor.core.publisher.Mono;
 public class EmployeeController {
 
 	private final EmployeeService service;
-	private final GenerateData data;
+	private final PublishService publisher;
 	private final ConnectionUtil util;
+	private final QuotaService quotas;
 
 	@PostMapping(value = "/employee/progress/{quantity}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
-	public Flux<String> dataGenerationWithProgress(@PathVariable int quantity) {
-		return service.generateEmployeeDataWithProgress(quantity).map(data -> "Progress: " + data)
-				.concatWith(Mono.just("Completed. Download your file at: /api/v1/employee/download/"));
+	public Flux<ServerSentEvent<String>> dataGenerationWithProgress(@PathVariable int quantity,
+			@RequestParam(required = false) Long seed, @RequestParam(required = false) UniquenessMode uniqueness,
+			@RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate referenceDate,
+			@RequestParam(defaultValue = "false") boolean data,
+			@RequestParam(defaultValue = "CSV") OutputFormat format,
+			@RequestParam(required = false) Compression compression, @RequestParam(required = false) String profile) {
+		GenerationJob job = quotas.charged(quantity,
+				() -> service.newJob(quantity, 0, seed, referenceDate, uniqueness, format, compression, profile));
+		return service.generateEmployeeDataWithProgress(job, data);
 	}
 
-	@GetMapping(value = "/employee/download/{fileId}", produces = MediaType.TEXT_PLAIN_VALUE)
-	public ResponseEntity<byte[]> downloadEmployeeData(@PathVariable String fileId) {
-		byte[] csvData = service.retrieveCsvFromTempStorage(fileId);
-		if (csvData == null) {
-			return ResponseEntity.status(HttpStatus.NOT_FOUND).body("File not found or expired.".getBytes());
-		}
-		return util.buildCsvResponse(csvData, "employees.csv");
+	@GetMapping("/employee/download/{fileId}")
+	public ResponseEntity<Resource> downloadEmployeeData(@PathVariable String fileId,
+			@RequestParam(required = false) Compression compression, HttpServletRequest request) {
+		StoredResult result = service.retrieveCsvFromTempStorage(fileId);
+		return util.buildResultResponse(result, "employees", compression, request);
 	}
 
 	@DeleteMapping("/employee/delete/{fileId}")
@@ -54,23 +76,67 @@ public class EmployeeController {
 		return ResponseEntity.status(HttpStatus.NO_CONTENT).body("Deleted: " + fileId);
 	}
 
-	@PostMapping(value = "/employee/{quantity}", produces = MediaType.TEXT_PLAIN_VALUE)
-	public ResponseEntity<byte[]> dataGeneration(@PathVariable int quantity, HttpServletRequest request) {
-		byte[] csvData = service.generateEmployeeData(quantity, request);
-		return util.buildCsvResponse(csvData, "employees.csv");
+	@PostMapping("/employee/{quantity}")
+	public ResponseEntity<StreamingResponseBody> dataGeneration(@PathVariable int quantity,
+			@RequestParam(required = false) Long seed, @RequestParam(defaultValue = "0") long offset,
+			@RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate referenceDate,
+			@RequestParam(required = false) UniquenessMode uniqueness,
+			@RequestParam(defaultValue = "CSV") OutputFormat format,
+			@RequestParam(required = false) Compression compression, @RequestParam(required = false) String profile,
+			HttpServletRequest request) {
+		GenerationJob job = quotas.charged(quantity, () -> service.newJob(quantity, offset, seed, referenceDate,
+				uniqueness, format, util.negotiateCompression(format, compression, request), profile));
+		StreamingResponseBody body = service.streamEmployeeData(job, request);
+		return util.buildStreamResponse(body, format, job.getCompression(), "employees", job.getSeed(),
+				job.getReferenceDate());
 	}
 
-	@PostMapping(value = "/employee/batch/small", produces = MediaType.TEXT_PLAIN_VALUE)
-	public ResponseEntity<byte[]> dataSmallGeneration(HttpServletRequest request) {
-		final int quantity = 100;
-		byte[] csvData = service.generateEmployeeData(quantity, request);
-		return util.buildCsvResponse(csvData, "employees.csv");
+	@PostMapping(value = "/employee/load/{quantity}", produces = MediaType.APPLICATION_JSON_VALUE)
+	public Mono<ResponseEntity<LoadResponse>> dataLoad(@PathVariable int quantity,
+			@RequestParam(defaultValue = "employees") String table,
+			@RequestParam(defaultValue = "BATCH") SinkMode mode, @RequestParam(defaultValue = "true") boolean create,
+			@RequestParam(required = false) Integer writers, @RequestParam(required = false) Long seed,
+			@RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate referenceDate,
+			@RequestParam(defaultValue = "0") long offset, @RequestParam(required = false) UniquenessMode uniqueness,
+			@RequestParam(required = false) String profile) {
+		GenerationJob job = quotas.charged(quantity, () -> service.newJob(quantity, offset, seed, referenceDate,
+				uniqueness, OutputFormat.CSV, Compression.NONE, profile));
+		return Mono.fromCallable(() -> service.loadEmployeeData(job, table, mode, create, writers))
+				.subscribeOn(Schedulers.boundedElastic())
+				.map(response -> ResponseEntity.status(HttpStatus.CREATED).body(response));
 	}
 
-	@PostMapping(value = "/insert", produces = MediaType.APPLICATION_JSON_VALUE)
-	public ResponseEntity<String> insertAtributes(@RequestBody @Valid RandomRequest request) {
-		data.setVariables(request);
-		return ResponseEntity.status(HttpStatus.ACCEPTED).body("Inserted Values");
+	@PostMapping(value = "/employee/publish/{quantity}", produces = MediaType.APPLICATION_JSON_VALUE)
+	public Mono<ResponseEntity<PublishResponse>> dataPublish(@PathVariable int quantity,
+			@RequestParam(defaultValue = "employees") String topic,
+			@RequestParam(defaultValue = "JSON") RecordFormat format, @RequestParam(required = false) Integer lingerMs,
+			@RequestParam(required = false) Integer batchSize, @RequestParam(required = false) Integer maxInFlight,
+			@RequestParam(required = false) String acks, @RequestParam(required = false) String compression,
+			@RequestParam(required = false) Long seed, @RequestParam(defaultValue = "0") long offset,
+			@RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate referenceDate,
+			@RequestParam(required = false) UniquenessMode uniqueness, @RequestParam(required = false) String profile) {
+		GenerationJob job = quotas.charged(quantity, () -> service.newJob(quantity, offset, seed, referenceDate,
+				uniqueness, OutputFormat.CSV, Compression.NONE, profile));
+		KafkaSettings settings = publisher.newSettings(topic, format, lingerMs, batchSize, maxInFlight, acks,
+				compression);
+		return Mono.fromCallable(() -> service.publishEmployeeData(job, settings))
+				.subscribeOn(Schedulers.boundedElastic())
+				.map(response -> ResponseEntity.status(HttpStatus.CREATED).body(response));
+	}
+
+	@PostMapping("/employee/batch/small")
+	public ResponseEntity<StreamingResponseBody> dataSmallGeneration(@RequestParam(required = false) Long seed,
+			@RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate referenceDate,
+			@RequestParam(required = false) UniquenessMode uniqueness,
+			@RequestParam(defaultValue = "CSV") OutputFormat format,
+			@RequestParam(required = false) Compression compression, @RequestParam(required = false) String profile,
+			HttpServletRequest request) {
+		final int quantity = 100;
+		GenerationJob job = quotas.charged(quantity, () -> service.newJob(quantity, 0, seed, referenceDate,
+				uniqueness, format, util.negotiateCompression(format, compression, request), profile));
+		StreamingResponseBody body = service.streamEmployeeData(job, request);
+		return util.buildStreamResponse(body, format, job.getCompression(), "employees", job.getSeed(),
+				job.getReferenceDate());
 	}
 
 }
@@ -0,0 +1,75 @@
+package com.tom.service.datagen.controller;
+
+import java.time.LocalDate;
+
+import org.springframework.core.io.Resource;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.tom.service.datagen.common.ConnectionUtil;
+import com.tom.service.datagen.dto.JobResponse;
+import com.tom.service.datagen.format.Compression;
+import com.tom.service.datagen.format.OutputFormat;
+import com.tom.service.datagen.job.Job;
+import com.tom.service.datagen.job.JobService;
+import com.tom.service.datagen.quota.QuotaService;
+import com.tom.service.datagen.service.EmployeeService;
+import com.tom.service.datagen.store.StoredResult;
+import com.tom.service.datagen.unique.UniquenessMode;
+
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/v1/employee/jobs")
+@RequiredArgsConstructor
+@Tag(name = "EmployeeGenerationJobs", description = "Asynchronous employee data generation")
+public class JobController {
+
+	private final JobService jobs;
+	private final EmployeeService service;
+	private final ConnectionUtil util;
+	private final QuotaService quotas;
+
+	@PostMapping(value = "/{quantity}", produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<JobResponse> submitJob(@PathVariable long quantity,
+			@RequestParam(required = false) Long seed, @RequestParam(defaultValue = "0") long offset,
+			@RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate referenceDate,
+			@RequestParam(required = false) UniquenessMode uniqueness,
+			@RequestParam(defaultValue = "CSV") OutputFormat format,
+			@RequestParam(required = false) Compression compression, @RequestParam(required = false) String profile) {
+		// Refunded when the queue is full, nothing was generated then
+		Job job = quotas.charged(quantity, () -> jobs.submit(
+				service.newJob(quantity, offset, seed, referenceDate, uniqueness, format, compression, profile)));
+		return ResponseEntity.status(HttpStatus.ACCEPTED).body(jobs.toResponse(job));
+	}
+
+	@GetMapping(value = "/{jobId}", produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<JobResponse> jobStatus(@PathVariable String jobId) {
+		return ResponseEntity.ok(jobs.toResponse(jobs.get(jobId)));
+	}
+
+	@GetMapping("/{jobId}/download")
+	public ResponseEntity<Resource> downloadJobResult(@PathVariable String jobId,
+			@RequestParam(required = false) Compression compression, HttpServletRequest request) {
+		StoredResult result = jobs.result(jobId);
+		return util.buildResultResponse(result, "employees-" + jobId, compression, request);
+	}
+
+	@DeleteMapping(value = "/{jobId}", produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<JobResponse> cancelJob(@PathVariable String jobId) {
+		return ResponseEntity.ok(jobs.toResponse(jobs.cancel(jobId)));
+	}
+
+}
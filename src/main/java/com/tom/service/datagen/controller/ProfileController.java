@@ -0,0 +1,55 @@
+package com.tom.service.datagen.controller;
+
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.tom.service.datagen.dto.ProfileRequest;
+import com.tom.service.datagen.dto.ProfileResponse;
+import com.tom.service.datagen.profile.EmployeeProfile;
+import com.tom.service.datagen.profile.ProfileRegistry;
+
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/v1/employee/profiles")
+@RequiredArgsConstructor
+@Tag(name = "EmployeeProfiles", description = "Named distributions for employee generation")
+public class ProfileController {
+
+	private final ProfileRegistry registry;
+
+	@GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<List<ProfileResponse>> listProfiles() {
+		return ResponseEntity.ok(registry.list().stream().map(ProfileResponse::of).toList());
+	}
+
+	@GetMapping(value = "/{name}", produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<ProfileResponse> describeProfile(@PathVariable String name) {
+		return ResponseEntity.ok(ProfileResponse.of(registry.get(name)));
+	}
+
+	@PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<ProfileResponse> registerProfile(@RequestBody @Valid ProfileRequest request) {
+		EmployeeProfile profile = registry.register(request);
+		return ResponseEntity.status(HttpStatus.CREATED).body(ProfileResponse.of(profile));
+	}
+
+	@DeleteMapping("/{name}")
+	public ResponseEntity<String> deleteProfile(@PathVariable String name) {
+		registry.remove(name);
+		return ResponseEntity.status(HttpStatus.NO_CONTENT).body("Deleted: " + name);
+	}
+
+}
@@ -0,0 +1,86 @@
+package com.tom.service.datagen.controller;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.tom.service.datagen.common.ConnectionUtil;
+import com.tom.service.datagen.dto.RelationResponse;
+import com.tom.service.datagen.dto.RelationResponse.TableFile;
+import com.tom.service.datagen.engine.SeedSequence;
+import com.tom.service.datagen.format.Compression;
+import com.tom.service.datagen.format.OutputFormat;
+import com.tom.service.datagen.quota.QuotaService;
+import com.tom.service.datagen.relation.RelationRegistry;
+import com.tom.service.datagen.relation.RelationSchema;
+import com.tom.service.datagen.service.RelationService;
+import com.tom.service.datagen.service.RelationService.Table;
+
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/v1/relations")
+@RequiredArgsConstructor
+@Tag(name = "GenerateRelations", description = "Multi-table datasets with foreign keys")
+public class RelationController {
+
+	private static final String DOWNLOAD_PATH = "/v1/datasets/download/";
+
+	private final RelationRegistry registry;
+	private final RelationService service;
+	private final ConnectionUtil util;
+	private final QuotaService quotas;
+
+	@GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<List<RelationSchema>> listRelations() {
+		return ResponseEntity.ok(registry.list());
+	}
+
+	@PostMapping("/{name}/{quantity}")
+	public ResponseEntity<StreamingResponseBody> generateArchive(@PathVariable String name,
+			@PathVariable long quantity, @RequestParam(required = false) Long seed,
+			@RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate referenceDate,
+			@RequestParam(defaultValue = "CSV") OutputFormat format) throws IOException {
+		RelationSchema relation = registry.get(name);
+		long relationSeed = seed != null ? seed : SeedSequence.newSeed();
+		LocalDate date = referenceDate != null ? referenceDate : LocalDate.now();
+		List<Table> tables = quotas.charged(relation.rowsFor(quantity),
+				() -> service.plan(relation, quantity, relationSeed, date, format, Compression.NONE));
+		return util.buildArchiveResponse(service.streamArchive(relation, tables, format), name, relationSeed, date);
+	}
+
+	@PostMapping(value = "/{name}/files/{quantity}", produces = MediaType.APPLICATION_JSON_VALUE)
+	public Mono<ResponseEntity<RelationResponse>> generateFiles(@PathVariable String name,
+			@PathVariable long quantity, @RequestParam(required = false) Long seed,
+			@RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate referenceDate,
+			@RequestParam(defaultValue = "CSV") OutputFormat format,
+			@RequestParam(required = false) Compression compression) throws IOException {
+		RelationSchema relation = registry.get(name);
+		long relationSeed = seed != null ? seed : SeedSequence.newSeed();
+		LocalDate date = referenceDate != null ? referenceDate : LocalDate.now();
+		List<Table> tables = quotas.charged(relation.rowsFor(quantity),
+				() -> service.plan(relation, quantity, relationSeed, date, format, compression));
+		return service.generateFiles(tables)
+				.map(results -> results.stream()
+						.map(result -> new TableFile(result.table().name(), result.table().job().getQuantity(),
+								result.result().getSize(), DOWNLOAD_PATH + result.result().getId()))
+						.toList())
+				.map(files -> ResponseEntity.status(HttpStatus.CREATED)
+						.body(new RelationResponse(name, relationSeed, date, files)));
+	}
+}
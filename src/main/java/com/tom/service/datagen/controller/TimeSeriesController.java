@@ -0,0 +1,72 @@
+package com.tom.service.datagen.controller;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.format.annotation.DurationFormat;
+import org.springframework.format.annotation.DurationFormat.Style;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.tom.service.datagen.common.ConnectionUtil;
+import com.tom.service.datagen.quota.QuotaService;
+import com.tom.service.datagen.service.MarketFeedService;
+import com.tom.service.datagen.timeseries.BarFormat;
+import com.tom.service.datagen.timeseries.MarketFeed;
+import com.tom.service.datagen.timeseries.MarketProcess;
+
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+
+@RestController
+@RequestMapping("/v1/timeseries/stock-market")
+@RequiredArgsConstructor
+@Tag(name = "GenerateTimeSeries", description = "Simulated market feeds")
+public class TimeSeriesController {
+
+	private final MarketFeedService service;
+	private final QuotaService quotas;
+
+	@PostMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public Flux<ServerSentEvent<String>> streamBars(@RequestParam(required = false) List<String> tickers,
+			@RequestParam(required = false) Integer count,
+			@RequestParam(defaultValue = "1m") @DurationFormat(style = Style.SIMPLE) Duration interval,
+			@RequestParam(required = false) Instant start, @RequestParam(defaultValue = "GBM") MarketProcess process,
+			@RequestParam(defaultValue = "0.05") double drift, @RequestParam(defaultValue = "0.2") double volatility,
+			@RequestParam(defaultValue = "4") int steps, @RequestParam(required = false) Long seed,
+			@RequestParam(defaultValue = "CSV") BarFormat format, @RequestParam(defaultValue = "0") long bars,
+			@RequestParam(defaultValue = "0") double rate) {
+		MarketFeed feed = service.newFeed(tickers, count, interval, start, process, drift, volatility, steps, seed);
+		return quotas.charged(bars, () -> service.stream(feed, format, bars, rate, quotas.current()));
+	}
+
+	@PostMapping("/{bars}")
+	public ResponseEntity<StreamingResponseBody> generateBars(@PathVariable long bars,
+			@RequestParam(required = false) List<String> tickers, @RequestParam(required = false) Integer count,
+			@RequestParam(defaultValue = "1m") @DurationFormat(style = Style.SIMPLE) Duration interval,
+			@RequestParam(required = false) Instant start, @RequestParam(defaultValue = "GBM") MarketProcess process,
+			@RequestParam(defaultValue = "0.05") double drift, @RequestParam(defaultValue = "0.2") double volatility,
+			@RequestParam(defaultValue = "4") int steps, @RequestParam(required = false) Long seed,
+			@RequestParam(defaultValue = "CSV") BarFormat format) {
+		MarketFeed feed = service.newFeed(tickers, count, interval, start, process, drift, volatility, steps, seed);
+		StreamingResponseBody body = quotas.charged(bars, () -> service.download(feed, format, bars));
+
+		HttpHeaders headers = new HttpHeaders();
+		headers.add(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=stock-market." + format.getExtension());
+		headers.add(HttpHeaders.CONTENT_TYPE, format.getContentType());
+		headers.add(ConnectionUtil.SEED_HEADER, Long.toString(feed.seed()));
+		return ResponseEntity.status(HttpStatus.CREATED).headers(headers).body(body);
+	}
+
+}
@@ -0,0 +1,76 @@
+package com.tom.service.datagen.distribution;
+
+import java.util.Random;
+
+/**
+ * Discrete distribution over {@code 0..n-1} by Vose's alias method. Building
+ * the table is linear in {@code n}; a draw is one uniform column and one
+ * biased coin, whatever the weights.
+ */
+public final class AliasTable {
+
+	private final double[] probability;
+	private final int[] alias;
+
+	public AliasTable(double[] weights) {
+		int n = weights.length;
+		if (n == 0) {
+			throw new IllegalArgumentException("Alias table needs at least one weight");
+		}
+		double total = 0;
+		for (double weight : weights) {
+			if (!(weight >= 0) || Double.isInfinite(weight)) {
+				throw new IllegalArgumentException("Weights must be finite and non-negative");
+			}
+			total += weight;
+		}
+		if (total <= 0) {
+			throw new IllegalArgumentException("Weights must not all be zero");
+		}
+
+		this.probability = new double[n];
+		this.alias = new int[n];
+		double[] scaled = new double[n];
+		int[] small = new int[n];
+		int[] large = new int[n];
+		int smallCount = 0;
+		int largeCount = 0;
+		for (int i = 0; i < n; i++) {
+			scaled[i] = weights[i] * n / total;
+			if (scaled[i] < 1) {
+				small[smallCount++] = i;
+			} else {
+				large[largeCount++] = i;
+			}
+		}
+		while (smallCount > 0 && largeCount > 0) {
+			int less = small[--smallCount];
+			int more = large[--largeCount];
+			probability[less] = scaled[less];
+			alias[less] = more;
+			scaled[more] = scaled[more] + scaled[less] - 1;
+			if (scaled[more] < 1) {
+				small[smallCount++] = more;
+			} else {
+				large[largeCount++] = more;
+			}
+		}
+		// Leftovers are 1 up to rounding
+		while (largeCount > 0) {
+			probability[large[--largeCount]] = 1;
+		}
+		while (smallCount > 0) {
+			probability[small[--smallCount]] = 1;
+		}
+	}
+
+	public int size() {
+		return probability.length;
+	}
+
+	public int sample(Random random) {
+		int column = random.nextInt(probability.length);
+		return random.nextDouble() < probability[column] ? column : alias[column];
+	}
+
+}
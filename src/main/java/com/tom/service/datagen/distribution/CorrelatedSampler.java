@@ -0,0 +1,70 @@
+package com.tom.service.datagen.distribution;
+
+import java.util.Random;
+
+/**
+ * Correlated draws from arbitrary marginals through a Gaussian copula:
+ * independent normals are mixed by the Cholesky factor of the correlation
+ * matrix, then each is mapped onto its marginal with
+ * {@link Distribution#fromNormal}. The factor is computed once; a draw
+ * writes into a caller-supplied array and allocates nothing.
+ */
+public final class CorrelatedSampler {
+
+	private final Distribution[] marginals;
+	private final double[] cholesky;
+
+	public CorrelatedSampler(Distribution[] marginals, double[][] correlation) {
+		int n = marginals.length;
+		if (correlation.length != n) {
+			throw new IllegalArgumentException("Correlation matrix must be " + n + " by " + n);
+		}
+		this.marginals = marginals.clone();
+		this.cholesky = new double[n * n];
+		for (int i = 0; i < n; i++) {
+			if (correlation[i].length != n || correlation[i][i] != 1) {
+				throw new IllegalArgumentException("Correlation matrix must be square with a unit diagonal");
+			}
+			for (int j = 0; j <= i; j++) {
+				double rho = correlation[i][j];
+				if (!(Math.abs(rho) <= 1) || rho != correlation[j][i]) {
+					throw new IllegalArgumentException("Correlations must be symmetric and within [-1, 1]");
+				}
+				double sum = rho;
+				for (int k = 0; k < j; k++) {
+					sum -= cholesky[i * n + k] * cholesky[j * n + k];
+				}
+				if (i == j) {
+					if (sum <= 1e-12) {
+						throw new IllegalArgumentException(
+								"Correlations are inconsistent, the matrix is not positive definite");
+					}
+					cholesky[i * n + i] = Math.sqrt(sum);
+				} else {
+					cholesky[i * n + j] = sum / cholesky[j * n + j];
+				}
+			}
+		}
+	}
+
+	public int dimension() {
+		return marginals.length;
+	}
+
+	/** Fills {@code out[0..dimension)}, using {@code out} also as scratch for the independent normals. */
+	public void draw(Random random, double[] out) {
+		int n = marginals.length;
+		for (int i = 0; i < n; i++) {
+			out[i] = Ziggurat.nextGaussian(random);
+		}
+		// Lower triangular, so row i only reads normals at or below i: go from the bottom up
+		for (int i = n - 1; i >= 0; i--) {
+			double z = 0;
+			for (int k = 0; k <= i; k++) {
+				z += cholesky[i * n + k] * out[k];
+			}
+			out[i] = marginals[i].fromNormal(z);
+		}
+	}
+
+}
@@ -0,0 +1,29 @@
+package com.tom.service.datagen.distribution;
+
+import java.util.Random;
+
+/**
+ * A univariate distribution. {@link #draw} is the fast path and allocates
+ * nothing; {@link #cdf} and {@link #quantile} let correlated fields map
+ * values to and from a shared normal, see {@link CorrelatedSampler}.
+ */
+public interface Distribution {
+
+	double draw(Random random);
+
+	double cdf(double x);
+
+	/** Inverse of {@link #cdf} for {@code p} in {@code (0, 1)}. */
+	double quantile(double p);
+
+	/** The value whose quantile is that of the standard normal {@code z}. */
+	default double fromNormal(double z) {
+		return quantile(NormalDistribution.clamp(NormalDistribution.standardCdf(z)));
+	}
+
+	/** Inverse of {@link #fromNormal}. */
+	default double toNormal(double x) {
+		return NormalDistribution.standardQuantile(NormalDistribution.clamp(cdf(x)));
+	}
+
+}
@@ -0,0 +1,105 @@
+package com.tom.service.datagen.distribution;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Builds a {@link Distribution} from a specification map such as
+ * {@code {type: lognormal, median: 85000, sigma: 0.4, min: 20000}}, the form
+ * used by dataset schemas and employee profiles. Optional {@code min} and
+ * {@code max} truncate any type except {@code uniform}, where they are the
+ * range itself. Errors are reported through the caller's exception factory.
+ */
+public final class Distributions {
+
+	public static final List<String> TYPES = List.of("uniform", "normal", "lognormal", "pareto", "zipf",
+			"empirical");
+
+	private final Map<?, ?> spec;
+	private final Function<String, RuntimeException> error;
+	private final Set<Object> used = new HashSet<>();
+
+	private Distributions(Map<?, ?> spec, Function<String, RuntimeException> error) {
+		this.spec = spec;
+		this.error = error;
+	}
+
+	public static Distribution parse(Object spec, Function<String, RuntimeException> error) {
+		if (!(spec instanceof Map<?, ?> map)) {
+			throw error.apply("must be a map with a 'type'");
+		}
+		Distributions parser = new Distributions(map, error);
+		Distribution distribution = parser.parse();
+		for (Object key : map.keySet()) {
+			if (!parser.used.contains(key)) {
+				throw error.apply("unknown option '" + key + "'");
+			}
+		}
+		return distribution;
+	}
+
+	private Distribution parse() {
+		String type = String.valueOf(required("type"));
+		try {
+			Distribution distribution = switch (type) {
+			case "uniform" -> new UniformDistribution(number("min"), number("max"));
+			case "normal" -> new NormalDistribution(number("mean"), number("stdDev"));
+			case "lognormal" -> new LogNormalDistribution(number("median"), number("sigma"));
+			case "pareto" -> new ParetoDistribution(number("scale"), number("shape"));
+			case "zipf" -> new ZipfDistribution((int) wholeNumber("n"), number("exponent"));
+			case "empirical" -> new EmpiricalDistribution(numbers("edges"), numbers("weights"));
+			default -> throw error.apply("unknown type '" + type + "', expected one of " + TYPES);
+			};
+			if (type.equals("uniform") || !spec.containsKey("min") && !spec.containsKey("max")) {
+				return distribution;
+			}
+			double min = spec.containsKey("min") ? number("min") : Double.NEGATIVE_INFINITY;
+			double max = spec.containsKey("max") ? number("max") : Double.POSITIVE_INFINITY;
+			return new TruncatedDistribution(distribution, min, max);
+		} catch (IllegalArgumentException e) {
+			throw error.apply(e.getMessage());
+		}
+	}
+
+	private Object required(String key) {
+		Object value = spec.get(key);
+		if (value == null) {
+			throw error.apply("'" + key + "' is required");
+		}
+		used.add(key);
+		return value;
+	}
+
+	private double number(String key) {
+		if (required(key) instanceof Number number) {
+			return number.doubleValue();
+		}
+		throw error.apply("'" + key + "' must be a number");
+	}
+
+	private long wholeNumber(String key) {
+		double value = number(key);
+		if (value != Math.rint(value) || value < 1 || value > Integer.MAX_VALUE) {
+			throw error.apply("'" + key + "' must be a positive whole number");
+		}
+		return (long) value;
+	}
+
+	private double[] numbers(String key) {
+		if (!(required(key) instanceof List<?> list) || list.isEmpty()) {
+			throw error.apply("'" + key + "' must be a non-empty list of numbers");
+		}
+		double[] values = new double[list.size()];
+		for (int i = 0; i < values.length; i++) {
+			if (!(list.get(i) instanceof Number number)) {
+				throw error.apply("'" + key + "' must be a non-empty list of numbers");
+			}
+			values[i] = number.doubleValue();
+		}
+		return values;
+	}
+
+}
@@ -0,0 +1,68 @@
+package com.tom.service.datagen.distribution;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Histogram with bins {@code [edges[i], edges[i + 1])}. A draw picks the bin
+ * from an {@link AliasTable} and the value uniformly within it.
+ */
+public final class EmpiricalDistribution implements Distribution {
+
+	private final double[] edges;
+	private final double[] cumulative;
+	private final AliasTable bins;
+
+	public EmpiricalDistribution(double[] edges, double[] weights) {
+		if (edges.length < 2 || weights.length != edges.length - 1) {
+			throw new IllegalArgumentException("Empirical needs n + 1 edges for n weights");
+		}
+		for (int i = 0; i < edges.length; i++) {
+			if (!Double.isFinite(edges[i]) || i > 0 && edges[i] <= edges[i - 1]) {
+				throw new IllegalArgumentException("Empirical edges must be finite and increasing");
+			}
+		}
+		this.bins = new AliasTable(weights);
+		this.edges = edges.clone();
+		this.cumulative = new double[edges.length];
+		double total = Arrays.stream(weights).sum();
+		for (int i = 0; i < weights.length; i++) {
+			cumulative[i + 1] = cumulative[i] + weights[i] / total;
+		}
+		cumulative[weights.length] = 1;
+	}
+
+	@Override
+	public double draw(Random random) {
+		int bin = bins.sample(random);
+		return edges[bin] + random.nextDouble() * (edges[bin + 1] - edges[bin]);
+	}
+
+	@Override
+	public double cdf(double x) {
+		if (x <= edges[0]) {
+			return 0;
+		}
+		if (x >= edges[edges.length - 1]) {
+			return 1;
+		}
+		int bin = Arrays.binarySearch(edges, x);
+		bin = bin >= 0 ? bin : -bin - 2;
+		double fraction = (x - edges[bin]) / (edges[bin + 1] - edges[bin]);
+		return cumulative[bin] + fraction * (cumulative[bin + 1] - cumulative[bin]);
+	}
+
+	@Override
+	public double quantile(double p) {
+		int bin = Arrays.binarySearch(cumulative, p);
+		bin = bin >= 0 ? Math.min(bin, edges.length - 2) : -bin - 2;
+		// Skip empty bins so a quantile never lands in one
+		while (bin < edges.length - 2 && cumulative[bin + 1] == cumulative[bin]) {
+			bin++;
+		}
+		double mass = cumulative[bin + 1] - cumulative[bin];
+		double fraction = mass > 0 ? (p - cumulative[bin]) / mass : 0;
+		return edges[bin] + fraction * (edges[bin + 1] - edges[bin]);
+	}
+
+}
@@ -0,0 +1,44 @@
+package com.tom.service.datagen.distribution;
+
+import java.util.Random;
+
+/** Log-normal given by its median {@code exp(mu)} and the standard deviation {@code sigma} of the logarithm. */
+public final class LogNormalDistribution implements Distribution {
+
+	private final double mu;
+	private final double sigma;
+
+	public LogNormalDistribution(double median, double sigma) {
+		if (!(median > 0) || Double.isInfinite(median) || !(sigma > 0) || Double.isInfinite(sigma)) {
+			throw new IllegalArgumentException("Log-normal needs a positive median and sigma");
+		}
+		this.mu = Math.log(median);
+		this.sigma = sigma;
+	}
+
+	@Override
+	public double draw(Random random) {
+		return Math.exp(mu + sigma * Ziggurat.nextGaussian(random));
+	}
+
+	@Override
+	public double cdf(double x) {
+		return x <= 0 ? 0 : NormalDistribution.standardCdf((Math.log(x) - mu) / sigma);
+	}
+
+	@Override
+	public double quantile(double p) {
+		return Math.exp(mu + sigma * NormalDistribution.standardQuantile(p));
+	}
+
+	@Override
+	public double fromNormal(double z) {
+		return Math.exp(mu + sigma * z);
+	}
+
+	@Override
+	public double toNormal(double x) {
+		return x <= 0 ? -8 : (Math.log(x) - mu) / sigma;
+	}
+
+}
@@ -0,0 +1,80 @@
+package com.tom.service.datagen.distribution;
+
+import java.util.Random;
+
+public final class NormalDistribution implements Distribution {
+
+	private static final double MIN_P = 1e-15;
+
+	private final double mean;
+	private final double stdDev;
+
+	public NormalDistribution(double mean, double stdDev) {
+		if (!Double.isFinite(mean) || !(stdDev > 0) || Double.isInfinite(stdDev)) {
+			throw new IllegalArgumentException("Normal needs a finite mean and a positive standard deviation");
+		}
+		this.mean = mean;
+		this.stdDev = stdDev;
+	}
+
+	@Override
+	public double draw(Random random) {
+		return mean + stdDev * Ziggurat.nextGaussian(random);
+	}
+
+	@Override
+	public double cdf(double x) {
+		return standardCdf((x - mean) / stdDev);
+	}
+
+	@Override
+	public double quantile(double p) {
+		return mean + stdDev * standardQuantile(p);
+	}
+
+	@Override
+	public double fromNormal(double z) {
+		return mean + stdDev * z;
+	}
+
+	@Override
+	public double toNormal(double x) {
+		return (x - mean) / stdDev;
+	}
+
+	/** Standard normal CDF through the complementary error function, accurate to about 1e-7. */
+	public static double standardCdf(double z) {
+		double x = Math.abs(z) / Math.sqrt(2);
+		double t = 1 / (1 + 0.5 * x);
+		double erfc = t * Math.exp(-x * x - 1.26551223 + t * (1.00002368 + t * (0.37409196 + t * (0.09678418
+				+ t * (-0.18628806 + t * (0.27886807 + t * (-1.13520398 + t * (1.48851587
+				+ t * (-0.82215223 + t * 0.17087277)))))))));
+		return z >= 0 ? 1 - 0.5 * erfc : 0.5 * erfc;
+	}
+
+	/** Inverse standard normal CDF (Acklam's rational approximation, relative error below 1.2e-9). */
+	public static double standardQuantile(double p) {
+		if (p < 0.02425) {
+			double q = Math.sqrt(-2 * Math.log(p));
+			return (((((-7.784894002430293e-03 * q - 3.223964580411365e-01) * q - 2.400758277161838e+00) * q
+					- 2.549732539343734e+00) * q + 4.374664141464968e+00) * q + 2.938163982698783e+00)
+					/ ((((7.784695709041462e-03 * q + 3.224671290700398e-01) * q + 2.445134137142996e+00) * q
+							+ 3.754408661907416e+00) * q + 1);
+		}
+		if (p > 1 - 0.02425) {
+			return -standardQuantile(1 - p);
+		}
+		double q = p - 0.5;
+		double r = q * q;
+		return (((((-3.969683028665376e+01 * r + 2.209460984245205e+02) * r - 2.759285104469687e+02) * r
+				+ 1.383577518672690e+02) * r - 3.066479806614716e+01) * r + 2.506628277459239e+00) * q
+				/ (((((-5.447609879822406e+01 * r + 1.615858368580409e+02) * r - 1.556989798598866e+02) * r
+						+ 6.680131188771972e+01) * r - 1.328068155288572e+01) * r + 1);
+	}
+
+	/** Keeps a probability away from 0 and 1, where quantiles are infinite. */
+	static double clamp(double p) {
+		return Math.min(1 - MIN_P, Math.max(MIN_P, p));
+	}
+
+}
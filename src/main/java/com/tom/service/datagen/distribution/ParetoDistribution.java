@@ -0,0 +1,36 @@
+package com.tom.service.datagen.distribution;
+
+import java.util.Random;
+
+/** Pareto type I with minimum {@code scale} and tail index {@code shape}, sampled by inversion. */
+public final class ParetoDistribution implements Distribution {
+
+	private final double scale;
+	private final double shape;
+	private final double inverseShape;
+
+	public ParetoDistribution(double scale, double shape) {
+		if (!(scale > 0) || Double.isInfinite(scale) || !(shape > 0) || Double.isInfinite(shape)) {
+			throw new IllegalArgumentException("Pareto needs a positive scale and shape");
+		}
+		this.scale = scale;
+		this.shape = shape;
+		this.inverseShape = 1 / shape;
+	}
+
+	@Override
+	public double draw(Random random) {
+		return scale * Math.pow(1 - random.nextDouble(), -inverseShape);
+	}
+
+	@Override
+	public double cdf(double x) {
+		return x <= scale ? 0 : 1 - Math.pow(scale / x, shape);
+	}
+
+	@Override
+	public double quantile(double p) {
+		return scale * Math.pow(1 - p, -inverseShape);
+	}
+
+}
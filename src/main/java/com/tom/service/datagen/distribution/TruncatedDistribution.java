@@ -0,0 +1,64 @@
+package com.tom.service.datagen.distribution;
+
+import java.util.Random;
+
+/**
+ * Restricts a distribution to {@code [min, max]}. Draws are rejected and
+ * redrawn while they fall outside; if the bounds cut away most of the mass
+ * it falls back to inversion, which is exact but slower.
+ */
+public final class TruncatedDistribution implements Distribution {
+
+	private static final int MAX_REJECTIONS = 8;
+
+	private final Distribution distribution;
+	private final double min;
+	private final double max;
+	private final double low;
+	private final double mass;
+
+	public TruncatedDistribution(Distribution distribution, double min, double max) {
+		if (!(min <= max)) {
+			throw new IllegalArgumentException("Truncation needs min <= max");
+		}
+		this.distribution = distribution;
+		this.min = min;
+		this.max = max;
+		this.low = distribution.cdf(min);
+		this.mass = distribution.cdf(max) - low;
+	}
+
+	@Override
+	public double draw(Random random) {
+		for (int attempt = 0; attempt < MAX_REJECTIONS; attempt++) {
+			double value = distribution.draw(random);
+			if (value >= min && value <= max) {
+				return value;
+			}
+		}
+		return quantile(random.nextDouble());
+	}
+
+	@Override
+	public double cdf(double x) {
+		if (x < min) {
+			return 0;
+		}
+		if (x >= max || mass <= 0) {
+			return 1;
+		}
+		return (distribution.cdf(x) - low) / mass;
+	}
+
+	@Override
+	public double quantile(double p) {
+		double value = mass > 0 ? distribution.quantile(NormalDistribution.clamp(low + p * mass)) : min;
+		return Math.min(max, Math.max(min, value));
+	}
+
+	@Override
+	public double fromNormal(double z) {
+		return quantile(NormalDistribution.standardCdf(z));
+	}
+
+}
@@ -0,0 +1,33 @@
+package com.tom.service.datagen.distribution;
+
+import java.util.Random;
+
+public final class UniformDistribution implements Distribution {
+
+	private final double min;
+	private final double range;
+
+	public UniformDistribution(double min, double max) {
+		if (!Double.isFinite(min) || !Double.isFinite(max) || max < min) {
+			throw new IllegalArgumentException("Uniform needs finite bounds with min <= max");
+		}
+		this.min = min;
+		this.range = max - min;
+	}
+
+	@Override
+	public double draw(Random random) {
+		return min + random.nextDouble() * range;
+	}
+
+	@Override
+	public double cdf(double x) {
+		return range == 0 ? (x < min ? 0 : 1) : Math.min(1, Math.max(0, (x - min) / range));
+	}
+
+	@Override
+	public double quantile(double p) {
+		return min + p * range;
+	}
+
+}
@@ -0,0 +1,106 @@
+package com.tom.service.datagen.distribution;
+
+import java.util.Random;
+
+/**
+ * Zipf distribution over the ranks {@code 1..n}, sampled by rejection-inversion
+ * (Hörmann and Derflinger, 1996). A draw costs a couple of logarithms and
+ * needs no table, so {@code n} can be as large as the parent table. The CDF
+ * and quantiles use the same continuous approximation as the sampler's
+ * proposal, which is close enough for correlated draws.
+ */
+public final class ZipfDistribution implements Distribution {
+
+	private final int n;
+	private final double exponent;
+	private final double hIntegralX1;
+	private final double hIntegralN;
+	private final double s;
+
+	public ZipfDistribution(int n, double exponent) {
+		if (n < 1) {
+			throw new IllegalArgumentException("Zipf needs at least one element");
+		}
+		if (!(exponent > 0)) {
+			throw new IllegalArgumentException("Zipf exponent must be positive");
+		}
+		this.n = n;
+		this.exponent = exponent;
+		this.hIntegralX1 = hIntegral(1.5) - 1;
+		this.hIntegralN = hIntegral(n + 0.5);
+		this.s = 2 - hIntegralInverse(hIntegral(2.5) - h(2));
+	}
+
+	/** Returns a rank in {@code [1, n]}; rank 1 is the most frequent. */
+	public int sample(Random random) {
+		while (true) {
+			double u = hIntegralN + random.nextDouble() * (hIntegralX1 - hIntegralN);
+			double x = hIntegralInverse(u);
+			int k = (int) (x + 0.5);
+			if (k < 1) {
+				k = 1;
+			} else if (k > n) {
+				k = n;
+			}
+			if (k - x <= s || u >= hIntegral(k + 0.5) - h(k)) {
+				return k;
+			}
+		}
+	}
+
+	@Override
+	public double draw(Random random) {
+		return sample(random);
+	}
+
+	@Override
+	public double cdf(double x) {
+		if (x < 1) {
+			return 0;
+		}
+		if (x >= n) {
+			return 1;
+		}
+		return 1 - (hIntegral(Math.floor(x) + 0.5) - hIntegralN) / (hIntegralX1 - hIntegralN);
+	}
+
+	@Override
+	public double quantile(double p) {
+		double x = hIntegralInverse(hIntegralN + (1 - p) * (hIntegralX1 - hIntegralN));
+		return Math.min(n, Math.max(1, Math.round(x)));
+	}
+
+	private double h(double x) {
+		return Math.exp(-exponent * Math.log(x));
+	}
+
+	private double hIntegral(double x) {
+		double logX = Math.log(x);
+		return expm1Ratio((1 - exponent) * logX) * logX;
+	}
+
+	private double hIntegralInverse(double x) {
+		double t = x * (1 - exponent);
+		if (t < -1) {
+			t = -1;
+		}
+		return Math.exp(log1pRatio(t) * x);
+	}
+
+	/** {@code log(1 + x) / x}, stable around zero. */
+	private static double log1pRatio(double x) {
+		if (Math.abs(x) > 1e-8) {
+			return Math.log1p(x) / x;
+		}
+		return 1 - x * (0.5 - x * (1.0 / 3 - 0.25 * x));
+	}
+
+	/** {@code (exp(x) - 1) / x}, stable around zero. */
+	private static double expm1Ratio(double x) {
+		if (Math.abs(x) > 1e-8) {
+			return Math.expm1(x) / x;
+		}
+		return 1 + x * 0.5 * (1 + x / 3 * (1 + 0.25 * x));
+	}
+
+}
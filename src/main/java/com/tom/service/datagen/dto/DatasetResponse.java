@@ -0,0 +1,31 @@
+package com.tom.service.datagen.dto;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import com.tom.service.datagen.encoder.Column;
+import com.tom.service.datagen.schema.FieldSpec;
+import com.tom.service.datagen.schema.SchemaPlan;
+
+public record DatasetResponse(
+
+		String name,
+		String description,
+		boolean builtIn,
+		List<ColumnResponse> columns
+) {
+
+	public record ColumnResponse(String name, String header, String generator, String type) {
+	}
+
+	public static DatasetResponse of(SchemaPlan plan) {
+		List<FieldSpec> fields = plan.schema().fields();
+		List<Column<Object[]>> layout = plan.layout().columns();
+		List<ColumnResponse> columns = IntStream.range(0, fields.size())
+				.mapToObj(i -> new ColumnResponse(fields.get(i).name(), layout.get(i).getHeader(),
+						fields.get(i).type(), layout.get(i).getType().name()))
+				.toList();
+		return new DatasetResponse(plan.name(), plan.schema().description(), plan.isBuiltIn(), columns);
+	}
+
+}
@@ -0,0 +1,23 @@
+package com.tom.service.datagen.dto;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+import com.tom.service.datagen.job.JobState;
+
+public record JobResponse(
+
+		String id,
+		JobState state,
+		long quantity,
+		long rowsGenerated,
+		double rowsPerSecond,
+		Long etaSeconds,
+		long seed,
+		LocalDate referenceDate,
+		Instant createdAt,
+		Instant finishedAt,
+		String downloadUrl,
+		String error
+) {
+}
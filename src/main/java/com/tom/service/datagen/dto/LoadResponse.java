@@ -0,0 +1,9 @@
+package com.tom.service.datagen.dto;
+
+import java.time.LocalDate;
+
+import com.tom.service.datagen.sink.SinkMode;
+
+public record LoadResponse(String dataset, String table, SinkMode mode, long rows, long elapsedMillis, long seed,
+		LocalDate referenceDate) {
+}
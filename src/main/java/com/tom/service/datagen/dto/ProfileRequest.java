@@ -0,0 +1,88 @@
+package com.tom.service.datagen.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+public record ProfileRequest(
+
+		@NotNull(message = "Name is required")
+		@Pattern(regexp = "[a-z0-9][a-z0-9_-]{0,63}", message = "Name must be lowercase letters, digits, - or _")
+		@Schema(description = "Profile identifier used by generation requests", example = "senior-staff")
+		String name,
+
+		@Min(value = 0, message = "Gender must be at least 0")
+		@Max(value = 100, message = "Gender cannot exceed 100")
+		@Schema(description = "Percentage of male employees", example = "50")
+		Integer gender,
+
+		@Valid
+		@Size(min = 1, max = 64, message = "Age needs between 1 and 64 buckets")
+		@Schema(description = "Weighted age ranges, defaults to 19-40 and 41-58 weighted equally")
+		List<Bucket> age,
+
+		@Valid
+		@Size(min = 1, max = 64, message = "Experience needs between 1 and 64 buckets")
+		@Schema(description = "Weighted years of experience ranges, defaults to 1-10 and 11-30 weighted equally")
+		List<Bucket> experience,
+
+		@Valid
+		@Size(min = 1, max = 64, message = "Salary needs between 1 and 64 buckets")
+		@Schema(description = "Weighted salary ranges, defaults to 30000-400000 and 400001-700000 weighted equally")
+		List<Bucket> salary,
+
+		@Schema(description = "Distributions replacing the buckets of age, experience or salary, e.g. "
+				+ "{\"salary\": {\"type\": \"lognormal\", \"median\": 85000, \"sigma\": 0.4, \"min\": 20000}}")
+		Map<String, Map<String, Object>> distributions,
+
+		@Valid
+		@Schema(description = "Rank correlations between age, experience and salary")
+		Correlations correlations
+) {
+
+	public record Correlations(
+
+			@DecimalMin(value = "-1", message = "Correlations must be between -1 and 1")
+			@DecimalMax(value = "1", message = "Correlations must be between -1 and 1")
+			@Schema(example = "0.8")
+			double ageExperience,
+
+			@DecimalMin(value = "-1", message = "Correlations must be between -1 and 1")
+			@DecimalMax(value = "1", message = "Correlations must be between -1 and 1")
+			@Schema(example = "0.3")
+			double ageSalary,
+
+			@DecimalMin(value = "-1", message = "Correlations must be between -1 and 1")
+			@DecimalMax(value = "1", message = "Correlations must be between -1 and 1")
+			@Schema(example = "0.6")
+			double experienceSalary
+	) {
+	}
+
+	/** Values {@code min..max}, both inclusive, drawn uniformly once the bucket is chosen. */
+	public record Bucket(
+
+			@Min(value = 0, message = "Bucket minimum must not be negative")
+			@Schema(example = "19")
+			int min,
+
+			@Min(value = 0, message = "Bucket maximum must not be negative")
+			@Schema(example = "40")
+			int max,
+
+			@DecimalMin(value = "0", message = "Bucket weight must not be negative")
+			@Schema(example = "1")
+			double weight
+	) {
+	}
+
+}
@@ -0,0 +1,31 @@
+package com.tom.service.datagen.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.tom.service.datagen.dto.ProfileRequest.Bucket;
+import com.tom.service.datagen.dto.ProfileRequest.Correlations;
+import com.tom.service.datagen.profile.EmployeeProfile;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ProfileResponse(
+
+		String name,
+		boolean builtIn,
+		int gender,
+		List<Bucket> age,
+		List<Bucket> experience,
+		List<Bucket> salary,
+		Map<String, Map<String, Object>> distributions,
+		Correlations correlations
+) {
+
+	public static ProfileResponse of(EmployeeProfile profile) {
+		ProfileRequest definition = profile.definition();
+		return new ProfileResponse(definition.name(), profile.isBuiltIn(), definition.gender(), definition.age(),
+				definition.experience(), definition.salary(), definition.distributions(),
+				definition.correlations());
+	}
+
+}
@@ -0,0 +1,12 @@
+package com.tom.service.datagen.dto;
+
+import java.time.LocalDate;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.tom.service.datagen.sink.RecordFormat;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record PublishResponse(String dataset, String topic, RecordFormat format, long records, long bytes,
+		long elapsedMillis, long seed, LocalDate referenceDate, @JsonRawValue String schema) {
+}
@@ -0,0 +1,17 @@
+package com.tom.service.datagen.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record RelationResponse(
+
+		String name,
+		long seed,
+		LocalDate referenceDate,
+		List<TableFile> tables
+) {
+
+	public record TableFile(String dataset, long rows, long size, String downloadUrl) {
+	}
+
+}
@@ -0,0 +1,4 @@
+package com.tom.service.datagen.dto;
+
+public record TokenResponse(String accessToken, String tokenType, long expiresIn) {
+}
@@ -0,0 +1,188 @@
+package com.tom.service.datagen.encoder;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Encodes a row as an Avro binary datum of the record schema derived from
+ * its {@link RowLayout}. Primitive columns map to required fields, every
+ * other column to a union with {@code null}; dates use the {@code date}
+ * logical type. Only the datum is written, consumers get the writer schema
+ * from {@link #schema()}.
+ */
+public final class AvroRowEncoder<T> {
+
+	private final CellWriter<T>[] cells;
+	private final String schema;
+
+	@SuppressWarnings("unchecked")
+	public AvroRowEncoder(String recordName, RowLayout<T> layout) {
+		List<Column<T>> columns = layout.columns();
+		this.cells = new CellWriter[columns.size()];
+		StringBuilder fields = new StringBuilder();
+		for (int i = 0; i < columns.size(); i++) {
+			Column<T> column = columns.get(i);
+			cells[i] = compile(column);
+			if (i > 0) {
+				fields.append(',');
+			}
+			fields.append("{\"name\":\"").append(column.getName()).append("\",\"type\":");
+			if (column.isPrimitive()) {
+				fields.append(typeOf(column)).append('}');
+			} else {
+				fields.append("[\"null\",").append(typeOf(column)).append("],\"default\":null}");
+			}
+		}
+		this.schema = "{\"type\":\"record\",\"name\":\"" + recordNameOf(recordName)
+				+ "\",\"namespace\":\"com.tom.service.datagen\",\"fields\":[" + fields + "]}";
+	}
+
+	public String schema() {
+		return schema;
+	}
+
+	public void encode(T row, RowBuffer buffer) {
+		for (int i = 0; i < cells.length; i++) {
+			cells[i].write(row, buffer);
+		}
+	}
+
+	private static <T> CellWriter<T> compile(Column<T> column) {
+		if (column.isPrimitive()) {
+			switch (column.getType()) {
+			case INT -> {
+				ToIntFunction<T> getter = column.getIntGetter();
+				return (row, buffer) -> writeLong(getter.applyAsInt(row), buffer);
+			}
+			case LONG -> {
+				ToLongFunction<T> getter = column.getLongGetter();
+				return (row, buffer) -> writeLong(getter.applyAsLong(row), buffer);
+			}
+			case DOUBLE -> {
+				ToDoubleFunction<T> getter = column.getDoubleGetter();
+				return (row, buffer) -> writeDouble(getter.applyAsDouble(row), buffer);
+			}
+			case BOOLEAN -> {
+				Predicate<T> getter = column.getBooleanGetter();
+				return (row, buffer) -> buffer.write(getter.test(row) ? (byte) 1 : (byte) 0);
+			}
+			default -> throw new IllegalStateException("Unsupported primitive column " + column.getName());
+			}
+		}
+
+		Function<T, Object> getter = column.getObjectGetter();
+		return switch (column.getType()) {
+		case INT, LONG -> nullable(getter, (value, buffer) -> writeLong(((Number) value).longValue(), buffer));
+		case DOUBLE -> nullable(getter, (value, buffer) -> writeDouble(((Number) value).doubleValue(), buffer));
+		case BOOLEAN -> nullable(getter, (value, buffer) -> buffer.write((Boolean) value ? (byte) 1 : (byte) 0));
+		case DATE -> nullable(getter, (value, buffer) -> writeLong(((LocalDate) value).toEpochDay(), buffer));
+		case ENUM -> nullable(getter, (value, buffer) -> writeLong(((Enum<?>) value).ordinal(), buffer));
+		default -> nullable(getter, (value, buffer) -> writeString(value.toString(), buffer));
+		};
+	}
+
+	/** Union branch 0 is {@code null}, branch 1 the value. */
+	private static <T> CellWriter<T> nullable(Function<T, Object> getter, CellWriter<Object> writer) {
+		return (row, buffer) -> {
+			Object value = getter.apply(row);
+			if (value == null) {
+				buffer.write((byte) 0);
+			} else {
+				buffer.write((byte) 2);
+				writer.write(value, buffer);
+			}
+		};
+	}
+
+	/** Zig-zag encoded variable-length integer, used for Avro int and long. */
+	static void writeLong(long value, RowBuffer buffer) {
+		long n = (value << 1) ^ (value >> 63);
+		while ((n & ~0x7FL) != 0) {
+			buffer.write((byte) ((n & 0x7F) | 0x80));
+			n >>>= 7;
+		}
+		buffer.write((byte) n);
+	}
+
+	private static void writeDouble(double value, RowBuffer buffer) {
+		long bits = Double.doubleToLongBits(value);
+		for (int i = 0; i < 8; i++) {
+			buffer.write((byte) (bits >>> (i * 8)));
+		}
+	}
+
+	private static void writeString(String value, RowBuffer buffer) {
+		writeLong(utf8Length(value), buffer);
+		buffer.writeUtf8(value);
+	}
+
+	private static int utf8Length(String value) {
+		int length = 0;
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c < 0x80) {
+				length++;
+			} else if (c < 0x800) {
+				length += 2;
+			} else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+					&& Character.isLowSurrogate(value.charAt(i + 1))) {
+				length += 4;
+				i++;
+			} else if (Character.isSurrogate(c)) {
+				// Written as '?' by RowBuffer
+				length++;
+			} else {
+				length += 3;
+			}
+		}
+		return length;
+	}
+
+	private static String typeOf(Column<?> column) {
+		return switch (column.getType()) {
+		case INT -> "\"int\"";
+		case LONG -> "\"long\"";
+		case DOUBLE -> "\"double\"";
+		case BOOLEAN -> "\"boolean\"";
+		case DATE -> "{\"type\":\"int\",\"logicalType\":\"date\"}";
+		case ENUM -> enumType(column.getJavaType());
+		default -> "\"string\"";
+		};
+	}
+
+	private static String enumType(Class<?> enumType) {
+		StringBuilder symbols = new StringBuilder();
+		for (Object constant : enumType.getEnumConstants()) {
+			if (!symbols.isEmpty()) {
+				symbols.append(',');
+			}
+			symbols.append('"').append(((Enum<?>) constant).name()).append('"');
+		}
+		return "{\"type\":\"enum\",\"name\":\"" + enumType.getSimpleName() + "\",\"symbols\":[" + symbols + "]}";
+	}
+
+	/** {@code house-price} becomes {@code HousePrice}. */
+	private static String recordNameOf(String name) {
+		StringBuilder record = new StringBuilder(name.length());
+		boolean upper = true;
+		for (int i = 0; i < name.length(); i++) {
+			char c = name.charAt(i);
+			if (Character.isLetterOrDigit(c)) {
+				record.append(upper ? Character.toUpperCase(c) : c);
+				upper = false;
+			} else {
+				upper = true;
+			}
+		}
+		if (record.isEmpty() || !Character.isLetter(record.charAt(0))) {
+			record.insert(0, 'R');
+		}
+		return record.toString();
+	}
+
+}
@@ -0,0 +1,7 @@
+package com.tom.service.datagen.encoder;
+
+/** Appends one cell of a row; compiled per column by the row encoders. */
+@FunctionalInterface
+interface CellWriter<T> {
+	void write(T row, RowBuffer buffer);
+}
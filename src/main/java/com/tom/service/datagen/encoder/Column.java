@@ -0,0 +1,64 @@
+package com.tom.service.datagen.encoder;
+
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A single typed column of a {@link RowLayout}. Primitive columns expose an
+ * unboxed getter, every other column (including boxed numbers, which may be
+ * null) is read through {@link #getObjectGetter()}. Dictionary columns hold
+ * few distinct values and are dictionary-encoded by the columnar writers.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class Column<T> {
+
+	private final String name;
+	private final String header;
+	private final ColumnType type;
+	private final Class<?> javaType;
+	private final ToIntFunction<T> intGetter;
+	private final ToLongFunction<T> longGetter;
+	private final ToDoubleFunction<T> doubleGetter;
+	private final Predicate<T> booleanGetter;
+	private final Function<T, Object> objectGetter;
+	private final boolean dictionary;
+
+	public boolean isPrimitive() {
+		return objectGetter == null;
+	}
+
+	public Column<T> withDictionary(boolean dictionary) {
+		return new Column<>(name, header, type, javaType, intGetter, longGetter, doubleGetter, booleanGetter,
+				objectGetter, dictionary);
+	}
+
+	public static <T> Column<T> ofInt(String name, String header, ToIntFunction<T> getter) {
+		return new Column<>(name, header, ColumnType.INT, int.class, getter, null, null, null, null, false);
+	}
+
+	public static <T> Column<T> ofLong(String name, String header, ToLongFunction<T> getter) {
+		return new Column<>(name, header, ColumnType.LONG, long.class, null, getter, null, null, null, false);
+	}
+
+	public static <T> Column<T> ofDouble(String name, String header, ToDoubleFunction<T> getter) {
+		return new Column<>(name, header, ColumnType.DOUBLE, double.class, null, null, getter, null, null, false);
+	}
+
+	public static <T> Column<T> ofBoolean(String name, String header, Predicate<T> getter) {
+		return new Column<>(name, header, ColumnType.BOOLEAN, boolean.class, null, null, null, getter, null, false);
+	}
+
+	public static <T> Column<T> ofObject(String name, String header, ColumnType type, Class<?> javaType,
+			Function<T, Object> getter) {
+		return new Column<>(name, header, type, javaType, null, null, null, null, getter, type == ColumnType.ENUM);
+	}
+
+}
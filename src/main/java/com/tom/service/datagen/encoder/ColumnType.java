@@ -0,0 +1,7 @@
+package com.tom.service.datagen.encoder;
+
+public enum ColumnType {
+
+	INT, LONG, DOUBLE, BOOLEAN, STRING, DATE, ENUM, OBJECT
+
+}
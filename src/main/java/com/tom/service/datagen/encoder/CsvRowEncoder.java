@@ -0,0 +1,175 @@
+package com.tom.service.datagen.encoder;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * CSV writer compiled once from a {@link RowLayout}: every column becomes a
+ * typed {@link CellWriter}, so encoding a row is a loop over prebound
+ * accessors appending into a {@link RowBuffer}. The header comes from the
+ * same layout and therefore always matches the columns.
+ */
+public final class CsvRowEncoder<T> {
+
+	private static final byte SEPARATOR = ',';
+	private static final byte NEWLINE = '\n';
+	private static final byte QUOTE = '"';
+
+	private final RowLayout<T> layout;
+	private final CellWriter<T>[] cells;
+	private final byte[] header;
+
+	@SuppressWarnings("unchecked")
+	public CsvRowEncoder(RowLayout<T> layout) {
+		this.layout = layout;
+		List<Column<T>> columns = layout.columns();
+		this.cells = new CellWriter[columns.size()];
+		RowBuffer headerBuffer = new RowBuffer(256);
+		for (int i = 0; i < columns.size(); i++) {
+			cells[i] = compile(columns.get(i));
+			if (i > 0) {
+				headerBuffer.write(SEPARATOR);
+			}
+			writeText(columns.get(i).getHeader(), headerBuffer);
+		}
+		this.header = headerBuffer.write(NEWLINE).toByteArray();
+	}
+
+	public static <T> CsvRowEncoder<T> of(Class<T> type) {
+		return new CsvRowEncoder<>(RowLayout.of(type));
+	}
+
+	public RowLayout<T> layout() {
+		return layout;
+	}
+
+	public void encodeHeader(RowBuffer buffer) {
+		buffer.write(header);
+	}
+
+	public void encode(T row, RowBuffer buffer) {
+		CellWriter<T>[] writers = cells;
+		for (int i = 0; i < writers.length; i++) {
+			if (i > 0) {
+				buffer.write(SEPARATOR);
+			}
+			writers[i].write(row, buffer);
+		}
+		buffer.write(NEWLINE);
+	}
+
+	public void encode(List<? extends T> rows, RowBuffer buffer) {
+		for (int i = 0; i < rows.size(); i++) {
+			encode(rows.get(i), buffer);
+		}
+	}
+
+	private static <T> CellWriter<T> compile(Column<T> column) {
+		if (column.isPrimitive()) {
+			switch (column.getType()) {
+			case INT -> {
+				ToIntFunction<T> getter = column.getIntGetter();
+				return (row, buffer) -> buffer.writeInt(getter.applyAsInt(row));
+			}
+			case LONG -> {
+				ToLongFunction<T> getter = column.getLongGetter();
+				return (row, buffer) -> buffer.writeLong(getter.applyAsLong(row));
+			}
+			case DOUBLE -> {
+				ToDoubleFunction<T> getter = column.getDoubleGetter();
+				return (row, buffer) -> buffer.writeDouble(getter.applyAsDouble(row));
+			}
+			case BOOLEAN -> {
+				Predicate<T> getter = column.getBooleanGetter();
+				return (row, buffer) -> buffer.writeBoolean(getter.test(row));
+			}
+			default -> throw new IllegalStateException("Unsupported primitive column " + column.getName());
+			}
+		}
+
+		Function<T, Object> getter = column.getObjectGetter();
+		return switch (column.getType()) {
+		case INT, LONG -> (row, buffer) -> {
+			Object value = getter.apply(row);
+			if (value != null) {
+				buffer.writeLong(((Number) value).longValue());
+			}
+		};
+		case DOUBLE -> (row, buffer) -> {
+			Object value = getter.apply(row);
+			if (value != null) {
+				buffer.writeDouble(((Number) value).doubleValue());
+			}
+		};
+		case BOOLEAN -> (row, buffer) -> {
+			Object value = getter.apply(row);
+			if (value != null) {
+				buffer.writeBoolean((Boolean) value);
+			}
+		};
+		case DATE -> (row, buffer) -> {
+			Object value = getter.apply(row);
+			if (value != null) {
+				buffer.writeDate((LocalDate) value);
+			}
+		};
+		case ENUM -> enumWriter(column.getJavaType(), getter);
+		default -> (row, buffer) -> {
+			Object value = getter.apply(row);
+			if (value != null) {
+				writeText(value.toString(), buffer);
+			}
+		};
+		};
+	}
+
+	private static <T> CellWriter<T> enumWriter(Class<?> enumType, Function<T, Object> getter) {
+		Object[] constants = enumType.getEnumConstants();
+		byte[][] names = new byte[constants.length][];
+		for (int i = 0; i < constants.length; i++) {
+			RowBuffer name = new RowBuffer(32);
+			writeText(((Enum<?>) constants[i]).name(), name);
+			names[i] = name.toByteArray();
+		}
+		return (row, buffer) -> {
+			Object value = getter.apply(row);
+			if (value != null) {
+				buffer.write(names[((Enum<?>) value).ordinal()]);
+			}
+		};
+	}
+
+	static void writeText(String value, RowBuffer buffer) {
+		if (!needsQuoting(value)) {
+			buffer.writeUtf8(value);
+			return;
+		}
+		buffer.write(QUOTE);
+		int start = 0;
+		for (int i = 0; i < value.length(); i++) {
+			if (value.charAt(i) == '"') {
+				buffer.writeUtf8(value, start, i + 1);
+				buffer.write(QUOTE);
+				start = i + 1;
+			}
+		}
+		buffer.writeUtf8(value, start, value.length());
+		buffer.write(QUOTE);
+	}
+
+	private static boolean needsQuoting(String value) {
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+				return true;
+			}
+		}
+		return false;
+	}
+
+}
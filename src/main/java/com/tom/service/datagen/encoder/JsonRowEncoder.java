@@ -0,0 +1,129 @@
+package com.tom.service.datagen.encoder;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Encodes a row as one JSON object, keyed by the field names of its
+ * {@link RowLayout}. Compiled once like {@link CsvRowEncoder}; property names
+ * are pre-encoded so a row is written without building any strings.
+ */
+public final class JsonRowEncoder<T> {
+
+	private static final byte[] NULL = { 'n', 'u', 'l', 'l' };
+	private static final byte[] HEX = "0123456789abcdef".getBytes();
+
+	private final CellWriter<T>[] cells;
+	private final byte[][] names;
+
+	@SuppressWarnings("unchecked")
+	public JsonRowEncoder(RowLayout<T> layout) {
+		List<Column<T>> columns = layout.columns();
+		this.cells = new CellWriter[columns.size()];
+		this.names = new byte[columns.size()][];
+		for (int i = 0; i < columns.size(); i++) {
+			cells[i] = compile(columns.get(i));
+			RowBuffer name = new RowBuffer(64);
+			name.write((byte) (i == 0 ? '{' : ','));
+			writeString(columns.get(i).getName(), name);
+			names[i] = name.write((byte) ':').toByteArray();
+		}
+	}
+
+	public void encode(T row, RowBuffer buffer) {
+		if (cells.length == 0) {
+			buffer.write((byte) '{');
+		}
+		for (int i = 0; i < cells.length; i++) {
+			buffer.write(names[i]);
+			cells[i].write(row, buffer);
+		}
+		buffer.write((byte) '}');
+	}
+
+	private static <T> CellWriter<T> compile(Column<T> column) {
+		if (column.isPrimitive()) {
+			switch (column.getType()) {
+			case INT -> {
+				ToIntFunction<T> getter = column.getIntGetter();
+				return (row, buffer) -> buffer.writeInt(getter.applyAsInt(row));
+			}
+			case LONG -> {
+				ToLongFunction<T> getter = column.getLongGetter();
+				return (row, buffer) -> buffer.writeLong(getter.applyAsLong(row));
+			}
+			case DOUBLE -> {
+				ToDoubleFunction<T> getter = column.getDoubleGetter();
+				return (row, buffer) -> writeDouble(getter.applyAsDouble(row), buffer);
+			}
+			case BOOLEAN -> {
+				Predicate<T> getter = column.getBooleanGetter();
+				return (row, buffer) -> buffer.writeBoolean(getter.test(row));
+			}
+			default -> throw new IllegalStateException("Unsupported primitive column " + column.getName());
+			}
+		}
+
+		Function<T, Object> getter = column.getObjectGetter();
+		return switch (column.getType()) {
+		case INT, LONG -> nullable(getter, (value, buffer) -> buffer.writeLong(((Number) value).longValue()));
+		case DOUBLE -> nullable(getter, (value, buffer) -> writeDouble(((Number) value).doubleValue(), buffer));
+		case BOOLEAN -> nullable(getter, (value, buffer) -> buffer.writeBoolean((Boolean) value));
+		case DATE -> nullable(getter, (value, buffer) -> {
+			buffer.write((byte) '"');
+			buffer.writeDate((LocalDate) value);
+			buffer.write((byte) '"');
+		});
+		case ENUM -> nullable(getter, (value, buffer) -> writeString(((Enum<?>) value).name(), buffer));
+		default -> nullable(getter, (value, buffer) -> writeString(value.toString(), buffer));
+		};
+	}
+
+	private static <T> CellWriter<T> nullable(Function<T, Object> getter, CellWriter<Object> writer) {
+		return (row, buffer) -> {
+			Object value = getter.apply(row);
+			if (value == null) {
+				buffer.write(NULL);
+			} else {
+				writer.write(value, buffer);
+			}
+		};
+	}
+
+	private static void writeDouble(double value, RowBuffer buffer) {
+		if (Double.isFinite(value)) {
+			buffer.writeDouble(value);
+		} else {
+			buffer.write(NULL);
+		}
+	}
+
+	static void writeString(String value, RowBuffer buffer) {
+		buffer.write((byte) '"');
+		int start = 0;
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c < 0x20 || c == '"' || c == '\\') {
+				buffer.writeUtf8(value, start, i);
+				buffer.write((byte) '\\');
+				switch (c) {
+				case '"', '\\' -> buffer.write((byte) c);
+				case '\n' -> buffer.write((byte) 'n');
+				case '\r' -> buffer.write((byte) 'r');
+				case '\t' -> buffer.write((byte) 't');
+				default -> buffer.write((byte) 'u').write((byte) '0').write((byte) '0').write(HEX[c >> 4])
+						.write(HEX[c & 0xF]);
+				}
+				start = i + 1;
+			}
+		}
+		buffer.writeUtf8(value, start, value.length());
+		buffer.write((byte) '"');
+	}
+
+}
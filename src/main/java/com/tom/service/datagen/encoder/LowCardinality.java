@@ -0,0 +1,15 @@
+package com.tom.service.datagen.encoder;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a field whose values repeat heavily, so columnar writers store it
+ * dictionary-encoded. Enum fields are always treated this way.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface LowCardinality {
+}
@@ -0,0 +1,205 @@
+package com.tom.service.datagen.encoder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Growable UTF-8 byte buffer that numbers, dates and strings are appended to
+ * without going through an intermediate {@link String}. Meant to be reused
+ * across batches via {@link #reset()}.
+ */
+public final class RowBuffer {
+
+	private static final byte[] MIN_LONG = Long.toString(Long.MIN_VALUE).getBytes();
+	private static final long[] POWERS_OF_TEN = { 1, 10, 100, 1_000, 10_000, 100_000, 1_000_000, 10_000_000,
+			100_000_000 };
+
+	private byte[] bytes;
+	private int size;
+
+	public RowBuffer() {
+		this(8192);
+	}
+
+	public RowBuffer(int initialCapacity) {
+		this.bytes = new byte[Math.max(initialCapacity, 16)];
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public void reset() {
+		size = 0;
+	}
+
+	public byte[] toByteArray() {
+		return Arrays.copyOf(bytes, size);
+	}
+
+	public void writeTo(OutputStream out) throws IOException {
+		out.write(bytes, 0, size);
+	}
+
+	public RowBuffer write(byte b) {
+		ensureCapacity(1);
+		bytes[size++] = b;
+		return this;
+	}
+
+	public RowBuffer write(byte[] src) {
+		ensureCapacity(src.length);
+		System.arraycopy(src, 0, bytes, size, src.length);
+		size += src.length;
+		return this;
+	}
+
+	public RowBuffer writeInt(int value) {
+		return writeLong(value);
+	}
+
+	public RowBuffer writeLong(long value) {
+		if (value == Long.MIN_VALUE) {
+			return write(MIN_LONG);
+		}
+		ensureCapacity(20);
+		if (value < 0) {
+			bytes[size++] = '-';
+			value = -value;
+		}
+		int digits = digitCount(value);
+		int pos = size + digits;
+		do {
+			bytes[--pos] = (byte) ('0' + (value % 10));
+			value /= 10;
+		} while (value != 0);
+		size += digits;
+		return this;
+	}
+
+	public RowBuffer writeDouble(double value) {
+		if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+			writeLong((long) value);
+			ensureCapacity(2);
+			bytes[size++] = '.';
+			bytes[size++] = '0';
+			return this;
+		}
+		return writeAscii(Double.toString(value));
+	}
+
+	/**
+	 * Fixed-point text with exactly {@code scale} fraction digits, written
+	 * without going through {@link Double#toString}.
+	 */
+	public RowBuffer writeDecimal(double value, int scale) {
+		if (scale <= 0) {
+			return writeLong(Math.round(value));
+		}
+		if (scale >= POWERS_OF_TEN.length || !(Math.abs(value) < 1e15 / POWERS_OF_TEN[scale])) {
+			return writeDouble(value);
+		}
+		long scaled = Math.round(value * POWERS_OF_TEN[scale]);
+		if (scaled < 0) {
+			write((byte) '-');
+			scaled = -scaled;
+		}
+		writeLong(scaled / POWERS_OF_TEN[scale]);
+		ensureCapacity(scale + 1);
+		bytes[size++] = '.';
+		writePadded((int) (scaled % POWERS_OF_TEN[scale]), scale);
+		return this;
+	}
+
+	public RowBuffer writeBoolean(boolean value) {
+		return writeAscii(value ? "true" : "false");
+	}
+
+	public RowBuffer writeDate(LocalDate date) {
+		int year = date.getYear();
+		if (year < 0 || year > 9999) {
+			return writeAscii(date.toString());
+		}
+		ensureCapacity(10);
+		writePadded(year, 4);
+		bytes[size++] = '-';
+		writePadded(date.getMonthValue(), 2);
+		bytes[size++] = '-';
+		writePadded(date.getDayOfMonth(), 2);
+		return this;
+	}
+
+	public RowBuffer writeAscii(String value) {
+		int length = value.length();
+		ensureCapacity(length);
+		for (int i = 0; i < length; i++) {
+			bytes[size++] = (byte) value.charAt(i);
+		}
+		return this;
+	}
+
+	public RowBuffer writeUtf8(CharSequence value) {
+		return writeUtf8(value, 0, value.length());
+	}
+
+	public RowBuffer writeUtf8(CharSequence value, int start, int end) {
+		ensureCapacity(end - start);
+		for (int i = start; i < end; i++) {
+			char c = value.charAt(i);
+			if (c < 0x80) {
+				ensureCapacity(1);
+				bytes[size++] = (byte) c;
+			} else if (c < 0x800) {
+				ensureCapacity(2);
+				bytes[size++] = (byte) (0xC0 | (c >> 6));
+				bytes[size++] = (byte) (0x80 | (c & 0x3F));
+			} else if (Character.isHighSurrogate(c) && i + 1 < end
+					&& Character.isLowSurrogate(value.charAt(i + 1))) {
+				int codePoint = Character.toCodePoint(c, value.charAt(++i));
+				ensureCapacity(4);
+				bytes[size++] = (byte) (0xF0 | (codePoint >> 18));
+				bytes[size++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+				bytes[size++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+				bytes[size++] = (byte) (0x80 | (codePoint & 0x3F));
+			} else if (Character.isSurrogate(c)) {
+				ensureCapacity(1);
+				bytes[size++] = '?';
+			} else {
+				ensureCapacity(3);
+				bytes[size++] = (byte) (0xE0 | (c >> 12));
+				bytes[size++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+				bytes[size++] = (byte) (0x80 | (c & 0x3F));
+			}
+		}
+		return this;
+	}
+
+	private void writePadded(int value, int width) {
+		int pos = size + width;
+		for (int i = 0; i < width; i++) {
+			bytes[--pos] = (byte) ('0' + (value % 10));
+			value /= 10;
+		}
+		size += width;
+	}
+
+	private static int digitCount(long value) {
+		long bound = 10;
+		for (int digits = 1; digits < 19; digits++) {
+			if (value < bound) {
+				return digits;
+			}
+			bound *= 10;
+		}
+		return 19;
+	}
+
+	private void ensureCapacity(int extra) {
+		if (size + extra > bytes.length) {
+			bytes = Arrays.copyOf(bytes, Math.max(bytes.length << 1, size + extra));
+		}
+	}
+
+}
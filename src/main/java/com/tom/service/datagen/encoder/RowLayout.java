@@ -0,0 +1,165 @@
+package com.tom.service.datagen.encoder;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+import com.tom.service.datagen.exception.DataProcessingException;
+
+/**
+ * Ordered column metadata for a row type. For model classes the layout is
+ * resolved once per class from the declared fields and their getters, which
+ * are bound through {@link LambdaMetafactory} so reading a cell is a plain
+ * interface call instead of reflection.
+ */
+public final class RowLayout<T> {
+
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+	private static final ClassValue<RowLayout<?>> CACHE = new ClassValue<>() {
+		@Override
+		protected RowLayout<?> computeValue(Class<?> type) {
+			return fromFields(type);
+		}
+	};
+
+	private final List<Column<T>> columns;
+
+	public RowLayout(List<Column<T>> columns) {
+		this.columns = List.copyOf(columns);
+	}
+
+	@SuppressWarnings("unchecked")
+	public static <T> RowLayout<T> of(Class<T> type) {
+		return (RowLayout<T>) CACHE.get(type);
+	}
+
+	public List<Column<T>> columns() {
+		return columns;
+	}
+
+	public int size() {
+		return columns.size();
+	}
+
+	public List<String> headers() {
+		return columns.stream().map(Column::getHeader).toList();
+	}
+
+	private static <T> RowLayout<T> fromFields(Class<T> type) {
+		List<Column<T>> columns = new ArrayList<>();
+		for (Field field : type.getDeclaredFields()) {
+			if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) {
+				continue;
+			}
+			columns.add(bindColumn(type, field));
+		}
+		return new RowLayout<>(columns);
+	}
+
+	private static <T> Column<T> bindColumn(Class<T> type, Field field) {
+		String name = field.getName();
+		String header = toHeader(name);
+		Class<?> fieldType = field.getType();
+		try {
+			MethodHandle getter = LOOKUP.unreflect(findGetter(type, field));
+			if (fieldType == int.class) {
+				return Column.ofInt(name, header, bind(getter, ToIntFunction.class, "applyAsInt", int.class));
+			}
+			if (fieldType == long.class) {
+				return Column.ofLong(name, header, bind(getter, ToLongFunction.class, "applyAsLong", long.class));
+			}
+			if (fieldType == double.class) {
+				return Column.ofDouble(name, header,
+						bind(getter, ToDoubleFunction.class, "applyAsDouble", double.class));
+			}
+			if (fieldType == boolean.class) {
+				return Column.ofBoolean(name, header, bind(getter, Predicate.class, "test", boolean.class));
+			}
+			Function<T, Object> objectGetter = bind(getter, Function.class, "apply", Object.class);
+			Column<T> column = Column.ofObject(name, header, typeOf(fieldType), fieldType, objectGetter);
+			return field.isAnnotationPresent(LowCardinality.class) ? column.withDictionary(true) : column;
+		} catch (Throwable e) {
+			throw new DataProcessingException("Unable to bind column " + type.getSimpleName() + "." + name, e);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <F> F bind(MethodHandle getter, Class<?> functionType, String methodName, Class<?> erasedReturn)
+			throws Throwable {
+		CallSite site = LambdaMetafactory.metafactory(
+				LOOKUP,
+				methodName,
+				MethodType.methodType(functionType),
+				MethodType.methodType(erasedReturn, Object.class),
+				getter,
+				getter.type());
+		return (F) site.getTarget().invoke();
+	}
+
+	private static Method findGetter(Class<?> type, Field field) throws NoSuchMethodException {
+		String suffix = Character.toUpperCase(field.getName().charAt(0)) + field.getName().substring(1);
+		if (field.getType() == boolean.class) {
+			try {
+				return type.getMethod("is" + suffix);
+			} catch (NoSuchMethodException e) {
+				// fall through to the regular getter name
+			}
+		}
+		return type.getMethod("get" + suffix);
+	}
+
+	private static ColumnType typeOf(Class<?> fieldType) {
+		if (fieldType == Integer.class || fieldType == Short.class || fieldType == Byte.class) {
+			return ColumnType.INT;
+		}
+		if (fieldType == Long.class) {
+			return ColumnType.LONG;
+		}
+		if (fieldType == Double.class || fieldType == Float.class) {
+			return ColumnType.DOUBLE;
+		}
+		if (fieldType == Boolean.class) {
+			return ColumnType.BOOLEAN;
+		}
+		if (CharSequence.class.isAssignableFrom(fieldType)) {
+			return ColumnType.STRING;
+		}
+		if (fieldType == LocalDate.class) {
+			return ColumnType.DATE;
+		}
+		if (fieldType.isEnum()) {
+			return ColumnType.ENUM;
+		}
+		return ColumnType.OBJECT;
+	}
+
+	public static String toHeader(String fieldName) {
+		StringBuilder header = new StringBuilder(fieldName.length() + 4);
+		for (int i = 0; i < fieldName.length(); i++) {
+			char c = fieldName.charAt(i);
+			if (i == 0) {
+				header.append(Character.toUpperCase(c));
+			} else if (Character.isUpperCase(c)) {
+				header.append(' ').append(c);
+			} else {
+				header.append(c);
+			}
+		}
+		return header.toString();
+	}
+
+}
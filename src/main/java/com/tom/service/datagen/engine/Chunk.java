@@ -0,0 +1,9 @@
+package com.tom.service.datagen.engine;
+
+public record Chunk(int index, long offset, int size) {
+
+	public long end() {
+		return offset + size;
+	}
+
+}
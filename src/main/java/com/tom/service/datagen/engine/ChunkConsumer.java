@@ -0,0 +1,10 @@
+package com.tom.service.datagen.engine;
+
+import java.io.IOException;
+
+@FunctionalInterface
+public interface ChunkConsumer<R> {
+
+	void accept(Chunk chunk, R result) throws IOException;
+
+}
@@ -0,0 +1,4 @@
+package com.tom.service.datagen.engine;
+
+public record ChunkResult<R>(Chunk chunk, R value) {
+}
@@ -0,0 +1,8 @@
+package com.tom.service.datagen.engine;
+
+@FunctionalInterface
+public interface ChunkTask<R> {
+
+	R run(Chunk chunk) throws Exception;
+
+}
@@ -0,0 +1,123 @@
+package com.tom.service.datagen.engine;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.tom.service.datagen.exception.DataProcessingException;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Splits a request into fixed-size chunks, generates them on a shared
+ * work-stealing pool and hands the results back to the caller strictly in
+ * chunk order. Only a bounded window of chunks is in flight at any time, so
+ * memory stays proportional to the parallelism and not to the row count.
+ */
+@Slf4j
+@Component
+public class GenerationEngine {
+
+	private final ForkJoinPool pool;
+	private final Scheduler scheduler;
+	private final int window;
+
+	public GenerationEngine(@Value("${application.datagen.parallelism:0}") int parallelism) {
+		int workers = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+		this.pool = new ForkJoinPool(workers);
+		this.scheduler = Schedulers.fromExecutorService(pool, "datagen");
+		this.window = workers * 2;
+		log.info("Generation engine started with {} workers", workers);
+	}
+
+	public int parallelism() {
+		return pool.getParallelism();
+	}
+
+	public <R> void generate(long quantity, int chunkSize, ChunkTask<R> task, ChunkConsumer<R> consumer)
+			throws IOException {
+		int totalChunks = (int) ((quantity + chunkSize - 1) / chunkSize);
+		Deque<Future<R>> inFlight = new ArrayDeque<>(window);
+		int submitted = 0;
+
+		// A failed chunk or a failed write (e.g. the client went away) ends every chunk of the request
+		try (TaskScope<R> scope = new TaskScope<>(pool)) {
+			for (int next = 0; next < totalChunks; next++) {
+				while (submitted < totalChunks && inFlight.size() < window) {
+					inFlight.addLast(scope.fork(chunkCall(task, chunkOf(submitted++, quantity, chunkSize))));
+				}
+				consumer.accept(chunkOf(next, quantity, chunkSize), await(inFlight.removeFirst(), scope));
+			}
+		}
+	}
+
+	/**
+	 * Reactive variant of {@link #generate}: chunks are only produced on
+	 * demand, at most one window ahead of the subscriber, and cancelling the
+	 * subscription stops any further chunks from being generated.
+	 */
+	public <R> Flux<ChunkResult<R>> stream(long quantity, int chunkSize, ChunkTask<R> task) {
+		int totalChunks = (int) ((quantity + chunkSize - 1) / chunkSize);
+		return Flux.range(0, totalChunks)
+				.limitRate(window)
+				.map(index -> chunkOf(index, quantity, chunkSize))
+				.flatMapSequential(chunk -> Mono.fromCallable(() -> new ChunkResult<>(chunk, task.run(chunk)))
+						.subscribeOn(scheduler), window, 1);
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		scheduler.dispose();
+		pool.shutdownNow();
+	}
+
+	private static <R> Callable<R> chunkCall(ChunkTask<R> task, Chunk chunk) {
+		return () -> task.run(chunk);
+	}
+
+	private static Chunk chunkOf(int index, long quantity, int chunkSize) {
+		long offset = (long) index * chunkSize;
+		return new Chunk(index, offset, (int) Math.min(chunkSize, quantity - offset));
+	}
+
+	private static <R> R await(Future<R> future, TaskScope<R> scope) throws IOException {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new DataProcessingException("Generation interrupted", e);
+		} catch (CancellationException e) {
+			if (scope.failure() == null) {
+				throw new DataProcessingException("Generation cancelled", e);
+			}
+			// Cancelled because a later chunk failed first
+			return rethrow(scope.failure());
+		} catch (ExecutionException e) {
+			return rethrow(e.getCause());
+		}
+	}
+
+	private static <R> R rethrow(Throwable cause) throws IOException {
+		if (cause instanceof IOException io) {
+			throw io;
+		}
+		if (cause instanceof RuntimeException runtime) {
+			throw runtime;
+		}
+		throw new DataProcessingException("Chunk generation failed", cause);
+	}
+
+}
@@ -0,0 +1,111 @@
+package com.tom.service.datagen.engine;
+
+import java.time.LocalDate;
+
+import com.tom.service.datagen.exception.BadRequestException;
+import com.tom.service.datagen.format.Compression;
+import com.tom.service.datagen.format.OutputFormat;
+import com.tom.service.datagen.pool.EmployeePools;
+import com.tom.service.datagen.profile.EmployeeProfile;
+import com.tom.service.datagen.unique.UniquenessMode;
+import com.tom.service.datagen.unique.UniquenessTracker;
+import com.tom.service.datagen.unique.UniquenessTrackers;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+@Getter
+public class GenerationJob {
+
+	private final long quantity;
+	private final long offset;
+	private final long seed;
+	private final LocalDate referenceDate;
+	private final UniquenessMode uniqueness;
+	@Getter(AccessLevel.NONE)
+	private final UniquenessTrackers trackers;
+	private final OutputFormat format;
+	private final Compression compression;
+	private final EmployeeProfile profile;
+	/** Pools snapshot taken at creation, so a refresh never changes the rows of a running job. */
+	private final EmployeePools pools;
+
+	private GenerationJob(long quantity, long offset, long seed, LocalDate referenceDate, UniquenessMode uniqueness,
+			double falsePositiveRate, OutputFormat format, Compression compression, EmployeePools pools) {
+		this.quantity = quantity;
+		this.offset = offset;
+		this.seed = seed;
+		this.referenceDate = referenceDate;
+		this.uniqueness = uniqueness;
+		this.trackers = new UniquenessTrackers(uniqueness, quantity, falsePositiveRate);
+		this.format = format;
+		this.compression = compression;
+		this.profile = EmployeeProfile.DEFAULT;
+		this.pools = pools;
+	}
+
+	private GenerationJob(GenerationJob job, EmployeeProfile profile) {
+		this.quantity = job.quantity;
+		this.offset = job.offset;
+		this.seed = job.seed;
+		this.referenceDate = job.referenceDate;
+		this.uniqueness = job.uniqueness;
+		this.trackers = job.trackers;
+		this.format = job.format;
+		this.compression = job.compression;
+		this.profile = profile;
+		this.pools = job.pools;
+	}
+
+	public static GenerationJob of(long quantity, long offset, Long seed, EmployeePools pools) {
+		return of(quantity, offset, seed, null, UniquenessMode.EXACT, 0.001, OutputFormat.CSV, Compression.NONE,
+				pools);
+	}
+
+	/**
+	 * Dates are generated relative to {@code referenceDate}, today if none is
+	 * given; a run is reproduced by passing back both its seed and its
+	 * reference date.
+	 */
+	public static GenerationJob of(long quantity, long offset, Long seed, LocalDate referenceDate,
+			UniquenessMode uniqueness, double falsePositiveRate, OutputFormat format, Compression compression,
+			EmployeePools pools) {
+		if (quantity < 0) {
+			throw new BadRequestException("Quantity must not be negative");
+		}
+		if (offset < 0) {
+			throw new BadRequestException("Offset must not be negative");
+		}
+		return new GenerationJob(quantity, offset, seed != null ? seed : SeedSequence.newSeed(),
+				referenceDate != null ? referenceDate : LocalDate.now(), uniqueness, falsePositiveRate, format,
+				compression, pools);
+	}
+
+	/** The same job generating with {@code profile}; both share one set of uniqueness trackers. */
+	public GenerationJob withProfile(EmployeeProfile profile) {
+		return new GenerationJob(this, profile);
+	}
+
+	/** Allocated on first use, i.e. once the job generates its first row. */
+	public UniquenessTracker getUsedEmails() {
+		return trackers.emails();
+	}
+
+	public UniquenessTracker getUsedPhoneNumbers() {
+		return trackers.phoneNumbers();
+	}
+
+	/** Frees the uniqueness trackers of a job that is done generating. */
+	public void releaseTrackers() {
+		trackers.release();
+	}
+
+	public long rowOf(Chunk chunk, int index) {
+		return offset + chunk.offset() + index;
+	}
+
+	public long rowSeed(long row) {
+		return SeedSequence.seedFor(seed, row);
+	}
+
+}
@@ -0,0 +1,56 @@
+package com.tom.service.datagen.engine;
+
+import java.util.Random;
+
+import com.tom.service.datagen.unique.UniquenessStats;
+
+/**
+ * Generator state used by a single thread at a time. The {@link Random} is
+ * reseeded before every row, which makes each row a pure function of the job
+ * seed and its row number; the text builder and number array are scratch
+ * space for composite values and are reused across rows. Borrowed from the
+ * {@link GeneratorContextPool} and returned to it on {@link #close()}, which
+ * also resets the uniqueness stats collected for metrics.
+ */
+public final class GeneratorContext implements AutoCloseable {
+
+	private final Random random = new Random();
+	private final StringBuilder text = new StringBuilder(128);
+	private final UniquenessStats uniqueness = new UniquenessStats();
+	private double[] numbers = new double[8];
+
+	GeneratorContext() {
+	}
+
+	public Random random() {
+		return random;
+	}
+
+	public StringBuilder text() {
+		return text;
+	}
+
+	/** Scratch array of at least {@code size} numbers, e.g. for multivariate draws. */
+	public double[] numbers(int size) {
+		if (numbers.length < size) {
+			numbers = new double[size];
+		}
+		return numbers;
+	}
+
+	public UniquenessStats uniqueness() {
+		return uniqueness;
+	}
+
+	public void reseed(long seed) {
+		random.setSeed(seed);
+	}
+
+	@Override
+	public void close() {
+		text.setLength(0);
+		uniqueness.reset();
+		GeneratorContextPool.release(this);
+	}
+
+}
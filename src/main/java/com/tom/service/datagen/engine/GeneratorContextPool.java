@@ -0,0 +1,40 @@
+package com.tom.service.datagen.engine;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lock-free pool of {@link GeneratorContext}s shared by all requests. A
+ * context is borrowed for a whole chunk, so it stays confined to one thread
+ * while in use without being tied to it, and idle contexts are reused by
+ * the next job instead of being allocated per thread.
+ */
+public final class GeneratorContextPool {
+
+	private static final int MAX_IDLE = Runtime.getRuntime().availableProcessors() * 4;
+
+	private static final Queue<GeneratorContext> IDLE = new ConcurrentLinkedQueue<>();
+	private static final AtomicInteger IDLE_COUNT = new AtomicInteger();
+
+	private GeneratorContextPool() {
+	}
+
+	public static GeneratorContext acquire() {
+		GeneratorContext context = IDLE.poll();
+		if (context == null) {
+			return new GeneratorContext();
+		}
+		IDLE_COUNT.decrementAndGet();
+		return context;
+	}
+
+	static void release(GeneratorContext context) {
+		if (IDLE_COUNT.incrementAndGet() <= MAX_IDLE) {
+			IDLE.offer(context);
+		} else {
+			IDLE_COUNT.decrementAndGet();
+		}
+	}
+
+}
@@ -0,0 +1,31 @@
+package com.tom.service.datagen.engine;
+
+import com.tom.service.datagen.encoder.RowLayout;
+
+/**
+ * A generatable dataset: the layout its rows are encoded with, and rows as a
+ * pure function of the job and the row number so chunks can be produced on
+ * any worker in any order. Implementations hold no per-request state; what
+ * varies between requests travels with the {@link GenerationJob}.
+ */
+public interface RowSource<T> {
+
+	String name();
+
+	RowLayout<T> layout();
+
+	T generate(GeneratorContext context, GenerationJob job, long row);
+
+	/** Whether the source ships with the service, as opposed to one registered by a client. */
+	default boolean isBuiltIn() {
+		return true;
+	}
+
+	/** Generates a single row with a context borrowed from the pool. */
+	default T generate(GenerationJob job, long row) {
+		try (GeneratorContext context = GeneratorContextPool.acquire()) {
+			return generate(context, job, row);
+		}
+	}
+
+}
@@ -0,0 +1,33 @@
+package com.tom.service.datagen.engine;
+
+import java.util.SplittableRandom;
+
+/**
+ * Random-access view of the SplitMix64 stream that backs
+ * {@link SplittableRandom}: the seed of row {@code n} is the {@code n}-th
+ * output of the stream started at the job seed, so any row (or slice of
+ * rows) can be regenerated without replaying the ones before it and
+ * independently of how the rows were split into chunks.
+ */
+public final class SeedSequence {
+
+	private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+	private SeedSequence() {
+	}
+
+	public static long newSeed() {
+		return new SplittableRandom().nextLong();
+	}
+
+	public static long seedFor(long seed, long row) {
+		return mix64(seed + (row + 1) * GOLDEN_GAMMA);
+	}
+
+	private static long mix64(long z) {
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+		return z ^ (z >>> 31);
+	}
+
+}
@@ -0,0 +1,113 @@
+package com.tom.service.datagen.engine;
+
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Subtasks of one request that live and die together, in the spirit of
+ * {@code StructuredTaskScope.ShutdownOnFailure} (a preview API on Java 21):
+ * the first failing subtask cancels its siblings, and {@link #close} cancels
+ * whatever is left and returns only once no subtask is running any more.
+ * Unlike {@code StructuredTaskScope} results can be consumed one by one, in
+ * any order, while further subtasks are forked.
+ */
+public final class TaskScope<T> implements AutoCloseable {
+
+	private final Executor executor;
+	private final Set<Subtask> running = ConcurrentHashMap.newKeySet();
+	// The owner is a party until close, each subtask until it has left run()
+	private final Phaser phaser = new Phaser(1);
+	private final AtomicReference<Throwable> failure = new AtomicReference<>();
+	private volatile boolean shutdown;
+
+	public TaskScope(Executor executor) {
+		this.executor = executor;
+	}
+
+	public Future<T> fork(Callable<T> task) {
+		Subtask subtask = new Subtask(task);
+		phaser.register();
+		running.add(subtask);
+		if (shutdown) {
+			subtask.cancel(false);
+		}
+		try {
+			executor.execute(subtask);
+		} catch (RejectedExecutionException e) {
+			running.remove(subtask);
+			phaser.arriveAndDeregister();
+			throw e;
+		}
+		return subtask;
+	}
+
+	/** First failure of a subtask, the reason its siblings were cancelled. */
+	public Throwable failure() {
+		return failure.get();
+	}
+
+	/** Cancels every running subtask, interrupting those that have started. */
+	public void shutdown() {
+		shutdown = true;
+		running.forEach(subtask -> subtask.cancel(true));
+	}
+
+	@Override
+	public void close() {
+		shutdown();
+		// Cancelled subtasks still queued would only return, and never will if the executor dropped them
+		running.forEach(Subtask::abandon);
+		phaser.arriveAndAwaitAdvance();
+	}
+
+	private final class Subtask extends FutureTask<T> {
+
+		// Taken by whoever comes first: a worker running the subtask or close giving up on it
+		private final AtomicBoolean claimed = new AtomicBoolean();
+
+		Subtask(Callable<T> task) {
+			super(task);
+		}
+
+		@Override
+		public void run() {
+			if (!claimed.compareAndSet(false, true)) {
+				return;
+			}
+			try {
+				super.run();
+			} finally {
+				leave();
+			}
+		}
+
+		void abandon() {
+			if (claimed.compareAndSet(false, true)) {
+				leave();
+			}
+		}
+
+		private void leave() {
+			running.remove(this);
+			phaser.arriveAndDeregister();
+		}
+
+		@Override
+		protected void setException(Throwable t) {
+			super.setException(t);
+			if (failure.compareAndSet(null, t)) {
+				shutdown();
+			}
+		}
+
+	}
+
+}
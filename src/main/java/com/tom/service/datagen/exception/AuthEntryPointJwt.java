@@ -10,12 +10,13 @@ import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.stereotype.Component;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.tom.service.datagen.common.ServiceLogger;
 
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
 
+@Slf4j
 @Component
 public class AuthEntryPointJwt implements AuthenticationEntryPoint {
 
@@ -24,7 +25,7 @@ public class AuthEntryPointJwt implements AuthenticationEntryPoint {
 			HttpServletRequest request, 
 			HttpServletResponse response,
 			AuthenticationException authException) throws IOException, ServletException {
-		ServiceLogger.error("Unauthorized error: {}", authException.getMessage());
+		log.error("Unauthorized error: {}", authException.getMessage());
 		
 		response.setContentType(MediaType.APPLICATION_JSON_VALUE);
 		response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
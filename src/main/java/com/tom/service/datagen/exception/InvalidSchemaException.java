@@ -0,0 +1,18 @@
+package com.tom.service.datagen.exception;
+
+import com.tom.service.datagen.exception.global.CustomGlobalException;
+
+import lombok.EqualsAndHashCode;
+
+@SuppressWarnings("serial")
+@EqualsAndHashCode(callSuper = true)
+public class InvalidSchemaException extends CustomGlobalException {
+
+	public InvalidSchemaException(String msg) {
+		super(msg);
+	}
+	
+	public InvalidSchemaException(String msg, Throwable cause) {
+		super(msg, cause);
+	}
+}
@@ -0,0 +1,31 @@
+package com.tom.service.datagen.exception;
+
+import com.tom.service.datagen.exception.global.CustomGlobalException;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+@SuppressWarnings("serial")
+@EqualsAndHashCode(callSuper = true)
+public class TooManyRequestsException extends CustomGlobalException {
+
+	/** Seconds until the request may succeed, sent as {@code Retry-After} when known. */
+	@Getter
+	private final Long retryAfter;
+
+	public TooManyRequestsException(String msg) {
+		super(msg);
+		this.retryAfter = null;
+	}
+
+	public TooManyRequestsException(String msg, long retryAfter) {
+		super(msg);
+		this.retryAfter = retryAfter;
+	}
+
+	public TooManyRequestsException(String msg, Throwable cause) {
+		super(msg, cause);
+		this.retryAfter = null;
+	}
+
+}
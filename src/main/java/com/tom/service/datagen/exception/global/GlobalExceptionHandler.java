@@ -4,6 +4,7 @@ import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -18,7 +19,9 @@ import com.tom.service.datagen.exception.DataProcessingException;
 import com.tom.service.datagen.exception.DuplicateException;
 import com.tom.service.datagen.exception.InternalException;
 import com.tom.service.datagen.exception.InvalidDateException;
+import com.tom.service.datagen.exception.InvalidSchemaException;
 import com.tom.service.datagen.exception.NotFoundException;
+import com.tom.service.datagen.exception.TooManyRequestsException;
 
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
@@ -38,15 +41,28 @@ public class GlobalExceptionHandler {
 	}
 
 	@ExceptionHandler({ InvalidDateException.class, ClientDisconnectedException.class, DataProcessingException.class })
-	public ResponseEntity<ErrorResponse> handleDateException(NumberFormatException exp, HttpServletRequest request) {
+	public ResponseEntity<ErrorResponse> handleDateException(RuntimeException exp, HttpServletRequest request) {
 		return buildErrorResponse(exp.getMessage(), HttpStatus.EXPECTATION_FAILED, request, null);
 	}
 
-	@ExceptionHandler({ IllegalStateException.class, BadRequestException.class })
-	public ResponseEntity<ErrorResponse> handleIllegalException(IllegalStateException exp, HttpServletRequest request) {
+	@ExceptionHandler({ IllegalStateException.class, BadRequestException.class, InvalidSchemaException.class })
+	public ResponseEntity<ErrorResponse> handleIllegalException(RuntimeException exp, HttpServletRequest request) {
 		return buildErrorResponse(exp.getMessage(), HttpStatus.BAD_REQUEST, request, null);
 	}
 
+	@ExceptionHandler({ TooManyRequestsException.class })
+	public ResponseEntity<ErrorResponse> handleTooManyRequests(TooManyRequestsException exp,
+			HttpServletRequest request) {
+		ResponseEntity<ErrorResponse> response = buildErrorResponse(exp.getMessage(), HttpStatus.TOO_MANY_REQUESTS,
+				request, null);
+		if (exp.getRetryAfter() == null) {
+			return response;
+		}
+		return ResponseEntity.status(response.getStatusCode())
+				.header(HttpHeaders.RETRY_AFTER, Long.toString(exp.getRetryAfter()))
+				.body(response.getBody());
+	}
+
 	@ExceptionHandler({ InternalException.class })
 	public ResponseEntity<ErrorResponse> handleInternalException(InternalException exp, HttpServletRequest request) {
 		return buildErrorResponse(exp.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR, request, null);
@@ -0,0 +1,223 @@
+package com.tom.service.datagen.format;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.DateDayVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.dictionary.Dictionary;
+import org.apache.arrow.vector.dictionary.DictionaryProvider;
+import org.apache.arrow.vector.ipc.ArrowStreamWriter;
+import org.apache.arrow.vector.types.DateUnit;
+import org.apache.arrow.vector.types.FloatingPointPrecision;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.DictionaryEncoding;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+
+import com.tom.service.datagen.encoder.Column;
+import com.tom.service.datagen.encoder.RowLayout;
+
+/**
+ * Writes rows as an Arrow IPC stream, one record batch per generated batch.
+ * Dictionary columns are sent as int32 indices into a dictionary that only
+ * grows, so after the first batches the stream carries indices alone and the
+ * dictionary is re-sent only when a new value shows up.
+ */
+public final class ArrowDatasetWriter<T> implements DatasetWriter<T, List<T>> {
+
+	private static final ArrowType.Int INDEX_TYPE = new ArrowType.Int(32, true);
+
+	private final BufferAllocator allocator;
+	private final DictionaryProvider.MapDictionaryProvider dictionaries = new DictionaryProvider.MapDictionaryProvider();
+	private final List<FieldVector> dictionaryVectors = new ArrayList<>();
+	private final VectorSchemaRoot root;
+	private final List<VectorFiller<T>> fillers;
+	private final ArrowStreamWriter writer;
+	private boolean started;
+
+	ArrowDatasetWriter(RowLayout<T> layout, OutputStream out, long allocationLimit) {
+		this.allocator = new RootAllocator(allocationLimit);
+		List<FieldVector> vectors = new ArrayList<>(layout.size());
+		this.fillers = new ArrayList<>(layout.size());
+		try {
+			for (Column<T> column : layout.columns()) {
+				VectorFiller<T> filler = column.isDictionary()
+						? dictionaryFiller(column, vectors.size())
+						: valueFiller(column);
+				vectors.add(filler.vector());
+				fillers.add(filler);
+			}
+			this.root = new VectorSchemaRoot(vectors);
+			this.writer = new ArrowStreamWriter(root, dictionaries, new ShieldedOutputStream(out));
+		} catch (RuntimeException e) {
+			vectors.forEach(FieldVector::close);
+			dictionaryVectors.forEach(FieldVector::close);
+			allocator.close();
+			throw e;
+		}
+	}
+
+	@Override
+	public List<T> prepare(List<T> rows) {
+		return rows;
+	}
+
+	@Override
+	public void write(List<T> batch) throws IOException {
+		start();
+		int count = batch.size();
+		for (VectorFiller<T> filler : fillers) {
+			FieldVector vector = filler.vector();
+			vector.setInitialCapacity(count);
+			vector.allocateNew();
+			for (int i = 0; i < count; i++) {
+				filler.fill(batch.get(i), i);
+			}
+			vector.setValueCount(count);
+		}
+		root.setRowCount(count);
+		writer.writeBatch();
+	}
+
+	@Override
+	public void finish() throws IOException {
+		start();
+		writer.end();
+	}
+
+	@Override
+	public void close() {
+		writer.close();
+		root.close();
+		dictionaryVectors.forEach(FieldVector::close);
+		allocator.close();
+	}
+
+	private void start() throws IOException {
+		if (!started) {
+			started = true;
+			writer.start();
+		}
+	}
+
+	private VectorFiller<T> valueFiller(Column<T> column) {
+		String name = column.getName();
+		boolean nullable = !column.isPrimitive();
+		Function<T, Object> getter = column.getObjectGetter();
+		return switch (column.getType()) {
+		case INT -> {
+			IntVector vector = new IntVector(field(name, nullable, new ArrowType.Int(32, true)), allocator);
+			yield column.isPrimitive()
+					? filler(vector, (row, i) -> vector.set(i, column.getIntGetter().applyAsInt(row)))
+					: nullable(vector, getter, (value, i) -> vector.set(i, ((Number) value).intValue()));
+		}
+		case LONG -> {
+			BigIntVector vector = new BigIntVector(field(name, nullable, new ArrowType.Int(64, true)), allocator);
+			yield column.isPrimitive()
+					? filler(vector, (row, i) -> vector.set(i, column.getLongGetter().applyAsLong(row)))
+					: nullable(vector, getter, (value, i) -> vector.set(i, ((Number) value).longValue()));
+		}
+		case DOUBLE -> {
+			Float8Vector vector = new Float8Vector(
+					field(name, nullable, new ArrowType.FloatingPoint(FloatingPointPrecision.DOUBLE)), allocator);
+			yield column.isPrimitive()
+					? filler(vector, (row, i) -> vector.set(i, column.getDoubleGetter().applyAsDouble(row)))
+					: nullable(vector, getter, (value, i) -> vector.set(i, ((Number) value).doubleValue()));
+		}
+		case BOOLEAN -> {
+			BitVector vector = new BitVector(field(name, nullable, ArrowType.Bool.INSTANCE), allocator);
+			yield column.isPrimitive()
+					? filler(vector, (row, i) -> vector.set(i, column.getBooleanGetter().test(row) ? 1 : 0))
+					: nullable(vector, getter, (value, i) -> vector.set(i, (Boolean) value ? 1 : 0));
+		}
+		case DATE -> {
+			DateDayVector vector = new DateDayVector(field(name, nullable, new ArrowType.Date(DateUnit.DAY)),
+					allocator);
+			yield nullable(vector, getter, (value, i) -> vector.set(i, (int) ((LocalDate) value).toEpochDay()));
+		}
+		default -> {
+			VarCharVector vector = new VarCharVector(field(name, nullable, ArrowType.Utf8.INSTANCE), allocator);
+			yield nullable(vector, getter,
+					(value, i) -> vector.setSafe(i, value.toString().getBytes(StandardCharsets.UTF_8)));
+		}
+		};
+	}
+
+	private VectorFiller<T> dictionaryFiller(Column<T> column, long id) {
+		DictionaryEncoding encoding = new DictionaryEncoding(id, false, INDEX_TYPE);
+		VarCharVector values = new VarCharVector(column.getName() + "_dictionary", allocator);
+		values.allocateNew();
+		dictionaryVectors.add(values);
+		dictionaries.put(new Dictionary(values, encoding));
+
+		IntVector indices = new IntVector(column.getName(),
+				new FieldType(!column.isPrimitive(), INDEX_TYPE, encoding), allocator);
+		Map<Object, Integer> ids = new HashMap<>();
+		return nullable(indices, column.getObjectGetter(), (value, i) -> {
+			Integer index = ids.get(value);
+			if (index == null) {
+				index = ids.size();
+				ids.put(value, index);
+				String text = value instanceof Enum<?> constant ? constant.name() : value.toString();
+				values.setSafe(index, text.getBytes(StandardCharsets.UTF_8));
+				values.setValueCount(index + 1);
+			}
+			indices.set(i, index);
+		});
+	}
+
+	private static Field field(String name, boolean nullable, ArrowType type) {
+		return new Field(name, new FieldType(nullable, type, null), null);
+	}
+
+	private static <T> VectorFiller<T> filler(FieldVector vector, CellSetter<T> setter) {
+		return new VectorFiller<>(vector, setter);
+	}
+
+	private static <T> VectorFiller<T> nullable(FieldVector vector, Function<T, Object> getter,
+			ValueSetter setter) {
+		return new VectorFiller<>(vector, (row, i) -> {
+			Object value = getter.apply(row);
+			if (value == null) {
+				vector.setNull(i);
+			} else {
+				setter.set(value, i);
+			}
+		});
+	}
+
+	private record VectorFiller<T>(FieldVector vector, CellSetter<T> setter) {
+
+		void fill(T row, int index) {
+			setter.set(row, index);
+		}
+
+	}
+
+	@FunctionalInterface
+	private interface CellSetter<T> {
+		void set(T row, int index);
+	}
+
+	@FunctionalInterface
+	private interface ValueSetter {
+		void set(Object value, int index);
+	}
+
+}
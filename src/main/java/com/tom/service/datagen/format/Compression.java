@@ -0,0 +1,93 @@
+package com.tom.service.datagen.format;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import com.github.luben.zstd.ZstdInputStream;
+import com.github.luben.zstd.ZstdOutputStream;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Streaming content codings. {@link #compress(OutputStream)} wraps a target
+ * so rows are compressed as they are encoded; closing the returned stream
+ * writes the trailer but leaves the target open.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum Compression {
+
+	NONE(null),
+	GZIP("gzip"),
+	ZSTD("zstd");
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private final String coding;
+
+	public OutputStream compress(OutputStream out) throws IOException {
+		ShieldedOutputStream target = new ShieldedOutputStream(out);
+		return switch (this) {
+		case NONE -> target;
+		case GZIP -> new GZIPOutputStream(target, BUFFER_SIZE);
+		case ZSTD -> new ZstdOutputStream(target);
+		};
+	}
+
+	public InputStream decompress(InputStream in) throws IOException {
+		return switch (this) {
+		case NONE -> in;
+		case GZIP -> new GZIPInputStream(in, BUFFER_SIZE);
+		case ZSTD -> new ZstdInputStream(in);
+		};
+	}
+
+	public boolean isAcceptedBy(String acceptEncoding) {
+		return this == NONE || accepts(acceptEncoding, true);
+	}
+
+	/**
+	 * Picks the coding for a response from an {@code Accept-Encoding} header:
+	 * zstd when it is listed explicitly, then gzip.
+	 */
+	public static Compression negotiate(String acceptEncoding) {
+		if (ZSTD.accepts(acceptEncoding, false)) {
+			return ZSTD;
+		}
+		return GZIP.accepts(acceptEncoding, true) ? GZIP : NONE;
+	}
+
+	private boolean accepts(String acceptEncoding, boolean wildcard) {
+		if (acceptEncoding == null || coding == null) {
+			return false;
+		}
+		for (String entry : acceptEncoding.toLowerCase(Locale.ROOT).split(",")) {
+			String[] parts = entry.split(";");
+			String token = parts[0].trim();
+			if ((token.equals(coding) || (wildcard && token.equals("*"))) && !isRejected(parts)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean isRejected(String[] parameters) {
+		for (int i = 1; i < parameters.length; i++) {
+			String parameter = parameters[i].trim();
+			if (parameter.startsWith("q=")) {
+				try {
+					return Double.parseDouble(parameter.substring(2)) <= 0;
+				} catch (NumberFormatException e) {
+					return false;
+				}
+			}
+		}
+		return false;
+	}
+
+}
@@ -0,0 +1,53 @@
+package com.tom.service.datagen.format;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+import com.tom.service.datagen.encoder.CsvRowEncoder;
+import com.tom.service.datagen.encoder.RowBuffer;
+
+public final class CsvDatasetWriter<T> implements DatasetWriter<T, RowBuffer> {
+
+	private final CsvRowEncoder<T> encoder;
+	private final OutputStream out;
+	private boolean headerWritten;
+
+	CsvDatasetWriter(CsvRowEncoder<T> encoder, OutputStream out) {
+		this.encoder = encoder;
+		this.out = out;
+	}
+
+	public RowBuffer header() {
+		RowBuffer buffer = new RowBuffer(256);
+		encoder.encodeHeader(buffer);
+		return buffer;
+	}
+
+	@Override
+	public RowBuffer prepare(List<T> rows) {
+		RowBuffer buffer = new RowBuffer(256 * rows.size());
+		encoder.encode(rows, buffer);
+		return buffer;
+	}
+
+	@Override
+	public void write(RowBuffer batch) throws IOException {
+		writeHeader();
+		batch.writeTo(out);
+	}
+
+	@Override
+	public void finish() throws IOException {
+		writeHeader();
+		out.flush();
+	}
+
+	private void writeHeader() throws IOException {
+		if (!headerWritten) {
+			headerWritten = true;
+			header().writeTo(out);
+		}
+	}
+
+}
@@ -0,0 +1,26 @@
+package com.tom.service.datagen.format;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Writes batches of rows in one output format. {@link #prepare(List)} runs on
+ * generation workers and may pre-encode a batch; {@link #write(Object)} is
+ * called once per batch, in row order, from a single thread.
+ * {@link #finish()} writes any trailer (e.g. a Parquet footer); closing the
+ * writer only releases its resources and never closes the target stream.
+ */
+public interface DatasetWriter<T, P> extends Closeable {
+
+	P prepare(List<T> rows);
+
+	void write(P batch) throws IOException;
+
+	void finish() throws IOException;
+
+	@Override
+	default void close() throws IOException {
+	}
+
+}
@@ -0,0 +1,48 @@
+package com.tom.service.datagen.format;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import com.tom.service.datagen.encoder.CsvRowEncoder;
+import com.tom.service.datagen.encoder.RowLayout;
+
+@Component
+public class DatasetWriters {
+
+	private final Map<RowLayout<?>, CsvRowEncoder<?>> csvEncoders = new ConcurrentHashMap<>();
+	private final CompressionCodecName parquetCodec;
+	private final long parquetRowGroupSize;
+	private final long arrowAllocationLimit;
+
+	public DatasetWriters(
+			@Value("${application.datagen.parquet.codec:SNAPPY}") CompressionCodecName parquetCodec,
+			@Value("${application.datagen.parquet.rowGroupSize:32MB}") DataSize parquetRowGroupSize,
+			@Value("${application.datagen.arrow.allocationLimit:512MB}") DataSize arrowAllocationLimit) {
+		this.parquetCodec = parquetCodec;
+		this.parquetRowGroupSize = parquetRowGroupSize.toBytes();
+		this.arrowAllocationLimit = arrowAllocationLimit.toBytes();
+	}
+
+	public <T> DatasetWriter<T, ?> open(OutputFormat format, RowLayout<T> layout, OutputStream out)
+			throws IOException {
+		return switch (format) {
+		case CSV -> csv(layout, out);
+		case PARQUET -> new ParquetDatasetWriter<>(layout, out, parquetCodec, parquetRowGroupSize);
+		case ARROW -> new ArrowDatasetWriter<>(layout, out, arrowAllocationLimit);
+		};
+	}
+
+	@SuppressWarnings("unchecked")
+	public <T> CsvDatasetWriter<T> csv(RowLayout<T> layout, OutputStream out) {
+		CsvRowEncoder<T> encoder = (CsvRowEncoder<T>) csvEncoders.computeIfAbsent(layout, CsvRowEncoder::new);
+		return new CsvDatasetWriter<>(encoder, out);
+	}
+
+}
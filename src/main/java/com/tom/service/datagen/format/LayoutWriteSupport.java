@@ -0,0 +1,155 @@
+package com.tom.service.datagen.format;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.parquet.conf.HadoopParquetConfiguration;
+import org.apache.parquet.conf.ParquetConfiguration;
+import org.apache.parquet.hadoop.api.WriteSupport;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.io.api.RecordConsumer;
+import org.apache.parquet.schema.LogicalTypeAnnotation;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
+import org.apache.parquet.schema.Type.Repetition;
+import org.apache.parquet.schema.Types;
+
+import com.tom.service.datagen.encoder.Column;
+import com.tom.service.datagen.encoder.RowLayout;
+
+/**
+ * Parquet {@link WriteSupport} driven by a {@link RowLayout}: each column is
+ * mapped to a flat Parquet field once, and rows are pushed into the record
+ * consumer through the layout's bound getters.
+ */
+class LayoutWriteSupport<T> extends WriteSupport<T> {
+
+	private final MessageType schema;
+	private final FieldWriter<T>[] fields;
+	private RecordConsumer consumer;
+
+	@SuppressWarnings("unchecked")
+	LayoutWriteSupport(RowLayout<T> layout, String name) {
+		List<Column<T>> columns = layout.columns();
+		Types.MessageTypeBuilder builder = Types.buildMessage();
+		this.fields = new FieldWriter[columns.size()];
+		for (int i = 0; i < columns.size(); i++) {
+			Column<T> column = columns.get(i);
+			Repetition repetition = column.isPrimitive() ? Repetition.REQUIRED : Repetition.OPTIONAL;
+			switch (column.getType()) {
+			case INT -> builder.primitive(PrimitiveTypeName.INT32, repetition).named(column.getName());
+			case LONG -> builder.primitive(PrimitiveTypeName.INT64, repetition).named(column.getName());
+			case DOUBLE -> builder.primitive(PrimitiveTypeName.DOUBLE, repetition).named(column.getName());
+			case BOOLEAN -> builder.primitive(PrimitiveTypeName.BOOLEAN, repetition).named(column.getName());
+			case DATE -> builder.primitive(PrimitiveTypeName.INT32, repetition)
+					.as(LogicalTypeAnnotation.dateType()).named(column.getName());
+			default -> builder.primitive(PrimitiveTypeName.BINARY, repetition)
+					.as(LogicalTypeAnnotation.stringType()).named(column.getName());
+			}
+			fields[i] = compile(column);
+		}
+		this.schema = builder.named(name);
+	}
+
+	MessageType schema() {
+		return schema;
+	}
+
+	@Override
+	public WriteContext init(ParquetConfiguration configuration) {
+		return new WriteContext(schema, Map.of());
+	}
+
+	/** Still abstract in Parquet; writers built with a {@link ParquetConfiguration} call the overload above. */
+	@Override
+	@Deprecated
+	public WriteContext init(Configuration configuration) {
+		return init(new HadoopParquetConfiguration(configuration));
+	}
+
+	@Override
+	public void prepareForWrite(RecordConsumer recordConsumer) {
+		this.consumer = recordConsumer;
+	}
+
+	@Override
+	public void write(T row) {
+		RecordConsumer out = consumer;
+		out.startMessage();
+		for (int i = 0; i < fields.length; i++) {
+			fields[i].write(row, out, i);
+		}
+		out.endMessage();
+	}
+
+	private static <T> FieldWriter<T> compile(Column<T> column) {
+		String name = column.getName();
+		if (column.isPrimitive()) {
+			return switch (column.getType()) {
+			case INT -> (row, out, index) -> {
+				out.startField(name, index);
+				out.addInteger(column.getIntGetter().applyAsInt(row));
+				out.endField(name, index);
+			};
+			case LONG -> (row, out, index) -> {
+				out.startField(name, index);
+				out.addLong(column.getLongGetter().applyAsLong(row));
+				out.endField(name, index);
+			};
+			case DOUBLE -> (row, out, index) -> {
+				out.startField(name, index);
+				out.addDouble(column.getDoubleGetter().applyAsDouble(row));
+				out.endField(name, index);
+			};
+			case BOOLEAN -> (row, out, index) -> {
+				out.startField(name, index);
+				out.addBoolean(column.getBooleanGetter().test(row));
+				out.endField(name, index);
+			};
+			default -> throw new IllegalStateException("Unsupported primitive column " + name);
+			};
+		}
+
+		Function<T, Object> getter = column.getObjectGetter();
+		ValueWriter value = switch (column.getType()) {
+		case INT -> (out, v) -> out.addInteger(((Number) v).intValue());
+		case LONG -> (out, v) -> out.addLong(((Number) v).longValue());
+		case DOUBLE -> (out, v) -> out.addDouble(((Number) v).doubleValue());
+		case BOOLEAN -> (out, v) -> out.addBoolean((Boolean) v);
+		case DATE -> (out, v) -> out.addInteger((int) ((LocalDate) v).toEpochDay());
+		case ENUM -> enumWriter(column.getJavaType());
+		default -> (out, v) -> out.addBinary(Binary.fromString(v.toString()));
+		};
+		return (row, out, index) -> {
+			Object v = getter.apply(row);
+			if (v != null) {
+				out.startField(name, index);
+				value.write(out, v);
+				out.endField(name, index);
+			}
+		};
+	}
+
+	private static ValueWriter enumWriter(Class<?> enumType) {
+		Object[] constants = enumType.getEnumConstants();
+		Binary[] names = new Binary[constants.length];
+		for (int i = 0; i < constants.length; i++) {
+			names[i] = Binary.fromConstantByteArray(((Enum<?>) constants[i]).name().getBytes());
+		}
+		return (out, v) -> out.addBinary(names[((Enum<?>) v).ordinal()]);
+	}
+
+	@FunctionalInterface
+	private interface FieldWriter<T> {
+		void write(T row, RecordConsumer out, int index);
+	}
+
+	@FunctionalInterface
+	private interface ValueWriter {
+		void write(RecordConsumer out, Object value);
+	}
+
+}
@@ -0,0 +1,23 @@
+package com.tom.service.datagen.format;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum OutputFormat {
+
+	CSV("text/csv", "csv", false),
+	PARQUET("application/vnd.apache.parquet", "parquet", true),
+	ARROW("application/vnd.apache.arrow.stream", "arrows", false);
+
+	private final String contentType;
+	private final String extension;
+	/** Whether the format already compresses its own pages. */
+	private final boolean compressed;
+
+	public String filename(String baseName) {
+		return baseName + "." + extension;
+	}
+
+}
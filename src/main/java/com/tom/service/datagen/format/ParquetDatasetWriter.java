@@ -0,0 +1,86 @@
+package com.tom.service.datagen.format;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.parquet.conf.HadoopParquetConfiguration;
+import org.apache.parquet.conf.ParquetConfiguration;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.hadoop.api.WriteSupport;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+
+import com.tom.service.datagen.encoder.RowLayout;
+
+/**
+ * Writes rows as a single Parquet file. Every column is dictionary-encoded
+ * while its dictionary page stays small, which covers the repetitive text
+ * columns; Parquet falls back to plain pages on its own for the rest. The
+ * footer is only written by {@link #finish()}, so output that fails midway is
+ * never a readable file with rows missing.
+ */
+public final class ParquetDatasetWriter<T> implements DatasetWriter<T, List<T>> {
+
+	private final ParquetWriter<T> writer;
+
+	ParquetDatasetWriter(RowLayout<T> layout, OutputStream out, CompressionCodecName codec, long rowGroupSize)
+			throws IOException {
+		this.writer = new Builder<>(new StreamOutputFile(out), new LayoutWriteSupport<>(layout, "row"))
+				.withConf(new HadoopParquetConfiguration(new Configuration(false)))
+				.withCompressionCodec(codec)
+				.withDictionaryEncoding(true)
+				.withRowGroupSize(rowGroupSize)
+				.build();
+	}
+
+	@Override
+	public List<T> prepare(List<T> rows) {
+		return rows;
+	}
+
+	@Override
+	public void write(List<T> batch) throws IOException {
+		for (int i = 0; i < batch.size(); i++) {
+			writer.write(batch.get(i));
+		}
+	}
+
+	@Override
+	public void finish() throws IOException {
+		writer.close();
+	}
+
+	/** Drops an unfinished writer without writing the footer; its buffers are left to the GC. */
+	@Override
+	public void close() {
+	}
+
+	private static final class Builder<T> extends ParquetWriter.Builder<T, Builder<T>> {
+
+		private final WriteSupport<T> writeSupport;
+
+		private Builder(StreamOutputFile file, WriteSupport<T> writeSupport) {
+			super(file);
+			this.writeSupport = writeSupport;
+		}
+
+		@Override
+		protected Builder<T> self() {
+			return this;
+		}
+
+		@Override
+		protected WriteSupport<T> getWriteSupport(ParquetConfiguration configuration) {
+			return writeSupport;
+		}
+
+		@Override
+		@Deprecated
+		protected WriteSupport<T> getWriteSupport(Configuration configuration) {
+			return writeSupport;
+		}
+
+	}
+
+}
@@ -0,0 +1,40 @@
+package com.tom.service.datagen.format;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Keeps third-party writers from closing the response or result stream they
+ * were handed; closing only flushes.
+ */
+class ShieldedOutputStream extends FilterOutputStream {
+
+	private long position;
+
+	ShieldedOutputStream(OutputStream out) {
+		super(out);
+	}
+
+	long position() {
+		return position;
+	}
+
+	@Override
+	public void write(int b) throws IOException {
+		out.write(b);
+		position++;
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		out.write(b, off, len);
+		position += len;
+	}
+
+	@Override
+	public void close() throws IOException {
+		out.flush();
+	}
+
+}
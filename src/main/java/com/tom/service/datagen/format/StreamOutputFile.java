@@ -0,0 +1,68 @@
+package com.tom.service.datagen.format;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.apache.parquet.io.OutputFile;
+import org.apache.parquet.io.PositionOutputStream;
+
+/**
+ * Parquet {@link OutputFile} over an already open stream, so files can be
+ * written straight into a response or the result store without touching a
+ * Hadoop file system.
+ */
+class StreamOutputFile implements OutputFile {
+
+	private final OutputStream out;
+
+	StreamOutputFile(OutputStream out) {
+		this.out = out;
+	}
+
+	@Override
+	public PositionOutputStream create(long blockSizeHint) {
+		ShieldedOutputStream target = new ShieldedOutputStream(out);
+		return new PositionOutputStream() {
+			@Override
+			public long getPos() {
+				return target.position();
+			}
+
+			@Override
+			public void write(int b) throws IOException {
+				target.write(b);
+			}
+
+			@Override
+			public void write(byte[] b, int off, int len) throws IOException {
+				target.write(b, off, len);
+			}
+
+			@Override
+			public void flush() throws IOException {
+				target.flush();
+			}
+
+			@Override
+			public void close() throws IOException {
+				target.close();
+			}
+		};
+	}
+
+	@Override
+	public PositionOutputStream createOrOverwrite(long blockSizeHint) {
+		return create(blockSizeHint);
+	}
+
+	@Override
+	public boolean supportsBlockSize() {
+		return false;
+	}
+
+	@Override
+	public long defaultBlockSize() {
+		return 0;
+	}
+
+}
@@ -0,0 +1,98 @@
+package com.tom.service.datagen.job;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.tom.service.datagen.engine.GenerationJob;
+
+import lombok.Getter;
+
+@Getter
+public class Job {
+
+	private final String id;
+	private final GenerationJob spec;
+	private final Instant createdAt = Instant.now();
+	private final AtomicLong rowsGenerated = new AtomicLong();
+	private volatile JobState state = JobState.QUEUED;
+	private volatile Instant startedAt;
+	private volatile Instant finishedAt;
+	private volatile String resultId;
+	private volatile String error;
+	private volatile Future<?> future;
+
+	Job(String id, GenerationJob spec) {
+		this.id = id;
+		this.spec = spec;
+	}
+
+	void attach(Future<?> future) {
+		this.future = future;
+	}
+
+	synchronized boolean start() {
+		if (state != JobState.QUEUED) {
+			return false;
+		}
+		state = JobState.RUNNING;
+		startedAt = Instant.now();
+		return true;
+	}
+
+	/** Records the result, unless the job was cancelled meanwhile; the caller then owns it. */
+	synchronized boolean complete(String resultId) {
+		if (state.isFinished()) {
+			return false;
+		}
+		this.resultId = resultId;
+		finish(JobState.COMPLETED);
+		return true;
+	}
+
+	synchronized void fail(String error) {
+		this.error = error;
+		finish(JobState.FAILED);
+	}
+
+	synchronized boolean cancel() {
+		if (state.isFinished()) {
+			return false;
+		}
+		finish(JobState.CANCELLED);
+		if (future != null) {
+			future.cancel(true);
+		}
+		return true;
+	}
+
+	public double rowsPerSecond() {
+		Instant start = startedAt;
+		if (start == null) {
+			return 0;
+		}
+		Instant end = finishedAt != null ? finishedAt : Instant.now();
+		double seconds = Math.max(Duration.between(start, end).toMillis(), 1) / 1000.0;
+		return rowsGenerated.get() / seconds;
+	}
+
+	public Long etaSeconds() {
+		if (state != JobState.RUNNING) {
+			return state.isFinished() ? 0L : null;
+		}
+		double rate = rowsPerSecond();
+		if (rate <= 0) {
+			return null;
+		}
+		return (long) Math.ceil((spec.getQuantity() - rowsGenerated.get()) / rate);
+	}
+
+	private void finish(JobState finalState) {
+		if (!state.isFinished()) {
+			state = finalState;
+			finishedAt = Instant.now();
+		}
+	}
+
+}
@@ -0,0 +1,137 @@
+package com.tom.service.datagen.job;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import com.tom.service.datagen.dto.JobResponse;
+import com.tom.service.datagen.engine.GenerationJob;
+import com.tom.service.datagen.exception.NotFoundException;
+import com.tom.service.datagen.exception.TooManyRequestsException;
+import com.tom.service.datagen.service.EmployeeService;
+import com.tom.service.datagen.store.StoredResult;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+public class JobService {
+
+	private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+	private final EmployeeService employeeService;
+	private final ThreadPoolExecutor workers;
+	private final Duration retention;
+
+	public JobService(EmployeeService employeeService,
+			@Value("${application.datagen.jobs.workers:2}") int workerCount,
+			@Value("${application.datagen.jobs.queueSize:16}") int queueSize,
+			@Value("${application.datagen.store.ttl:30m}") Duration retention,
+			@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads, MeterRegistry registry) {
+		this.employeeService = employeeService;
+		this.retention = retention;
+		// Workers mostly wait for chunks from the engine, virtual threads spare them a stack each
+		ThreadFactory threads = virtualThreads ? Thread.ofVirtual().name("datagen-job-", 0).factory()
+				: new CustomizableThreadFactory("datagen-job-");
+		this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueSize), threads, new ThreadPoolExecutor.AbortPolicy());
+		Gauge.builder("datagen.jobs.running", workers, ThreadPoolExecutor::getActiveCount).register(registry);
+		Gauge.builder("datagen.jobs.queued", workers, executor -> executor.getQueue().size()).register(registry);
+	}
+
+	public Job submit(GenerationJob spec) {
+		Job job = new Job(UUID.randomUUID().toString(), spec);
+		jobs.put(job.getId(), job);
+		try {
+			job.attach(workers.submit(() -> run(job)));
+		} catch (RejectedExecutionException e) {
+			jobs.remove(job.getId());
+			throw new TooManyRequestsException("Generation queue is full, try again later");
+		}
+		log.info("Queued job {} for {} employees", job.getId(), spec.getQuantity());
+		return job;
+	}
+
+	public Job get(String id) {
+		Job job = jobs.get(id);
+		if (job == null) {
+			throw new NotFoundException("Job not found or expired: " + id);
+		}
+		return job;
+	}
+
+	public Job cancel(String id) {
+		Job job = get(id);
+		if (job.cancel()) {
+			log.info("Cancelled job {}", id);
+		}
+		return job;
+	}
+
+	public StoredResult result(String id) {
+		Job job = get(id);
+		if (job.getState() != JobState.COMPLETED) {
+			throw new NotFoundException("Job " + id + " has no result (state: " + job.getState() + ")");
+		}
+		return employeeService.retrieveCsvFromTempStorage(job.getResultId());
+	}
+
+	public JobResponse toResponse(Job job) {
+		String downloadUrl = job.getState() == JobState.COMPLETED ? "/v1/employee/jobs/" + job.getId() + "/download"
+				: null;
+		return new JobResponse(job.getId(), job.getState(), job.getSpec().getQuantity(), job.getRowsGenerated().get(),
+				job.rowsPerSecond(), job.etaSeconds(), job.getSpec().getSeed(), job.getSpec().getReferenceDate(),
+				job.getCreatedAt(), job.getFinishedAt(), downloadUrl, job.getError());
+	}
+
+	@Scheduled(fixedDelayString = "${application.datagen.store.sweepInterval:60000}")
+	public void evictFinished() {
+		Instant cutoff = Instant.now().minus(retention);
+		jobs.values().removeIf(job -> job.getState().isFinished() && job.getFinishedAt().isBefore(cutoff));
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		workers.shutdownNow();
+	}
+
+	private void run(Job job) {
+		if (!job.start()) {
+			return;
+		}
+		log.info("Started job {}", job.getId());
+		try {
+			StoredResult result = employeeService.generateToStore(job.getSpec(), job.getRowsGenerated()::set);
+			if (job.complete(result.getId())) {
+				log.info("Finished job {} ({} bytes)", job.getId(), result.getSize());
+			} else {
+				// Cancelled after the last chunk, nobody can download it
+				employeeService.deleteCsvFromTempStorage(result.getId());
+				log.info("Discarded the result of cancelled job {}", job.getId());
+			}
+		} catch (Exception e) {
+			job.fail(e.getMessage());
+			if (job.getState() == JobState.FAILED) {
+				log.error("Job {} failed", job.getId(), e);
+			}
+		} finally {
+			// The job is kept for its status, its trackers are not needed any more
+			job.getSpec().releaseTrackers();
+		}
+	}
+
+}
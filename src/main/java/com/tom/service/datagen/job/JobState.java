@@ -0,0 +1,11 @@
+package com.tom.service.datagen.job;
+
+public enum JobState {
+
+	QUEUED, RUNNING, COMPLETED, FAILED, CANCELLED;
+
+	public boolean isFinished() {
+		return this == COMPLETED || this == FAILED || this == CANCELLED;
+	}
+
+}
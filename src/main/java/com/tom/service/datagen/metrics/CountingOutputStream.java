@@ -0,0 +1,40 @@
+package com.tom.service.datagen.metrics;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/** Counts the bytes passed through to the wrapped stream. */
+public final class CountingOutputStream extends FilterOutputStream {
+
+	private long count;
+	private long drained;
+
+	public CountingOutputStream(OutputStream out) {
+		super(out);
+	}
+
+	@Override
+	public void write(int b) throws IOException {
+		out.write(b);
+		count++;
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		out.write(b, off, len);
+		count += len;
+	}
+
+	public long count() {
+		return count;
+	}
+
+	/** Bytes written since the previous call. */
+	public long drain() {
+		long delta = count - drained;
+		drained = count;
+		return delta;
+	}
+
+}
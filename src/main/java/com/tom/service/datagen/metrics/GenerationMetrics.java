@@ -0,0 +1,48 @@
+package com.tom.service.datagen.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.stereotype.Component;
+
+import com.tom.service.datagen.engine.RowSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+/**
+ * Entry point for generation metrics. Every run of a dataset, whatever its
+ * output, starts a {@link StageMetrics} tagged by dataset and format and
+ * closes it when done; the number of open runs per dataset is exported as
+ * {@code datagen.generation.active}. Custom datasets are named by clients, so
+ * they all share the {@value #OTHER} tag to keep the number of series bounded.
+ */
+@Component
+public class GenerationMetrics {
+
+	public static final String OTHER = "other";
+
+	private final MeterRegistry registry;
+	private final Map<String, AtomicInteger> active = new ConcurrentHashMap<>();
+
+	public GenerationMetrics(MeterRegistry registry) {
+		this.registry = registry;
+	}
+
+	public StageMetrics start(RowSource<?> source, String format) {
+		return start(datasetTag(source), format);
+	}
+
+	public StageMetrics start(String dataset, String format) {
+		AtomicInteger running = active.computeIfAbsent(dataset,
+				name -> registry.gauge("datagen.generation.active", Tags.of("dataset", name), new AtomicInteger()));
+		running.incrementAndGet();
+		return new StageMetrics(registry, Tags.of("dataset", dataset, "format", format), running);
+	}
+
+	public static String datasetTag(RowSource<?> source) {
+		return source.isBuiltIn() ? source.name() : OTHER;
+	}
+
+}
@@ -0,0 +1,107 @@
+package com.tom.service.datagen.metrics;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.tom.service.datagen.unique.UniquenessStats;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Meters of one generation run, resolved once so recording from the workers
+ * is a plain add; stage meters are only registered once a run reports them,
+ * so datasets show just the stages they have. Stage timers record the time a stage took per chunk:
+ * {@code sample} for drawing the rows, {@code unique} for unique values and
+ * their retries, {@code encode} for preparing a batch in the output format
+ * and {@code write} for handing it to the response, store or sink.
+ */
+public final class StageMetrics implements AutoCloseable {
+
+	public enum Stage {
+		SAMPLE, UNIQUE, ENCODE, WRITE;
+
+		private final String tag = name().toLowerCase(Locale.ROOT);
+	}
+
+	private final MeterRegistry registry;
+	private final Tags tags;
+	private final Timer[] stages = new Timer[Stage.values().length];
+	private final Counter rows;
+	private final Counter bytes;
+	private final Timer duration;
+	private final AtomicInteger active;
+	private final long startedAt = System.nanoTime();
+
+	StageMetrics(MeterRegistry registry, Tags tags, AtomicInteger active) {
+		this.registry = registry;
+		this.tags = tags;
+		this.rows = registry.counter("datagen.rows", tags);
+		this.bytes = registry.counter("datagen.bytes", tags);
+		this.duration = Timer.builder("datagen.generation.duration")
+				.description("Time a generation run took from start to its last row")
+				.tags(tags)
+				.publishPercentileHistogram()
+				.maximumExpectedValue(Duration.ofHours(1))
+				.register(registry);
+		this.active = active;
+	}
+
+	/**
+	 * Records a generated chunk started at {@code startedAt}; the time spent
+	 * on unique values is split off the sampling time.
+	 */
+	public void generated(int count, long startedAt, UniquenessStats unique) {
+		long elapsed = System.nanoTime() - startedAt;
+		rows.increment(count);
+		timer(Stage.SAMPLE).record(elapsed - unique.nanos(), TimeUnit.NANOSECONDS);
+		if (unique.nanos() > 0) {
+			timer(Stage.UNIQUE).record(unique.nanos(), TimeUnit.NANOSECONDS);
+			registry.counter("datagen.uniqueness.retries", tags).increment(unique.retries());
+			registry.counter("datagen.uniqueness.fallbacks", tags).increment(unique.fallbacks());
+		}
+	}
+
+	/** Records {@code stage} as having run from {@code startedAt} until now. */
+	public void record(Stage stage, long startedAt) {
+		timer(stage).record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+	}
+
+	public void rows(long count) {
+		rows.increment(count);
+	}
+
+	public void bytes(long count) {
+		if (count > 0) {
+			bytes.increment(count);
+		}
+	}
+
+	/** Registering is idempotent, so workers racing here end up with the same timer. */
+	private Timer timer(Stage stage) {
+		Timer timer = stages[stage.ordinal()];
+		if (timer == null) {
+			timer = Timer.builder("datagen.stage")
+					.description("Time a generation stage took per chunk")
+					.tags(tags)
+					.tag("stage", stage.tag)
+					.publishPercentileHistogram()
+					.minimumExpectedValue(Duration.ofMillis(1))
+					.maximumExpectedValue(Duration.ofSeconds(30))
+					.register(registry);
+			stages[stage.ordinal()] = timer;
+		}
+		return timer;
+	}
+
+	@Override
+	public void close() {
+		duration.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+		active.decrementAndGet();
+	}
+
+}
@@ -2,6 +2,7 @@ package com.tom.service.datagen.model;
 
 import java.time.LocalDate;
 
+import com.tom.service.datagen.encoder.LowCardinality;
 import com.tom.service.datagen.model.enums.Gender;
 
 import lombok.AllArgsConstructor;
@@ -20,7 +21,9 @@ public class Employee {
 	private int age;
 	private String phoneNumber;
 	private Gender gender;
+	@LowCardinality
 	private String department;
+	@LowCardinality
 	private String jobTitle;
 	private double salary;
 	private int yearsOfExperience;
@@ -1,5 +1,25 @@
 package com.tom.service.datagen.model.later;
 
+import java.time.Instant;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One OHLCV bar of a market feed. The feed writes bars straight to the
+ * response buffer; this class only defines their columns.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
 public class StockMarket {
 
+	private String ticker;
+	private Instant timestamp;
+	private double open;
+	private double high;
+	private double low;
+	private double close;
+	private long volume;
 }
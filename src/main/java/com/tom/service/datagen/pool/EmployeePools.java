@@ -0,0 +1,127 @@
+package com.tom.service.datagen.pool;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import com.tom.service.datagen.exception.DataProcessingException;
+
+import net.datafaker.Faker;
+
+/**
+ * Pools behind every employee text field. Names, departments and titles are
+ * drawn as-is; emails, phone numbers and addresses are concatenated from
+ * pooled parts into a reused builder, so one composite value costs a single
+ * String allocation.
+ */
+public record EmployeePools(
+		ValuePool maleFirstNames,
+		ValuePool femaleFirstNames,
+		ValuePool lastNames,
+		ValuePool industries,
+		ValuePool jobTitles,
+		ValuePool emailDomains,
+		ValuePool streetNames,
+		PatternPool buildingNumbers,
+		ValuePool secondaryAddresses,
+		ValuePool cities,
+		ValuePool states,
+		PatternPool zipCodes,
+		PatternPool phoneNumbers) {
+
+	private static final String[] EMAIL_SEPARATORS = { ".", "_", "" };
+
+	public static EmployeePools sample(Faker faker, int size) {
+		return new EmployeePools(
+				ValuePool.sample(() -> faker.name().malefirstName(), size),
+				ValuePool.sample(() -> faker.name().femaleFirstName(), size),
+				ValuePool.sample(() -> faker.name().lastName(), size),
+				ValuePool.sample(() -> faker.company().industry(), size),
+				ValuePool.sample(() -> faker.job().title(), size),
+				ValuePool.sample(() -> domainOf(faker.internet().safeEmailAddress()), size),
+				ValuePool.sample(() -> faker.address().streetName(), size),
+				PatternPool.sample(() -> faker.address().buildingNumber(), size),
+				ValuePool.sample(() -> faker.address().secondaryAddress(), size),
+				ValuePool.sample(() -> faker.address().city(), size),
+				ValuePool.sample(() -> faker.address().stateAbbr(), size),
+				PatternPool.sample(() -> faker.address().zipCode(), size),
+				PatternPool.sample(() -> faker.phoneNumber().cellPhone(), size));
+	}
+
+	public static EmployeePools fromSnapshot(Map<String, List<String>> snapshot) {
+		return new EmployeePools(
+				ValuePool.of(entry(snapshot, "maleFirstNames")),
+				ValuePool.of(entry(snapshot, "femaleFirstNames")),
+				ValuePool.of(entry(snapshot, "lastNames")),
+				ValuePool.of(entry(snapshot, "industries")),
+				ValuePool.of(entry(snapshot, "jobTitles")),
+				ValuePool.of(entry(snapshot, "emailDomains")),
+				ValuePool.of(entry(snapshot, "streetNames")),
+				PatternPool.of(entry(snapshot, "buildingNumbers")),
+				ValuePool.of(entry(snapshot, "secondaryAddresses")),
+				ValuePool.of(entry(snapshot, "cities")),
+				ValuePool.of(entry(snapshot, "states")),
+				PatternPool.of(entry(snapshot, "zipCodes")),
+				PatternPool.of(entry(snapshot, "phoneNumbers")));
+	}
+
+	public Map<String, List<String>> toSnapshot() {
+		Map<String, List<String>> snapshot = new LinkedHashMap<>();
+		snapshot.put("maleFirstNames", maleFirstNames.values());
+		snapshot.put("femaleFirstNames", femaleFirstNames.values());
+		snapshot.put("lastNames", lastNames.values());
+		snapshot.put("industries", industries.values());
+		snapshot.put("jobTitles", jobTitles.values());
+		snapshot.put("emailDomains", emailDomains.values());
+		snapshot.put("streetNames", streetNames.values());
+		snapshot.put("buildingNumbers", buildingNumbers.patterns());
+		snapshot.put("secondaryAddresses", secondaryAddresses.values());
+		snapshot.put("cities", cities.values());
+		snapshot.put("states", states.values());
+		snapshot.put("zipCodes", zipCodes.patterns());
+		snapshot.put("phoneNumbers", phoneNumbers.patterns());
+		return snapshot;
+	}
+
+	/**
+	 * Email for the given name slugs. Later attempts add a number to the local
+	 * part, which keeps uniqueness retries cheap.
+	 */
+	public String email(StringBuilder text, Random random, String firstSlug, String lastSlug, int attempt) {
+		text.setLength(0);
+		text.append(firstSlug).append(EMAIL_SEPARATORS[random.nextInt(EMAIL_SEPARATORS.length)]).append(lastSlug);
+		if (attempt > 0) {
+			text.append(random.nextInt(attempt < 4 ? 100 : 10_000));
+		}
+		return text.append('@').append(emailDomains.draw(random)).toString();
+	}
+
+	public String phoneNumber(StringBuilder text, Random random) {
+		text.setLength(0);
+		return phoneNumbers.appendTo(text, random).toString();
+	}
+
+	public String fullAddress(StringBuilder text, Random random) {
+		text.setLength(0);
+		if (random.nextBoolean()) {
+			text.append(secondaryAddresses.draw(random)).append(' ');
+		}
+		buildingNumbers.appendTo(text, random).append(' ').append(streetNames.draw(random));
+		text.append(", ").append(cities.draw(random)).append(", ").append(states.draw(random)).append(' ');
+		return zipCodes.appendTo(text, random).toString();
+	}
+
+	private static String domainOf(String email) {
+		return email.substring(email.indexOf('@') + 1);
+	}
+
+	private static List<String> entry(Map<String, List<String>> snapshot, String key) {
+		List<String> values = snapshot.get(key);
+		if (values == null || values.isEmpty()) {
+			throw new DataProcessingException("Value pool snapshot is missing '" + key + "'");
+		}
+		return values;
+	}
+
+}
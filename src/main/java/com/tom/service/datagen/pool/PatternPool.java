@@ -0,0 +1,53 @@
+package com.tom.service.datagen.pool;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Formats such as phone numbers or zip codes, reduced to digit masks
+ * ({@code (###) ###-####}) from sampled provider output and filled with fresh
+ * digits on every draw.
+ */
+public final class PatternPool {
+
+	private static final char DIGIT = '#';
+
+	private final String[] patterns;
+
+	private PatternPool(Collection<String> patterns) {
+		if (patterns.isEmpty()) {
+			throw new IllegalArgumentException("A pattern pool needs at least one pattern");
+		}
+		this.patterns = patterns.toArray(String[]::new);
+	}
+
+	public static PatternPool of(Collection<String> patterns) {
+		return new PatternPool(new LinkedHashSet<>(patterns));
+	}
+
+	public static PatternPool sample(Supplier<String> provider, int size) {
+		Set<String> patterns = new LinkedHashSet<>();
+		for (int attempt = 0; attempt < size; attempt++) {
+			patterns.add(provider.get().replaceAll("[0-9]", String.valueOf(DIGIT)));
+		}
+		return new PatternPool(patterns);
+	}
+
+	public StringBuilder appendTo(StringBuilder target, Random random) {
+		String pattern = patterns[random.nextInt(patterns.length)];
+		for (int i = 0; i < pattern.length(); i++) {
+			char c = pattern.charAt(i);
+			target.append(c == DIGIT ? (char) ('0' + random.nextInt(10)) : c);
+		}
+		return target;
+	}
+
+	public List<String> patterns() {
+		return List.of(patterns);
+	}
+
+}
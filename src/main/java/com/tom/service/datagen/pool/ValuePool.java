@@ -0,0 +1,83 @@
+package com.tom.service.datagen.pool;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Fixed set of distinct values sampled once from a provider. Drawing is a
+ * random index into an array, so it neither allocates nor touches Datafaker.
+ * Each value also has a lowercase alphanumeric slug for building emails.
+ */
+public final class ValuePool {
+
+	private final String[] values;
+	private final String[] slugs;
+
+	private ValuePool(Collection<String> values) {
+		if (values.isEmpty()) {
+			throw new IllegalArgumentException("A value pool needs at least one value");
+		}
+		this.values = values.stream().map(String::intern).toArray(String[]::new);
+		this.slugs = new String[this.values.length];
+		for (int i = 0; i < slugs.length; i++) {
+			slugs[i] = slugOf(this.values[i]);
+		}
+	}
+
+	public static ValuePool of(Collection<String> values) {
+		return new ValuePool(new LinkedHashSet<>(values));
+	}
+
+	/**
+	 * Samples up to {@code size} distinct values. Providers with fewer
+	 * distinct values than that simply yield a smaller pool.
+	 */
+	public static ValuePool sample(Supplier<String> provider, int size) {
+		Set<String> values = new LinkedHashSet<>();
+		for (int attempt = 0; attempt < size * 4 && values.size() < size; attempt++) {
+			values.add(provider.get());
+		}
+		return new ValuePool(values);
+	}
+
+	public int size() {
+		return values.length;
+	}
+
+	public int index(Random random) {
+		return random.nextInt(values.length);
+	}
+
+	public String get(int index) {
+		return values[index];
+	}
+
+	public String slug(int index) {
+		return slugs[index];
+	}
+
+	public String draw(Random random) {
+		return values[random.nextInt(values.length)];
+	}
+
+	public List<String> values() {
+		return List.of(values);
+	}
+
+	public static String slugOf(String value) {
+		StringBuilder slug = new StringBuilder(value.length());
+		for (int i = 0; i < value.length(); i++) {
+			char c = Character.toLowerCase(value.charAt(i));
+			if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')) {
+				slug.append(c);
+			}
+		}
+		return slug.isEmpty() ? value.toLowerCase(Locale.ROOT) : slug.toString();
+	}
+
+}
@@ -0,0 +1,98 @@
+package com.tom.service.datagen.pool;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tom.service.datagen.exception.DataProcessingException;
+
+import net.datafaker.Faker;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Owns the current {@link EmployeePools}. Pools are sampled from Datafaker
+ * with a fixed seed, so seeded output stays reproducible across restarts, or
+ * loaded from a JSON snapshot when one is configured. A scheduled refresh
+ * swaps in freshly sampled pools; jobs already created keep the snapshot
+ * they were created with, but a seed no longer replays output generated
+ * before the refresh. Refreshing is therefore refused along with a
+ * snapshot, which is meant to pin the pools.
+ */
+@Slf4j
+@Component
+public class ValuePools {
+
+	private static final TypeReference<Map<String, List<String>>> SNAPSHOT_TYPE = new TypeReference<>() {
+	};
+
+	private final int size;
+	private final long seed;
+	private final ObjectMapper mapper;
+	private volatile EmployeePools current;
+	private int generation;
+
+	public ValuePools(
+			@Value("${application.datagen.pools.size:4096}") int size,
+			@Value("${application.datagen.pools.seed:7919}") long seed,
+			@Value("${application.datagen.pools.snapshot:}") String snapshot,
+			@Value("${application.datagen.pools.refreshCron:-}") String refreshCron,
+			ObjectMapper mapper) {
+		if (!snapshot.isBlank() && !Scheduled.CRON_DISABLED.equals(refreshCron)) {
+			throw new IllegalArgumentException("Value pools loaded from a snapshot cannot be refreshed; "
+					+ "unset the snapshot or the refresh cron");
+		}
+		this.size = size;
+		this.seed = seed;
+		this.mapper = mapper;
+		this.current = snapshot.isBlank() ? sample(seed) : loadOrSample(Path.of(snapshot));
+	}
+
+	public EmployeePools current() {
+		return current;
+	}
+
+	@Scheduled(cron = "${application.datagen.pools.refreshCron:-}")
+	public void refresh() {
+		current = sample(seed + (++generation));
+		log.info("Refreshed value pools (generation {})", generation);
+	}
+
+	private EmployeePools sample(long poolSeed) {
+		long start = System.nanoTime();
+		EmployeePools pools = EmployeePools.sample(new Faker(new Random(poolSeed)), size);
+		log.info("Sampled value pools of up to {} entries in {} ms", size,
+				(System.nanoTime() - start) / 1_000_000);
+		return pools;
+	}
+
+	private EmployeePools loadOrSample(Path snapshot) {
+		try {
+			if (Files.exists(snapshot)) {
+				EmployeePools pools = EmployeePools.fromSnapshot(mapper.readValue(snapshot.toFile(), SNAPSHOT_TYPE));
+				log.info("Loaded value pools from {}", snapshot);
+				return pools;
+			}
+			EmployeePools pools = sample(seed);
+			Path parent = snapshot.toAbsolutePath().getParent();
+			if (parent != null) {
+				Files.createDirectories(parent);
+			}
+			mapper.writeValue(snapshot.toFile(), pools.toSnapshot());
+			log.info("Wrote value pool snapshot to {}", snapshot);
+			return pools;
+		} catch (IOException e) {
+			throw new DataProcessingException("Unable to use value pool snapshot " + snapshot, e);
+		}
+	}
+
+}
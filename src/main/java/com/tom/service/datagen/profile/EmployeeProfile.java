@@ -0,0 +1,154 @@
+package com.tom.service.datagen.profile;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import com.tom.service.datagen.distribution.CorrelatedSampler;
+import com.tom.service.datagen.distribution.Distribution;
+import com.tom.service.datagen.distribution.Distributions;
+import com.tom.service.datagen.dto.ProfileRequest;
+import com.tom.service.datagen.dto.ProfileRequest.Bucket;
+import com.tom.service.datagen.dto.ProfileRequest.Correlations;
+import com.tom.service.datagen.exception.BadRequestException;
+
+/**
+ * Compiled employee profile: the share of male employees and the sampling
+ * tables for age, experience and salary, optionally correlated. Immutable,
+ * so a job keeps the profile it was created with and any number of jobs can
+ * share it.
+ */
+public final class EmployeeProfile {
+
+	public static final String DEFAULT_NAME = "default";
+
+	private static final Set<String> FIELDS = Set.of("age", "experience", "salary");
+
+	private static final List<Bucket> AGES = List.of(new Bucket(19, 40, 1), new Bucket(41, 58, 1));
+	private static final List<Bucket> EXPERIENCE = List.of(new Bucket(1, 10, 1), new Bucket(11, 30, 1));
+	private static final List<Bucket> SALARIES = List.of(new Bucket(30000, 400000, 1),
+			new Bucket(400001, 700000, 1));
+
+	public static final EmployeeProfile DEFAULT = compile(
+			new ProfileRequest(DEFAULT_NAME, null, null, null, null, null, null), true);
+
+	/** Bell-shaped ages, experience growing with age and log-normal salaries growing with both. */
+	public static final EmployeeProfile PAYROLL = compile(new ProfileRequest("payroll", 50, null, null, null,
+			Map.of("age", spec("normal", "mean", 38, "stdDev", 10, "min", 19, "max", 67),
+					"experience", spec("normal", "mean", 13, "stdDev", 8, "min", 0, "max", 45),
+					"salary", spec("lognormal", "median", 72000, "sigma", 0.45, "min", 25000)),
+			new Correlations(0.8, 0.45, 0.6)), true);
+
+	private final ProfileRequest definition;
+	private final boolean builtIn;
+	private final Distribution age;
+	private final Distribution experience;
+	private final Distribution salary;
+	private final CorrelatedSampler correlated;
+
+	private EmployeeProfile(ProfileRequest definition, boolean builtIn, Distribution age, Distribution experience,
+			Distribution salary, CorrelatedSampler correlated) {
+		this.definition = definition;
+		this.builtIn = builtIn;
+		this.age = age;
+		this.experience = experience;
+		this.salary = salary;
+		this.correlated = correlated;
+	}
+
+	/** Validates and compiles a profile; missing parts take the default ranges. */
+	public static EmployeeProfile compile(ProfileRequest request, boolean builtIn) {
+		int gender = request.gender() != null ? request.gender() : 50;
+		if (gender < 0 || gender > 100) {
+			throw new BadRequestException("Gender must be between 0 and 100");
+		}
+		Map<String, Map<String, Object>> distributions = request.distributions() != null
+				? new LinkedHashMap<>(request.distributions())
+				: Map.of();
+		for (String field : distributions.keySet()) {
+			if (!FIELDS.contains(field)) {
+				throw new BadRequestException("Unknown distribution field '" + field + "', expected one of " + FIELDS);
+			}
+		}
+
+		Distribution age = field("Age", request.age(), AGES, distributions.get("age"));
+		Distribution experience = field("Experience", request.experience(), EXPERIENCE,
+				distributions.get("experience"));
+		Distribution salary = field("Salary", request.salary(), SALARIES, distributions.get("salary"));
+
+		Correlations correlations = request.correlations();
+		CorrelatedSampler correlated = null;
+		if (correlations != null && (correlations.ageExperience() != 0 || correlations.ageSalary() != 0
+				|| correlations.experienceSalary() != 0)) {
+			double[][] matrix = {
+					{ 1, correlations.ageExperience(), correlations.ageSalary() },
+					{ correlations.ageExperience(), 1, correlations.experienceSalary() },
+					{ correlations.ageSalary(), correlations.experienceSalary(), 1 } };
+			try {
+				correlated = new CorrelatedSampler(new Distribution[] { age, experience, salary }, matrix);
+			} catch (IllegalArgumentException e) {
+				throw new BadRequestException(e.getMessage());
+			}
+		}
+
+		ProfileRequest definition = new ProfileRequest(request.name(), gender,
+				age instanceof RangeTable table ? table.buckets() : null,
+				experience instanceof RangeTable table ? table.buckets() : null,
+				salary instanceof RangeTable table ? table.buckets() : null,
+				distributions.isEmpty() ? null : distributions, correlated != null ? correlations : null);
+		return new EmployeeProfile(definition, builtIn, age, experience, salary, correlated);
+	}
+
+	public String name() {
+		return definition.name();
+	}
+
+	public boolean isBuiltIn() {
+		return builtIn;
+	}
+
+	/** The profile as created, with defaults filled in. */
+	public ProfileRequest definition() {
+		return definition;
+	}
+
+	/** Percentage of male employees. */
+	public int gender() {
+		return definition.gender();
+	}
+
+	/** Draws age, experience and salary into {@code out[0..3)}. */
+	public void draw(Random random, double[] out) {
+		if (correlated != null) {
+			correlated.draw(random, out);
+		} else {
+			out[0] = age.draw(random);
+			out[1] = experience.draw(random);
+			out[2] = salary.draw(random);
+		}
+	}
+
+	private static Map<String, Object> spec(String type, Object... parameters) {
+		Map<String, Object> spec = new LinkedHashMap<>();
+		spec.put("type", type);
+		for (int i = 0; i < parameters.length; i += 2) {
+			spec.put((String) parameters[i], parameters[i + 1]);
+		}
+		return spec;
+	}
+
+	private static Distribution field(String name, List<Bucket> buckets, List<Bucket> defaults,
+			Map<String, Object> distribution) {
+		if (distribution == null) {
+			return RangeTable.compile(name, buckets != null ? buckets : defaults);
+		}
+		if (buckets != null) {
+			throw new BadRequestException(name + " takes either buckets or a distribution, not both");
+		}
+		return Distributions.parse(distribution,
+				message -> new BadRequestException(name + " distribution: " + message));
+	}
+
+}
@@ -0,0 +1,73 @@
+package com.tom.service.datagen.profile;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.tom.service.datagen.dto.ProfileRequest;
+import com.tom.service.datagen.exception.AlreadyExistsException;
+import com.tom.service.datagen.exception.BadRequestException;
+import com.tom.service.datagen.exception.NotFoundException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Compiled employee profiles by name. Profiles are compiled once when they
+ * are created and looked up by generation requests, so any number of
+ * clients can generate with different profiles at the same time.
+ */
+@Slf4j
+@Component
+public class ProfileRegistry {
+
+	private final Map<String, EmployeeProfile> profiles = new ConcurrentHashMap<>();
+	private final int maxCustom;
+
+	public ProfileRegistry(@Value("${application.datagen.profiles.maxCustom:256}") int maxCustom) {
+		this.maxCustom = maxCustom;
+		profiles.put(EmployeeProfile.DEFAULT_NAME, EmployeeProfile.DEFAULT);
+		profiles.put(EmployeeProfile.PAYROLL.name(), EmployeeProfile.PAYROLL);
+	}
+
+	/** The named profile, or the default one when {@code name} is null. */
+	public EmployeeProfile get(String name) {
+		if (name == null) {
+			return EmployeeProfile.DEFAULT;
+		}
+		EmployeeProfile profile = profiles.get(name);
+		if (profile == null) {
+			throw new NotFoundException("Unknown profile: " + name);
+		}
+		return profile;
+	}
+
+	public List<EmployeeProfile> list() {
+		return profiles.values().stream().sorted(Comparator.comparing(EmployeeProfile::name)).toList();
+	}
+
+	public synchronized EmployeeProfile register(ProfileRequest request) {
+		if (profiles.containsKey(request.name())) {
+			throw new AlreadyExistsException("Profile already exists: " + request.name());
+		}
+		if (profiles.values().stream().filter(profile -> !profile.isBuiltIn()).count() >= maxCustom) {
+			throw new BadRequestException("Custom profile limit of " + maxCustom + " reached");
+		}
+		EmployeeProfile profile = EmployeeProfile.compile(request, false);
+		profiles.put(profile.name(), profile);
+		log.info("Registered profile {}", profile.name());
+		return profile;
+	}
+
+	public synchronized void remove(String name) {
+		if (get(name).isBuiltIn()) {
+			throw new BadRequestException("Built-in profile cannot be deleted: " + name);
+		}
+		profiles.remove(name);
+		log.info("Removed profile {}", name);
+	}
+
+}
@@ -0,0 +1,109 @@
+package com.tom.service.datagen.profile;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import com.tom.service.datagen.distribution.AliasTable;
+import com.tom.service.datagen.distribution.Distribution;
+import com.tom.service.datagen.distribution.EmpiricalDistribution;
+import com.tom.service.datagen.dto.ProfileRequest.Bucket;
+import com.tom.service.datagen.exception.BadRequestException;
+
+/**
+ * Weighted integer ranges compiled into an {@link AliasTable}: a draw picks
+ * the range with one table lookup and the value uniformly within it. The
+ * CDF, needed only for correlated draws, is a histogram over the sorted
+ * ranges.
+ */
+public final class RangeTable implements Distribution {
+
+	private final List<Bucket> buckets;
+	private final int[] mins;
+	private final int[] spans;
+	private final AliasTable table;
+	private final EmpiricalDistribution histogram;
+	private final int max;
+
+	private RangeTable(List<Bucket> buckets) {
+		this.buckets = List.copyOf(buckets);
+		this.mins = new int[buckets.size()];
+		this.spans = new int[buckets.size()];
+		double[] weights = new double[buckets.size()];
+		for (int i = 0; i < buckets.size(); i++) {
+			Bucket bucket = buckets.get(i);
+			mins[i] = bucket.min();
+			spans[i] = bucket.max() - bucket.min() + 1;
+			weights[i] = bucket.weight();
+		}
+		this.table = new AliasTable(weights);
+
+		// Bucket i covers [min, max + 1); gaps between buckets become empty bins
+		List<Bucket> sorted = buckets.stream().sorted(Comparator.comparingInt(Bucket::min)).toList();
+		double[] edges = new double[sorted.size() * 2];
+		double[] binWeights = new double[edges.length];
+		int edge = 0;
+		for (Bucket bucket : sorted) {
+			if (edge == 0 || edges[edge - 1] < bucket.min()) {
+				edges[edge++] = bucket.min();
+			}
+			binWeights[edge - 1] = bucket.weight();
+			edges[edge++] = bucket.max() + 1.0;
+		}
+		this.histogram = new EmpiricalDistribution(Arrays.copyOf(edges, edge), Arrays.copyOf(binWeights, edge - 1));
+		this.max = sorted.get(sorted.size() - 1).max();
+	}
+
+	static RangeTable compile(String field, List<Bucket> buckets) {
+		double total = 0;
+		for (Bucket bucket : buckets) {
+			if (bucket == null) {
+				throw new BadRequestException(field + " buckets must not be null");
+			}
+			if (bucket.min() < 0 || bucket.max() < bucket.min() || bucket.max() == Integer.MAX_VALUE) {
+				throw new BadRequestException(field + " bucket " + bucket.min() + "-" + bucket.max()
+						+ " is not a valid range");
+			}
+			if (!(bucket.weight() >= 0) || Double.isInfinite(bucket.weight())) {
+				throw new BadRequestException(field + " bucket weights must be finite and non-negative");
+			}
+			total += bucket.weight();
+		}
+		if (buckets.isEmpty() || total <= 0) {
+			throw new BadRequestException(field + " needs at least one bucket with a positive weight");
+		}
+		List<Bucket> sorted = buckets.stream().sorted(Comparator.comparingInt(Bucket::min)).toList();
+		for (int i = 1; i < sorted.size(); i++) {
+			if (sorted.get(i).min() <= sorted.get(i - 1).max()) {
+				throw new BadRequestException(field + " buckets must not overlap");
+			}
+		}
+		return new RangeTable(buckets);
+	}
+
+	public List<Bucket> buckets() {
+		return buckets;
+	}
+
+	public int sample(Random random) {
+		int bucket = table.sample(random);
+		return spans[bucket] == 1 ? mins[bucket] : mins[bucket] + random.nextInt(spans[bucket]);
+	}
+
+	@Override
+	public double draw(Random random) {
+		return sample(random);
+	}
+
+	@Override
+	public double cdf(double x) {
+		return histogram.cdf(Math.floor(x) + 1);
+	}
+
+	@Override
+	public double quantile(double p) {
+		return Math.min(max, Math.floor(histogram.quantile(p)));
+	}
+
+}
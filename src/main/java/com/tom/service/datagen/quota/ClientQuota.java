@@ -0,0 +1,97 @@
+package com.tom.service.datagen.quota;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongPredicate;
+
+import com.tom.service.datagen.exception.BadRequestException;
+import com.tom.service.datagen.exception.TooManyRequestsException;
+
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.ConsumptionProbe;
+import io.micrometer.core.instrument.Counter;
+
+/**
+ * The row bucket of one client. Resolved on the request thread, after which
+ * it can be charged from any thread, e.g. by an open-ended stream.
+ */
+public final class ClientQuota {
+
+	static final ClientQuota UNLIMITED = new ClientQuota("unlimited", null, null, null);
+
+	private final String client;
+	private final Bucket bucket;
+	private final QuotaLimit limit;
+	private final Counter rejected;
+
+	ClientQuota(String client, Bucket bucket, QuotaLimit limit, Counter rejected) {
+		this.client = client;
+		this.bucket = bucket;
+		this.limit = limit;
+		this.rejected = rejected;
+	}
+
+	public String client() {
+		return client;
+	}
+
+	/**
+	 * Takes {@code rows} from the bucket or fails with a 429 telling when
+	 * they will be available. Requests larger than the burst can never be
+	 * served and fail as bad requests instead.
+	 */
+	public void charge(long rows) {
+		if (bucket == null || rows <= 0) {
+			return;
+		}
+		if (rows > limit.burst()) {
+			throw new BadRequestException("A single request is limited to " + limit.burst() + " rows");
+		}
+		ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(rows);
+		if (!probe.isConsumed()) {
+			rejected.increment();
+			long retryAfter = Math.max(1, Math.ceilDiv(probe.getNanosToWaitForRefill(), TimeUnit.SECONDS.toNanos(1)));
+			throw new TooManyRequestsException("Row quota exceeded: " + rows + " rows requested, "
+					+ probe.getRemainingTokens() + " available; retry in " + retryAfter + " s", retryAfter);
+		}
+	}
+
+	/** Gives back rows charged for work that was never started. */
+	public void refund(long rows) {
+		if (bucket != null && rows > 0) {
+			bucket.addTokens(rows);
+		}
+	}
+
+	/**
+	 * Allowance for output of unknown length: rows are taken from the bucket
+	 * {@code block} at a time, so a paced stream does not hit a shared store
+	 * on every tick. Tests {@code false} once the bucket runs dry. For use by
+	 * one thread at a time.
+	 */
+	public LongPredicate allowance(long block) {
+		if (bucket == null) {
+			return rows -> true;
+		}
+		long[] prepaid = new long[1];
+		return rows -> {
+			if (prepaid[0] < rows) {
+				long missing = rows - prepaid[0];
+				long needed = Math.min(limit.burst(), Math.max(block, missing));
+				boolean consumed = needed >= missing && bucket.tryConsume(needed);
+				if (!consumed && needed > missing) {
+					// Near the end of the bucket settle for exactly what is missing
+					needed = missing;
+					consumed = bucket.tryConsume(needed);
+				}
+				if (!consumed) {
+					rejected.increment();
+					return false;
+				}
+				prepaid[0] += needed;
+			}
+			prepaid[0] -= rows;
+			return true;
+		};
+	}
+
+}
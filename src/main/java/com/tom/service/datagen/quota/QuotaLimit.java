@@ -0,0 +1,39 @@
+package com.tom.service.datagen.quota;
+
+import java.time.Duration;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.BucketConfiguration;
+
+/**
+ * Rows a client may generate: {@code burst} at once, refilled continuously
+ * at {@code rowsPerMinute}.
+ */
+public record QuotaLimit(long rowsPerMinute, long burst) {
+
+	public QuotaLimit {
+		if (rowsPerMinute < 1 || burst < 1) {
+			throw new IllegalArgumentException("Quota limits must be positive");
+		}
+	}
+
+	/** Parses {@code rowsPerMinute[/burst]}; the burst defaults to one minute of rows. */
+	public static QuotaLimit parse(String spec) {
+		int slash = spec.indexOf('/');
+		if (slash < 0) {
+			long rowsPerMinute = Long.parseLong(spec.trim());
+			return new QuotaLimit(rowsPerMinute, rowsPerMinute);
+		}
+		return new QuotaLimit(Long.parseLong(spec.substring(0, slash).trim()),
+				Long.parseLong(spec.substring(slash + 1).trim()));
+	}
+
+	Bandwidth bandwidth() {
+		return Bandwidth.builder().capacity(burst).refillGreedy(rowsPerMinute, Duration.ofMinutes(1)).build();
+	}
+
+	BucketConfiguration configuration() {
+		return BucketConfiguration.builder().addLimit(bandwidth()).build();
+	}
+
+}
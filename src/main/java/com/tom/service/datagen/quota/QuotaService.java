@@ -0,0 +1,201 @@
+package com.tom.service.datagen.quota;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.postgresql.ds.PGSimpleDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.tom.service.datagen.exception.InternalException;
+
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.distributed.jdbc.BucketTableSettings;
+import io.github.bucket4j.distributed.jdbc.PrimaryKeyMapper;
+import io.github.bucket4j.distributed.jdbc.SQLProxyConfiguration;
+import io.github.bucket4j.distributed.proxy.ProxyManager;
+import io.github.bucket4j.postgresql.PostgreSQLSelectForUpdateBasedProxyManager;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Row quotas per client, charged by the rows a request asks for rather than
+ * per request. A client is the authenticated user, else a configured API key
+ * sent in the API key header, else the remote address; users and keys can
+ * have their own limits, everyone else gets the default one. Keys are
+ * configured by their SHA-256 digest and never match a user name.
+ * <p>
+ * Buckets live in memory unless a PostgreSQL store is configured, in which
+ * case every node of the cluster charges the same buckets.
+ */
+@Slf4j
+@Component
+public class QuotaService {
+
+	private static final String USER = "user:";
+	private static final String KEY = "key:";
+
+	private final boolean enabled;
+	private final QuotaLimit defaultLimit;
+	private final Map<String, QuotaLimit> userLimits = new HashMap<>();
+	private final Map<String, QuotaLimit> keyLimits = new HashMap<>();
+	private final String apiKeyHeader;
+	private final ProxyManager<String> store;
+	private final Map<String, LocalBucket> local = new ConcurrentHashMap<>();
+	private final Counter rejected;
+
+	public QuotaService(@Value("${application.datagen.quota.enabled:true}") boolean enabled,
+			@Value("${application.datagen.quota.rowsPerMinute:10000000}") long rowsPerMinute,
+			@Value("${application.datagen.quota.burst:50000000}") long burst,
+			@Value("${application.datagen.quota.clients:}") List<String> clients,
+			@Value("${application.datagen.quota.apiKeyHeader:X-Api-Key}") String apiKeyHeader,
+			@Value("${application.datagen.quota.store.url:}") String storeUrl,
+			@Value("${application.datagen.quota.store.username:}") String storeUsername,
+			@Value("${application.datagen.quota.store.password:}") String storePassword,
+			@Value("${application.datagen.quota.store.table:datagen_quota}") String storeTable,
+			MeterRegistry registry) {
+		this.enabled = enabled;
+		this.defaultLimit = new QuotaLimit(rowsPerMinute, burst);
+		for (String client : clients) {
+			int separator = client.indexOf('=');
+			String name = separator < 0 ? "" : client.substring(0, separator).trim();
+			if (name.startsWith(USER) && name.length() > USER.length()) {
+				userLimits.put(name.substring(USER.length()), QuotaLimit.parse(client.substring(separator + 1)));
+			} else if (name.startsWith(KEY) && name.length() > KEY.length()) {
+				String digest = name.substring(KEY.length()).toLowerCase();
+				keyLimits.put(digest, QuotaLimit.parse(client.substring(separator + 1)));
+			} else {
+				throw new IllegalArgumentException("Quota clients must be given as user:name=rowsPerMinute[/burst] "
+						+ "or key:sha256=rowsPerMinute[/burst]");
+			}
+		}
+		this.apiKeyHeader = apiKeyHeader;
+		this.store = enabled && !storeUrl.isBlank() ? openStore(storeUrl, storeUsername, storePassword, storeTable)
+				: null;
+		this.rejected = registry.counter("datagen.quota.rejected");
+		if (enabled) {
+			log.info("Row quotas enabled: {} rows/min, burst {}, {} client limits, {} store", rowsPerMinute, burst,
+					userLimits.size() + keyLimits.size(), store != null ? "shared" : "local");
+		}
+	}
+
+	/** Quota of the client making the current request; unlimited outside of a request. */
+	public ClientQuota current() {
+		RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+		if (!enabled || !(attributes instanceof ServletRequestAttributes servlet)) {
+			return ClientQuota.UNLIMITED;
+		}
+		HttpServletRequest request = servlet.getRequest();
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		if (authentication != null && authentication.isAuthenticated()
+				&& !(authentication instanceof AnonymousAuthenticationToken)) {
+			String user = authentication.getName();
+			return quota(USER + user, userLimits.getOrDefault(user, defaultLimit));
+		}
+		String apiKey = request.getHeader(apiKeyHeader);
+		if (apiKey != null) {
+			String digest = sha256(apiKey);
+			QuotaLimit limit = keyLimits.get(digest);
+			if (limit != null) {
+				// A prefix of the digest keeps bucket ids short in a shared table
+				return quota(KEY + digest.substring(0, 16), limit);
+			}
+		}
+		return quota("ip:" + request.getRemoteAddr(), defaultLimit);
+	}
+
+	/** Charges the current client for {@code rows}, see {@link ClientQuota#charge}. */
+	public ClientQuota charge(long rows) {
+		ClientQuota quota = current();
+		quota.charge(rows);
+		return quota;
+	}
+
+	/**
+	 * Charges the current client for {@code rows} before running {@code work},
+	 * which prepares the generation, and refunds them when it fails, so that
+	 * rejected requests cost nothing and nothing is prepared for clients over
+	 * their quota.
+	 */
+	public <T, E extends Exception> T charged(long rows, Work<T, E> work) throws E {
+		ClientQuota quota = charge(rows);
+		try {
+			return work.run();
+		} catch (Exception e) {
+			quota.refund(rows);
+			throw e;
+		}
+	}
+
+	/** Drops in-memory buckets that have refilled completely; they are recreated full anyway. */
+	@Scheduled(fixedDelayString = "${application.datagen.store.sweepInterval:60000}")
+	public void evictIdle() {
+		local.values().removeIf(entry -> entry.bucket().getAvailableTokens() >= entry.limit().burst());
+	}
+
+	private ClientQuota quota(String client, QuotaLimit limit) {
+		Bucket bucket = store != null ? store.builder().build(client, limit::configuration)
+				: local.computeIfAbsent(client,
+						key -> new LocalBucket(Bucket.builder().addLimit(limit.bandwidth()).build(), limit)).bucket();
+		return new ClientQuota(client, bucket, limit, rejected);
+	}
+
+	private static ProxyManager<String> openStore(String url, String username, String password, String table) {
+		PGSimpleDataSource dataSource = new PGSimpleDataSource();
+		dataSource.setUrl(url);
+		if (!username.isBlank()) {
+			dataSource.setUser(username);
+		}
+		if (!password.isBlank()) {
+			dataSource.setPassword(password);
+		}
+		try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+			statement.execute("CREATE TABLE IF NOT EXISTS " + table + " (id VARCHAR(255) PRIMARY KEY, state BYTEA)");
+		} catch (SQLException e) {
+			throw new InternalException("Unable to prepare the quota store: " + e.getMessage(), e);
+		}
+		return new PostgreSQLSelectForUpdateBasedProxyManager<>(SQLProxyConfiguration.builder()
+				.withTableSettings(BucketTableSettings.customSettings(table, "id", "state"))
+				.withPrimaryKeyMapper(PrimaryKeyMapper.STRING)
+				.build(dataSource));
+	}
+
+	/** Keeps API keys out of the configuration and of bucket ids, which may end up in a shared table. */
+	private static String sha256(String apiKey) {
+		try {
+			return HexFormat.of().formatHex(
+					MessageDigest.getInstance("SHA-256").digest(apiKey.getBytes(StandardCharsets.UTF_8)));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	@FunctionalInterface
+	public interface Work<T, E extends Exception> {
+
+		T run() throws E;
+
+	}
+
+	private record LocalBucket(Bucket bucket, QuotaLimit limit) {
+	}
+
+}
@@ -0,0 +1,8 @@
+package com.tom.service.datagen.relation;
+
+/**
+ * Reference to the key of a parent table. With {@code zipf > 0} parent rows
+ * are picked with Zipf-distributed popularity instead of uniformly.
+ */
+public record ForeignKeySpec(String table, double zipf) {
+}
@@ -0,0 +1,56 @@
+package com.tom.service.datagen.relation;
+
+import java.util.SplittableRandom;
+
+import com.tom.service.datagen.distribution.ZipfDistribution;
+import com.tom.service.datagen.exception.DataProcessingException;
+import com.tom.service.datagen.schema.FieldGenerator;
+
+/**
+ * Foreign key generators that sample from the key column of a parent table,
+ * held as a plain {@code long[]}.
+ */
+public final class ForeignKeys {
+
+	private ForeignKeys() {
+	}
+
+	public static FieldGenerator sample(long[] keys, ForeignKeySpec reference, long seed) {
+		if (keys.length == 0) {
+			throw new DataProcessingException("Parent table " + reference.table() + " has no rows to reference");
+		}
+		if (reference.zipf() <= 0) {
+			return (context, job, row, values) -> keys[context.random().nextInt(keys.length)];
+		}
+		// Popularity order: rank r is the parent at (stride * r + start) mod n, so the most referenced
+		// parents are spread over the key range instead of being the first rows, without a copy of the keys
+		long n = keys.length;
+		SplittableRandom random = new SplittableRandom(seed);
+		long stride = strideFor(n, random);
+		long start = random.nextLong(n);
+		ZipfDistribution zipf = new ZipfDistribution(keys.length, reference.zipf());
+		return (context, job, row, values) -> keys[(int) ((stride * (zipf.sample(context.random()) - 1) + start) % n)];
+	}
+
+	/** A stride coprime with {@code n}, which makes the mapping a permutation. */
+	private static long strideFor(long n, SplittableRandom random) {
+		if (n < 3) {
+			return 1;
+		}
+		long stride;
+		do {
+			stride = 1 + random.nextLong(n - 1);
+		} while (gcd(stride, n) != 1);
+		return stride;
+	}
+
+	private static long gcd(long a, long b) {
+		while (b != 0) {
+			long t = a % b;
+			a = b;
+			b = t;
+		}
+		return a;
+	}
+
+}
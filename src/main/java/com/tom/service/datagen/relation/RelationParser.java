@@ -0,0 +1,86 @@
+package com.tom.service.datagen.relation;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+import org.yaml.snakeyaml.error.YAMLException;
+
+import com.tom.service.datagen.exception.InvalidSchemaException;
+
+/**
+ * Reads relation definitions from YAML. Only the structure is checked here;
+ * whether the datasets and fields exist is up to the {@link RelationRegistry}.
+ */
+public final class RelationParser {
+
+	private RelationParser() {
+	}
+
+	public static RelationSchema parse(InputStream in) {
+		try {
+			return fromDocument(new Yaml(new SafeConstructor(new LoaderOptions())).load(in));
+		} catch (YAMLException e) {
+			throw new InvalidSchemaException("Malformed relation: " + e.getMessage(), e);
+		}
+	}
+
+	private static RelationSchema fromDocument(Object document) {
+		if (!(document instanceof Map<?, ?> root) || root.get("name") == null) {
+			throw new InvalidSchemaException("A relation must be a mapping with 'name' and 'tables'");
+		}
+		String name = root.get("name").toString();
+		if (!(root.get("tables") instanceof List<?> entries) || entries.isEmpty()) {
+			throw new InvalidSchemaException("Relation '" + name + "' needs a non-empty 'tables' list");
+		}
+		List<TableSpec> tables = new ArrayList<>(entries.size());
+		Set<String> datasets = new HashSet<>();
+		for (Object entry : entries) {
+			TableSpec table = table(name, entry);
+			if (!datasets.add(table.dataset())) {
+				throw new InvalidSchemaException("Relation '" + name + "' lists " + table.dataset() + " twice");
+			}
+			tables.add(table);
+		}
+		Object description = root.get("description");
+		return new RelationSchema(name, description != null ? description.toString() : "", tables);
+	}
+
+	private static TableSpec table(String relation, Object entry) {
+		if (!(entry instanceof Map<?, ?> map) || map.get("dataset") == null) {
+			throw new InvalidSchemaException("Every table of '" + relation + "' needs a 'dataset'");
+		}
+		String dataset = map.get("dataset").toString();
+		long rows = map.get("rows") instanceof Number number ? number.longValue() : 0;
+		double ratio = map.get("ratio") instanceof Number number ? number.doubleValue() : 0;
+		if ((rows > 0) == (ratio > 0)) {
+			throw new InvalidSchemaException("Table " + dataset + " needs either a positive 'rows' or 'ratio'");
+		}
+		String key = map.get("key") != null ? map.get("key").toString() : "id";
+
+		Map<String, ForeignKeySpec> foreignKeys = new LinkedHashMap<>();
+		if (map.get("foreignKeys") instanceof Map<?, ?> references) {
+			references.forEach((field, reference) -> {
+				if (!(reference instanceof Map<?, ?> spec) || spec.get("table") == null) {
+					throw new InvalidSchemaException("Foreign key " + dataset + "." + field + " needs a 'table'");
+				}
+				double zipf = spec.get("zipf") instanceof Number number ? number.doubleValue() : 0;
+				if (zipf < 0) {
+					throw new InvalidSchemaException("Foreign key " + dataset + "." + field + ": zipf must be >= 0");
+				}
+				foreignKeys.put(field.toString(), new ForeignKeySpec(spec.get("table").toString(), zipf));
+			});
+		} else if (map.get("foreignKeys") != null) {
+			throw new InvalidSchemaException("'foreignKeys' of " + dataset + " must map fields to tables");
+		}
+		return new TableSpec(dataset, key, rows, ratio, foreignKeys);
+	}
+
+}
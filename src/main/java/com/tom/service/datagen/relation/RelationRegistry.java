@@ -0,0 +1,94 @@
+package com.tom.service.datagen.relation;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import com.tom.service.datagen.encoder.ColumnType;
+import com.tom.service.datagen.exception.DataProcessingException;
+import com.tom.service.datagen.exception.InvalidSchemaException;
+import com.tom.service.datagen.exception.NotFoundException;
+import com.tom.service.datagen.schema.SchemaPlan;
+import com.tom.service.datagen.schema.SchemaRegistry;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Relation definitions loaded from the classpath at startup and validated
+ * against the registered datasets.
+ */
+@Slf4j
+@Component
+public class RelationRegistry {
+
+	private final Map<String, RelationSchema> relations = new ConcurrentHashMap<>();
+	private final SchemaRegistry schemas;
+
+	public RelationRegistry(SchemaRegistry schemas,
+			@Value("${application.datagen.relations.location:classpath*:relations/*.yml}") String location) {
+		this.schemas = schemas;
+		try {
+			for (Resource resource : new PathMatchingResourcePatternResolver().getResources(location)) {
+				try (InputStream in = resource.getInputStream()) {
+					RelationSchema relation = RelationParser.parse(in);
+					validate(relation);
+					relations.put(relation.name(), relation);
+				}
+			}
+		} catch (IOException e) {
+			throw new DataProcessingException("Unable to load relations from " + location, e);
+		}
+		log.info("Loaded {} relations", relations.size());
+	}
+
+	public RelationSchema get(String name) {
+		RelationSchema relation = relations.get(name);
+		if (relation == null) {
+			throw new NotFoundException("Unknown relation: " + name);
+		}
+		return relation;
+	}
+
+	public List<RelationSchema> list() {
+		return relations.values().stream().sorted(Comparator.comparing(RelationSchema::name)).toList();
+	}
+
+	private void validate(RelationSchema relation) {
+		Set<String> declared = new HashSet<>();
+		for (TableSpec table : relation.tables()) {
+			SchemaPlan plan = schemas.get(table.dataset());
+			table.foreignKeys().forEach((field, reference) -> {
+				if (plan.indexOf(field) < 0) {
+					throw new InvalidSchemaException("Relation '" + relation.name() + "': " + table.dataset()
+							+ " has no field " + field);
+				}
+				if (!declared.contains(reference.table())) {
+					throw new InvalidSchemaException("Relation '" + relation.name() + "': " + table.dataset() + "."
+							+ field + " must reference a table declared before it");
+				}
+				TableSpec parent = relation.tables().stream().filter(t -> t.dataset().equals(reference.table()))
+						.findFirst().orElseThrow();
+				SchemaPlan parentPlan = schemas.get(parent.dataset());
+				int key = parentPlan.indexOf(parent.key());
+				ColumnType type = key >= 0 ? parentPlan.layout().columns().get(key).getType() : null;
+				if ((type != ColumnType.LONG && type != ColumnType.INT)
+						|| parentPlan.schema().fields().get(key).nullRate() > 0) {
+					throw new InvalidSchemaException("Relation '" + relation.name() + "': key " + parent.dataset()
+							+ "." + parent.key() + " must be a numeric field without nulls");
+				}
+			});
+			declared.add(table.dataset());
+		}
+	}
+
+}
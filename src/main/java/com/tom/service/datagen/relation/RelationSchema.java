@@ -0,0 +1,24 @@
+package com.tom.service.datagen.relation;
+
+import java.util.List;
+
+/**
+ * A set of datasets generated together. Tables are listed parents first;
+ * a table may only reference tables declared before it.
+ */
+public record RelationSchema(String name, String description, List<TableSpec> tables) {
+
+	public RelationSchema {
+		tables = List.copyOf(tables);
+	}
+
+	/** Rows of all tables together for {@code quantity}, saturating instead of overflowing. */
+	public long rowsFor(long quantity) {
+		long rows = 0;
+		for (TableSpec table : tables) {
+			rows += Math.min(table.rowsFor(quantity), Long.MAX_VALUE - rows);
+		}
+		return rows;
+	}
+
+}
@@ -0,0 +1,21 @@
+package com.tom.service.datagen.relation;
+
+import java.util.Map;
+
+/**
+ * One table of a {@link RelationSchema}: the dataset it is generated from,
+ * either a fixed row count or a ratio of the requested quantity, the key
+ * column children refer to, and the foreign keys it samples.
+ */
+public record TableSpec(String dataset, String key, long rows, double ratio,
+		Map<String, ForeignKeySpec> foreignKeys) {
+
+	public TableSpec {
+		foreignKeys = Map.copyOf(foreignKeys);
+	}
+
+	public long rowsFor(long quantity) {
+		return rows > 0 ? rows : (long) Math.ceil(quantity * ratio);
+	}
+
+}
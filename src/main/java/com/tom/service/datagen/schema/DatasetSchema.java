@@ -0,0 +1,14 @@
+package com.tom.service.datagen.schema;
+
+import java.util.List;
+
+/**
+ * Parsed, not yet compiled dataset definition.
+ */
+public record DatasetSchema(String name, String description, List<FieldSpec> fields) {
+
+	public DatasetSchema {
+		fields = List.copyOf(fields);
+	}
+
+}
@@ -0,0 +1,16 @@
+package com.tom.service.datagen.schema;
+
+import com.tom.service.datagen.engine.GenerationJob;
+import com.tom.service.datagen.engine.GeneratorContext;
+
+/**
+ * Produces the value of one schema field. {@code values} holds the fields of
+ * the current row generated so far; the plan guarantees every field a
+ * generator refers to has already been filled in.
+ */
+@FunctionalInterface
+public interface FieldGenerator {
+
+	Object generate(GeneratorContext context, GenerationJob job, long row, Object[] values);
+
+}
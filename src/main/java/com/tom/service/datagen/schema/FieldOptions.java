@@ -0,0 +1,120 @@
+package com.tom.service.datagen.schema;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.tom.service.datagen.exception.InvalidSchemaException;
+
+/**
+ * Typed, validated access to the options of one field. Keys that were never
+ * read are reported by {@link #checkAllUsed()}, so typos fail at compile
+ * time instead of being silently ignored.
+ */
+final class FieldOptions {
+
+	private final FieldSpec field;
+	private final Set<String> used = new HashSet<>();
+
+	FieldOptions(FieldSpec field) {
+		this.field = field;
+	}
+
+	boolean has(String key) {
+		return field.options().containsKey(key);
+	}
+
+	String string(String key) {
+		return required(key).toString();
+	}
+
+	String string(String key, String defaultValue) {
+		return has(key) ? string(key) : defaultValue;
+	}
+
+	double number(String key) {
+		if (required(key) instanceof Number number) {
+			return number.doubleValue();
+		}
+		throw error("'" + key + "' must be a number");
+	}
+
+	double number(String key, double defaultValue) {
+		return has(key) ? number(key) : defaultValue;
+	}
+
+	long integer(String key) {
+		double value = number(key);
+		if (value != Math.rint(value)) {
+			throw error("'" + key + "' must be a whole number");
+		}
+		return (long) value;
+	}
+
+	long integer(String key, long defaultValue) {
+		return has(key) ? integer(key) : defaultValue;
+	}
+
+	/** The raw value, for nested options parsed elsewhere. */
+	Object value(String key) {
+		return required(key);
+	}
+
+	boolean bool(String key, boolean defaultValue) {
+		if (!has(key)) {
+			return defaultValue;
+		}
+		if (required(key) instanceof Boolean flag) {
+			return flag;
+		}
+		throw error("'" + key + "' must be true or false");
+	}
+
+	List<?> list(String key) {
+		if (required(key) instanceof List<?> list && !list.isEmpty()) {
+			return list;
+		}
+		throw error("'" + key + "' must be a non-empty list");
+	}
+
+	/** YAML turns unquoted ISO dates into {@link Date}, quoted ones stay strings. */
+	LocalDate date(String key) {
+		Object value = required(key);
+		if (value instanceof Date date) {
+			return date.toInstant().atZone(ZoneOffset.UTC).toLocalDate();
+		}
+		try {
+			return LocalDate.parse(value.toString());
+		} catch (DateTimeParseException e) {
+			throw error("'" + key + "' must be an ISO date (yyyy-MM-dd)");
+		}
+	}
+
+	void checkAllUsed() {
+		for (String key : field.options().keySet()) {
+			if (!used.contains(key)) {
+				throw error("unknown option '" + key + "' for type '" + field.type() + "'");
+			}
+		}
+	}
+
+	InvalidSchemaException error(String message) {
+		return new InvalidSchemaException("Field '" + field.name() + "': " + message);
+	}
+
+	private Object required(String key) {
+		Map<String, Object> options = field.options();
+		Object value = options.get(key);
+		if (value == null) {
+			throw error("'" + key + "' is required for type '" + field.type() + "'");
+		}
+		used.add(key);
+		return value;
+	}
+
+}
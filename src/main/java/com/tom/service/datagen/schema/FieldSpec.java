@@ -0,0 +1,16 @@
+package com.tom.service.datagen.schema;
+
+import java.util.Map;
+
+/**
+ * One field of a {@link DatasetSchema}. Everything besides the common keys is
+ * kept in {@code options} and interpreted by the generator {@code type}.
+ */
+public record FieldSpec(String name, String type, String header, double nullRate, Boolean lowCardinality,
+		Map<String, Object> options) {
+
+	public FieldSpec {
+		options = Map.copyOf(options);
+	}
+
+}
@@ -0,0 +1,608 @@
+package com.tom.service.datagen.schema;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.stereotype.Component;
+
+import com.tom.service.datagen.encoder.Column;
+import com.tom.service.datagen.encoder.ColumnType;
+import com.tom.service.datagen.distribution.Distribution;
+import com.tom.service.datagen.distribution.Distributions;
+import com.tom.service.datagen.distribution.TruncatedDistribution;
+import com.tom.service.datagen.distribution.Ziggurat;
+import com.tom.service.datagen.encoder.RowLayout;
+import com.tom.service.datagen.engine.GeneratorContext;
+import com.tom.service.datagen.exception.InvalidSchemaException;
+import com.tom.service.datagen.pool.EmployeePools;
+import com.tom.service.datagen.pool.ValuePool;
+
+/**
+ * Turns a {@link DatasetSchema} into a {@link SchemaPlan}. All validation
+ * happens here: options are parsed into constants, field references become
+ * array indices, weights become cumulative tables, and the fields are
+ * ordered so every reference is generated before the field that reads it.
+ */
+@Component
+public class SchemaCompiler {
+
+	private static final Pattern TEMPLATE_REF = Pattern.compile("\\{([A-Za-z_][A-Za-z0-9_]*)}");
+
+	private static final Map<String, Function<EmployeePools, ValuePool>> POOLS = Map.ofEntries(
+			Map.entry("maleFirstName", EmployeePools::maleFirstNames),
+			Map.entry("femaleFirstName", EmployeePools::femaleFirstNames),
+			Map.entry("lastName", EmployeePools::lastNames),
+			Map.entry("industry", EmployeePools::industries),
+			Map.entry("jobTitle", EmployeePools::jobTitles),
+			Map.entry("emailDomain", EmployeePools::emailDomains),
+			Map.entry("streetName", EmployeePools::streetNames),
+			Map.entry("secondaryAddress", EmployeePools::secondaryAddresses),
+			Map.entry("city", EmployeePools::cities),
+			Map.entry("state", EmployeePools::states));
+
+	public SchemaPlan compile(DatasetSchema schema, boolean builtIn) {
+		return compile(schema, builtIn, Map.of());
+	}
+
+	/**
+	 * Compiles the schema with some fields bound to external generators, e.g.
+	 * foreign keys sampled from a parent table. Bound fields become LONG
+	 * columns and their declared options are ignored.
+	 */
+	public SchemaPlan compile(DatasetSchema schema, boolean builtIn, Map<String, FieldGenerator> bound) {
+		List<FieldSpec> fields = schema.fields();
+		Map<String, Integer> indices = new HashMap<>();
+		for (int i = 0; i < fields.size(); i++) {
+			indices.put(fields.get(i).name(), i);
+		}
+
+		int size = fields.size();
+		FieldGenerator[] generators = new FieldGenerator[size];
+		double[] nullRates = new double[size];
+		BitSet[] dependencies = new BitSet[size];
+		Marginals marginals = new Marginals(size);
+		List<Column<Object[]>> columns = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			FieldSpec field = fields.get(i);
+			References references = new References(field, indices);
+			Compiled compiled;
+			if (bound.containsKey(field.name())) {
+				compiled = new Compiled(ColumnType.LONG, Long.class, false, bound.get(field.name()));
+			} else {
+				FieldOptions options = new FieldOptions(field);
+				compiled = compileField(field, options, references, marginals, i);
+				options.checkAllUsed();
+			}
+			marginals.distributions[i] = compiled.distribution();
+
+			generators[i] = compiled.generator();
+			nullRates[i] = field.nullRate();
+			dependencies[i] = references.used;
+			int slot = i;
+			String header = field.header() != null ? field.header() : RowLayout.toHeader(field.name());
+			Column<Object[]> column = Column.ofObject(field.name(), header, compiled.type(), compiled.javaType(),
+					row -> row[slot]);
+			boolean dictionary = field.lowCardinality() != null ? field.lowCardinality() : compiled.dictionary();
+			columns.add(column.withDictionary(dictionary));
+		}
+		marginals.check(fields);
+		return new SchemaPlan(schema, new RowLayout<>(columns), generators, nullRates,
+				evaluationOrder(schema, dependencies), builtIn);
+	}
+
+	/**
+	 * Declaration order, except that a field is deferred until everything it
+	 * references has been placed.
+	 */
+	private static int[] evaluationOrder(DatasetSchema schema, BitSet[] dependencies) {
+		int size = dependencies.length;
+		int[] order = new int[size];
+		BitSet placed = new BitSet(size);
+		for (int position = 0; position < size; position++) {
+			int next = -1;
+			for (int i = 0; i < size && next < 0; i++) {
+				if (!placed.get(i)) {
+					BitSet missing = (BitSet) dependencies[i].clone();
+					missing.andNot(placed);
+					if (missing.isEmpty()) {
+						next = i;
+					}
+				}
+			}
+			if (next < 0) {
+				throw new InvalidSchemaException("Schema '" + schema.name() + "' has circular field references");
+			}
+			placed.set(next);
+			order[position] = next;
+		}
+		return order;
+	}
+
+	private Compiled compileField(FieldSpec field, FieldOptions options, References references, Marginals marginals,
+			int slot) {
+		return switch (field.type()) {
+		case "sequence" -> sequence(options);
+		case "integer" -> options.has("distribution") ? distributedInteger(options, references, marginals, slot)
+				: integer(options);
+		case "decimal" -> options.has("distribution") ? distributedDecimal(options, references, marginals, slot)
+				: decimal(options);
+		case "boolean" -> bool(options);
+		case "choice" -> choice(options);
+		case "pool" -> pool(options);
+		case "firstName" -> firstName(options, references);
+		case "email" -> email(options, references);
+		case "phone" -> text((context, job, row, values) -> job.getPools().phoneNumber(context.text(),
+				context.random()));
+		case "address" -> text((context, job, row, values) -> job.getPools().fullAddress(context.text(),
+				context.random()));
+		case "pattern" -> pattern(options);
+		case "uuid" -> text((context, job, row, values) -> randomUuid(context.random()));
+		case "template" -> template(options, references);
+		case "date" -> date(options, references);
+		case "derived" -> derived(options, references);
+		case "isNull" -> isNull(options, references);
+		default -> throw options.error("unknown type '" + field.type() + "'");
+		};
+	}
+
+	private static Compiled sequence(FieldOptions options) {
+		long start = options.integer("start", 1);
+		long step = options.integer("step", 1);
+		return new Compiled(ColumnType.LONG, Long.class, false, (context, job, row, values) -> start + row * step);
+	}
+
+	private static Compiled integer(FieldOptions options) {
+		long min = options.integer("min");
+		long max = options.integer("max");
+		if (max < min) {
+			throw options.error("'max' must not be below 'min'");
+		}
+		if (min >= Integer.MIN_VALUE && max < Integer.MAX_VALUE) {
+			int low = (int) min;
+			int bound = (int) max + 1;
+			return new Compiled(ColumnType.INT, Integer.class, false,
+					(context, job, row, values) -> context.random().nextInt(low, bound));
+		}
+		if (max == Long.MAX_VALUE) {
+			throw options.error("'max' is out of range");
+		}
+		return new Compiled(ColumnType.LONG, Long.class, false,
+				(context, job, row, values) -> context.random().nextLong(min, max + 1));
+	}
+
+	private static Compiled decimal(FieldOptions options) {
+		double min = options.number("min");
+		double max = options.number("max");
+		if (max < min) {
+			throw options.error("'max' must not be below 'min'");
+		}
+		double range = max - min;
+		double unit = scaleUnit(options);
+		return new Compiled(ColumnType.DOUBLE, Double.class, false,
+				(context, job, row, values) -> round(min + context.random().nextDouble() * range, unit));
+	}
+
+	private static Compiled distributedInteger(FieldOptions options, References references, Marginals marginals,
+			int slot) {
+		Distribution distribution = distribution(options);
+		Sampler sampler = sampler(distribution, options, references, marginals, slot);
+		boolean bounded = options.has("min") && options.has("max") && options.number("min") >= Integer.MIN_VALUE
+				&& options.number("max") <= Integer.MAX_VALUE;
+		if (bounded) {
+			return new Compiled(ColumnType.INT, Integer.class, false,
+					(context, job, row, values) -> (int) Math.round(sampler.sample(context, values)), distribution);
+		}
+		return new Compiled(ColumnType.LONG, Long.class, false,
+				(context, job, row, values) -> Math.round(sampler.sample(context, values)), distribution);
+	}
+
+	private static Compiled distributedDecimal(FieldOptions options, References references, Marginals marginals,
+			int slot) {
+		Distribution distribution = distribution(options);
+		Sampler sampler = sampler(distribution, options, references, marginals, slot);
+		double unit = scaleUnit(options);
+		return new Compiled(ColumnType.DOUBLE, Double.class, false,
+				(context, job, row, values) -> round(sampler.sample(context, values), unit), distribution);
+	}
+
+	/** The {@code distribution} option, truncated to {@code min}/{@code max} when they are given. */
+	private static Distribution distribution(FieldOptions options) {
+		Distribution distribution = Distributions.parse(options.value("distribution"),
+				message -> options.error("distribution: " + message));
+		if (!options.has("min") && !options.has("max")) {
+			return distribution;
+		}
+		double min = options.number("min", Double.NEGATIVE_INFINITY);
+		double max = options.number("max", Double.POSITIVE_INFINITY);
+		if (max < min) {
+			throw options.error("'max' must not be below 'min'");
+		}
+		return new TruncatedDistribution(distribution, min, max);
+	}
+
+	/**
+	 * Independent draws, or with {@code correlateWith} and {@code correlation}
+	 * a Gaussian copula on the referenced field: its value is mapped to a
+	 * standard normal, mixed with fresh noise and mapped back onto this
+	 * field's distribution. A null reference falls back to fresh noise.
+	 */
+	private static Sampler sampler(Distribution distribution, FieldOptions options, References references,
+			Marginals marginals, int slot) {
+		if (!options.has("correlateWith")) {
+			return (context, values) -> distribution.draw(context.random());
+		}
+		int parent = references.index(options.string("correlateWith"));
+		double rho = options.number("correlation");
+		if (!(Math.abs(rho) <= 1)) {
+			throw options.error("'correlation' must be between -1 and 1");
+		}
+		double noise = Math.sqrt(1 - rho * rho);
+		Distribution[] distributions = marginals.distributions;
+		marginals.parents[slot] = parent;
+		return (context, values) -> {
+			Random random = context.random();
+			double z = values[parent] instanceof Number number
+					? distributions[parent].toNormal(number.doubleValue())
+					: Ziggurat.nextGaussian(random);
+			return distribution.fromNormal(rho * z + noise * Ziggurat.nextGaussian(random));
+		};
+	}
+
+	private static Compiled bool(FieldOptions options) {
+		double probability = options.number("probability", 0.5);
+		return new Compiled(ColumnType.BOOLEAN, Boolean.class, false,
+				(context, job, row, values) -> context.random().nextDouble() < probability);
+	}
+
+	private static Compiled choice(FieldOptions options) {
+		String[] choices = options.list("values").stream().map(value -> value.toString().intern())
+				.toArray(String[]::new);
+		if (!options.has("weights")) {
+			return new Compiled(ColumnType.STRING, String.class, true,
+					(context, job, row, values) -> choices[context.random().nextInt(choices.length)]);
+		}
+
+		List<?> weights = options.list("weights");
+		if (weights.size() != choices.length) {
+			throw options.error("'weights' must have one entry per value");
+		}
+		double[] cumulative = new double[choices.length];
+		double total = 0;
+		for (int i = 0; i < choices.length; i++) {
+			if (!(weights.get(i) instanceof Number weight) || weight.doubleValue() < 0) {
+				throw options.error("'weights' must be non-negative numbers");
+			}
+			total += weight.doubleValue();
+			cumulative[i] = total;
+		}
+		if (total <= 0) {
+			throw options.error("'weights' must not all be zero");
+		}
+		for (int i = 0; i < cumulative.length; i++) {
+			cumulative[i] /= total;
+		}
+		return new Compiled(ColumnType.STRING, String.class, true,
+				(context, job, row, values) -> choices[pick(cumulative, context.random().nextDouble())]);
+	}
+
+	private Compiled pool(FieldOptions options) {
+		String name = options.string("pool");
+		Function<EmployeePools, ValuePool> pool = POOLS.get(name);
+		if (pool == null) {
+			throw options.error("unknown pool '" + name + "', expected one of " + POOLS.keySet());
+		}
+		return text((context, job, row, values) -> pool.apply(job.getPools()).draw(context.random()));
+	}
+
+	private Compiled firstName(FieldOptions options, References references) {
+		if (!options.has("gender")) {
+			return text((context, job, row, values) -> {
+				EmployeePools pools = job.getPools();
+				ValuePool names = context.random().nextBoolean() ? pools.maleFirstNames() : pools.femaleFirstNames();
+				return names.draw(context.random());
+			});
+		}
+		int gender = references.index(options.string("gender"));
+		String male = options.string("male", "MALE");
+		return text((context, job, row, values) -> {
+			EmployeePools pools = job.getPools();
+			ValuePool names = male.equals(values[gender]) ? pools.maleFirstNames() : pools.femaleFirstNames();
+			return names.draw(context.random());
+		});
+	}
+
+	private Compiled email(FieldOptions options, References references) {
+		int first = options.has("first") ? references.index(options.string("first")) : -1;
+		int last = options.has("last") ? references.index(options.string("last")) : -1;
+		return text((context, job, row, values) -> {
+			EmployeePools pools = job.getPools();
+			Random random = context.random();
+			String firstSlug = first >= 0 && values[first] != null ? ValuePool.slugOf(values[first].toString())
+					: pools.maleFirstNames().slug(pools.maleFirstNames().index(random));
+			String lastSlug = last >= 0 && values[last] != null ? ValuePool.slugOf(values[last].toString())
+					: pools.lastNames().slug(pools.lastNames().index(random));
+			return pools.email(context.text(), random, firstSlug, lastSlug, 0);
+		});
+	}
+
+	/** {@code #} becomes a digit, {@code ?} an uppercase letter, anything else is copied. */
+	private static Compiled pattern(FieldOptions options) {
+		char[] mask = options.string("mask").toCharArray();
+		return text((context, job, row, values) -> {
+			StringBuilder text = context.text();
+			Random random = context.random();
+			text.setLength(0);
+			for (char c : mask) {
+				text.append(switch (c) {
+				case '#' -> (char) ('0' + random.nextInt(10));
+				case '?' -> (char) ('A' + random.nextInt(26));
+				default -> c;
+				});
+			}
+			return text.toString();
+		});
+	}
+
+	private static Compiled template(FieldOptions options, References references) {
+		String format = options.string("format");
+		List<String> literals = new ArrayList<>();
+		List<Integer> slots = new ArrayList<>();
+		Matcher matcher = TEMPLATE_REF.matcher(format);
+		int start = 0;
+		while (matcher.find()) {
+			literals.add(format.substring(start, matcher.start()));
+			slots.add(references.index(matcher.group(1)));
+			start = matcher.end();
+		}
+		literals.add(format.substring(start));
+		String[] parts = literals.toArray(String[]::new);
+		int[] refs = slots.stream().mapToInt(Integer::intValue).toArray();
+		return text((context, job, row, values) -> {
+			StringBuilder text = context.text();
+			text.setLength(0);
+			for (int i = 0; i < refs.length; i++) {
+				text.append(parts[i]);
+				Object value = values[refs[i]];
+				if (value != null) {
+					text.append(value);
+				}
+			}
+			return text.append(parts[refs.length]).toString();
+		});
+	}
+
+	/**
+	 * Either an absolute range ({@code from}/{@code to}), a range relative to
+	 * the job's reference date ({@code daysBack}), or a number of days after
+	 * another date field ({@code after}, {@code minDays}, {@code maxDays}).
+	 */
+	private static Compiled date(FieldOptions options, References references) {
+		if (options.has("after")) {
+			int after = references.index(options.string("after"));
+			long minDays = options.integer("minDays", 0);
+			long maxDays = options.integer("maxDays");
+			long bound = checkedBound(options, minDays, maxDays);
+			return new Compiled(ColumnType.DATE, LocalDate.class, false, (context, job, row, values) -> {
+				Object base = values[after];
+				return base instanceof LocalDate date ? date.plusDays(minDays + context.random().nextLong(bound))
+						: null;
+			});
+		}
+		if (options.has("daysBack")) {
+			long minDays = options.integer("minDaysBack", 0);
+			long maxDays = options.integer("daysBack");
+			long bound = checkedBound(options, minDays, maxDays);
+			return new Compiled(ColumnType.DATE, LocalDate.class, false, (context, job, row,
+					values) -> job.getReferenceDate().minusDays(minDays + context.random().nextLong(bound)));
+		}
+		LocalDate from = options.date("from");
+		LocalDate to = options.date("to");
+		long bound = checkedBound(options, 0, ChronoUnit.DAYS.between(from, to));
+		return new Compiled(ColumnType.DATE, LocalDate.class, false,
+				(context, job, row, values) -> from.plusDays(context.random().nextLong(bound)));
+	}
+
+	/**
+	 * Numeric combination of other fields, optionally scaled by a constant
+	 * and a random factor drawn from {@code jitter: [low, high]}. A null
+	 * input yields null. {@code scale: 0} produces whole numbers.
+	 */
+	private static Compiled derived(FieldOptions options, References references) {
+		int[] inputs = options.list("from").stream().mapToInt(name -> references.index(name.toString())).toArray();
+		Operation operation = Operation.of(options.string("op"), options);
+		if (operation == Operation.DIFFERENCE || operation == Operation.RATIO) {
+			if (inputs.length != 2) {
+				throw options.error("'" + options.string("op") + "' needs exactly two fields");
+			}
+		}
+		double factor = options.number("factor", 1);
+		double jitterLow = 0;
+		double jitterRange = 0;
+		if (options.has("jitter")) {
+			List<?> jitter = options.list("jitter");
+			if (jitter.size() != 2 || !(jitter.get(0) instanceof Number low) || !(jitter.get(1) instanceof Number high)
+					|| high.doubleValue() < low.doubleValue()) {
+				throw options.error("'jitter' must be [low, high]");
+			}
+			jitterLow = low.doubleValue();
+			jitterRange = high.doubleValue() - low.doubleValue();
+		}
+		double unit = scaleUnit(options);
+		boolean whole = unit == 1;
+		double low = jitterLow;
+		double range = jitterRange;
+		FieldGenerator generator = (context, job, row, values) -> {
+			double result = 0;
+			for (int i = 0; i < inputs.length; i++) {
+				if (!(values[inputs[i]] instanceof Number number)) {
+					return null;
+				}
+				result = i == 0 ? number.doubleValue() : operation.apply(result, number.doubleValue());
+			}
+			if (operation == Operation.AVERAGE) {
+				result /= inputs.length;
+			}
+			result *= factor;
+			if (range > 0 || low != 0) {
+				result *= 1 + low + context.random().nextDouble() * range;
+			}
+			return whole ? (Object) Math.round(result) : (Object) round(result, unit);
+		};
+		return whole ? new Compiled(ColumnType.LONG, Long.class, false, generator)
+				: new Compiled(ColumnType.DOUBLE, Double.class, false, generator);
+	}
+
+	private static Compiled isNull(FieldOptions options, References references) {
+		int field = references.index(options.string("field"));
+		boolean negate = options.bool("negate", false);
+		return new Compiled(ColumnType.BOOLEAN, Boolean.class, false,
+				(context, job, row, values) -> (values[field] == null) != negate);
+	}
+
+	private static Compiled text(FieldGenerator generator) {
+		return new Compiled(ColumnType.STRING, String.class, false, generator);
+	}
+
+	private static long checkedBound(FieldOptions options, long minDays, long maxDays) {
+		if (minDays < 0 || maxDays < minDays) {
+			throw options.error("date range is empty or negative");
+		}
+		return maxDays - minDays + 1;
+	}
+
+	private static double scaleUnit(FieldOptions options) {
+		long scale = options.integer("scale", 2);
+		if (scale < 0 || scale > 9) {
+			throw options.error("'scale' must be between 0 and 9");
+		}
+		return Math.pow(10, scale);
+	}
+
+	private static double round(double value, double unit) {
+		return Math.round(value * unit) / unit;
+	}
+
+	static int pick(double[] cumulative, double u) {
+		int low = 0;
+		int high = cumulative.length - 1;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (cumulative[mid] > u) {
+				high = mid;
+			} else {
+				low = mid + 1;
+			}
+		}
+		return low;
+	}
+
+	private static String randomUuid(Random random) {
+		long most = (random.nextLong() & ~0xF000L) | 0x4000L;
+		long least = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+		return new UUID(most, least).toString();
+	}
+
+	private enum Operation {
+
+		SUM, DIFFERENCE, PRODUCT, RATIO, MIN, MAX, AVERAGE;
+
+		static Operation of(String name, FieldOptions options) {
+			return switch (name) {
+			case "sum" -> SUM;
+			case "difference" -> DIFFERENCE;
+			case "product" -> PRODUCT;
+			case "ratio" -> RATIO;
+			case "min" -> MIN;
+			case "max" -> MAX;
+			case "avg" -> AVERAGE;
+			default -> throw options.error("unknown op '" + name + "'");
+			};
+		}
+
+		double apply(double left, double right) {
+			return switch (this) {
+			case SUM, AVERAGE -> left + right;
+			case DIFFERENCE -> left - right;
+			case PRODUCT -> left * right;
+			case RATIO -> left / right;
+			case MIN -> Math.min(left, right);
+			case MAX -> Math.max(left, right);
+			};
+		}
+
+	}
+
+	private record Compiled(ColumnType type, Class<?> javaType, boolean dictionary, FieldGenerator generator,
+			Distribution distribution) {
+
+		Compiled(ColumnType type, Class<?> javaType, boolean dictionary, FieldGenerator generator) {
+			this(type, javaType, dictionary, generator, null);
+		}
+
+	}
+
+	@FunctionalInterface
+	private interface Sampler {
+
+		double sample(GeneratorContext context, Object[] values);
+
+	}
+
+	/** Distributions of the numeric fields, so a field can be correlated with another one. */
+	private static final class Marginals {
+
+		private final Distribution[] distributions;
+		private final int[] parents;
+
+		Marginals(int size) {
+			this.distributions = new Distribution[size];
+			this.parents = new int[size];
+			Arrays.fill(parents, -1);
+		}
+
+		void check(List<FieldSpec> fields) {
+			for (int i = 0; i < parents.length; i++) {
+				if (parents[i] >= 0 && distributions[parents[i]] == null) {
+					throw new InvalidSchemaException("Field '" + fields.get(i).name() + "': 'correlateWith' must "
+							+ "reference an integer or decimal field with a distribution");
+				}
+			}
+		}
+
+	}
+
+	/** Resolves field names to row slots and records them as dependencies. */
+	private static final class References {
+
+		private final FieldSpec field;
+		private final Map<String, Integer> indices;
+		private final BitSet used = new BitSet();
+
+		References(FieldSpec field, Map<String, Integer> indices) {
+			this.field = field;
+			this.indices = indices;
+		}
+
+		int index(String name) {
+			Integer index = indices.get(name);
+			if (index == null || name.equals(field.name())) {
+				throw new InvalidSchemaException("Field '" + field.name() + "': unknown field reference '" + name + "'");
+			}
+			used.set(index);
+			return index;
+		}
+
+	}
+
+}
@@ -0,0 +1,113 @@
+package com.tom.service.datagen.schema;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+import org.yaml.snakeyaml.error.YAMLException;
+
+import com.tom.service.datagen.exception.InvalidSchemaException;
+
+/**
+ * Reads dataset schemas from YAML. JSON is valid YAML, so the same parser
+ * accepts both. Only plain maps, lists and scalars are constructed.
+ */
+public final class SchemaParser {
+
+	private static final Pattern SCHEMA_NAME = Pattern.compile("[a-z][a-z0-9-]{0,63}");
+	private static final Pattern FIELD_NAME = Pattern.compile("[A-Za-z_][A-Za-z0-9_]{0,63}");
+	private static final Set<String> COMMON_KEYS = Set.of("name", "type", "header", "nullRate", "lowCardinality");
+
+	private SchemaParser() {
+	}
+
+	public static DatasetSchema parse(String text) {
+		try {
+			return fromDocument(yaml().load(text));
+		} catch (YAMLException e) {
+			throw new InvalidSchemaException("Malformed schema: " + e.getMessage(), e);
+		}
+	}
+
+	public static DatasetSchema parse(InputStream in) {
+		try {
+			return fromDocument(yaml().load(in));
+		} catch (YAMLException e) {
+			throw new InvalidSchemaException("Malformed schema: " + e.getMessage(), e);
+		}
+	}
+
+	private static Yaml yaml() {
+		return new Yaml(new SafeConstructor(new LoaderOptions()));
+	}
+
+	private static DatasetSchema fromDocument(Object document) {
+		if (!(document instanceof Map<?, ?> root)) {
+			throw new InvalidSchemaException("A schema must be a mapping with 'name' and 'fields'");
+		}
+		String name = text(root.get("name"), "Schema name");
+		if (!SCHEMA_NAME.matcher(name).matches()) {
+			throw new InvalidSchemaException("Schema name must be lowercase letters, digits and dashes: " + name);
+		}
+		Object description = root.get("description");
+		if (!(root.get("fields") instanceof List<?> entries) || entries.isEmpty()) {
+			throw new InvalidSchemaException("Schema '" + name + "' needs a non-empty 'fields' list");
+		}
+
+		List<FieldSpec> fields = new ArrayList<>(entries.size());
+		Set<String> names = new HashSet<>();
+		for (Object entry : entries) {
+			FieldSpec field = field(entry);
+			if (!names.add(field.name())) {
+				throw new InvalidSchemaException("Duplicate field '" + field.name() + "' in schema '" + name + "'");
+			}
+			fields.add(field);
+		}
+		return new DatasetSchema(name, description != null ? description.toString() : "", fields);
+	}
+
+	private static FieldSpec field(Object entry) {
+		if (!(entry instanceof Map<?, ?> map)) {
+			throw new InvalidSchemaException("Every field must be a mapping with 'name' and 'type'");
+		}
+		String name = text(map.get("name"), "Field name");
+		if (!FIELD_NAME.matcher(name).matches()) {
+			throw new InvalidSchemaException("Invalid field name: " + name);
+		}
+		String type = text(map.get("type"), "Type of field '" + name + "'");
+		Object header = map.get("header");
+		double nullRate = map.get("nullRate") instanceof Number rate ? rate.doubleValue() : 0;
+		if (nullRate < 0 || nullRate >= 1) {
+			throw new InvalidSchemaException("Field '" + name + "': nullRate must be in [0, 1)");
+		}
+		Boolean lowCardinality = map.get("lowCardinality") instanceof Boolean flag ? flag : null;
+
+		Map<String, Object> options = new LinkedHashMap<>();
+		map.forEach((key, value) -> {
+			if (!COMMON_KEYS.contains(key.toString())) {
+				if (value == null) {
+					throw new InvalidSchemaException("Field '" + name + "': option '" + key + "' has no value");
+				}
+				options.put(key.toString(), value);
+			}
+		});
+		return new FieldSpec(name, type, header != null ? header.toString() : null, nullRate, lowCardinality,
+				options);
+	}
+
+	private static String text(Object value, String what) {
+		if (value == null || value.toString().isBlank()) {
+			throw new InvalidSchemaException(what + " is required");
+		}
+		return value.toString();
+	}
+
+}
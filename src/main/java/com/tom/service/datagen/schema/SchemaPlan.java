@@ -0,0 +1,102 @@
+package com.tom.service.datagen.schema;
+
+import java.util.List;
+import java.util.Random;
+
+import com.tom.service.datagen.encoder.RowLayout;
+import com.tom.service.datagen.engine.GenerationJob;
+import com.tom.service.datagen.engine.GeneratorContext;
+import com.tom.service.datagen.engine.RowSource;
+
+/**
+ * Compiled form of a {@link DatasetSchema}: one prebound generator per field,
+ * evaluated in dependency order into an {@code Object[]} row whose slots
+ * match the declared columns. Options, references and weights are resolved
+ * by the {@link SchemaCompiler}, so generating a row does no lookups.
+ */
+public final class SchemaPlan implements RowSource<Object[]> {
+
+	private final DatasetSchema schema;
+	private final RowLayout<Object[]> layout;
+	private final FieldGenerator[] generators;
+	private final double[] nullRates;
+	private final int[] order;
+	private final boolean builtIn;
+
+	SchemaPlan(DatasetSchema schema, RowLayout<Object[]> layout, FieldGenerator[] generators, double[] nullRates,
+			int[] order, boolean builtIn) {
+		this.schema = schema;
+		this.layout = layout;
+		this.generators = generators;
+		this.nullRates = nullRates;
+		this.order = order;
+		this.builtIn = builtIn;
+	}
+
+	@Override
+	public String name() {
+		return schema.name();
+	}
+
+	@Override
+	public RowLayout<Object[]> layout() {
+		return layout;
+	}
+
+	public DatasetSchema schema() {
+		return schema;
+	}
+
+	@Override
+	public boolean isBuiltIn() {
+		return builtIn;
+	}
+
+	@Override
+	public Object[] generate(GeneratorContext context, GenerationJob job, long row) {
+		context.reseed(job.rowSeed(row));
+		Random random = context.random();
+		Object[] values = new Object[generators.length];
+		for (int field : order) {
+			if (nullRates[field] > 0 && random.nextDouble() < nullRates[field]) {
+				continue;
+			}
+			values[field] = generators[field].generate(context, job, row, values);
+		}
+		return values;
+	}
+
+	/**
+	 * Value of a single field of a row, identical to the one {@link #generate}
+	 * produces. Only the fields evaluated before it are generated.
+	 */
+	public Object generateField(GeneratorContext context, GenerationJob job, long row, int field) {
+		context.reseed(job.rowSeed(row));
+		Random random = context.random();
+		Object[] values = new Object[generators.length];
+		for (int next : order) {
+			if (nullRates[next] > 0 && random.nextDouble() < nullRates[next]) {
+				if (next == field) {
+					return null;
+				}
+				continue;
+			}
+			values[next] = generators[next].generate(context, job, row, values);
+			if (next == field) {
+				return values[next];
+			}
+		}
+		throw new IllegalArgumentException("No field " + field + " in " + name());
+	}
+
+	public int indexOf(String field) {
+		List<FieldSpec> fields = schema.fields();
+		for (int i = 0; i < fields.size(); i++) {
+			if (fields.get(i).name().equals(field)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+}
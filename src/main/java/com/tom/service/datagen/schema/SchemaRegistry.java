@@ -0,0 +1,97 @@
+package com.tom.service.datagen.schema;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import com.tom.service.datagen.exception.AlreadyExistsException;
+import com.tom.service.datagen.exception.BadRequestException;
+import com.tom.service.datagen.exception.DataProcessingException;
+import com.tom.service.datagen.exception.NotFoundException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Compiled schemas by name. Built-in schemas are loaded from the classpath
+ * at startup; custom ones are registered at runtime, compiled once and kept
+ * until they are deleted.
+ */
+@Slf4j
+@Component
+public class SchemaRegistry {
+
+	private final Map<String, SchemaPlan> plans = new ConcurrentHashMap<>();
+	private final SchemaCompiler compiler;
+	private final int maxCustom;
+
+	public SchemaRegistry(SchemaCompiler compiler,
+			@Value("${application.datagen.schemas.location:classpath*:schemas/*.yml}") String location,
+			@Value("${application.datagen.schemas.maxCustom:64}") int maxCustom) {
+		this.compiler = compiler;
+		this.maxCustom = maxCustom;
+		loadBuiltIns(location);
+	}
+
+	public SchemaPlan get(String name) {
+		SchemaPlan plan = plans.get(name);
+		if (plan == null) {
+			throw new NotFoundException("Unknown dataset: " + name);
+		}
+		return plan;
+	}
+
+	public List<SchemaPlan> list() {
+		return plans.values().stream().sorted(Comparator.comparing(SchemaPlan::name)).toList();
+	}
+
+	public synchronized SchemaPlan register(DatasetSchema schema) {
+		if (plans.containsKey(schema.name())) {
+			throw new AlreadyExistsException("Dataset already exists: " + schema.name());
+		}
+		if (customCount(plans.values()) >= maxCustom) {
+			throw new BadRequestException("Custom dataset limit of " + maxCustom + " reached");
+		}
+		SchemaPlan plan = compiler.compile(schema, false);
+		plans.put(schema.name(), plan);
+		log.info("Registered dataset {} with {} fields", schema.name(), schema.fields().size());
+		return plan;
+	}
+
+	public synchronized void remove(String name) {
+		if (get(name).isBuiltIn()) {
+			throw new BadRequestException("Built-in dataset cannot be deleted: " + name);
+		}
+		plans.remove(name);
+		log.info("Removed dataset {}", name);
+	}
+
+	private void loadBuiltIns(String location) {
+		try {
+			for (Resource resource : new PathMatchingResourcePatternResolver().getResources(location)) {
+				try (InputStream in = resource.getInputStream()) {
+					SchemaPlan plan = compiler.compile(SchemaParser.parse(in), true);
+					if (plans.putIfAbsent(plan.name(), plan) != null) {
+						throw new DataProcessingException("Duplicate built-in dataset: " + plan.name());
+					}
+				}
+			}
+		} catch (IOException e) {
+			throw new DataProcessingException("Unable to load dataset schemas from " + location, e);
+		}
+		log.info("Loaded {} built-in datasets", plans.size());
+	}
+
+	private static long customCount(Collection<SchemaPlan> plans) {
+		return plans.stream().filter(plan -> !plan.isBuiltIn()).count();
+	}
+
+}
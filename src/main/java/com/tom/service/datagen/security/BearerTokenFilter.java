@@ -0,0 +1,56 @@
+package com.tom.service.datagen.security;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.AuthenticationEntryPoint;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+import org.springframework.security.web.context.SecurityContextRepository;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Authenticates requests carrying {@code Authorization: Bearer <token>}
+ * issued by {@link TokenService}. Other requests pass through untouched, to
+ * HTTP Basic or anonymous access.
+ */
+@RequiredArgsConstructor
+public class BearerTokenFilter extends OncePerRequestFilter {
+
+	private static final String PREFIX = "Bearer ";
+
+	private final TokenService tokens;
+	private final AuthenticationEntryPoint entryPoint;
+	// Like HTTP Basic, so that error dispatches of this request stay authenticated
+	private final SecurityContextRepository contexts = new RequestAttributeSecurityContextRepository();
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+		if (header == null || !header.regionMatches(true, 0, PREFIX, 0, PREFIX.length())) {
+			chain.doFilter(request, response);
+			return;
+		}
+		try {
+			SecurityContext context = SecurityContextHolder.createEmptyContext();
+			context.setAuthentication(tokens.verify(header.substring(PREFIX.length()).trim()));
+			SecurityContextHolder.setContext(context);
+			contexts.saveContext(context, request, response);
+		} catch (AuthenticationException e) {
+			SecurityContextHolder.clearContext();
+			entryPoint.commence(request, response, e);
+			return;
+		}
+		chain.doFilter(request, response);
+	}
+
+}
@@ -0,0 +1,90 @@
+package com.tom.service.datagen.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Remembers credentials the delegate has verified for a while, so that a
+ * client repeating HTTP Basic credentials pays for the slow hash once per
+ * {@code ttl} rather than on every request. Entries are keyed by an HMAC of
+ * password and hash under a key of this process, never by the password
+ * itself, and the least recently used ones go beyond {@code maxEntries}.
+ * Failed checks are not cached.
+ */
+public class CachingPasswordEncoder implements PasswordEncoder {
+
+	private final PasswordEncoder delegate;
+	private final long ttlNanos;
+	private final SecretKeySpec key;
+	private final Map<String, Long> verified;
+
+	public CachingPasswordEncoder(PasswordEncoder delegate, Duration ttl, int maxEntries) {
+		this.delegate = delegate;
+		this.ttlNanos = ttl.toNanos();
+		byte[] keyBytes = new byte[32];
+		new SecureRandom().nextBytes(keyBytes);
+		this.key = new SecretKeySpec(keyBytes, "HmacSHA256");
+		this.verified = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+				return size() > maxEntries;
+			}
+		};
+	}
+
+	@Override
+	public String encode(CharSequence rawPassword) {
+		return delegate.encode(rawPassword);
+	}
+
+	@Override
+	public boolean matches(CharSequence rawPassword, String encodedPassword) {
+		if (rawPassword == null || encodedPassword == null || ttlNanos <= 0) {
+			return delegate.matches(rawPassword, encodedPassword);
+		}
+		String entry = fingerprint(rawPassword, encodedPassword);
+		long now = System.nanoTime();
+		synchronized (verified) {
+			Long expiresAt = verified.get(entry);
+			if (expiresAt != null && expiresAt - now > 0) {
+				return true;
+			}
+		}
+		boolean matches = delegate.matches(rawPassword, encodedPassword);
+		if (matches) {
+			synchronized (verified) {
+				verified.put(entry, now + ttlNanos);
+			}
+		}
+		return matches;
+	}
+
+	@Override
+	public boolean upgradeEncoding(String encodedPassword) {
+		return delegate.upgradeEncoding(encodedPassword);
+	}
+
+	private String fingerprint(CharSequence rawPassword, String encodedPassword) {
+		try {
+			Mac mac = Mac.getInstance(key.getAlgorithm());
+			mac.init(key);
+			mac.update(encodedPassword.getBytes(StandardCharsets.UTF_8));
+			mac.update((byte) 0);
+			return Base64.getEncoder().encodeToString(
+					mac.doFinal(rawPassword.toString().getBytes(StandardCharsets.UTF_8)));
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+}
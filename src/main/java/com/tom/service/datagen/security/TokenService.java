@@ -0,0 +1,142 @@
+package com.tom.service.datagen.security;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.web.authentication.preauth.PreAuthenticatedAuthenticationToken;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tom.service.datagen.dto.TokenResponse;
+import com.tom.service.datagen.exception.BadRequestException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Issues and verifies short-lived HS256 JWTs, so that clients pay for the
+ * password check once per token instead of once per request. Verifying a
+ * token is one HMAC over its header and claims.
+ * <p>
+ * Without a configured secret a random one is drawn at startup; tokens then
+ * only hold on this node and until it restarts.
+ */
+@Slf4j
+@Component
+public class TokenService {
+
+	private static final String ALGORITHM = "HmacSHA256";
+	private static final String HEADER = encode("{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+	private static final TypeReference<Map<String, Object>> CLAIMS = new TypeReference<>() {
+	};
+
+	private final SecretKeySpec key;
+	private final Duration ttl;
+	private final ObjectMapper mapper = new ObjectMapper();
+
+	public TokenService(@Value("${application.security.token.secret:}") String secret,
+			@Value("${application.security.token.ttl:15m}") Duration ttl) {
+		byte[] keyBytes;
+		if (secret.isBlank()) {
+			keyBytes = new byte[32];
+			new SecureRandom().nextBytes(keyBytes);
+			log.warn("No token secret configured, tokens will not survive a restart or work on other nodes");
+		} else {
+			keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+			if (keyBytes.length < 32) {
+				throw new IllegalArgumentException("The token secret must be at least 32 bytes");
+			}
+		}
+		if (ttl.isNegative()) {
+			throw new IllegalArgumentException("The token TTL must not be negative");
+		}
+		this.key = new SecretKeySpec(keyBytes, ALGORITHM);
+		this.ttl = ttl;
+	}
+
+	public TokenResponse issue(Authentication authentication) {
+		if (authentication instanceof PreAuthenticatedAuthenticationToken) {
+			throw new BadRequestException("Tokens are issued for credentials, not for other tokens");
+		}
+		Instant now = Instant.now();
+		Map<String, Object> claims = new LinkedHashMap<>();
+		claims.put("sub", authentication.getName());
+		claims.put("iat", now.getEpochSecond());
+		claims.put("exp", now.plus(ttl).getEpochSecond());
+		claims.put("roles", authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+		String payload;
+		try {
+			payload = HEADER + "." + encode(mapper.writeValueAsBytes(claims));
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+		return new TokenResponse(payload + "." + encode(sign(payload)), "Bearer", ttl.toSeconds());
+	}
+
+	/**
+	 * Authentication carried by {@code token}, or a {@link BadCredentialsException}.
+	 * Pre-authenticated, which keeps it from being exchanged for a fresh token.
+	 */
+	public Authentication verify(String token) {
+		int dot = token.lastIndexOf('.');
+		if (dot < 0 || !token.startsWith(HEADER + ".")) {
+			throw new BadCredentialsException("Malformed token");
+		}
+		String payload = token.substring(0, dot);
+		byte[] signature;
+		try {
+			signature = Base64.getUrlDecoder().decode(token.substring(dot + 1));
+		} catch (IllegalArgumentException e) {
+			throw new BadCredentialsException("Malformed token");
+		}
+		if (!MessageDigest.isEqual(signature, sign(payload))) {
+			throw new BadCredentialsException("Invalid token signature");
+		}
+
+		Map<String, Object> claims;
+		try {
+			claims = mapper.readValue(Base64.getUrlDecoder().decode(payload.substring(HEADER.length() + 1)), CLAIMS);
+		} catch (IOException | IllegalArgumentException e) {
+			throw new BadCredentialsException("Malformed token");
+		}
+		if (!(claims.get("exp") instanceof Number expires) || expires.longValue() <= Instant.now().getEpochSecond()) {
+			throw new BadCredentialsException("Token expired");
+		}
+		List<SimpleGrantedAuthority> authorities = claims.get("roles") instanceof List<?> roles
+				? roles.stream().map(role -> new SimpleGrantedAuthority(role.toString())).toList()
+				: List.of();
+		return new PreAuthenticatedAuthenticationToken(claims.get("sub"), token, authorities);
+	}
+
+	private byte[] sign(String payload) {
+		try {
+			Mac mac = Mac.getInstance(ALGORITHM);
+			mac.init(key);
+			return mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static String encode(byte[] bytes) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+	}
+
+}
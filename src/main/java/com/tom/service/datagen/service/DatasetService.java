@@ -0,0 +1,337 @@
+package com.tom.service.datagen.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongConsumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.tom.service.datagen.common.ConnectionUtil;
+import com.tom.service.datagen.common.ProgressLog;
+import com.tom.service.datagen.encoder.RowBuffer;
+import com.tom.service.datagen.engine.Chunk;
+import com.tom.service.datagen.engine.GenerationEngine;
+import com.tom.service.datagen.engine.GenerationJob;
+import com.tom.service.datagen.engine.GeneratorContext;
+import com.tom.service.datagen.engine.GeneratorContextPool;
+import com.tom.service.datagen.engine.RowSource;
+import com.tom.service.datagen.exception.BadRequestException;
+import com.tom.service.datagen.exception.ClientDisconnectedException;
+import com.tom.service.datagen.exception.DataProcessingException;
+import com.tom.service.datagen.exception.NotFoundException;
+import com.tom.service.datagen.format.Compression;
+import com.tom.service.datagen.format.CsvDatasetWriter;
+import com.tom.service.datagen.format.DatasetWriter;
+import com.tom.service.datagen.format.DatasetWriters;
+import com.tom.service.datagen.format.OutputFormat;
+import com.tom.service.datagen.metrics.CountingOutputStream;
+import com.tom.service.datagen.metrics.GenerationMetrics;
+import com.tom.service.datagen.metrics.StageMetrics;
+import com.tom.service.datagen.metrics.StageMetrics.Stage;
+import com.tom.service.datagen.pool.ValuePools;
+import com.tom.service.datagen.store.ResultStore;
+import com.tom.service.datagen.store.ResultWriter;
+import com.tom.service.datagen.store.StoredResult;
+import com.tom.service.datagen.unique.UniquenessMode;
+import com.tom.service.datagen.unique.UniquenessTrackers;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Batching, encoding and storage pipeline shared by every {@link RowSource}:
+ * rows are generated in chunks on the engine, prepared by the format writer
+ * on the workers and written in order to a response or the result store.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DatasetService {
+
+	@Value("${application.datagen.batchSize:10000}")
+	private int batchSize;
+
+	@Value("${application.datagen.progressInterval:250ms}")
+	private Duration progressInterval;
+
+	@Value("${application.datagen.logging.progressInterval:5s}")
+	private Duration logProgressInterval;
+
+	@Value("${application.datagen.uniqueness.mode:EXACT}")
+	private UniquenessMode uniquenessMode;
+
+	@Value("${application.datagen.uniqueness.falsePositiveRate:0.001}")
+	private double falsePositiveRate;
+
+	@Value("${application.datagen.uniqueness.memoryBudget:512MB}")
+	private DataSize uniquenessBudget;
+
+	@Value("${application.datagen.store.compression:GZIP}")
+	private Compression storeCompression;
+
+	private final ConnectionUtil connection;
+	private final GenerationEngine engine;
+	private final ResultStore resultStore;
+	private final ValuePools valuePools;
+	private final DatasetWriters writers;
+	private final GenerationMetrics metrics;
+
+	/**
+	 * Builds a job spec. Without an explicit compression the result is
+	 * compressed as configured for the store, except for formats that already
+	 * compress themselves.
+	 */
+	public GenerationJob newJob(long quantity, long offset, Long seed, LocalDate referenceDate,
+			UniquenessMode uniqueness, OutputFormat format, Compression compression) {
+		OutputFormat outputFormat = format != null ? format : OutputFormat.CSV;
+		if (compression == null) {
+			compression = outputFormat.isCompressed() ? Compression.NONE : storeCompression;
+		}
+		return GenerationJob.of(quantity, offset, seed, referenceDate, uniquenessFor(quantity, uniqueness, seed),
+				falsePositiveRate, outputFormat, compression, valuePools.current());
+	}
+
+	/**
+	 * The requested uniqueness mode if its trackers fit the per-job budget.
+	 * Without a request the configured default steps down to APPROXIMATE, then
+	 * CONSTRUCTIVE, until they do; an explicit mode that does not fit is
+	 * rejected. A seeded request without a mode gets CONSTRUCTIVE, the only
+	 * mode whose output the seed reproduces.
+	 */
+	private UniquenessMode uniquenessFor(long quantity, UniquenessMode requested, Long seed) {
+		if (requested == null && seed != null) {
+			return UniquenessMode.CONSTRUCTIVE;
+		}
+		UniquenessMode mode = requested != null ? requested : uniquenessMode;
+		if (fitsBudget(mode, quantity)) {
+			return mode;
+		}
+		if (requested != null) {
+			throw new BadRequestException(mode + " uniqueness for " + quantity + " rows needs more than the "
+					+ uniquenessBudget + " allowed per job, use CONSTRUCTIVE or fewer rows");
+		}
+		UniquenessMode fallback = mode == UniquenessMode.EXACT && fitsBudget(UniquenessMode.APPROXIMATE, quantity)
+				? UniquenessMode.APPROXIMATE
+				: UniquenessMode.CONSTRUCTIVE;
+		log.info("{} uniqueness for {} rows exceeds {}, using {}", mode, quantity, uniquenessBudget, fallback);
+		return fallback;
+	}
+
+	private boolean fitsBudget(UniquenessMode mode, long quantity) {
+		return UniquenessTrackers.footprint(mode, quantity, falsePositiveRate) <= uniquenessBudget.toBytes();
+	}
+
+	public <T> Flux<ServerSentEvent<String>> generateWithProgress(GenerationJob job, RowSource<T> source,
+			boolean includeData, String downloadPath) {
+		if (includeData && job.getFormat() != OutputFormat.CSV) {
+			throw new BadRequestException("Inline data events are only available for CSV output");
+		}
+		return Flux.using(() -> openProgressResult(job, source, includeData),
+				result -> progressEvents(job, source, result, downloadPath), ProgressResult::close)
+				.doOnCancel(() -> log.warn("Client cancelled progress stream, generation stopped"))
+				.subscribeOn(Schedulers.boundedElastic());
+	}
+
+	public <T> StoredResult generateToStore(GenerationJob job, RowSource<T> source, LongConsumer onProgress)
+			throws IOException {
+		try (ResultWriter writer = resultStore.open(job.getFormat(), job.getCompression())) {
+			return writer.commit(writeDataset(job, source, writer, onProgress));
+		}
+	}
+
+	public <T> StreamingResponseBody stream(GenerationJob job, RowSource<T> source, HttpServletRequest request) {
+		if (connection.isClientConnected(request)) {
+			throw new ClientDisconnectedException("Client disconnected during data generation");
+		}
+
+		long quantity = job.getQuantity();
+		return out -> {
+			log.info("Started to stream: {} {} as {}/{} (seed: {}, offset: {})", quantity, source.name(),
+					job.getFormat(), job.getCompression(), job.getSeed(), job.getOffset());
+			try {
+				writeDataset(job, source, out, new ProgressLog(log, "Streaming " + source.name(), quantity,
+						logProgressInterval));
+			} catch (IOException e) {
+				log.warn("Client disconnected while streaming {}: {}", source.name(), e.getMessage());
+				throw e;
+			}
+			log.info("Finished streaming {} {}", quantity, source.name());
+		};
+	}
+
+	public StoredResult retrieve(String fileId) {
+		log.info("Attempting to download data for fileId: {}", fileId);
+		return resultStore.get(fileId).map(result -> {
+			log.info("Successful data retrieval for fileId: {}", fileId);
+			return result;
+		}).orElseThrow(() -> {
+			log.warn("Data not found or expired for fileId: {}", fileId);
+			return new NotFoundException("File not found or expired.");
+		});
+	}
+
+	public void delete(String fileId) {
+		log.info("Deleting Data from Storage");
+		if (resultStore.remove(fileId).isPresent()) {
+			log.info("Successful data deletion from Storage");
+		} else {
+			log.warn("No data found for deletion with fileId: {}", fileId);
+		}
+	}
+
+	/** Writes the dataset to {@code out} and returns its size before compression. */
+	public <T> long writeDataset(GenerationJob job, RowSource<T> source, OutputStream out, LongConsumer onProgress)
+			throws IOException {
+		try (StageMetrics stages = metrics.start(source, job.getFormat().name());
+				CountingOutputStream target = new CountingOutputStream(job.getCompression().compress(out));
+				DatasetWriter<T, ?> writer = writers.open(job.getFormat(), source.layout(), target)) {
+			writeDataset(job, source, writer, target, stages, onProgress);
+			return target.count();
+		}
+	}
+
+	private <T, P> void writeDataset(GenerationJob job, RowSource<T> source, DatasetWriter<T, P> writer,
+			CountingOutputStream out, StageMetrics stages, LongConsumer onProgress) throws IOException {
+		engine.generate(job.getQuantity(), batchSize,
+				chunk -> encode(generateChunk(job, source, chunk, stages), writer::prepare, stages),
+				(chunk, batch) -> {
+					long startedAt = System.nanoTime();
+					writer.write(batch);
+					out.flush();
+					stages.record(Stage.WRITE, startedAt);
+					stages.bytes(out.drain());
+					onProgress.accept(chunk.end());
+				});
+		writer.finish();
+		out.flush();
+		stages.bytes(out.drain());
+	}
+
+	private <T> ProgressResult<T, ?> openProgressResult(GenerationJob job, RowSource<T> source, boolean includeData)
+			throws IOException {
+		ResultWriter store = resultStore.open(job.getFormat(), job.getCompression());
+		CountingOutputStream target = null;
+		try {
+			target = new CountingOutputStream(job.getCompression().compress(store));
+			DatasetWriter<T, ?> writer = writers.open(job.getFormat(), source.layout(), target);
+			List<ServerSentEvent<String>> header = includeData && writer instanceof CsvDatasetWriter<?> csv
+					? List.of(dataEvent(csv.header()))
+					: List.of();
+			return new ProgressResult<>(store, target, writer, header,
+					metrics.start(source, job.getFormat().name()));
+		} catch (IOException | RuntimeException e) {
+			if (target != null) {
+				target.close();
+			}
+			store.close();
+			throw e;
+		}
+	}
+
+	private <T, P> Flux<ServerSentEvent<String>> progressEvents(GenerationJob job, RowSource<T> source,
+			ProgressResult<T, P> result, String downloadPath) {
+		long quantity = job.getQuantity();
+		DatasetWriter<T, P> writer = result.writer();
+		StageMetrics stages = result.stages();
+		AtomicLong lastProgressAt = new AtomicLong();
+		return engine.stream(quantity, batchSize,
+				chunk -> encode(generateChunk(job, source, chunk, stages), writer::prepare, stages))
+				.concatMapIterable(chunkResult -> {
+					P batch = chunkResult.value();
+					long generated = chunkResult.chunk().end();
+					long startedAt = System.nanoTime();
+					write(writer, batch);
+					stages.record(Stage.WRITE, startedAt);
+					stages.bytes(result.target().drain());
+
+					List<ServerSentEvent<String>> events = new ArrayList<>(2);
+					if (!result.header().isEmpty() && batch instanceof RowBuffer rows) {
+						events.add(dataEvent(rows));
+					}
+					long now = System.nanoTime();
+					if (generated == quantity || now - lastProgressAt.get() >= progressInterval.toNanos()) {
+						lastProgressAt.set(now);
+						events.add(progressEvent(generated, quantity));
+					}
+					return events;
+				})
+				.startWith(result.header())
+				.concatWith(Mono.fromCallable(() -> {
+					writer.finish();
+					result.target().close();
+					stages.bytes(result.target().drain());
+					return completedEvent(result.store().commit(result.target().count()), downloadPath);
+				}));
+	}
+
+	private static <T, P> void write(DatasetWriter<T, P> writer, P batch) {
+		try {
+			writer.write(batch);
+		} catch (IOException e) {
+			throw new DataProcessingException("Unable to store generated rows", e);
+		}
+	}
+
+	private ServerSentEvent<String> dataEvent(RowBuffer rows) {
+		return ServerSentEvent.builder(new String(rows.toByteArray(), StandardCharsets.UTF_8)).event("data").build();
+	}
+
+	private ServerSentEvent<String> progressEvent(long generated, long quantity) {
+		return ServerSentEvent.builder("Progress: " + generated + "/" + quantity).event("progress").build();
+	}
+
+	private ServerSentEvent<String> completedEvent(StoredResult result, String downloadPath) {
+		log.info("Completed data generation.");
+		return ServerSentEvent.builder("Completed. Download your file at: " + downloadPath + result.getId())
+				.event("completed").id(result.getId()).build();
+	}
+
+	private record ProgressResult<T, P>(ResultWriter store, CountingOutputStream target, DatasetWriter<T, P> writer,
+			List<ServerSentEvent<String>> header, StageMetrics stages) {
+
+		void close() {
+			try (stages; store; target) {
+				writer.close();
+			} catch (IOException e) {
+				log.warn("Unable to discard partial result: {}", e.getMessage());
+			}
+		}
+
+	}
+
+	static <T> List<T> generateChunk(GenerationJob job, RowSource<T> source, Chunk chunk, StageMetrics stages) {
+		long startedAt = System.nanoTime();
+		List<T> batch = new ArrayList<>(chunk.size());
+		try (GeneratorContext context = GeneratorContextPool.acquire()) {
+			for (int i = 0; i < chunk.size(); i++) {
+				batch.add(source.generate(context, job, job.rowOf(chunk, i)));
+			}
+			stages.generated(chunk.size(), startedAt, context.uniqueness());
+		}
+		return batch;
+	}
+
+	/** Runs {@code encoder} on a generated chunk as the timed encode stage. */
+	static <T, P> P encode(List<T> rows, Function<List<T>, P> encoder, StageMetrics stages) {
+		long startedAt = System.nanoTime();
+		P batch = encoder.apply(rows);
+		stages.record(Stage.ENCODE, startedAt);
+		return batch;
+	}
+
+}
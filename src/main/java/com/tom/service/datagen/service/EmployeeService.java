@@ -1,21 +1,24 @@
 package com.tom.service.datagen.service;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.function.LongConsumer;
 
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import com.tom.service.datagen.common.ConnectionUtil;
 import com.tom.service.datagen.common.GenerateData;
-import com.tom.service.datagen.common.Operations;
-import com.tom.service.datagen.common.ServiceLogger;
-import com.tom.service.datagen.exception.ClientDisconnectedException;
-import com.tom.service.datagen.exception.InternalException;
-import com.tom.service.datagen.model.Employee;
+import com.tom.service.datagen.dto.LoadResponse;
+import com.tom.service.datagen.dto.PublishResponse;
+import com.tom.service.datagen.engine.GenerationJob;
+import com.tom.service.datagen.format.Compression;
+import com.tom.service.datagen.format.OutputFormat;
+import com.tom.service.datagen.profile.ProfileRegistry;
+import com.tom.service.datagen.sink.KafkaSettings;
+import com.tom.service.datagen.sink.SinkMode;
+import com.tom.service.datagen.store.StoredResult;
+import com.tom.service.datagen.unique.UniquenessMode;
 
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
@@ -25,122 +28,47 @@ import reactor.core.publisher.Flux;
 @RequiredArgsConstructor
 public class EmployeeService {
 
-	private final Map<String, byte[]> csvStorage = new ConcurrentHashMap<>();
+	private static final String DOWNLOAD_PATH = "/v1/employee/download/";
 
-	@Value("${application.datagen.batchSize:10000}")
-	private int batchSize;
-
-	private final ConnectionUtil connection;
-	private final Operations operations;
+	private final DatasetService datasets;
+	private final SinkService sinks;
+	private final PublishService publisher;
 	private final GenerateData data;
-	private String lastStoredId;
-
-	public Flux<String> generateEmployeeDataWithProgress(int quantity) {
-		return Flux.create(sink -> {
-			AtomicInteger progress = new AtomicInteger(0);
-
-			Flux.range(0, (int) Math.ceil((double) quantity / batchSize)).flatMap(i -> {
-				List<Employee> batch = new ArrayList<>(batchSize);
-				for (int j = 0; j < batchSize && (i * batchSize + j) < quantity; j++) {
-					batch.add(data.generateSingleEmployee());
-				}
-				return Flux.just(batch);
-			}).doOnNext(batch -> {
-				byte[] csvData = operations.convertToCSV(batch);
-				String batchId = operations.generateRandomUUID();
-				csvStorage.put(batchId, csvData);
-				progress.addAndGet(batch.size());
-				sink.next("Progress: " + progress.get() + "/" + quantity);
-			}).doOnComplete(() -> {
-				sink.complete();
-				ServiceLogger.info("Completed data generation.");
-			}).subscribe();
-		});
-	}
-
-	public byte[] generateEmployeeData(int quantity, HttpServletRequest request) {
-		ServiceLogger.info("Started to generate: {} employees", quantity);
-
-		try {
-			if (connection.isClientConnected(request)) {
-				throw new ClientDisconnectedException("Client disconnected during data generation");
-			}
-
-			clearPreviousData();
-
-			List<Employee> allEmployees = generateEmployees(quantity, (batch, batchNum, totalBatches) -> {
-				ServiceLogger.info("Batch {} of {} saved (Size: {})", batchNum, totalBatches, batch.size());
-			});
+	private final ProfileRegistry profiles;
 
-			byte[] csvData = operations.convertToCSV(allEmployees);
-			lastStoredId = operations.generateRandomUUID();
-			csvStorage.put(lastStoredId, csvData);
-
-			ServiceLogger.info("Finished generating {} employees", quantity);
-			return csvData;
-		} catch (Exception e) {
-			ServiceLogger.error("Error generating employee data", e);
-			throw new InternalException("System internal Error", e);
-		}
+	public GenerationJob newJob(long quantity, long offset, Long seed, LocalDate referenceDate,
+			UniquenessMode uniqueness, OutputFormat format, Compression compression, String profile) {
+		return datasets.newJob(quantity, offset, seed, referenceDate, uniqueness, format, compression)
+				.withProfile(profiles.get(profile));
 	}
 
-	public byte[] retrieveCsvFromTempStorage(String fileId) {
-		ServiceLogger.info("Attempting to download data for fileId: {}", fileId);
-		byte[] csvData = csvStorage.get(fileId);
-		if (csvData != null) {
-			ServiceLogger.info("Successful data retrieval for fileId: {}", fileId);
-		} else {
-			ServiceLogger.warn("Data not found or expired for fileId: {}", fileId);
-		}
-		return csvData;
+	public Flux<ServerSentEvent<String>> generateEmployeeDataWithProgress(GenerationJob job, boolean includeData) {
+		return datasets.generateWithProgress(job, data, includeData, DOWNLOAD_PATH);
 	}
 
-	public byte[] deleteCsvFromTempStorage(String fileId) {
-		ServiceLogger.info("Deleting Data from Storage");
-		byte[] removedData = csvStorage.remove(fileId);
-		if (removedData != null) {
-			ServiceLogger.info("Successful data deletion from Storage");
-		} else {
-			ServiceLogger.warn("No data found for deletion with fileId: {}", fileId);
-		}
-		return removedData;
+	public StoredResult generateToStore(GenerationJob job, LongConsumer onProgress) throws IOException {
+		return datasets.generateToStore(job, data, onProgress);
 	}
 
-	private void clearPreviousData() {
-		if (!csvStorage.isEmpty()) {
-			csvStorage.remove(lastStoredId);
-		}
+	public StreamingResponseBody streamEmployeeData(GenerationJob job, HttpServletRequest request) {
+		return datasets.stream(job, data, request);
 	}
 
-	private List<Employee> generateEmployees(int quantity, BatchCallback callback) {
-		int totalBatches = (int) Math.ceil((double) quantity / batchSize);
-		List<Employee> allEmployees = new ArrayList<>();
-
-		for (int i = 0; i < totalBatches; i++) {
-			List<Employee> batch = new ArrayList<>(batchSize);
-
-			for (int j = 0; j < batchSize && (i * batchSize + j) < quantity; j++) {
-				Employee emp = data.generateSingleEmployee();
-				batch.add(emp);
-			}
-			if (!batch.isEmpty()) {
-				operations.logProgress(i * batchSize + batch.size(), quantity);
-			}
-
-			callback.onBatchComplete(batch, i + 1, totalBatches);
-			allEmployees.addAll(batch);
+	public LoadResponse loadEmployeeData(GenerationJob job, String table, SinkMode mode, boolean create,
+			Integer writers) throws IOException {
+		return sinks.load(job, data, table, mode, create, writers);
+	}
 
-			byte[] csvData = operations.convertToCSV(batch);
-			String batchId = operations.generateRandomUUID();
-			csvStorage.put(batchId, csvData);
-		}
+	public PublishResponse publishEmployeeData(GenerationJob job, KafkaSettings settings) throws IOException {
+		return publisher.publish(job, data, settings);
+	}
 
-		return allEmployees;
+	public StoredResult retrieveCsvFromTempStorage(String fileId) {
+		return datasets.retrieve(fileId);
 	}
 
-	@FunctionalInterface
-	private interface BatchCallback {
-		void onBatchComplete(List<Employee> batch, int batchNum, int totalBatches);
+	public void deleteCsvFromTempStorage(String fileId) {
+		datasets.delete(fileId);
 	}
 
 }
@@ -0,0 +1,197 @@
+package com.tom.service.datagen.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.function.LongPredicate;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.tom.service.datagen.encoder.RowBuffer;
+import com.tom.service.datagen.engine.SeedSequence;
+import com.tom.service.datagen.exception.BadRequestException;
+import com.tom.service.datagen.metrics.GenerationMetrics;
+import com.tom.service.datagen.metrics.StageMetrics;
+import com.tom.service.datagen.quota.ClientQuota;
+import com.tom.service.datagen.timeseries.BarFormat;
+import com.tom.service.datagen.timeseries.MarketFeed;
+import com.tom.service.datagen.timeseries.MarketProcess;
+import com.tom.service.datagen.timeseries.MarketSimulator;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Streams simulated market bars. Unpaced feeds are generated on demand, one
+ * batch per request from the subscriber; paced feeds emit on a fixed tick
+ * whatever the target rate makes due since the feed started.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MarketFeedService {
+
+	private static final String DATASET = "stock-market";
+	private static final String QUOTA_EVENT = "quota";
+
+	@Value("${application.datagen.batchSize:10000}")
+	private int batchSize;
+
+	@Value("${application.datagen.timeseries.maxTickers:100000}")
+	private int maxTickers;
+
+	@Value("${application.datagen.timeseries.tick:20ms}")
+	private Duration tick;
+
+	private final GenerationMetrics metrics;
+
+	public MarketFeed newFeed(List<String> tickers, Integer count, Duration interval, Instant start,
+			MarketProcess process, double drift, double volatility, int steps, Long seed) {
+		long feedSeed = seed != null ? seed : SeedSequence.newSeed();
+		boolean listed = tickers != null && !tickers.isEmpty();
+		int size = listed ? tickers.size() : count != null ? count : MarketFeed.DEFAULT_SYMBOLS.size();
+		if (size < 1 || size > maxTickers) {
+			throw new BadRequestException("A market feed needs between 1 and " + maxTickers + " tickers");
+		}
+		// Checked before generating symbols, which takes longer the more are asked for
+		List<String> symbols = listed ? tickers : MarketFeed.symbols(size, feedSeed);
+		Instant feedStart = start != null ? start : Instant.now().truncatedTo(ChronoUnit.MINUTES);
+		return new MarketFeed(symbols, interval, feedStart, process, drift, volatility, steps, feedSeed);
+	}
+
+	/**
+	 * SSE feed of {@code bars} bars, or an endless one when {@code bars} is 0.
+	 * {@code rate} is the target in bars per second; 0 emits as fast as the
+	 * client reads. Bounded feeds are charged upfront by the caller, endless
+	 * ones draw on {@code quota} as they go and end with a {@code quota}
+	 * event once it runs dry.
+	 */
+	public Flux<ServerSentEvent<String>> stream(MarketFeed feed, BarFormat format, long bars, double rate,
+			ClientQuota quota) {
+		if (bars < 0 || rate < 0 || !Double.isFinite(rate)) {
+			throw new BadRequestException("Bars and rate must not be negative");
+		}
+		long limit = bars == 0 ? Long.MAX_VALUE : bars;
+		Flux<ServerSentEvent<String>> events = Flux.using(() -> metrics.start(DATASET, format.name()), stages -> {
+			log.info("Started market feed: {} tickers, {} bars at {}/s (seed: {})", feed.symbols().size(),
+					bars, rate, feed.seed());
+			MarketSimulator simulator = new MarketSimulator(feed);
+			RowBuffer buffer = new RowBuffer();
+			LongPredicate allowance = bars == 0 ? quota.allowance(batchSize) : count -> true;
+			return rate == 0 ? unpaced(simulator, buffer, format, limit, allowance, stages)
+					: paced(simulator, buffer, format, limit, rate, allowance, stages);
+		}, StageMetrics::close);
+		if (bars > 0) {
+			events = events.concatWith(Flux.defer(() -> Flux.just(ServerSentEvent
+					.builder("Completed: " + bars + " bars").event("completed").build())));
+		}
+		return events.startWith(headerEvent(feed))
+				.doOnCancel(() -> log.info("Client closed market feed (seed: {})", feed.seed()));
+	}
+
+	public StreamingResponseBody download(MarketFeed feed, BarFormat format, long bars) {
+		if (bars < 1) {
+			throw new BadRequestException("Bars must be at least 1");
+		}
+		return out -> {
+			try (StageMetrics stages = metrics.start(DATASET, format.name())) {
+				MarketSimulator simulator = new MarketSimulator(feed);
+				RowBuffer buffer = new RowBuffer();
+				if (format == BarFormat.CSV) {
+					buffer.writeUtf8(String.join(",", MarketSimulator.headers())).write((byte) '\n');
+				}
+				while (simulator.emitted() < bars) {
+					long count = Math.min(batchSize, bars - simulator.emitted());
+					simulator.writeBars(buffer, format, count);
+					stages.rows(count);
+					stages.bytes(buffer.size());
+					buffer.writeTo(out);
+					buffer.reset();
+				}
+			}
+			log.info("Finished market feed download: {} bars", bars);
+		};
+	}
+
+	private Flux<ServerSentEvent<String>> unpaced(MarketSimulator simulator, RowBuffer buffer, BarFormat format,
+			long limit, LongPredicate allowance, StageMetrics stages) {
+		return Flux.<ServerSentEvent<String>>generate(sink -> {
+			long count = Math.min(batchSize, limit - simulator.emitted());
+			if (!allowance.test(count)) {
+				sink.next(quotaEvent(simulator));
+				sink.complete();
+				return;
+			}
+			sink.next(barsEvent(simulator, buffer, format, count, stages));
+			if (simulator.emitted() >= limit) {
+				sink.complete();
+			}
+		}).subscribeOn(Schedulers.boundedElastic());
+	}
+
+	/**
+	 * Emits on every tick the bars due by then, so the average rate holds even
+	 * when ticks are late. Ticks a slow client cannot take are dropped rather
+	 * than buffered, and the catch-up per tick is capped at twice the bars of
+	 * a tick, so the feed then slows down to the client's pace.
+	 */
+	private Flux<ServerSentEvent<String>> paced(MarketSimulator simulator, RowBuffer buffer, BarFormat format,
+			long limit, double rate, LongPredicate allowance, StageMetrics stages) {
+		long startedAt = System.nanoTime();
+		long maxPerTick = Math.max(1, (long) Math.ceil(rate * tick.toNanos() / 1e9) * 2);
+		return Flux.interval(tick)
+				.onBackpressureDrop()
+				.concatMap(ignored -> {
+					double elapsed = (System.nanoTime() - startedAt) / 1e9;
+					long due = Math.min(limit, (long) (elapsed * rate)) - simulator.emitted();
+					long target = simulator.emitted() + Math.min(due, maxPerTick);
+					return Flux.<ServerSentEvent<String>>generate(sink -> {
+						if (simulator.emitted() >= target) {
+							sink.complete();
+							return;
+						}
+						long count = Math.min(batchSize, target - simulator.emitted());
+						if (!allowance.test(count)) {
+							sink.next(quotaEvent(simulator));
+							sink.complete();
+							return;
+						}
+						sink.next(barsEvent(simulator, buffer, format, count, stages));
+					});
+				}, 1)
+				.takeUntil(event -> simulator.emitted() >= limit || QUOTA_EVENT.equals(event.event()));
+	}
+
+	private static ServerSentEvent<String> barsEvent(MarketSimulator simulator, RowBuffer buffer, BarFormat format,
+			long count, StageMetrics stages) {
+		buffer.reset();
+		simulator.writeBars(buffer, format, count);
+		stages.rows(count);
+		stages.bytes(buffer.size());
+		// Without the last line break, which would become an empty data line
+		String data = new String(buffer.toByteArray(), 0, buffer.size() - 1, StandardCharsets.UTF_8);
+		return ServerSentEvent.builder(data)
+				.event("bars")
+				.id(Long.toString(simulator.emitted()))
+				.build();
+	}
+
+	private static ServerSentEvent<String> quotaEvent(MarketSimulator simulator) {
+		log.info("Market feed stopped by the row quota after {} bars", simulator.emitted());
+		return ServerSentEvent.builder("Row quota exhausted after " + simulator.emitted() + " bars")
+				.event(QUOTA_EVENT).build();
+	}
+
+	private static ServerSentEvent<String> headerEvent(MarketFeed feed) {
+		return ServerSentEvent.builder(String.join(",", MarketSimulator.headers())).event("header")
+				.comment("seed " + feed.seed()).build();
+	}
+
+}
@@ -0,0 +1,146 @@
+package com.tom.service.datagen.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.kafka.clients.producer.Producer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.tom.service.datagen.dto.PublishResponse;
+import com.tom.service.datagen.engine.GenerationEngine;
+import com.tom.service.datagen.engine.GenerationJob;
+import com.tom.service.datagen.engine.RowSource;
+import com.tom.service.datagen.metrics.GenerationMetrics;
+import com.tom.service.datagen.metrics.StageMetrics;
+import com.tom.service.datagen.metrics.StageMetrics.Stage;
+import com.tom.service.datagen.sink.KafkaProducers;
+import com.tom.service.datagen.sink.KafkaSettings;
+import com.tom.service.datagen.sink.RecordEncoder;
+import com.tom.service.datagen.sink.RecordFormat;
+import com.tom.service.datagen.sink.RecordPublisher;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.kafka.KafkaClientMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Publishes every generated row as one Kafka record. Rows are generated and
+ * encoded in chunks on the engine and handed to a {@link RecordPublisher};
+ * acknowledged records and bytes are counted per dataset and topic, and the
+ * producer's own metrics are bound for the duration of the publish. Topics
+ * are client input, so only a dataset's default topic and the configured
+ * metric topics are tagged by name.
+ */
+@Slf4j
+@Service
+public class PublishService {
+
+	@Value("${application.datagen.batchSize:10000}")
+	private int batchSize;
+
+	@Value("${application.datagen.kafka.maxPendingBatches:4}")
+	private int maxPendingBatches;
+
+	@Value("${application.datagen.kafka.lingerMs:5}")
+	private int lingerMs;
+
+	@Value("${application.datagen.kafka.batchSize:65536}")
+	private int producerBatchSize;
+
+	@Value("${application.datagen.kafka.maxInFlight:5}")
+	private int maxInFlight;
+
+	@Value("${application.datagen.kafka.acks:all}")
+	private String acks;
+
+	@Value("${application.datagen.kafka.compression:none}")
+	private String compression;
+
+	@Value("${application.datagen.kafka.metricTopics:}")
+	private Set<String> metricTopics;
+
+	private final GenerationEngine engine;
+	private final KafkaProducers producers;
+	private final MeterRegistry registry;
+	private final GenerationMetrics metrics;
+	private final AtomicInteger active = new AtomicInteger();
+
+	public PublishService(GenerationEngine engine, KafkaProducers producers, MeterRegistry registry,
+			GenerationMetrics metrics) {
+		this.engine = engine;
+		this.producers = producers;
+		this.registry = registry;
+		this.metrics = metrics;
+		registry.gauge("datagen.publish.active", active);
+	}
+
+	/** Request settings, with the configured defaults for everything left out. */
+	public KafkaSettings newSettings(String topic, RecordFormat format, Integer lingerMs, Integer batchSize,
+			Integer maxInFlight, String acks, String compression) {
+		return new KafkaSettings(topic, format != null ? format : RecordFormat.JSON,
+				lingerMs != null ? lingerMs : this.lingerMs, batchSize != null ? batchSize : producerBatchSize,
+				maxInFlight != null ? maxInFlight : this.maxInFlight, acks != null ? acks : this.acks,
+				compression != null ? compression : this.compression);
+	}
+
+	public <T> PublishResponse publish(GenerationJob job, RowSource<T> source, KafkaSettings settings)
+			throws IOException {
+		RecordEncoder<T> encoder = new RecordEncoder<>(settings.format(), source.name(), source.layout());
+		String dataset = GenerationMetrics.datasetTag(source);
+		Tags tags = Tags.of("dataset", dataset, "topic", topicTag(settings.topic(), dataset), "format",
+				settings.format().name());
+		Counter records = registry.counter("datagen.publish.records", tags);
+		Counter bytes = registry.counter("datagen.publish.bytes", tags);
+		AtomicLong published = new AtomicLong();
+		AtomicLong publishedBytes = new AtomicLong();
+
+		log.info("Started to publish: {} {} to {} as {} (seed: {})", job.getQuantity(), source.name(),
+				settings.topic(), settings.format(), job.getSeed());
+		long startedAt = System.nanoTime();
+		Producer<byte[], byte[]> producer = producers.open(settings);
+		active.incrementAndGet();
+		try (StageMetrics stages = metrics.start(source, settings.format().name());
+				KafkaClientMetrics clientMetrics = new KafkaClientMetrics(producer, tags)) {
+			clientMetrics.bindTo(registry);
+			RecordPublisher publisher = new RecordPublisher(producer, settings.topic(), maxPendingBatches, batch -> {
+				records.increment(batch.values().length);
+				bytes.increment(batch.bytes());
+				published.addAndGet(batch.values().length);
+				publishedBytes.addAndGet(batch.bytes());
+			});
+			engine.generate(job.getQuantity(), batchSize,
+					chunk -> DatasetService.encode(DatasetService.generateChunk(job, source, chunk, stages),
+							rows -> encoder.encode(job.rowOf(chunk, 0), rows), stages),
+					(chunk, batch) -> {
+						stages.bytes(batch.bytes());
+						long submittedAt = System.nanoTime();
+						publisher.submit(batch);
+						stages.record(Stage.WRITE, submittedAt);
+					});
+			publisher.finish();
+			producer.close();
+		} catch (IOException | RuntimeException e) {
+			registry.counter("datagen.publish.failures", tags).increment();
+			producer.close(Duration.ZERO);
+			throw e;
+		} finally {
+			active.decrementAndGet();
+		}
+		long elapsed = (System.nanoTime() - startedAt) / 1_000_000;
+		log.info("Finished publishing {} {} to {} in {} ms", published.get(), source.name(),
+				settings.topic(), elapsed);
+		return new PublishResponse(source.name(), settings.topic(), settings.format(), published.get(),
+				publishedBytes.get(), elapsed, job.getSeed(), job.getReferenceDate(), encoder.schema());
+	}
+
+	private String topicTag(String topic, String dataset) {
+		return topic.equals(dataset) || metricTopics.contains(topic) ? topic : GenerationMetrics.OTHER;
+	}
+
+}
@@ -0,0 +1,161 @@
+package com.tom.service.datagen.service;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.tom.service.datagen.engine.GenerationEngine;
+import com.tom.service.datagen.engine.GenerationJob;
+import com.tom.service.datagen.engine.GeneratorContext;
+import com.tom.service.datagen.engine.GeneratorContextPool;
+import com.tom.service.datagen.engine.SeedSequence;
+import com.tom.service.datagen.exception.BadRequestException;
+import com.tom.service.datagen.exception.DataProcessingException;
+import com.tom.service.datagen.format.Compression;
+import com.tom.service.datagen.format.OutputFormat;
+import com.tom.service.datagen.relation.ForeignKeys;
+import com.tom.service.datagen.relation.RelationSchema;
+import com.tom.service.datagen.relation.TableSpec;
+import com.tom.service.datagen.schema.FieldGenerator;
+import com.tom.service.datagen.schema.SchemaCompiler;
+import com.tom.service.datagen.schema.SchemaPlan;
+import com.tom.service.datagen.schema.SchemaRegistry;
+import com.tom.service.datagen.store.StoredResult;
+import com.tom.service.datagen.unique.UniquenessMode;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Generates all tables of a relation for one request. Only the key column
+ * of each referenced parent is materialized, as a {@code long[]}; every
+ * table is then a regular dataset whose foreign key fields sample from
+ * those arrays, so tables can be written independently of each other.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RelationService {
+
+	private static final int KEY_CHUNK_SIZE = 64 * 1024;
+
+	@Value("${application.datagen.relations.maxParentRows:10000000}")
+	private long maxParentRows;
+
+	private final SchemaRegistry schemas;
+	private final SchemaCompiler compiler;
+	private final DatasetService datasets;
+	private final GenerationEngine engine;
+
+	public record Table(String name, GenerationJob job, SchemaPlan source) {
+	}
+
+	public record TableResult(Table table, StoredResult result) {
+	}
+
+	public List<Table> plan(RelationSchema relation, long quantity, long seed, LocalDate referenceDate,
+			OutputFormat format, Compression compression) throws IOException {
+		Set<String> parents = new HashSet<>();
+		relation.tables().forEach(table -> table.foreignKeys().values().forEach(fk -> parents.add(fk.table())));
+		// Before generating anything: every referenced parent is held as a long[] of its keys
+		for (TableSpec spec : relation.tables()) {
+			if (parents.contains(spec.dataset()) && spec.rowsFor(quantity) > maxParentRows) {
+				throw new BadRequestException("Table " + spec.dataset() + " is too large to be referenced: "
+						+ spec.rowsFor(quantity) + " rows, at most " + maxParentRows);
+			}
+		}
+
+		Map<String, long[]> keys = new HashMap<>();
+		List<Table> tables = new ArrayList<>(relation.tables().size());
+		for (int i = 0; i < relation.tables().size(); i++) {
+			TableSpec spec = relation.tables().get(i);
+			long tableSeed = SeedSequence.seedFor(seed, i);
+			GenerationJob job = datasets.newJob(spec.rowsFor(quantity), 0, tableSeed, referenceDate,
+					UniquenessMode.CONSTRUCTIVE, format, compression);
+
+			SchemaPlan plan = schemas.get(spec.dataset());
+			if (!spec.foreignKeys().isEmpty()) {
+				Map<String, FieldGenerator> bound = new HashMap<>();
+				spec.foreignKeys().forEach((field, reference) -> bound.put(field,
+						ForeignKeys.sample(keys.get(reference.table()), reference, seedOf(tableSeed, field))));
+				plan = compiler.compile(plan.schema(), plan.isBuiltIn(), bound);
+			}
+			if (parents.contains(spec.dataset())) {
+				keys.put(spec.dataset(), keysOf(plan, job, plan.indexOf(spec.key())));
+			}
+			tables.add(new Table(spec.dataset(), job, plan));
+		}
+		return tables;
+	}
+
+	/**
+	 * Writes every table as one entry of a zip archive. Zip entries are
+	 * sequential, so the tables follow each other while the rows of each
+	 * table are still generated in parallel chunks.
+	 */
+	public StreamingResponseBody streamArchive(RelationSchema relation, List<Table> tables, OutputFormat format) {
+		return out -> {
+			log.info("Started to stream relation {} ({} tables)", relation.name(), tables.size());
+			ZipOutputStream zip = new ZipOutputStream(out);
+			zip.setLevel(format.isCompressed() ? Deflater.NO_COMPRESSION : Deflater.BEST_SPEED);
+			for (Table table : tables) {
+				zip.putNextEntry(new ZipEntry(format.filename(table.name())));
+				datasets.writeDataset(table.job(), table.source(), zip, generated -> {
+				});
+				zip.closeEntry();
+			}
+			zip.finish();
+			log.info("Finished streaming relation {}", relation.name());
+		};
+	}
+
+	/** Generates all tables concurrently, each into its own stored result. */
+	public Mono<List<TableResult>> generateFiles(List<Table> tables) {
+		return Flux.fromIterable(tables)
+				.flatMapSequential(table -> Mono
+						.fromCallable(() -> new TableResult(table,
+								datasets.generateToStore(table.job(), table.source(), generated -> {
+								})))
+						.subscribeOn(Schedulers.boundedElastic()))
+				.collectList();
+	}
+
+	private long[] keysOf(SchemaPlan plan, GenerationJob job, int field) throws IOException {
+		long[] keys = new long[(int) job.getQuantity()];
+		engine.generate(job.getQuantity(), KEY_CHUNK_SIZE, chunk -> {
+			try (GeneratorContext context = GeneratorContextPool.acquire()) {
+				for (int i = 0; i < chunk.size(); i++) {
+					long row = job.rowOf(chunk, i);
+					if (!(plan.generateField(context, job, row, field) instanceof Number key)) {
+						throw new DataProcessingException("Key of " + plan.name() + " row " + row
+								+ " is not a number");
+					}
+					keys[(int) row] = key.longValue();
+				}
+			}
+			return Boolean.TRUE;
+		}, (chunk, done) -> {
+		});
+		return keys;
+	}
+
+	private static long seedOf(long tableSeed, String field) {
+		return SeedSequence.seedFor(tableSeed, field.hashCode());
+	}
+
+}
@@ -0,0 +1,126 @@
+package com.tom.service.datagen.service;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.tom.service.datagen.dto.LoadResponse;
+import com.tom.service.datagen.engine.GenerationEngine;
+import com.tom.service.datagen.engine.GenerationJob;
+import com.tom.service.datagen.encoder.RowBuffer;
+import com.tom.service.datagen.engine.RowSource;
+import com.tom.service.datagen.exception.BadRequestException;
+import com.tom.service.datagen.exception.DataProcessingException;
+import com.tom.service.datagen.metrics.GenerationMetrics;
+import com.tom.service.datagen.metrics.StageMetrics;
+import com.tom.service.datagen.metrics.StageMetrics.Stage;
+import com.tom.service.datagen.sink.CopySink;
+import com.tom.service.datagen.sink.JdbcBatchSink;
+import com.tom.service.datagen.sink.ParallelSinkWriter;
+import com.tom.service.datagen.sink.SinkConnections;
+import com.tom.service.datagen.sink.SinkMode;
+import com.tom.service.datagen.sink.SqlTable;
+import com.tom.service.datagen.sink.TableSink;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Loads generated rows straight into the configured database instead of a
+ * response. Chunks are generated and prepared on the engine as for any
+ * other output and then written by a bounded set of parallel writers.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SinkService {
+
+	private static final int MAX_WRITERS = 64;
+
+	@Value("${application.datagen.batchSize:10000}")
+	private int batchSize;
+
+	@Value("${application.datagen.sink.writers:4}")
+	private int defaultWriters;
+
+	private final GenerationEngine engine;
+	private final SinkConnections connections;
+	private final GenerationMetrics metrics;
+
+	public <T> LoadResponse load(GenerationJob job, RowSource<T> source, String table, SinkMode mode, boolean create,
+			Integer writers) throws IOException {
+		int writerCount = writers != null ? writers : defaultWriters;
+		if (writerCount < 1 || writerCount > MAX_WRITERS) {
+			throw new BadRequestException("Writers must be between 1 and " + MAX_WRITERS);
+		}
+		SqlTable<T> sqlTable = SqlTable.of(table, source.layout());
+		TableSink<T, ?> sink = mode == SinkMode.COPY ? new CopySink<>(sqlTable) : new JdbcBatchSink<>(sqlTable);
+
+		log.info("Started to load: {} {} into {} with {} ({} writers, seed: {})", job.getQuantity(),
+				source.name(), table, mode, writerCount, job.getSeed());
+		long startedAt = System.nanoTime();
+		try (StageMetrics stages = metrics.start(source, mode.name())) {
+			load(job, source, sqlTable, sink, create, writerCount, stages);
+		} catch (SQLException e) {
+			throw new DataProcessingException("Unable to load rows into " + table + ": " + e.getMessage(), e);
+		}
+		long elapsed = (System.nanoTime() - startedAt) / 1_000_000;
+		log.info("Finished loading {} {} into {} in {} ms", job.getQuantity(), source.name(), table,
+				elapsed);
+		return new LoadResponse(source.name(), table, mode, job.getQuantity(), elapsed, job.getSeed(),
+				job.getReferenceDate());
+	}
+
+	private <T, P> void load(GenerationJob job, RowSource<T> source, SqlTable<T> table, TableSink<T, P> sink,
+			boolean create, int writerCount, StageMetrics stages) throws SQLException, IOException {
+		List<Connection> opened = new ArrayList<>(writerCount);
+		try {
+			for (int i = 0; i < writerCount; i++) {
+				opened.add(connections.open());
+			}
+			Connection first = opened.get(0);
+			sink.verify(first);
+			if (create) {
+				try (Statement statement = first.createStatement()) {
+					statement.execute(table.createSql());
+				}
+				first.commit();
+			}
+		} catch (SQLException | RuntimeException e) {
+			closeAll(opened);
+			throw e;
+		}
+
+		try (ParallelSinkWriter<T, P> writer = new ParallelSinkWriter<>(sink, opened)) {
+			engine.generate(job.getQuantity(), batchSize,
+					chunk -> DatasetService.encode(DatasetService.generateChunk(job, source, chunk, stages),
+							sink::prepare, stages),
+					(chunk, batch) -> {
+						if (batch instanceof RowBuffer rows) {
+							stages.bytes(rows.size());
+						}
+						long submittedAt = System.nanoTime();
+						writer.submit(batch);
+						stages.record(Stage.WRITE, submittedAt);
+					});
+			writer.finish();
+		}
+	}
+
+	private static void closeAll(List<Connection> opened) {
+		for (Connection connection : opened) {
+			try {
+				connection.close();
+			} catch (SQLException e) {
+				log.warn("Unable to close sink connection: {}", e.getMessage());
+			}
+		}
+	}
+
+}
@@ -0,0 +1,55 @@
+package com.tom.service.datagen.sink;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+
+import com.tom.service.datagen.encoder.CsvRowEncoder;
+import com.tom.service.datagen.encoder.RowBuffer;
+import com.tom.service.datagen.exception.BadRequestException;
+
+/**
+ * Streams every batch through PostgreSQL {@code COPY FROM STDIN}. Batches
+ * are encoded by the same {@link CsvRowEncoder} as CSV responses, on the
+ * generation workers, so a writer only copies bytes to the server.
+ */
+public final class CopySink<T> implements TableSink<T, RowBuffer> {
+
+	private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+	private final String sql;
+	private final CsvRowEncoder<T> encoder;
+
+	public CopySink(SqlTable<T> table) {
+		this.sql = table.copySql();
+		this.encoder = new CsvRowEncoder<>(table.layout());
+	}
+
+	@Override
+	public RowBuffer prepare(List<T> rows) {
+		RowBuffer buffer = new RowBuffer(256 * rows.size());
+		encoder.encode(rows, buffer);
+		return buffer;
+	}
+
+	@Override
+	public void write(Connection connection, RowBuffer batch) throws SQLException, IOException {
+		try (PGCopyOutputStream out = new PGCopyOutputStream(connection.unwrap(PGConnection.class), sql,
+				COPY_BUFFER_SIZE)) {
+			batch.writeTo(out);
+		}
+		connection.commit();
+	}
+
+	@Override
+	public void verify(Connection connection) throws SQLException {
+		if (!connection.isWrapperFor(PGConnection.class)) {
+			throw new BadRequestException("COPY is only supported by PostgreSQL, use the BATCH sink mode");
+		}
+	}
+
+}
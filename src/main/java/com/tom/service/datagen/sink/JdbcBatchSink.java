@@ -0,0 +1,116 @@
+package com.tom.service.datagen.sink;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+import com.tom.service.datagen.encoder.Column;
+
+/**
+ * Inserts every batch with one {@link PreparedStatement#executeBatch()}.
+ * Parameters are bound through typed binders compiled from the layout, so
+ * primitive columns are never boxed. Drivers that support it rewrite the
+ * batch into multi-row INSERTs, see {@link SinkConnections}.
+ */
+public final class JdbcBatchSink<T> implements TableSink<T, List<T>> {
+
+	@FunctionalInterface
+	private interface Binder<T> {
+
+		void bind(PreparedStatement statement, int index, T row) throws SQLException;
+
+	}
+
+	private final String sql;
+	private final Binder<T>[] binders;
+
+	@SuppressWarnings("unchecked")
+	public JdbcBatchSink(SqlTable<T> table) {
+		this.sql = table.insertSql();
+		List<Column<T>> columns = table.layout().columns();
+		this.binders = new Binder[columns.size()];
+		for (int i = 0; i < columns.size(); i++) {
+			binders[i] = compile(columns.get(i));
+		}
+	}
+
+	@Override
+	public List<T> prepare(List<T> rows) {
+		return rows;
+	}
+
+	@Override
+	public void write(Connection connection, List<T> batch) throws SQLException {
+		try (PreparedStatement statement = connection.prepareStatement(sql)) {
+			for (int i = 0; i < batch.size(); i++) {
+				T row = batch.get(i);
+				for (int column = 0; column < binders.length; column++) {
+					binders[column].bind(statement, column + 1, row);
+				}
+				statement.addBatch();
+			}
+			statement.executeBatch();
+		}
+		connection.commit();
+	}
+
+	private static <T> Binder<T> compile(Column<T> column) {
+		if (column.isPrimitive()) {
+			switch (column.getType()) {
+			case INT -> {
+				ToIntFunction<T> getter = column.getIntGetter();
+				return (statement, index, row) -> statement.setInt(index, getter.applyAsInt(row));
+			}
+			case LONG -> {
+				ToLongFunction<T> getter = column.getLongGetter();
+				return (statement, index, row) -> statement.setLong(index, getter.applyAsLong(row));
+			}
+			case DOUBLE -> {
+				ToDoubleFunction<T> getter = column.getDoubleGetter();
+				return (statement, index, row) -> statement.setDouble(index, getter.applyAsDouble(row));
+			}
+			case BOOLEAN -> {
+				Predicate<T> getter = column.getBooleanGetter();
+				return (statement, index, row) -> statement.setBoolean(index, getter.test(row));
+			}
+			default -> throw new IllegalStateException("Unsupported primitive column " + column.getName());
+			}
+		}
+
+		Function<T, Object> getter = column.getObjectGetter();
+		return switch (column.getType()) {
+		case INT -> nullable(getter, Types.INTEGER,
+				(statement, index, value) -> statement.setInt(index, ((Number) value).intValue()));
+		case LONG -> nullable(getter, Types.BIGINT,
+				(statement, index, value) -> statement.setLong(index, ((Number) value).longValue()));
+		case DOUBLE -> nullable(getter, Types.DOUBLE,
+				(statement, index, value) -> statement.setDouble(index, ((Number) value).doubleValue()));
+		case BOOLEAN -> nullable(getter, Types.BOOLEAN,
+				(statement, index, value) -> statement.setBoolean(index, (Boolean) value));
+		case DATE -> nullable(getter, Types.DATE, (statement, index, value) -> statement.setObject(index, value));
+		case ENUM -> nullable(getter, Types.VARCHAR,
+				(statement, index, value) -> statement.setString(index, ((Enum<?>) value).name()));
+		default -> nullable(getter, Types.VARCHAR,
+				(statement, index, value) -> statement.setString(index, value.toString()));
+		};
+	}
+
+	private static <T> Binder<T> nullable(Function<T, Object> getter, int sqlType, Binder<Object> binder) {
+		return (statement, index, row) -> {
+			Object value = getter.apply(row);
+			if (value == null) {
+				statement.setNull(index, sqlType);
+			} else {
+				binder.bind(statement, index, value);
+			}
+		};
+	}
+
+}
@@ -0,0 +1,56 @@
+package com.tom.service.datagen.sink;
+
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import com.tom.service.datagen.exception.BadRequestException;
+
+/**
+ * Creates one producer per publish request, for the brokers fixed by
+ * configuration. A full send buffer blocks the sender for up to
+ * {@code maxBlock}, which is Kafka's own backpressure on top of the bounded
+ * pending batches of {@link RecordPublisher}.
+ */
+@Component
+public class KafkaProducers {
+
+	private final AtomicInteger clients = new AtomicInteger();
+	private final String bootstrapServers;
+	private final DataSize bufferMemory;
+	private final long maxBlockMs;
+
+	public KafkaProducers(@Value("${application.datagen.kafka.bootstrapServers:}") String bootstrapServers,
+			@Value("${application.datagen.kafka.bufferMemory:64MB}") DataSize bufferMemory,
+			@Value("${application.datagen.kafka.maxBlockMs:60000}") long maxBlockMs) {
+		this.bootstrapServers = bootstrapServers;
+		this.bufferMemory = bufferMemory;
+		this.maxBlockMs = maxBlockMs;
+	}
+
+	public Producer<byte[], byte[]> open(KafkaSettings settings) {
+		if (bootstrapServers.isBlank()) {
+			throw new BadRequestException("No Kafka bootstrap servers are configured");
+		}
+		Properties properties = new Properties();
+		properties.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+		properties.put(ProducerConfig.CLIENT_ID_CONFIG, "datagen-" + clients.incrementAndGet());
+		properties.put(ProducerConfig.LINGER_MS_CONFIG, settings.lingerMs());
+		properties.put(ProducerConfig.BATCH_SIZE_CONFIG, settings.batchSize());
+		properties.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, settings.maxInFlight());
+		properties.put(ProducerConfig.ACKS_CONFIG, settings.acks());
+		properties.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, "all".equals(settings.acks()));
+		properties.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, settings.compression());
+		properties.put(ProducerConfig.BUFFER_MEMORY_CONFIG, bufferMemory.toBytes());
+		properties.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, maxBlockMs);
+		return new KafkaProducer<>(properties, new ByteArraySerializer(), new ByteArraySerializer());
+	}
+
+}
@@ -0,0 +1,44 @@
+package com.tom.service.datagen.sink;
+
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import com.tom.service.datagen.exception.BadRequestException;
+
+/**
+ * Producer settings of one publish request. {@code maxInFlight} bounds the
+ * unacknowledged produce requests per broker connection.
+ */
+public record KafkaSettings(String topic, RecordFormat format, int lingerMs, int batchSize, int maxInFlight,
+		String acks, String compression) {
+
+	private static final Pattern TOPIC = Pattern.compile("[A-Za-z0-9._-]{1,249}");
+	private static final Set<String> ACKS = Set.of("0", "1", "all");
+	private static final Set<String> COMPRESSION = Set.of("none", "gzip", "snappy", "lz4", "zstd");
+	private static final int MAX_LINGER_MS = 60_000;
+	private static final int MAX_BATCH_SIZE = 16 * 1024 * 1024;
+	/** Upper bound that still keeps the idempotent producer's ordering. */
+	private static final int MAX_IN_FLIGHT = 5;
+
+	public KafkaSettings {
+		if (topic == null || !TOPIC.matcher(topic).matches()) {
+			throw new BadRequestException("Invalid topic name: " + topic);
+		}
+		if (lingerMs < 0 || lingerMs > MAX_LINGER_MS) {
+			throw new BadRequestException("Linger must be between 0 and " + MAX_LINGER_MS + " ms");
+		}
+		if (batchSize < 0 || batchSize > MAX_BATCH_SIZE) {
+			throw new BadRequestException("Batch size must be between 0 and " + MAX_BATCH_SIZE + " bytes");
+		}
+		if (maxInFlight < 1 || maxInFlight > MAX_IN_FLIGHT) {
+			throw new BadRequestException("In-flight requests must be between 1 and " + MAX_IN_FLIGHT);
+		}
+		if (!ACKS.contains(acks)) {
+			throw new BadRequestException("Acks must be one of " + ACKS);
+		}
+		if (!COMPRESSION.contains(compression)) {
+			throw new BadRequestException("Compression must be one of " + COMPRESSION);
+		}
+	}
+
+}
@@ -0,0 +1,118 @@
+package com.tom.service.datagen.sink;
+
+import java.io.Closeable;
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.tom.service.datagen.exception.DataProcessingException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes batches on a fixed number of writer threads, one connection per
+ * batch in flight. {@link #submit} blocks while every connection is busy,
+ * which throttles generation to the speed of the database. The first
+ * failed batch stops the load; batches committed before it stay in the
+ * table.
+ */
+@Slf4j
+public final class ParallelSinkWriter<T, P> implements Closeable {
+
+	private final TableSink<T, P> sink;
+	private final List<Connection> connections;
+	private final BlockingQueue<Connection> idle;
+	private final ExecutorService writers;
+	private final AtomicReference<Exception> failure = new AtomicReference<>();
+
+	public ParallelSinkWriter(TableSink<T, P> sink, List<Connection> connections) {
+		this.sink = sink;
+		this.connections = List.copyOf(connections);
+		this.idle = new ArrayBlockingQueue<>(connections.size(), false, connections);
+		this.writers = Executors.newFixedThreadPool(connections.size(),
+				Thread.ofPlatform().name("datagen-sink-", 0).factory());
+	}
+
+	public void submit(P batch) {
+		checkFailure();
+		Connection connection = take();
+		writers.execute(() -> {
+			try {
+				if (failure.get() == null) {
+					sink.write(connection, batch);
+				}
+			} catch (Exception e) {
+				failure.compareAndSet(null, e);
+				rollback(connection);
+			} finally {
+				idle.add(connection);
+			}
+		});
+	}
+
+	/** Waits for the batches in flight and rethrows the first failure. */
+	public void finish() {
+		writers.shutdown();
+		try {
+			while (!writers.awaitTermination(1, TimeUnit.MINUTES)) {
+				log.info("Waiting for {} sink writers to finish", connections.size());
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new DataProcessingException("Interrupted while loading rows", e);
+		}
+		checkFailure();
+	}
+
+	@Override
+	public void close() {
+		writers.shutdownNow();
+		for (Connection connection : connections) {
+			try {
+				connection.close();
+			} catch (SQLException e) {
+				log.warn("Unable to close sink connection: {}", e.getMessage());
+			}
+		}
+	}
+
+	private Connection take() {
+		try {
+			return idle.take();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new DataProcessingException("Interrupted while loading rows", e);
+		}
+	}
+
+	private void checkFailure() {
+		Exception e = failure.get();
+		if (e != null) {
+			throw new DataProcessingException("Unable to load rows: " + messageOf(e), e);
+		}
+	}
+
+	private static void rollback(Connection connection) {
+		try {
+			connection.rollback();
+		} catch (SQLException e) {
+			log.warn("Unable to roll back sink batch: {}", e.getMessage());
+		}
+	}
+
+	private static String messageOf(Exception e) {
+		// Drivers report the row that failed a batch as the next exception
+		if (e instanceof BatchUpdateException batch && batch.getNextException() != null) {
+			return batch.getNextException().getMessage();
+		}
+		return e.getMessage();
+	}
+
+}
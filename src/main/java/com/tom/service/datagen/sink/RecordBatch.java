@@ -0,0 +1,8 @@
+package com.tom.service.datagen.sink;
+
+/**
+ * Encoded values of consecutive rows, starting at {@code firstRow}; row
+ * numbers double as record keys.
+ */
+public record RecordBatch(long firstRow, byte[][] values, long bytes) {
+}
@@ -0,0 +1,48 @@
+package com.tom.service.datagen.sink;
+
+import java.util.List;
+
+import com.tom.service.datagen.encoder.AvroRowEncoder;
+import com.tom.service.datagen.encoder.JsonRowEncoder;
+import com.tom.service.datagen.encoder.RowBuffer;
+import com.tom.service.datagen.encoder.RowLayout;
+
+/**
+ * Encodes rows into one message value each. Runs on the generation workers;
+ * the scratch buffer is per thread, only the final value is copied out.
+ */
+public final class RecordEncoder<T> {
+
+	private static final ThreadLocal<RowBuffer> BUFFERS = ThreadLocal.withInitial(() -> new RowBuffer(1024));
+
+	private final JsonRowEncoder<T> json;
+	private final AvroRowEncoder<T> avro;
+
+	public RecordEncoder(RecordFormat format, String name, RowLayout<T> layout) {
+		this.json = format == RecordFormat.JSON ? new JsonRowEncoder<>(layout) : null;
+		this.avro = format == RecordFormat.AVRO ? new AvroRowEncoder<>(name, layout) : null;
+	}
+
+	/** Writer schema of Avro values, {@code null} for JSON. */
+	public String schema() {
+		return avro != null ? avro.schema() : null;
+	}
+
+	public RecordBatch encode(long firstRow, List<T> rows) {
+		RowBuffer buffer = BUFFERS.get();
+		byte[][] values = new byte[rows.size()][];
+		long bytes = 0;
+		for (int i = 0; i < values.length; i++) {
+			buffer.reset();
+			if (json != null) {
+				json.encode(rows.get(i), buffer);
+			} else {
+				avro.encode(rows.get(i), buffer);
+			}
+			values[i] = buffer.toByteArray();
+			bytes += values[i].length;
+		}
+		return new RecordBatch(firstRow, values, bytes);
+	}
+
+}
@@ -0,0 +1,16 @@
+package com.tom.service.datagen.sink;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum RecordFormat {
+
+	JSON("application/json"),
+	/** Avro binary datum, without container or schema registry framing. */
+	AVRO("application/avro");
+
+	private final String contentType;
+
+}
@@ -0,0 +1,100 @@
+package com.tom.service.datagen.sink;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+
+import com.tom.service.datagen.exception.DataProcessingException;
+
+/**
+ * Sends batches of records without waiting for each one. At most
+ * {@code maxPendingBatches} batches may be unacknowledged; {@link #submit}
+ * blocks beyond that, so the generator never runs further ahead of the
+ * brokers than that. The first failed record stops the publish.
+ */
+public final class RecordPublisher {
+
+	private final Producer<byte[], byte[]> producer;
+	private final String topic;
+	private final int maxPendingBatches;
+	private final Semaphore pending;
+	private final Consumer<RecordBatch> onAcknowledged;
+	private final AtomicReference<Exception> failure = new AtomicReference<>();
+
+	public RecordPublisher(Producer<byte[], byte[]> producer, String topic, int maxPendingBatches,
+			Consumer<RecordBatch> onAcknowledged) {
+		this.producer = producer;
+		this.topic = topic;
+		this.maxPendingBatches = maxPendingBatches;
+		this.pending = new Semaphore(maxPendingBatches);
+		this.onAcknowledged = onAcknowledged;
+	}
+
+	public void submit(RecordBatch batch) {
+		checkFailure();
+		acquire(1);
+		byte[][] values = batch.values();
+		AtomicInteger unacknowledged = new AtomicInteger(values.length);
+		if (values.length == 0) {
+			pending.release();
+			return;
+		}
+		for (int i = 0; i < values.length; i++) {
+			byte[] key = Long.toString(batch.firstRow() + i).getBytes(StandardCharsets.US_ASCII);
+			try {
+				producer.send(new ProducerRecord<>(topic, key, values[i]), (metadata, e) -> {
+					if (e != null) {
+						failure.compareAndSet(null, e);
+					}
+					if (unacknowledged.decrementAndGet() == 0) {
+						acknowledged(batch);
+					}
+				});
+			} catch (RuntimeException e) {
+				failure.compareAndSet(null, e);
+				// The records that were never sent will not be acknowledged either
+				if (unacknowledged.addAndGet(-(values.length - i)) == 0) {
+					acknowledged(batch);
+				}
+				throw new DataProcessingException("Unable to publish records: " + e.getMessage(), e);
+			}
+		}
+	}
+
+	/** Flushes the producer, waits for every acknowledgement and rethrows the first failure. */
+	public void finish() {
+		producer.flush();
+		acquire(maxPendingBatches);
+		pending.release(maxPendingBatches);
+		checkFailure();
+	}
+
+	private void acknowledged(RecordBatch batch) {
+		if (failure.get() == null) {
+			onAcknowledged.accept(batch);
+		}
+		pending.release();
+	}
+
+	private void acquire(int permits) {
+		try {
+			pending.acquire(permits);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new DataProcessingException("Interrupted while publishing records", e);
+		}
+	}
+
+	private void checkFailure() {
+		Exception e = failure.get();
+		if (e != null) {
+			throw new DataProcessingException("Unable to publish records: " + e.getMessage(), e);
+		}
+	}
+
+}
@@ -0,0 +1,59 @@
+package com.tom.service.datagen.sink;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Properties;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.tom.service.datagen.exception.BadRequestException;
+
+/**
+ * Opens connections to the configured sink database. The target is fixed
+ * by configuration, never by the request. Batch rewriting is switched on
+ * for the drivers that support it, which turns a JDBC batch into
+ * multi-row INSERTs.
+ */
+@Component
+public class SinkConnections {
+
+	private final String url;
+	private final String username;
+	private final String password;
+
+	public SinkConnections(@Value("${application.datagen.sink.url:}") String url,
+			@Value("${application.datagen.sink.username:}") String username,
+			@Value("${application.datagen.sink.password:}") String password) {
+		this.url = url;
+		this.username = username;
+		this.password = password;
+	}
+
+	public boolean isConfigured() {
+		return !url.isBlank();
+	}
+
+	public Connection open() throws SQLException {
+		if (!isConfigured()) {
+			throw new BadRequestException("No sink database is configured");
+		}
+		Properties properties = new Properties();
+		if (!username.isBlank()) {
+			properties.setProperty("user", username);
+		}
+		if (!password.isBlank()) {
+			properties.setProperty("password", password);
+		}
+		if (url.startsWith("jdbc:postgresql:")) {
+			properties.setProperty("reWriteBatchedInserts", "true");
+		} else if (url.startsWith("jdbc:mysql:") || url.startsWith("jdbc:mariadb:")) {
+			properties.setProperty("rewriteBatchedStatements", "true");
+		}
+		Connection connection = DriverManager.getConnection(url, properties);
+		connection.setAutoCommit(false);
+		return connection;
+	}
+
+}
@@ -0,0 +1,10 @@
+package com.tom.service.datagen.sink;
+
+public enum SinkMode {
+
+	/** Batched INSERTs through {@link java.sql.PreparedStatement#addBatch()}. */
+	BATCH,
+	/** PostgreSQL {@code COPY FROM STDIN}, fed with the CSV encoder output. */
+	COPY
+
+}
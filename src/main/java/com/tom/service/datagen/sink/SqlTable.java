@@ -0,0 +1,93 @@
+package com.tom.service.datagen.sink;
+
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import com.tom.service.datagen.encoder.Column;
+import com.tom.service.datagen.encoder.RowLayout;
+import com.tom.service.datagen.exception.BadRequestException;
+
+/**
+ * Table a {@link RowLayout} is loaded into. Column names are the snake_case
+ * form of the field names and the statements leave identifiers unquoted,
+ * so each database applies its usual case folding.
+ */
+public final class SqlTable<T> {
+
+	private static final Pattern NAME = Pattern.compile("([A-Za-z_][A-Za-z0-9_]{0,62}\\.)?[A-Za-z_][A-Za-z0-9_]{0,62}");
+
+	private final String name;
+	private final RowLayout<T> layout;
+	private final List<String> columns;
+
+	private SqlTable(String name, RowLayout<T> layout) {
+		this.name = name;
+		this.layout = layout;
+		this.columns = layout.columns().stream().map(column -> columnName(column.getName())).toList();
+	}
+
+	public static <T> SqlTable<T> of(String name, RowLayout<T> layout) {
+		if (name == null || !NAME.matcher(name).matches()) {
+			throw new BadRequestException("Invalid table name: " + name);
+		}
+		return new SqlTable<>(name, layout);
+	}
+
+	public String name() {
+		return name;
+	}
+
+	public RowLayout<T> layout() {
+		return layout;
+	}
+
+	public String createSql() {
+		StringBuilder sql = new StringBuilder("CREATE TABLE IF NOT EXISTS ").append(name).append(" (");
+		List<Column<T>> layoutColumns = layout.columns();
+		for (int i = 0; i < layoutColumns.size(); i++) {
+			if (i > 0) {
+				sql.append(", ");
+			}
+			sql.append(columns.get(i)).append(' ').append(sqlType(layoutColumns.get(i)));
+		}
+		return sql.append(')').toString();
+	}
+
+	public String insertSql() {
+		return "INSERT INTO " + name + " (" + String.join(", ", columns) + ") VALUES ("
+				+ columns.stream().map(column -> "?").collect(Collectors.joining(", ")) + ")";
+	}
+
+	public String copySql() {
+		return "COPY " + name + " (" + String.join(", ", columns) + ") FROM STDIN WITH (FORMAT csv)";
+	}
+
+	static String columnName(String fieldName) {
+		StringBuilder name = new StringBuilder(fieldName.length() + 4);
+		for (int i = 0; i < fieldName.length(); i++) {
+			char c = fieldName.charAt(i);
+			if (Character.isUpperCase(c)) {
+				if (i > 0 && fieldName.charAt(i - 1) != '_') {
+					name.append('_');
+				}
+				name.append(Character.toLowerCase(c));
+			} else {
+				name.append(c);
+			}
+		}
+		return name.toString();
+	}
+
+	private static String sqlType(Column<?> column) {
+		return switch (column.getType()) {
+		case INT -> "INTEGER";
+		case LONG -> "BIGINT";
+		case DOUBLE -> "DOUBLE PRECISION";
+		case BOOLEAN -> "BOOLEAN";
+		case DATE -> "DATE";
+		default -> "VARCHAR";
+		};
+	}
+
+}
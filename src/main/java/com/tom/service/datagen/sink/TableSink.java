@@ -0,0 +1,24 @@
+package com.tom.service.datagen.sink;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Loads batches of rows into a database table. {@link #prepare(List)} runs
+ * on generation workers, like {@link com.tom.service.datagen.format.DatasetWriter#prepare(List)};
+ * {@link #write} runs on a sink writer thread with a connection owned by
+ * that thread and commits the batch.
+ */
+public interface TableSink<T, P> {
+
+	P prepare(List<T> rows);
+
+	void write(Connection connection, P batch) throws SQLException, IOException;
+
+	/** Rejects connections the sink cannot write to. */
+	default void verify(Connection connection) throws SQLException {
+	}
+
+}
@@ -0,0 +1,220 @@
+package com.tom.service.datagen.store;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import com.tom.service.datagen.format.Compression;
+import com.tom.service.datagen.format.OutputFormat;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bounded store for generated artifacts. Entries expire after a TTL and the
+ * least recently used ones are evicted once the in-memory or on-disk byte
+ * budget is exceeded. Results larger than the spill threshold are kept in
+ * temp files and served from there; disk space is reserved while they are
+ * written, so a result that cannot fit fails instead of overshooting the
+ * budget. Size and evictions are exported as
+ * {@code datagen.store.*} meters.
+ */
+@Slf4j
+@Component
+public class ResultStore {
+
+	private final Map<String, StoredResult> entries = new LinkedHashMap<>(16, 0.75f, true);
+	private final Path directory;
+	private final long memoryBudget;
+	private final long diskBudget;
+	private final long spillThreshold;
+	private final Duration ttl;
+	private final Counter expired;
+	private final Counter evicted;
+
+	private long memoryBytes;
+	private long diskBytes;
+	private long reservedDiskBytes;
+
+	public ResultStore(
+			@Value("${application.datagen.store.directory:${java.io.tmpdir}/datagen}") Path directory,
+			@Value("${application.datagen.store.memoryBudget:256MB}") DataSize memoryBudget,
+			@Value("${application.datagen.store.diskBudget:10GB}") DataSize diskBudget,
+			@Value("${application.datagen.store.spillThreshold:8MB}") DataSize spillThreshold,
+			@Value("${application.datagen.store.ttl:30m}") Duration ttl, MeterRegistry registry) {
+		this.directory = directory;
+		this.memoryBudget = memoryBudget.toBytes();
+		this.diskBudget = diskBudget.toBytes();
+		this.spillThreshold = Math.min(spillThreshold.toBytes(), this.memoryBudget);
+		this.ttl = ttl;
+		this.expired = registry.counter("datagen.store.evictions", "reason", "expired");
+		this.evicted = registry.counter("datagen.store.evictions", "reason", "budget");
+		Gauge.builder("datagen.store.entries", this, ResultStore::size).register(registry);
+		Gauge.builder("datagen.store.bytes", this, ResultStore::memoryBytes).tag("medium", "memory")
+				.baseUnit("bytes").register(registry);
+		Gauge.builder("datagen.store.bytes", this, ResultStore::diskBytes).tag("medium", "disk")
+				.baseUnit("bytes").register(registry);
+	}
+
+	/**
+	 * Opens a writer for a new result. The bytes written are stored as-is, so
+	 * {@code compression} describes how the caller already encoded them.
+	 */
+	public ResultWriter open(OutputFormat format, Compression compression) {
+		return new ResultWriter(this, directory, spillThreshold, format, compression);
+	}
+
+	/** Stores {@code data} encoded with {@code compression}. */
+	public StoredResult put(byte[] data, OutputFormat format, Compression compression) throws IOException {
+		try (ResultWriter writer = open(format, compression)) {
+			try (OutputStream encoded = compression.compress(writer)) {
+				encoded.write(data);
+			}
+			return writer.commit(data.length);
+		}
+	}
+
+	public synchronized Optional<StoredResult> get(String id) {
+		StoredResult result = entries.get(id);
+		if (result != null && result.isExpired(Instant.now())) {
+			discard(entries.remove(id));
+			expired.increment();
+			return Optional.empty();
+		}
+		return Optional.ofNullable(result);
+	}
+
+	public synchronized Optional<StoredResult> remove(String id) {
+		StoredResult result = entries.remove(id);
+		discard(result);
+		return Optional.ofNullable(result);
+	}
+
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	public synchronized long memoryBytes() {
+		return memoryBytes;
+	}
+
+	public synchronized long diskBytes() {
+		return diskBytes;
+	}
+
+	@Scheduled(fixedDelayString = "${application.datagen.store.sweepInterval:60000}")
+	public synchronized void evictExpired() {
+		Instant now = Instant.now();
+		Iterator<StoredResult> iterator = entries.values().iterator();
+		while (iterator.hasNext()) {
+			StoredResult result = iterator.next();
+			if (result.isExpired(now)) {
+				iterator.remove();
+				discard(result);
+				expired.increment();
+			}
+		}
+	}
+
+	@PreDestroy
+	public synchronized void clear() {
+		entries.values().forEach(this::discard);
+		entries.clear();
+	}
+
+	/**
+	 * Reserves disk space for a result being written, evicting the least
+	 * recently used results on disk to make room. Fails when the results still
+	 * being written would not fit in the disk budget on their own.
+	 */
+	synchronized void reserveDisk(long bytes) throws IOException {
+		Iterator<StoredResult> iterator = entries.values().iterator();
+		while (diskBytes + reservedDiskBytes + bytes > diskBudget && iterator.hasNext()) {
+			StoredResult eldest = iterator.next();
+			if (eldest.isOnDisk()) {
+				iterator.remove();
+				evict(eldest);
+			}
+		}
+		if (diskBytes + reservedDiskBytes + bytes > diskBudget) {
+			throw new IOException("Result exceeds the disk budget of the result store (" + diskBudget + " bytes)");
+		}
+		reservedDiskBytes += bytes;
+	}
+
+	synchronized void releaseDisk(long bytes) {
+		reservedDiskBytes -= bytes;
+	}
+
+	/** Adds a written result; {@code reserved} disk bytes become part of the stored ones. */
+	synchronized StoredResult register(byte[] data, Path file, long size, long decodedSize, long reserved,
+			OutputFormat format, Compression compression) {
+		reservedDiskBytes -= reserved;
+		Instant now = Instant.now();
+		StoredResult result = new StoredResult(UUID.randomUUID().toString(), size, decodedSize, now, now.plus(ttl),
+				data, file, format, compression);
+		entries.put(result.getId(), result);
+		if (result.isOnDisk()) {
+			diskBytes += size;
+		} else {
+			memoryBytes += size;
+		}
+		evictOverBudget(result);
+		return result;
+	}
+
+	private void evictOverBudget(StoredResult keep) {
+		Iterator<StoredResult> iterator = entries.values().iterator();
+		while ((memoryBytes > memoryBudget || diskBytes > diskBudget) && iterator.hasNext()) {
+			StoredResult eldest = iterator.next();
+			if (eldest == keep) {
+				continue;
+			}
+			boolean overMemory = !eldest.isOnDisk() && memoryBytes > memoryBudget;
+			boolean overDisk = eldest.isOnDisk() && diskBytes > diskBudget;
+			if (overMemory || overDisk) {
+				iterator.remove();
+				evict(eldest);
+			}
+		}
+	}
+
+	private void evict(StoredResult result) {
+		discard(result);
+		evicted.increment();
+		log.info("Evicted result {} ({} bytes)", result.getId(), result.getSize());
+	}
+
+	private void discard(StoredResult result) {
+		if (result == null) {
+			return;
+		}
+		if (result.isOnDisk()) {
+			diskBytes -= result.getSize();
+			try {
+				Files.deleteIfExists(result.getFile());
+			} catch (IOException e) {
+				log.warn("Unable to delete result file {}: {}", result.getFile(), e.getMessage());
+			}
+		} else {
+			memoryBytes -= result.getSize();
+		}
+	}
+
+}
@@ -0,0 +1,133 @@
+package com.tom.service.datagen.store;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import com.tom.service.datagen.format.Compression;
+import com.tom.service.datagen.format.OutputFormat;
+
+/**
+ * Output stream that keeps a result in memory until it grows past the spill
+ * threshold and continues on a temp file from then on, reserving disk space
+ * in the store before each write to it. Nothing is visible in the
+ * {@link ResultStore} until {@link #commit()}; closing an uncommitted writer
+ * discards what was written.
+ */
+public final class ResultWriter extends OutputStream {
+
+	private final ResultStore store;
+	private final Path directory;
+	private final long spillThreshold;
+	private final OutputFormat format;
+	private final Compression compression;
+
+	private ByteArrayOutputStream memory = new ByteArrayOutputStream();
+	private FileChannel channel;
+	private Path file;
+	private long size;
+	private long reserved;
+	private boolean finished;
+
+	ResultWriter(ResultStore store, Path directory, long spillThreshold, OutputFormat format,
+			Compression compression) {
+		this.store = store;
+		this.directory = directory;
+		this.spillThreshold = spillThreshold;
+		this.format = format;
+		this.compression = compression;
+	}
+
+	public long size() {
+		return size;
+	}
+
+	@Override
+	public void write(int b) throws IOException {
+		write(new byte[] { (byte) b }, 0, 1);
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		ensureOpen();
+		if (channel == null && size + len > spillThreshold) {
+			reserve(size + len);
+			spill();
+		}
+		if (channel != null) {
+			reserve(size + len);
+			ByteBuffer buffer = ByteBuffer.wrap(b, off, len);
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+		} else {
+			memory.write(b, off, len);
+		}
+		size += len;
+	}
+
+	/** Commits a result written without a content coding. */
+	public StoredResult commit() throws IOException {
+		return commit(size);
+	}
+
+	/**
+	 * Commits the result; {@code decodedSize} is its length once the content
+	 * coding is removed, as served to clients that do not accept it.
+	 */
+	public StoredResult commit(long decodedSize) throws IOException {
+		ensureOpen();
+		finished = true;
+		if (channel != null) {
+			channel.close();
+			return store.register(null, file, size, decodedSize, reserved, format, compression);
+		}
+		byte[] data = memory.toByteArray();
+		memory = null;
+		return store.register(data, null, size, decodedSize, reserved, format, compression);
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (finished) {
+			return;
+		}
+		finished = true;
+		memory = null;
+		store.releaseDisk(reserved);
+		if (channel != null) {
+			channel.close();
+			Files.deleteIfExists(file);
+		}
+	}
+
+	private void reserve(long total) throws IOException {
+		if (total > reserved) {
+			store.reserveDisk(total - reserved);
+			reserved = total;
+		}
+	}
+
+	private void spill() throws IOException {
+		Files.createDirectories(directory);
+		file = Files.createTempFile(directory, "result-", ".bin");
+		channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+		ByteBuffer buffered = ByteBuffer.wrap(memory.toByteArray());
+		while (buffered.hasRemaining()) {
+			channel.write(buffered);
+		}
+		memory = null;
+	}
+
+	private void ensureOpen() throws IOException {
+		if (finished) {
+			throw new IOException("Result writer already closed");
+		}
+	}
+
+}
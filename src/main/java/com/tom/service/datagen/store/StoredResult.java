@@ -0,0 +1,89 @@
+package com.tom.service.datagen.store;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.Instant;
+
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+import com.tom.service.datagen.format.Compression;
+import com.tom.service.datagen.format.OutputFormat;
+
+import lombok.Getter;
+
+@Getter
+public final class StoredResult {
+
+	private final String id;
+	private final long size;
+	private final long decodedSize;
+	private final Instant createdAt;
+	private final Instant expiresAt;
+	private final byte[] data;
+	private final Path file;
+	private final OutputFormat format;
+	private final Compression compression;
+
+	StoredResult(String id, long size, long decodedSize, Instant createdAt, Instant expiresAt, byte[] data, Path file,
+			OutputFormat format, Compression compression) {
+		this.id = id;
+		this.size = size;
+		this.decodedSize = decodedSize;
+		this.createdAt = createdAt;
+		this.expiresAt = expiresAt;
+		this.data = data;
+		this.file = file;
+		this.format = format;
+		this.compression = compression;
+	}
+
+	public boolean isOnDisk() {
+		return file != null;
+	}
+
+	public boolean isExpired(Instant now) {
+		return now.isAfter(expiresAt);
+	}
+
+	public Resource toResource() {
+		return isOnDisk() ? new FileSystemResource(file) : new ByteArrayResource(data);
+	}
+
+	/**
+	 * The result with its content coding removed. Unlike a plain stream
+	 * resource it knows its length, so byte ranges of it can be served.
+	 */
+	public Resource toDecodedResource() {
+		return compression == Compression.NONE ? toResource() : new DecodedResource(toResource());
+	}
+
+	private final class DecodedResource extends AbstractResource {
+
+		private final Resource encoded;
+
+		private DecodedResource(Resource encoded) {
+			this.encoded = encoded;
+		}
+
+		@Override
+		public InputStream getInputStream() throws IOException {
+			return compression.decompress(encoded.getInputStream());
+		}
+
+		@Override
+		public long contentLength() {
+			return decodedSize;
+		}
+
+		@Override
+		public String getDescription() {
+			return "decoded " + encoded.getDescription();
+		}
+
+	}
+
+}
@@ -0,0 +1,16 @@
+package com.tom.service.datagen.timeseries;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum BarFormat {
+
+	CSV("text/csv", "csv"),
+	JSON("application/x-ndjson", "ndjson");
+
+	private final String contentType;
+	private final String extension;
+
+}
@@ -0,0 +1,72 @@
+package com.tom.service.datagen.timeseries;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.regex.Pattern;
+
+import com.tom.service.datagen.exception.BadRequestException;
+
+/**
+ * Parameters of a simulated market feed. Drift and volatility are annual
+ * figures; each bar is built from {@code steps} sub-steps of the process so
+ * its high and low differ from its open and close.
+ */
+public record MarketFeed(List<String> symbols, Duration interval, Instant start, MarketProcess process, double drift,
+		double volatility, int steps, long seed) {
+
+	public static final List<String> DEFAULT_SYMBOLS = List.of("AAPL", "MSFT", "GOOGL", "AMZN", "NVDA", "META",
+			"TSLA", "JPM", "V", "KO");
+
+	private static final Pattern SYMBOL = Pattern.compile("[A-Z0-9.\\-]{1,12}");
+	private static final int MAX_STEPS = 1000;
+
+	public MarketFeed {
+		symbols = List.copyOf(symbols);
+		if (symbols.isEmpty()) {
+			throw new BadRequestException("A market feed needs at least one ticker");
+		}
+		for (String symbol : symbols) {
+			if (!SYMBOL.matcher(symbol).matches()) {
+				throw new BadRequestException("Invalid ticker symbol: " + symbol);
+			}
+		}
+		if (Set.copyOf(symbols).size() != symbols.size()) {
+			throw new BadRequestException("Ticker symbols must be unique");
+		}
+		if (interval.isNegative() || interval.toMillis() < 1) {
+			throw new BadRequestException("Bar interval must be at least 1ms");
+		}
+		if (!Double.isFinite(drift) || !Double.isFinite(volatility) || volatility < 0) {
+			throw new BadRequestException("Drift must be finite and volatility must be non-negative");
+		}
+		if (steps < 1 || steps > MAX_STEPS) {
+			throw new BadRequestException("Steps per bar must be between 1 and " + MAX_STEPS);
+		}
+	}
+
+	/**
+	 * Symbols for a feed of {@code count} tickers: the default symbols first,
+	 * then random three to five letter ones derived from the seed.
+	 */
+	public static List<String> symbols(int count, long seed) {
+		if (count <= DEFAULT_SYMBOLS.size()) {
+			return DEFAULT_SYMBOLS.subList(0, Math.max(count, 0));
+		}
+		Set<String> symbols = new LinkedHashSet<>(DEFAULT_SYMBOLS);
+		SplittableRandom random = new SplittableRandom(seed);
+		char[] letters = new char[5];
+		while (symbols.size() < count) {
+			int length = 3 + random.nextInt(3);
+			for (int i = 0; i < length; i++) {
+				letters[i] = (char) ('A' + random.nextInt(26));
+			}
+			symbols.add(new String(letters, 0, length));
+		}
+		return List.copyOf(symbols);
+	}
+
+}
@@ -0,0 +1,10 @@
+package com.tom.service.datagen.timeseries;
+
+public enum MarketProcess {
+
+	/** Arithmetic random walk: normal price increments scaled by the start price. */
+	RANDOM_WALK,
+	/** Geometric Brownian motion: normal log-returns, prices stay positive. */
+	GBM
+
+}
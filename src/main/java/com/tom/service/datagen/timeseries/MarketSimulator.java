@@ -0,0 +1,150 @@
+package com.tom.service.datagen.timeseries;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import com.tom.service.datagen.encoder.RowBuffer;
+import com.tom.service.datagen.encoder.RowLayout;
+import com.tom.service.datagen.model.later.StockMarket;
+
+/**
+ * Sequential OHLCV simulator. Every interval produces one bar per ticker, in
+ * ticker order, so bars come out in timestamp order. Per-ticker state lives
+ * in primitive arrays and bars are encoded straight into a {@link RowBuffer};
+ * the only allocation is the timestamp text, once per interval.
+ *
+ * <p>
+ * Not thread-safe: a feed is a single ordered stream.
+ */
+public final class MarketSimulator {
+
+	private static final double SECONDS_PER_YEAR = 365.25 * 24 * 60 * 60;
+	private static final double SECONDS_PER_TRADING_DAY = 6.5 * 60 * 60;
+	private static final int PRICE_SCALE = 2;
+	private static final double MIN_PRICE = 0.01;
+
+	private static final byte[] JSON_TICKER = bytes("{\"ticker\":\"");
+	private static final byte[] JSON_TIMESTAMP = bytes("\",\"timestamp\":\"");
+	private static final byte[] JSON_OPEN = bytes("\",\"open\":");
+	private static final byte[] JSON_HIGH = bytes(",\"high\":");
+	private static final byte[] JSON_LOW = bytes(",\"low\":");
+	private static final byte[] JSON_CLOSE = bytes(",\"close\":");
+	private static final byte[] JSON_VOLUME = bytes(",\"volume\":");
+
+	private final MarketProcess process;
+	private final int steps;
+	private final long intervalMillis;
+	private final long startMillis;
+	private final SplittableRandom random;
+
+	private final byte[][] symbols;
+	private final double[] price;
+	/** Mean and standard deviation of one sub-step, of the log-price for GBM. */
+	private final double[] stepMean;
+	private final double[] stepDeviation;
+	private final double[] barVolume;
+
+	private long interval;
+	private int ticker;
+	private byte[] timestamp;
+	private long emitted;
+
+	public MarketSimulator(MarketFeed feed) {
+		this.process = feed.process();
+		this.steps = feed.steps();
+		this.intervalMillis = feed.interval().toMillis();
+		this.startMillis = feed.start().toEpochMilli();
+		this.random = new SplittableRandom(feed.seed());
+
+		int tickers = feed.symbols().size();
+		this.symbols = new byte[tickers][];
+		this.price = new double[tickers];
+		this.stepMean = new double[tickers];
+		this.stepDeviation = new double[tickers];
+		this.barVolume = new double[tickers];
+
+		double dt = intervalMillis / 1000.0 / SECONDS_PER_YEAR / steps;
+		double volumeShare = Math.min(1, intervalMillis / 1000.0 / SECONDS_PER_TRADING_DAY);
+		for (int i = 0; i < tickers; i++) {
+			symbols[i] = bytes(feed.symbols().get(i));
+			price[i] = round(Math.exp(random.nextDouble(Math.log(10), Math.log(1000))));
+			// Spread volatility across tickers so the feed is not uniform
+			double sigma = feed.volatility() * random.nextDouble(0.5, 1.5);
+			if (process == MarketProcess.GBM) {
+				stepMean[i] = (feed.drift() - sigma * sigma / 2) * dt;
+				stepDeviation[i] = sigma * Math.sqrt(dt);
+			} else {
+				stepMean[i] = feed.drift() * price[i] * dt;
+				stepDeviation[i] = sigma * price[i] * Math.sqrt(dt);
+			}
+			barVolume[i] = Math.exp(random.nextDouble(Math.log(1e5), Math.log(5e7))) * volumeShare;
+		}
+	}
+
+	public static List<String> headers() {
+		return RowLayout.of(StockMarket.class).headers();
+	}
+
+	public long emitted() {
+		return emitted;
+	}
+
+	public long writeBars(RowBuffer out, BarFormat format, long count) {
+		for (long i = 0; i < count; i++) {
+			writeBar(out, format);
+		}
+		return count;
+	}
+
+	public void writeBar(RowBuffer out, BarFormat format) {
+		if (ticker == 0) {
+			Instant time = Instant.ofEpochMilli(startMillis + interval * intervalMillis);
+			timestamp = bytes(DateTimeFormatter.ISO_INSTANT.format(time));
+		}
+		int i = ticker;
+		double open = price[i];
+		double high = open;
+		double low = open;
+		double close = open;
+		for (int step = 0; step < steps; step++) {
+			double shock = stepMean[i] + stepDeviation[i] * random.nextGaussian();
+			close = process == MarketProcess.GBM ? close * Math.exp(shock) : Math.max(MIN_PRICE, close + shock);
+			high = Math.max(high, close);
+			low = Math.min(low, close);
+		}
+		price[i] = close;
+		// Log-normal with mean barVolume
+		long volume = Math.max(1, Math.round(barVolume[i] * Math.exp(0.5 * random.nextGaussian() - 0.125)));
+
+		if (format == BarFormat.JSON) {
+			out.write(JSON_TICKER).write(symbols[i]).write(JSON_TIMESTAMP).write(timestamp).write(JSON_OPEN)
+					.writeDecimal(open, PRICE_SCALE).write(JSON_HIGH).writeDecimal(high, PRICE_SCALE).write(JSON_LOW)
+					.writeDecimal(low, PRICE_SCALE).write(JSON_CLOSE).writeDecimal(close, PRICE_SCALE)
+					.write(JSON_VOLUME).writeLong(volume).write((byte) '}');
+		} else {
+			out.write(symbols[i]).write((byte) ',').write(timestamp).write((byte) ',')
+					.writeDecimal(open, PRICE_SCALE).write((byte) ',').writeDecimal(high, PRICE_SCALE)
+					.write((byte) ',').writeDecimal(low, PRICE_SCALE).write((byte) ',')
+					.writeDecimal(close, PRICE_SCALE).write((byte) ',').writeLong(volume);
+		}
+		out.write((byte) '\n');
+
+		emitted++;
+		if (++ticker == symbols.length) {
+			ticker = 0;
+			interval++;
+		}
+	}
+
+	private static double round(double value) {
+		return Math.round(value * 100) / 100.0;
+	}
+
+	private static byte[] bytes(String value) {
+		return value.getBytes(StandardCharsets.UTF_8);
+	}
+
+}
@@ -0,0 +1,60 @@
+package com.tom.service.datagen.unique;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Approximate tracker: a concurrent Bloom filter sized for the expected
+ * number of values and the configured false-positive rate. A false positive
+ * only costs a regenerated value, never a duplicate.
+ */
+final class BloomFilter implements UniquenessTracker {
+
+	private static final long MAX_BITS = 1L << 36;
+
+	private final AtomicLongArray words;
+	private final long bits;
+	private final int hashes;
+
+	BloomFilter(long expectedValues, double falsePositiveRate) {
+		long n = Math.max(1, expectedValues);
+		this.bits = bitsFor(n, falsePositiveRate);
+		this.hashes = Math.max(1, (int) Math.round((double) bits / n * Math.log(2)));
+		this.words = new AtomicLongArray((int) ((bits + 63) >>> 6));
+	}
+
+	static long footprint(long expectedValues, double falsePositiveRate) {
+		return (bitsFor(Math.max(1, expectedValues), falsePositiveRate) + 63) >>> 6 << 3;
+	}
+
+	private static long bitsFor(long n, double falsePositiveRate) {
+		double p = Math.min(Math.max(falsePositiveRate, 1e-12), 0.5);
+		long m = (long) Math.ceil(-n * Math.log(p) / (Math.log(2) * Math.log(2)));
+		return Math.min(MAX_BITS, Math.max(64, m));
+	}
+
+	@Override
+	public boolean add(CharSequence value) {
+		long h1 = Fingerprints.of(value);
+		long h2 = Fingerprints.mix(h1) | 1L;
+		boolean added = false;
+		for (int i = 0; i < hashes; i++) {
+			long bit = Long.remainderUnsigned(h1 + i * h2, bits);
+			added |= setBit(bit);
+		}
+		return added;
+	}
+
+	private boolean setBit(long bit) {
+		int index = (int) (bit >>> 6);
+		long mask = 1L << bit;
+		long word;
+		do {
+			word = words.get(index);
+			if ((word & mask) != 0) {
+				return false;
+			}
+		} while (!words.compareAndSet(index, word, word | mask));
+		return true;
+	}
+
+}
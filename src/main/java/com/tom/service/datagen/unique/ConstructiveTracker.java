@@ -0,0 +1,24 @@
+package com.tom.service.datagen.unique;
+
+/**
+ * Used when uniqueness is guaranteed by construction (the row number is part
+ * of the value), so there is nothing to look up.
+ */
+final class ConstructiveTracker implements UniquenessTracker {
+
+	static final ConstructiveTracker INSTANCE = new ConstructiveTracker();
+
+	private ConstructiveTracker() {
+	}
+
+	@Override
+	public boolean add(CharSequence value) {
+		return true;
+	}
+
+	@Override
+	public boolean isConstructive() {
+		return true;
+	}
+
+}
@@ -0,0 +1,61 @@
+package com.tom.service.datagen.unique;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.tom.service.datagen.exception.DataProcessingException;
+
+/**
+ * Exact tracker that stores 64-bit fingerprints in a lock-free open-addressing
+ * table of primitive longs, about 16 bytes per value instead of a full
+ * {@link String} plus hash-set node. The table is sized once from the
+ * expected number of values of the job.
+ */
+final class FingerprintSet implements UniquenessTracker {
+
+	private static final int MAX_CAPACITY = 1 << 30;
+	private static final long EMPTY = 0L;
+
+	private final AtomicLongArray slots;
+	private final int mask;
+
+	FingerprintSet(long expectedValues) {
+		int capacity = (int) Math.min(MAX_CAPACITY, capacityFor(expectedValues));
+		this.slots = new AtomicLongArray(capacity);
+		this.mask = capacity - 1;
+	}
+
+	/** Bytes of the table for {@code expectedValues}, or {@link Long#MAX_VALUE} when they cannot fit. */
+	static long footprint(long expectedValues) {
+		long capacity = capacityFor(expectedValues);
+		return capacity > MAX_CAPACITY ? Long.MAX_VALUE : capacity * Long.BYTES;
+	}
+
+	private static long capacityFor(long expectedValues) {
+		long wanted = Math.max(1024, expectedValues + (expectedValues >>> 1));
+		return Long.highestOneBit(wanted - 1) << 1;
+	}
+
+	@Override
+	public boolean add(CharSequence value) {
+		long fingerprint = Fingerprints.of(value);
+		if (fingerprint == EMPTY) {
+			fingerprint = 1L;
+		}
+		int index = (int) fingerprint & mask;
+		for (int probes = 0; probes <= mask; probes++) {
+			long current = slots.get(index);
+			if (current == fingerprint) {
+				return false;
+			}
+			if (current == EMPTY) {
+				if (slots.compareAndSet(index, EMPTY, fingerprint)) {
+					return true;
+				}
+				continue;
+			}
+			index = (index + 1) & mask;
+		}
+		throw new DataProcessingException("Uniqueness table is full");
+	}
+
+}
@@ -0,0 +1,13 @@
+package com.tom.service.datagen.unique;
+
+/**
+ * How emails and phone numbers are kept unique within a job. EXACT and
+ * APPROXIMATE redraw a value already taken by another row, so which row keeps
+ * it depends on the order chunks are generated in and on the offset a slice
+ * starts at: only CONSTRUCTIVE output is reproduced by a seed.
+ */
+public enum UniquenessMode {
+
+	EXACT, APPROXIMATE, CONSTRUCTIVE
+
+}
@@ -0,0 +1,44 @@
+package com.tom.service.datagen.unique;
+
+/**
+ * Time and retries spent on unique values by one generator context, read
+ * and reset per chunk so the hot path never touches a shared meter.
+ */
+public final class UniquenessStats {
+
+	private long nanos;
+	private long retries;
+	private long fallbacks;
+
+	public void time(long nanos) {
+		this.nanos += nanos;
+	}
+
+	public void retried(int attempts) {
+		retries += attempts;
+	}
+
+	/** A value that ran out of attempts and was made unique by tagging it with its row. */
+	public void fellBack() {
+		fallbacks++;
+	}
+
+	public long nanos() {
+		return nanos;
+	}
+
+	public long retries() {
+		return retries;
+	}
+
+	public long fallbacks() {
+		return fallbacks;
+	}
+
+	public void reset() {
+		nanos = 0;
+		retries = 0;
+		fallbacks = 0;
+	}
+
+}
@@ -0,0 +1,32 @@
+package com.tom.service.datagen.unique;
+
+public interface UniquenessTracker {
+
+	/**
+	 * Records the value and returns {@code true} when it had not been seen
+	 * before by this tracker.
+	 */
+	boolean add(CharSequence value);
+
+	default boolean isConstructive() {
+		return false;
+	}
+
+	/** Bytes a tracker created with these arguments takes, {@link Long#MAX_VALUE} when it cannot be built. */
+	static long footprint(UniquenessMode mode, long expectedValues, double falsePositiveRate) {
+		return switch (mode) {
+		case EXACT -> FingerprintSet.footprint(expectedValues);
+		case APPROXIMATE -> BloomFilter.footprint(expectedValues, falsePositiveRate);
+		case CONSTRUCTIVE -> 0;
+		};
+	}
+
+	static UniquenessTracker create(UniquenessMode mode, long expectedValues, double falsePositiveRate) {
+		return switch (mode) {
+		case EXACT -> new FingerprintSet(expectedValues);
+		case APPROXIMATE -> new BloomFilter(expectedValues, falsePositiveRate);
+		case CONSTRUCTIVE -> ConstructiveTracker.INSTANCE;
+		};
+	}
+
+}
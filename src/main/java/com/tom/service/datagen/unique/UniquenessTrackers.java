@@ -0,0 +1,61 @@
+package com.tom.service.datagen.unique;
+
+/**
+ * The email and phone number trackers of one job. They can take gigabytes
+ * for large jobs, so they are only allocated once the job starts generating
+ * and can be released as soon as it is done, while the job itself may stay
+ * queued or be kept around for its status.
+ */
+public final class UniquenessTrackers {
+
+	private final UniquenessMode mode;
+	private final long expectedValues;
+	private final double falsePositiveRate;
+	// Read for every row, so only allocation takes the lock
+	private volatile UniquenessTracker emails;
+	private volatile UniquenessTracker phoneNumbers;
+
+	public UniquenessTrackers(UniquenessMode mode, long expectedValues, double falsePositiveRate) {
+		this.mode = mode;
+		this.expectedValues = expectedValues;
+		this.falsePositiveRate = falsePositiveRate;
+	}
+
+	/** Bytes both trackers take once allocated. */
+	public static long footprint(UniquenessMode mode, long expectedValues, double falsePositiveRate) {
+		long one = UniquenessTracker.footprint(mode, expectedValues, falsePositiveRate);
+		return one > Long.MAX_VALUE / 2 ? Long.MAX_VALUE : one * 2;
+	}
+
+	public UniquenessTracker emails() {
+		UniquenessTracker tracker = emails;
+		if (tracker == null) {
+			synchronized (this) {
+				if (emails == null) {
+					emails = UniquenessTracker.create(mode, expectedValues, falsePositiveRate);
+				}
+				tracker = emails;
+			}
+		}
+		return tracker;
+	}
+
+	public UniquenessTracker phoneNumbers() {
+		UniquenessTracker tracker = phoneNumbers;
+		if (tracker == null) {
+			synchronized (this) {
+				if (phoneNumbers == null) {
+					phoneNumbers = UniquenessTracker.create(mode, expectedValues, falsePositiveRate);
+				}
+				tracker = phoneNumbers;
+			}
+		}
+		return tracker;
+	}
+
+	public synchronized void release() {
+		emails = null;
+		phoneNumbers = null;
+	}
+
+}
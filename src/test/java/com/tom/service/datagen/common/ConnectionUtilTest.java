@@ -0,0 +1,77 @@
+package com.tom.service.datagen.common;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.tom.service.datagen.format.Compression;
+import com.tom.service.datagen.format.OutputFormat;
+import com.tom.service.datagen.store.ResultStore;
+import com.tom.service.datagen.store.StoredResult;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+
+class ConnectionUtilTest {
+
+	private static final String CSV = "id,name\n1,alpha\n2,beta\n3,gamma\n";
+
+	@TempDir
+	Path directory;
+
+	private MockMvc mvc;
+
+	@BeforeEach
+	void storeGzipResult() throws Exception {
+		ResultStore store = new ResultStore(directory, DataSize.ofMegabytes(1), DataSize.ofMegabytes(1),
+				DataSize.ofKilobytes(8), Duration.ofMinutes(1), new SimpleMeterRegistry());
+		StoredResult result = store.put(CSV.getBytes(StandardCharsets.UTF_8), OutputFormat.CSV, Compression.GZIP);
+		mvc = MockMvcBuilders.standaloneSetup(new ResultController(new ConnectionUtil(), result)).build();
+	}
+
+	@Test
+	void servesDecodedRangeToClientWithoutGzip() throws Exception {
+		mvc.perform(get("/result").header(HttpHeaders.RANGE, "bytes=8-15")
+				.header(HttpHeaders.ACCEPT_ENCODING, "identity"))
+				.andExpect(status().isPartialContent())
+				.andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+				.andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 8-15/" + CSV.length()))
+				.andExpect(content().string(CSV.substring(8, 16)));
+	}
+
+	@Test
+	void servesWholeDecodedResultWithItsLength() throws Exception {
+		mvc.perform(get("/result"))
+				.andExpect(status().isOk())
+				.andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, CSV.length()))
+				.andExpect(content().string(CSV));
+	}
+
+	@RestController
+	record ResultController(ConnectionUtil util, StoredResult result) {
+
+		@GetMapping("/result")
+		ResponseEntity<Resource> download(HttpServletRequest request) {
+			return util.buildResultResponse(result, "result", null, request);
+		}
+
+	}
+
+}
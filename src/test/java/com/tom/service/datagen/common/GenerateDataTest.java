@@ -0,0 +1,89 @@
+package com.tom.service.datagen.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tom.service.datagen.engine.GenerationJob;
+import com.tom.service.datagen.dto.ProfileRequest;
+import com.tom.service.datagen.format.Compression;
+import com.tom.service.datagen.format.OutputFormat;
+import com.tom.service.datagen.dto.ProfileRequest.Bucket;
+import com.tom.service.datagen.model.Employee;
+import com.tom.service.datagen.model.enums.Gender;
+import com.tom.service.datagen.pool.EmployeePools;
+import com.tom.service.datagen.pool.ValuePools;
+import com.tom.service.datagen.profile.EmployeeProfile;
+import com.tom.service.datagen.unique.UniquenessMode;
+
+class GenerateDataTest {
+
+	private final GenerateData data = new GenerateData();
+	private final EmployeePools pools = new ValuePools(256, 7919L, "", "-", new ObjectMapper()).current();
+
+	@Test
+	void sameSeedGeneratesSameRowRegardlessOfOrder() {
+		GenerationJob forward = GenerationJob.of(100, 0, 42L, pools);
+		GenerationJob slice = GenerationJob.of(10, 90, 42L, pools);
+
+		Employee[] rows = new Employee[100];
+		for (int row = 0; row < 100; row++) {
+			rows[row] = data.generateSingleEmployee(forward, row);
+		}
+
+		for (int row = 99; row >= 90; row--) {
+			assertThat(data.generateSingleEmployee(slice, row)).isEqualTo(rows[row]);
+		}
+	}
+
+	@Test
+	void differentSeedsDiverge() {
+		Employee first = data.generateSingleEmployee(GenerationJob.of(1, 0, 1L, pools), 0);
+		Employee second = data.generateSingleEmployee(GenerationJob.of(1, 0, 2L, pools), 0);
+
+		assertThat(first).isNotEqualTo(second);
+	}
+
+	@Test
+	void hireDatesFollowTheReferenceDate() {
+		LocalDate referenceDate = LocalDate.of(2020, 2, 29);
+		GenerationJob job = GenerationJob.of(1, 0, 42L, referenceDate, UniquenessMode.EXACT, 0.001,
+				OutputFormat.CSV, Compression.NONE, pools);
+		GenerationJob replay = GenerationJob.of(1, 0, 42L, referenceDate, UniquenessMode.EXACT, 0.001,
+				OutputFormat.CSV, Compression.NONE, pools);
+
+		Employee employee = data.generateSingleEmployee(job, 0);
+
+		assertThat(employee).isEqualTo(data.generateSingleEmployee(replay, 0));
+		assertThat(employee.getHireDate()).isBefore(referenceDate).isAfterOrEqualTo(referenceDate.minusDays(3650));
+	}
+
+	@Test
+	void concurrentJobsUseTheirOwnProfile() {
+		EmployeeProfile juniorMen = EmployeeProfile.compile(new ProfileRequest("junior-men", 100,
+				List.of(new Bucket(20, 25, 1)), List.of(new Bucket(0, 2, 3), new Bucket(3, 3, 1)), null, null, null),
+				false);
+		EmployeeProfile seniorWomen = EmployeeProfile.compile(new ProfileRequest("senior-women", 0,
+				List.of(new Bucket(50, 60, 1)), null, List.of(new Bucket(90000, 90000, 1)), null, null), false);
+		GenerationJob men = GenerationJob.of(2000, 0, 3L, pools).withProfile(juniorMen);
+		GenerationJob women = GenerationJob.of(2000, 0, 3L, pools).withProfile(seniorWomen);
+
+		CompletableFuture<Boolean> allMen = CompletableFuture.supplyAsync(() -> LongStream.range(0, 2000)
+				.mapToObj(row -> data.generate(men, row))
+				.allMatch(emp -> emp.getGender() == Gender.MALE && emp.getAge() >= 20 && emp.getAge() <= 25
+						&& emp.getYearsOfExperience() <= 3));
+		boolean allWomen = LongStream.range(0, 2000).parallel()
+				.mapToObj(row -> data.generate(women, row))
+				.allMatch(emp -> emp.getGender() == Gender.FEMALE && emp.getAge() >= 50 && emp.getSalary() == 90000);
+
+		assertThat(allMen.join()).isTrue();
+		assertThat(allWomen).isTrue();
+	}
+
+}
@@ -0,0 +1,181 @@
+package com.tom.service.datagen.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongConsumer;
+
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.util.unit.DataSize;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
+import com.tom.service.datagen.common.ConnectionUtil;
+import com.tom.service.datagen.common.GenerateData;
+import com.tom.service.datagen.engine.GenerationEngine;
+import com.tom.service.datagen.engine.GenerationJob;
+import com.tom.service.datagen.exception.global.GlobalExceptionHandler;
+import com.tom.service.datagen.format.Compression;
+import com.tom.service.datagen.format.DatasetWriters;
+import com.tom.service.datagen.job.JobService;
+import com.tom.service.datagen.job.JobState;
+import com.tom.service.datagen.metrics.GenerationMetrics;
+import com.tom.service.datagen.pool.ValuePools;
+import com.tom.service.datagen.profile.ProfileRegistry;
+import com.tom.service.datagen.quota.QuotaService;
+import com.tom.service.datagen.service.DatasetService;
+import com.tom.service.datagen.service.EmployeeService;
+import com.tom.service.datagen.store.ResultStore;
+import com.tom.service.datagen.store.StoredResult;
+import com.tom.service.datagen.unique.UniquenessMode;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class JobControllerTest {
+
+	@TempDir
+	Path directory;
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	private final GenerationEngine engine = new GenerationEngine(2);
+	/** Holds finished generations back until opened, so that jobs can be queued and cancelled. */
+	private final CountDownLatch gate = new CountDownLatch(1);
+	private final CountDownLatch generated = new CountDownLatch(1);
+
+	private ResultStore store;
+	private JobService jobs;
+	private MockMvc mvc;
+
+	@BeforeEach
+	void setUp() {
+		store = new ResultStore(directory, DataSize.ofMegabytes(1), DataSize.ofMegabytes(16), DataSize.ofKilobytes(64),
+				Duration.ofMinutes(1), registry);
+		ConnectionUtil util = new ConnectionUtil();
+		DatasetService datasets = new DatasetService(util, engine, store,
+				new ValuePools(256, 7919L, "", "-", new ObjectMapper()),
+				new DatasetWriters(CompressionCodecName.SNAPPY, DataSize.ofMegabytes(1), DataSize.ofMegabytes(64)),
+				new GenerationMetrics(registry));
+		ReflectionTestUtils.setField(datasets, "batchSize", 100);
+		ReflectionTestUtils.setField(datasets, "uniquenessMode", UniquenessMode.EXACT);
+		ReflectionTestUtils.setField(datasets, "falsePositiveRate", 0.001);
+		ReflectionTestUtils.setField(datasets, "uniquenessBudget", DataSize.ofMegabytes(64));
+		ReflectionTestUtils.setField(datasets, "storeCompression", Compression.GZIP);
+		EmployeeService employees = new EmployeeService(datasets, null, null, new GenerateData(),
+				new ProfileRegistry(16)) {
+			@Override
+			public StoredResult generateToStore(GenerationJob job, LongConsumer onProgress) throws IOException {
+				StoredResult result = super.generateToStore(job, onProgress);
+				generated.countDown();
+				awaitGate();
+				return result;
+			}
+		};
+		jobs = new JobService(employees, 1, 1, Duration.ofMinutes(1), false, registry);
+		QuotaService quotas = new QuotaService(false, 60, 1000, List.of(), "X-Api-Key", "", "", "", "datagen_quota",
+				registry);
+		mvc = MockMvcBuilders.standaloneSetup(new JobController(jobs, employees, util, quotas))
+				.setControllerAdvice(new GlobalExceptionHandler()).build();
+	}
+
+	@AfterEach
+	void tearDown() {
+		gate.countDown();
+		jobs.shutdown();
+		engine.shutdown();
+	}
+
+	@Test
+	void servesRangesOfACompletedJob() throws Exception {
+		gate.countDown();
+		String id = submit();
+		awaitCondition(() -> jobs.get(id).getState() == JobState.COMPLETED);
+
+		mvc.perform(get("/v1/employee/jobs/" + id)).andExpect(jsonPath("$.state").value("COMPLETED"))
+				.andExpect(jsonPath("$.rowsGenerated").value(500));
+		byte[] whole = mvc.perform(get("/v1/employee/jobs/" + id + "/download"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsByteArray();
+		mvc.perform(get("/v1/employee/jobs/" + id + "/download").header(HttpHeaders.RANGE, "bytes=10-41"))
+				.andExpect(status().isPartialContent())
+				.andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 10-41/" + whole.length))
+				.andExpect(result -> assertThat(result.getResponse().getContentAsByteArray())
+						.isEqualTo(Arrays.copyOfRange(whole, 10, 42)));
+	}
+
+	@Test
+	void rejectsJobsOnceTheQueueIsFull() throws Exception {
+		submit();
+		assertThat(generated.await(10, TimeUnit.SECONDS)).isTrue();
+		submit();
+
+		mvc.perform(post("/v1/employee/jobs/500")).andExpect(status().isTooManyRequests());
+	}
+
+	@Test
+	void cancelledJobsLeaveNoResultBehind() throws Exception {
+		String id = submit();
+		assertThat(generated.await(10, TimeUnit.SECONDS)).isTrue();
+
+		mvc.perform(delete("/v1/employee/jobs/" + id)).andExpect(status().isOk())
+				.andExpect(jsonPath("$.state").value("CANCELLED"))
+				.andExpect(jsonPath("$.downloadUrl").doesNotExist());
+		gate.countDown();
+
+		awaitCondition(() -> store.size() == 0);
+		assertThat(jobs.get(id).getState()).isEqualTo(JobState.CANCELLED);
+		mvc.perform(get("/v1/employee/jobs/" + id + "/download")).andExpect(status().isNotFound());
+	}
+
+	private String submit() throws Exception {
+		String body = mvc.perform(post("/v1/employee/jobs/500").param("seed", "42"))
+				.andExpect(status().isAccepted())
+				.andReturn().getResponse().getContentAsString();
+		return JsonPath.read(body, "$.id");
+	}
+
+	private void awaitGate() {
+		boolean interrupted = false;
+		while (true) {
+			try {
+				gate.await();
+				break;
+			} catch (InterruptedException e) {
+				// Cancelling interrupts the worker; the result is already stored by then
+				interrupted = true;
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		while (!condition.getAsBoolean()) {
+			assertThat(System.nanoTime()).as("condition met in time").isLessThan(deadline);
+			Thread.sleep(10);
+		}
+	}
+
+}
@@ -0,0 +1,60 @@
+package com.tom.service.datagen.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.tom.service.datagen.exception.global.GlobalExceptionHandler;
+import com.tom.service.datagen.metrics.GenerationMetrics;
+import com.tom.service.datagen.quota.QuotaService;
+import com.tom.service.datagen.service.MarketFeedService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class TimeSeriesControllerTest {
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+	private MockMvc mvc;
+
+	@BeforeEach
+	void setUp() {
+		MarketFeedService service = new MarketFeedService(new GenerationMetrics(registry));
+		ReflectionTestUtils.setField(service, "batchSize", 100);
+		ReflectionTestUtils.setField(service, "maxTickers", 100);
+		QuotaService quotas = new QuotaService(true, 60, 1000, List.of(), "X-Api-Key", "", "", "", "datagen_quota",
+				registry);
+		mvc = MockMvcBuilders.standaloneSetup(new TimeSeriesController(service, quotas))
+				.setControllerAdvice(new GlobalExceptionHandler()).build();
+	}
+
+	@Test
+	void rejectsTickerCountsOverTheLimit() throws Exception {
+		mvc.perform(post("/v1/timeseries/stock-market/10").param("count", Integer.toString(Integer.MAX_VALUE)))
+				.andExpect(status().isBadRequest());
+		mvc.perform(post("/v1/timeseries/stock-market/10").param("count", "0"))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void refundsStreamsRejectedForTheirRate() throws Exception {
+		for (int i = 0; i < 2; i++) {
+			mvc.perform(post("/v1/timeseries/stock-market/stream").param("bars", "1000").param("rate", "-1"))
+					.andExpect(status().isBadRequest());
+		}
+	}
+
+	@Test
+	void generatesBarsForTickerCountsWithinTheLimit() throws Exception {
+		mvc.perform(post("/v1/timeseries/stock-market/10").param("count", "100").param("seed", "42"))
+				.andExpect(status().isCreated());
+	}
+
+}
@@ -0,0 +1,30 @@
+package com.tom.service.datagen.distribution;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class AliasTableTest {
+
+	@Test
+	void samplesFollowWeights() {
+		double[] weights = { 5, 0, 1, 3, 0.5, 0.5 };
+		AliasTable table = new AliasTable(weights);
+		Random random = new Random(11);
+		int draws = 1_000_000;
+		int[] counts = new int[weights.length];
+		for (int i = 0; i < draws; i++) {
+			counts[table.sample(random)]++;
+		}
+
+		for (int i = 0; i < weights.length; i++) {
+			double expected = weights[i] / 10;
+			assertThat(counts[i] / (double) draws).isCloseTo(expected, within(expected * 0.02 + 1e-4));
+		}
+		assertThat(counts[1]).isZero();
+	}
+
+}
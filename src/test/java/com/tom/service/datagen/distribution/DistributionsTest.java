@@ -0,0 +1,114 @@
+package com.tom.service.datagen.distribution;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class DistributionsTest {
+
+	private static final int DRAWS = 1_000_000;
+
+	@Test
+	void zigguratMatchesTheStandardNormal() {
+		Random random = new Random(3);
+		double sum = 0;
+		double squares = 0;
+		int beyondTwo = 0;
+		int beyondThree = 0;
+		for (int i = 0; i < DRAWS; i++) {
+			double z = Ziggurat.nextGaussian(random);
+			sum += z;
+			squares += z * z;
+			beyondTwo += Math.abs(z) > 2 ? 1 : 0;
+			beyondThree += Math.abs(z) > 3 ? 1 : 0;
+		}
+
+		assertThat(sum / DRAWS).isCloseTo(0, within(0.005));
+		assertThat(squares / DRAWS).isCloseTo(1, within(0.01));
+		assertThat(beyondTwo / (double) DRAWS).isCloseTo(0.0455, within(0.001));
+		assertThat(beyondThree / (double) DRAWS).isCloseTo(0.0027, within(0.0003));
+	}
+
+	@Test
+	void parsedDistributionsHaveTheirExpectedMeansAndInvertibleQuantiles() {
+		Map<Map<String, Object>, Double> means = Map.of(
+				Map.of("type", "normal", "mean", 10, "stdDev", 2), 10.0,
+				Map.of("type", "lognormal", "median", 100, "sigma", 0.5), 100 * Math.exp(0.125),
+				Map.of("type", "pareto", "scale", 1, "shape", 3), 1.5,
+				Map.of("type", "uniform", "min", -1, "max", 3), 1.0,
+				Map.of("type", "empirical", "edges", List.of(0, 1, 3), "weights", List.of(1, 3)), 1.625,
+				Map.of("type", "normal", "mean", 0, "stdDev", 1, "min", 0), Math.sqrt(2 / Math.PI));
+		Random random = new Random(17);
+		means.forEach((spec, mean) -> {
+			Distribution distribution = Distributions.parse(spec, IllegalStateException::new);
+			double sum = 0;
+			for (int i = 0; i < DRAWS; i++) {
+				sum += distribution.draw(random);
+			}
+			assertThat(sum / DRAWS).as(spec.toString()).isCloseTo(mean, within(Math.abs(mean) * 0.01 + 0.005));
+			for (double p : new double[] { 0.01, 0.3, 0.5, 0.9 }) {
+				assertThat(distribution.cdf(distribution.quantile(p))).as(spec.toString()).isCloseTo(p, within(1e-6));
+			}
+		});
+
+		assertThatThrownBy(() -> Distributions.parse(Map.of("type", "gamma"), IllegalStateException::new))
+				.hasMessageContaining("unknown type");
+		assertThatThrownBy(() -> Distributions.parse(Map.of("type", "normal", "mean", 1, "stdDev", -1),
+				IllegalStateException::new)).hasMessageContaining("positive standard deviation");
+	}
+
+	@Test
+	void correlatedDrawsKeepMarginalsAndCorrelation() {
+		Distribution salary = new LogNormalDistribution(60000, 0.4);
+		CorrelatedSampler sampler = new CorrelatedSampler(
+				new Distribution[] { new NormalDistribution(40, 10), new UniformDistribution(0, 30), salary },
+				new double[][] { { 1, 0.8, 0.5 }, { 0.8, 1, 0.6 }, { 0.5, 0.6, 1 } });
+		Random random = new Random(23);
+		int n = 200_000;
+		double[] age = new double[n];
+		double[] logSalary = new double[n];
+		double[] out = new double[3];
+		for (int i = 0; i < n; i++) {
+			sampler.draw(random, out);
+			age[i] = out[0];
+			logSalary[i] = salary.toNormal(out[2]);
+			assertThat(out[1]).isBetween(0.0, 30.0);
+		}
+
+		assertThat(mean(age)).isCloseTo(40, within(0.1));
+		assertThat(mean(logSalary)).isCloseTo(0, within(0.01));
+		assertThat(pearson(age, logSalary)).isCloseTo(0.5, within(0.01));
+		assertThatThrownBy(() -> new CorrelatedSampler(new Distribution[] { salary, salary, salary },
+				new double[][] { { 1, 0.9, -0.9 }, { 0.9, 1, 0.9 }, { -0.9, 0.9, 1 } }))
+				.hasMessageContaining("positive definite");
+	}
+
+	private static double mean(double[] values) {
+		double sum = 0;
+		for (double value : values) {
+			sum += value;
+		}
+		return sum / values.length;
+	}
+
+	private static double pearson(double[] x, double[] y) {
+		double meanX = mean(x);
+		double meanY = mean(y);
+		double xy = 0;
+		double xx = 0;
+		double yy = 0;
+		for (int i = 0; i < x.length; i++) {
+			xy += (x[i] - meanX) * (y[i] - meanY);
+			xx += (x[i] - meanX) * (x[i] - meanX);
+			yy += (y[i] - meanY) * (y[i] - meanY);
+		}
+		return xy / Math.sqrt(xx * yy);
+	}
+
+}
@@ -0,0 +1,35 @@
+package com.tom.service.datagen.distribution;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class ZipfDistributionTest {
+
+	@Test
+	void ranksFollowZipfFrequencies() {
+		int n = 1000;
+		double exponent = 1.1;
+		ZipfDistribution zipf = new ZipfDistribution(n, exponent);
+		Random random = new Random(5);
+		int draws = 1_000_000;
+		int[] counts = new int[n + 1];
+		for (int i = 0; i < draws; i++) {
+			counts[zipf.sample(random)]++;
+		}
+
+		double normalization = 0;
+		for (int k = 1; k <= n; k++) {
+			normalization += Math.pow(k, -exponent);
+		}
+		for (int k : new int[] { 1, 2, 10, 100 }) {
+			double expected = Math.pow(k, -exponent) / normalization;
+			assertThat(counts[k] / (double) draws).isCloseTo(expected, within(expected * 0.05 + 1e-4));
+		}
+		assertThat(counts[0]).isZero();
+	}
+
+}
@@ -0,0 +1,41 @@
+package com.tom.service.datagen.encoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.tom.service.datagen.model.Employee;
+import com.tom.service.datagen.model.enums.Gender;
+
+class CsvRowEncoderTest {
+
+	private final CsvRowEncoder<Employee> encoder = CsvRowEncoder.of(Employee.class);
+
+	@Test
+	void headerMatchesEveryEmployeeField() {
+		RowBuffer buffer = new RowBuffer();
+		encoder.encodeHeader(buffer);
+
+		String header = new String(buffer.toByteArray(), StandardCharsets.UTF_8).trim();
+
+		assertThat(header.split(",")).hasSize(Employee.class.getDeclaredFields().length).contains("Active");
+	}
+
+	@Test
+	void encodesRowWithQuotingAndNulls() {
+		Employee emp = new Employee(7L, "Zoë", "O\"Neil", "zoe@example.com", 31, "(305) 705-5233", Gender.FEMALE,
+				"Consumer Goods", "Engineer", 450000, 12, "Suite 1, Springfield", LocalDate.of(2021, 3, 9), true, null);
+		RowBuffer buffer = new RowBuffer(16);
+
+		encoder.encode(List.of(emp), buffer);
+
+		assertThat(new String(buffer.toByteArray(), StandardCharsets.UTF_8))
+				.isEqualTo("7,Zoë,\"O\"\"Neil\",zoe@example.com,31,(305) 705-5233,FEMALE,Consumer Goods,Engineer,"
+						+ "450000.0,12,\"Suite 1, Springfield\",2021-03-09,true,\n");
+	}
+
+}
@@ -0,0 +1,93 @@
+package com.tom.service.datagen.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class TaskScopeTest {
+
+	@Test
+	void failureCancelsSiblingsAndCloseWaitsForThem() throws Exception {
+		CountDownLatch interrupted = new CountDownLatch(3);
+		AtomicInteger exited = new AtomicInteger();
+		CountDownLatch started = new CountDownLatch(3);
+		Future<Integer> failing;
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			try (TaskScope<Integer> scope = new TaskScope<>(executor)) {
+				for (int i = 0; i < 3; i++) {
+					scope.fork(() -> {
+						started.countDown();
+						try {
+							Thread.sleep(60_000);
+						} catch (InterruptedException e) {
+							interrupted.countDown();
+							// Slow to react, close must still wait for it
+							Thread.sleep(50);
+						} finally {
+							exited.incrementAndGet();
+						}
+						return 0;
+					});
+				}
+				started.await();
+				failing = scope.fork(() -> {
+					throw new IllegalStateException("boom");
+				});
+				// Cancelled by the failure, before the scope is closed
+				assertThat(interrupted.await(10, TimeUnit.SECONDS)).isTrue();
+				assertThat(scope.failure()).hasMessage("boom");
+			}
+			assertThat(exited).hasValue(3);
+		}
+		assertThat(failing.state()).isEqualTo(Future.State.FAILED);
+	}
+
+	@Test
+	void closeCancelsSubtasksNobodyWaitedFor() {
+		AtomicInteger interrupted = new AtomicInteger();
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			try (TaskScope<Integer> scope = new TaskScope<>(executor)) {
+				scope.fork(() -> {
+					try {
+						Thread.sleep(60_000);
+					} catch (InterruptedException e) {
+						interrupted.incrementAndGet();
+					}
+					return 0;
+				});
+				assertThat(scope.fork(() -> 1).get()).isEqualTo(1);
+			} catch (Exception e) {
+				throw new AssertionError(e);
+			}
+			assertThat(interrupted).hasValue(1);
+		}
+	}
+
+	@Test
+	void closeReturnsWhenTheExecutorDroppedQueuedSubtasks() throws Exception {
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		TaskScope<Integer> scope = new TaskScope<>(executor);
+		CountDownLatch started = new CountDownLatch(1);
+		scope.fork(() -> {
+			started.countDown();
+			Thread.sleep(60_000);
+			return 0;
+		});
+		Future<Integer> queued = scope.fork(() -> 1);
+		started.await();
+
+		assertThat(executor.shutdownNow()).hasSize(1);
+		assertTimeoutPreemptively(Duration.ofSeconds(10), scope::close);
+		assertThat(queued.isCancelled()).isTrue();
+	}
+
+}
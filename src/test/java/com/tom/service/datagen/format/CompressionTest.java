@@ -0,0 +1,44 @@
+package com.tom.service.datagen.format;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+class CompressionTest {
+
+	@Test
+	void roundTripsWithoutClosingTheTarget() throws Exception {
+		byte[] text = "Id,First Name\n1,Ana\n".repeat(1000).getBytes(StandardCharsets.UTF_8);
+		for (Compression compression : Compression.values()) {
+			ByteArrayOutputStream target = new ByteArrayOutputStream();
+			try (OutputStream out = compression.compress(target)) {
+				out.write(text);
+			}
+			target.write('\n');
+
+			byte[] encoded = target.toByteArray();
+			try (InputStream in = compression.decompress(
+					new ByteArrayInputStream(encoded, 0, encoded.length - 1))) {
+				assertThat(in.readAllBytes()).isEqualTo(text);
+			}
+		}
+	}
+
+	@Test
+	void negotiatesFromAcceptEncoding() {
+		assertThat(Compression.negotiate("gzip, deflate, br, zstd")).isEqualTo(Compression.ZSTD);
+		assertThat(Compression.negotiate("gzip;q=1.0, zstd;q=0")).isEqualTo(Compression.GZIP);
+		assertThat(Compression.negotiate("*")).isEqualTo(Compression.GZIP);
+		assertThat(Compression.negotiate("identity")).isEqualTo(Compression.NONE);
+		assertThat(Compression.negotiate(null)).isEqualTo(Compression.NONE);
+		assertThat(Compression.GZIP.isAcceptedBy("br, gzip")).isTrue();
+		assertThat(Compression.ZSTD.isAcceptedBy("gzip")).isFalse();
+	}
+
+}
@@ -0,0 +1,72 @@
+package com.tom.service.datagen.format;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.apache.parquet.column.Encoding;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.io.LocalInputFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.tom.service.datagen.encoder.RowLayout;
+import com.tom.service.datagen.model.Employee;
+import com.tom.service.datagen.model.enums.Gender;
+
+class ParquetDatasetWriterTest {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void writesReadableFileWithDictionaryEncodedColumns() throws Exception {
+		Path file = directory.resolve("employees.parquet");
+		List<Employee> rows = List.of(employee(1, "Retail"), employee(2, "Retail"), employee(3, "Banking"));
+
+		try (OutputStream out = Files.newOutputStream(file);
+				ParquetDatasetWriter<Employee> writer = new ParquetDatasetWriter<>(RowLayout.of(Employee.class), out,
+						CompressionCodecName.SNAPPY, 1 << 20)) {
+			writer.write(writer.prepare(rows));
+			writer.finish();
+		}
+
+		try (ParquetFileReader reader = ParquetFileReader.open(new LocalInputFile(file))) {
+			assertThat(reader.getRecordCount()).isEqualTo(3);
+			assertThat(reader.getFileMetaData().getSchema().getFieldCount())
+					.isEqualTo(Employee.class.getDeclaredFields().length);
+			ColumnChunkMetaData department = reader.getRowGroups().get(0).getColumns().stream()
+					.filter(column -> column.getPath().toDotString().equals("department"))
+					.findFirst()
+					.orElseThrow();
+			assertThat(department.getEncodings()).contains(Encoding.PLAIN_DICTIONARY);
+		}
+	}
+
+	@Test
+	void leavesNoFooterWhenClosedUnfinished() throws Exception {
+		Path file = directory.resolve("failed.parquet");
+
+		try (OutputStream out = Files.newOutputStream(file);
+				ParquetDatasetWriter<Employee> writer = new ParquetDatasetWriter<>(RowLayout.of(Employee.class), out,
+						CompressionCodecName.SNAPPY, 1 << 20)) {
+			writer.write(writer.prepare(List.of(employee(1, "Retail"))));
+		}
+
+		assertThatThrownBy(() -> ParquetFileReader.open(new LocalInputFile(file)).close())
+				.hasMessageContaining("not a Parquet file");
+	}
+
+	private static Employee employee(long id, String department) {
+		return new Employee(id, "Ana", "Silva", "ana" + id + "@example.com", 30, "(305) 705-5233", Gender.FEMALE,
+				department, "Engineer", 1000.0, 5, "Street 1", LocalDate.of(2020, 1, 1), true, null);
+	}
+
+}
@@ -0,0 +1,34 @@
+package com.tom.service.datagen.pool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import net.datafaker.Faker;
+
+class EmployeePoolsTest {
+
+	private final EmployeePools pools = EmployeePools.sample(new Faker(new Random(1)), 64);
+
+	@Test
+	void composesValuesFromPooledParts() {
+		Random random = new Random(3);
+		StringBuilder text = new StringBuilder();
+
+		assertThat(pools.email(text, random, "ana", "silva", 0)).matches("ana[._]?silva@example\\.(com|org|net)");
+		assertThat(pools.phoneNumber(text, random)).matches(".*\\d{3}.*\\d{4}.*");
+		assertThat(pools.fullAddress(text, random)).matches(".+, .+, [A-Z]{2} \\d{5}(-\\d{4})?");
+		assertThat(pools.lastNames().slug(0)).matches("[a-z0-9]+");
+	}
+
+	@Test
+	void snapshotRoundTripKeepsEveryPool() {
+		EmployeePools restored = EmployeePools.fromSnapshot(pools.toSnapshot());
+
+		assertThat(restored.toSnapshot()).isEqualTo(pools.toSnapshot());
+		assertThat(restored.jobTitles().size()).isEqualTo(pools.jobTitles().size());
+	}
+
+}
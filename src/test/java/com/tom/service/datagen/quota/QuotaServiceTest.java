@@ -0,0 +1,106 @@
+package com.tom.service.datagen.quota;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.function.LongPredicate;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.tom.service.datagen.exception.BadRequestException;
+import com.tom.service.datagen.exception.TooManyRequestsException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class QuotaServiceTest {
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	private final QuotaService quotas = new QuotaService(true, 60, 1000, List.of("user:reporting=60/5000",
+			"key:85dbe15d75ef9308c7ae0f33c7a324cc6f4bf519a2ed2f3027bd33c140a4f9aa=60"), "X-Api-Key", "", "", "",
+			"datagen_quota", registry);
+	private final MockHttpServletRequest request = new MockHttpServletRequest();
+
+	@BeforeEach
+	void bindRequest() {
+		request.setRemoteAddr("10.0.0.1");
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+	}
+
+	@AfterEach
+	void clear() {
+		RequestContextHolder.resetRequestAttributes();
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void chargesRowsUntilTheBurstIsSpent() {
+		quotas.charge(600);
+		quotas.charge(400);
+
+		assertThatThrownBy(() -> quotas.charge(10)).isInstanceOfSatisfying(TooManyRequestsException.class,
+				e -> assertThat(e.getRetryAfter()).isPositive());
+		assertThat(registry.counter("datagen.quota.rejected").count()).isEqualTo(1);
+		assertThatThrownBy(() -> quotas.charge(1001)).isInstanceOf(BadRequestException.class);
+
+		// Another address has its own bucket
+		request.setRemoteAddr("10.0.0.2");
+		quotas.charge(1000);
+	}
+
+	@Test
+	void usersAndApiKeysHaveTheirOwnLimits() {
+		SecurityContextHolder.getContext().setAuthentication(
+				UsernamePasswordAuthenticationToken.authenticated("reporting", null, List.of()));
+		assertThat(quotas.current().client()).isEqualTo("user:reporting");
+		quotas.charge(5000);
+
+		SecurityContextHolder.clearContext();
+		request.addHeader("X-Api-Key", "secret-key");
+		assertThat(quotas.current().client()).startsWith("key:").doesNotContain("secret");
+		assertThatThrownBy(() -> quotas.charge(61)).isInstanceOf(BadRequestException.class);
+	}
+
+	@Test
+	void userNamesSentAsApiKeysGetTheDefaultLimit() {
+		request.addHeader("X-Api-Key", "reporting");
+
+		assertThat(quotas.current().client()).isEqualTo("ip:10.0.0.1");
+		assertThatThrownBy(() -> quotas.charge(1001)).isInstanceOf(BadRequestException.class);
+	}
+
+	@Test
+	void allowanceStopsOnceTheBucketIsDry() {
+		LongPredicate allowance = quotas.current().allowance(300);
+		long granted = 0;
+		while (allowance.test(100)) {
+			granted += 100;
+		}
+
+		assertThat(granted).isEqualTo(1000);
+		assertThat(quotas.current().allowance(1).test(1)).isFalse();
+	}
+
+	@Test
+	void refundsWorkThatFails() {
+		assertThatThrownBy(() -> quotas.charged(1000, () -> {
+			throw new BadRequestException("Unknown profile");
+		})).isInstanceOf(BadRequestException.class);
+
+		assertThat(quotas.charged(1000, () -> "prepared")).isEqualTo("prepared");
+	}
+
+	@Test
+	void unlimitedOutsideOfRequests() {
+		RequestContextHolder.resetRequestAttributes();
+		quotas.charge(1_000_000);
+	}
+
+}
@@ -0,0 +1,122 @@
+package com.tom.service.datagen.relation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tom.service.datagen.engine.GenerationEngine;
+import com.tom.service.datagen.exception.BadRequestException;
+import com.tom.service.datagen.format.Compression;
+import com.tom.service.datagen.format.OutputFormat;
+import com.tom.service.datagen.pool.ValuePools;
+import com.tom.service.datagen.schema.SchemaCompiler;
+import com.tom.service.datagen.schema.SchemaRegistry;
+import com.tom.service.datagen.service.DatasetService;
+import com.tom.service.datagen.service.RelationService;
+import com.tom.service.datagen.service.RelationService.Table;
+
+class RelationServiceTest {
+
+	private static final LocalDate REFERENCE_DATE = LocalDate.of(2024, 1, 2);
+
+	private final SchemaCompiler compiler = new SchemaCompiler();
+	private final SchemaRegistry schemas = new SchemaRegistry(compiler, "classpath*:schemas/*.yml", 1);
+	private final RelationSchema relation = new RelationRegistry(schemas, "classpath*:relations/*.yml")
+			.get("product-domain");
+	private final GenerationEngine engine = new GenerationEngine(4);
+	private final RelationService service;
+
+	RelationServiceTest() {
+		DatasetService datasets = new DatasetService(null, engine, null,
+				new ValuePools(256, 7919L, "", "-", new ObjectMapper()), null, null);
+		ReflectionTestUtils.setField(datasets, "falsePositiveRate", 0.001);
+		ReflectionTestUtils.setField(datasets, "uniquenessBudget", DataSize.ofMegabytes(64));
+		service = new RelationService(schemas, compiler, datasets, engine);
+		ReflectionTestUtils.setField(service, "maxParentRows", 1000L);
+	}
+
+	@AfterEach
+	void tearDown() {
+		engine.shutdown();
+	}
+
+	@Test
+	void foreignKeysReferenceExistingParentKeys() throws IOException {
+		List<Table> plan = service.plan(relation, 200, 42L, REFERENCE_DATE, OutputFormat.CSV, Compression.NONE);
+		Map<String, List<Object[]>> tables = generate(plan);
+		Map<String, Table> byName = new HashMap<>();
+		plan.forEach(table -> byName.put(table.name(), table));
+		Map<String, TableSpec> specs = new HashMap<>();
+		relation.tables().forEach(spec -> specs.put(spec.dataset(), spec));
+
+		assertThat(tables.get("purchase-history")).hasSize(1000);
+		for (TableSpec spec : relation.tables()) {
+			spec.foreignKeys().forEach((field, reference) -> {
+				int key = byName.get(reference.table()).source().indexOf(specs.get(reference.table()).key());
+				int foreignKey = byName.get(spec.dataset()).source().indexOf(field);
+				assertThat(column(tables.get(spec.dataset()), foreignKey))
+						.as("%s.%s", spec.dataset(), field)
+						.isNotEmpty()
+						.isSubsetOf(column(tables.get(reference.table()), key));
+			});
+		}
+	}
+
+	@Test
+	void fixedSeedReproducesTheTables() throws IOException {
+		Map<String, List<Object[]>> first = generate(service.plan(relation, 100, 42L, REFERENCE_DATE,
+				OutputFormat.CSV, Compression.NONE));
+		Map<String, List<Object[]>> second = generate(service.plan(relation, 100, 42L, REFERENCE_DATE,
+				OutputFormat.CSV, Compression.NONE));
+		Map<String, List<Object[]>> other = generate(service.plan(relation, 100, 43L, REFERENCE_DATE,
+				OutputFormat.CSV, Compression.NONE));
+
+		assertThat(second.keySet()).isEqualTo(first.keySet());
+		first.forEach((name, rows) -> assertThat(second.get(name)).as(name).containsExactlyElementsOf(rows));
+		assertThat(Arrays.deepEquals(other.get("purchase-history").toArray(), first.get("purchase-history").toArray()))
+				.isFalse();
+	}
+
+	@Test
+	void rejectsParentTablesOverTheLimit() throws IOException {
+		// 1000 users are referenced, 5000 purchases are not
+		service.plan(relation, 1000, 42L, REFERENCE_DATE, OutputFormat.CSV, Compression.NONE);
+
+		assertThatThrownBy(() -> service.plan(relation, 1001, 42L, REFERENCE_DATE, OutputFormat.CSV,
+				Compression.NONE)).isInstanceOf(BadRequestException.class).hasMessageContaining("user");
+	}
+
+	private static Map<String, List<Object[]>> generate(List<Table> tables) {
+		Map<String, List<Object[]>> rows = new HashMap<>();
+		for (Table table : tables) {
+			List<Object[]> values = new ArrayList<>();
+			for (long row = 0; row < table.job().getQuantity(); row++) {
+				values.add(table.source().generate(table.job(), row));
+			}
+			rows.put(table.name(), values);
+		}
+		return rows;
+	}
+
+	private static Set<Object> column(List<Object[]> rows, int field) {
+		Set<Object> values = new HashSet<>();
+		rows.forEach(row -> values.add(row[field]));
+		return values;
+	}
+
+}
@@ -0,0 +1,147 @@
+package com.tom.service.datagen.schema;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tom.service.datagen.encoder.RowLayout;
+import com.tom.service.datagen.engine.GenerationJob;
+import com.tom.service.datagen.exception.InvalidSchemaException;
+import com.tom.service.datagen.model.Employee;
+import com.tom.service.datagen.pool.EmployeePools;
+import com.tom.service.datagen.pool.ValuePools;
+
+class SchemaCompilerTest {
+
+	private final SchemaCompiler compiler = new SchemaCompiler();
+	private final EmployeePools pools = new ValuePools(256, 7919L, "", "-", new ObjectMapper()).current();
+	private final SchemaRegistry registry = new SchemaRegistry(compiler, "classpath*:schemas/*.yml", 1);
+
+	@Test
+	void builtInEmployeeSchemaMatchesEmployeeColumnsAndConstraints() {
+		SchemaPlan plan = registry.get("employee");
+		GenerationJob job = GenerationJob.of(1000, 0, 42L, pools);
+
+		assertThat(plan.layout().headers()).isEqualTo(RowLayout.of(Employee.class).headers());
+		for (long row = 0; row < 1000; row++) {
+			Object[] values = plan.generate(job, row);
+			assertThat(values).isEqualTo(plan.generate(job, row));
+			assertThat(values[0]).isEqualTo(row + 1);
+			assertThat((String) values[3]).contains("@");
+			LocalDate hired = (LocalDate) values[12];
+			LocalDate terminated = (LocalDate) values[14];
+			assertThat(values[13]).isEqualTo(terminated == null);
+			if (terminated != null) {
+				assertThat(terminated).isEqualTo(hired.plusDays(15));
+			}
+		}
+	}
+
+	@Test
+	void referencesAreGeneratedBeforeTheFieldsReadingThem() {
+		SchemaPlan plan = compiler.compile(SchemaParser.parse("""
+				name: refs
+				fields:
+				  - name: label
+				    type: template
+				    format: "{code}/{price}"
+				  - name: price
+				    type: decimal
+				    min: 1
+				    max: 2
+				  - name: code
+				    type: choice
+				    values: [A, B]
+				    weights: [0, 1]
+				"""), false);
+
+		Object[] values = plan.generate(GenerationJob.of(1, 0, 7L, pools), 0);
+
+		assertThat(values[0]).isEqualTo("B/" + values[1]);
+		assertThat(plan.layout().columns().get(2).isDictionary()).isTrue();
+	}
+
+	@Test
+	void distributedFieldsStayInBoundsAndFollowTheirCorrelation() {
+		SchemaPlan plan = compiler.compile(SchemaParser.parse("""
+				name: payroll
+				fields:
+				  - name: experience
+				    type: integer
+				    min: 0
+				    max: 40
+				    distribution: {type: normal, mean: 12, stdDev: 8}
+				  - name: salary
+				    type: decimal
+				    min: 20000
+				    scale: 0
+				    distribution: {type: lognormal, median: 70000, sigma: 0.5}
+				    correlateWith: experience
+				    correlation: 0.9
+				"""), false);
+		GenerationJob job = GenerationJob.of(20000, 0, 5L, pools);
+
+		int n = 20000;
+		double[] experience = new double[n];
+		double[] salary = new double[n];
+		for (int row = 0; row < n; row++) {
+			Object[] values = plan.generate(job, row);
+			experience[row] = (Integer) values[0];
+			salary[row] = Math.log((Double) values[1]);
+			assertThat(experience[row]).isBetween(0.0, 40.0);
+			assertThat((Double) values[1]).isGreaterThanOrEqualTo(20000);
+		}
+
+		assertThat(pearson(experience, salary)).isBetween(0.8, 0.95);
+		assertThatThrownBy(() -> compiler.compile(SchemaParser.parse("""
+				name: broken
+				fields:
+				  - {name: a, type: integer, min: 1, max: 9}
+				  - {name: b, type: decimal, distribution: {type: normal, mean: 0, stdDev: 1}, correlateWith: a,
+				     correlation: 0.5}
+				"""), false)).isInstanceOf(InvalidSchemaException.class).hasMessageContaining("correlateWith");
+		assertThatThrownBy(() -> compiler.compile(SchemaParser.parse("""
+				name: broken
+				fields:
+				  - {name: a, type: decimal, distribution: {type: normal, mean: 0, sd: 1}}
+				"""), false)).isInstanceOf(InvalidSchemaException.class).hasMessageContaining("stdDev");
+	}
+
+	@Test
+	void rejectsInvalidSchemas() {
+		assertThatThrownBy(() -> compiler.compile(SchemaParser.parse("""
+				name: typo
+				fields:
+				  - {name: age, type: integer, min: 1, max: 9, maximum: 10}
+				"""), false)).isInstanceOf(InvalidSchemaException.class).hasMessageContaining("maximum");
+		assertThatThrownBy(() -> compiler.compile(SchemaParser.parse("""
+				name: cycle
+				fields:
+				  - {name: a, type: derived, from: [b], op: sum}
+				  - {name: b, type: derived, from: [a], op: sum}
+				"""), false)).isInstanceOf(InvalidSchemaException.class).hasMessageContaining("circular");
+		assertThatThrownBy(
+				() -> registry.register(SchemaParser.parse("{name: employee, fields: [{name: id, type: uuid}]}")))
+				.hasMessageContaining("already exists");
+	}
+
+	private static double pearson(double[] x, double[] y) {
+		double meanX = Arrays.stream(x).average().orElseThrow();
+		double meanY = Arrays.stream(y).average().orElseThrow();
+		double xy = 0;
+		double xx = 0;
+		double yy = 0;
+		for (int i = 0; i < x.length; i++) {
+			xy += (x[i] - meanX) * (y[i] - meanY);
+			xx += (x[i] - meanX) * (x[i] - meanX);
+			yy += (y[i] - meanY) * (y[i] - meanY);
+		}
+		return xy / Math.sqrt(xx * yy);
+	}
+
+}
@@ -0,0 +1,52 @@
+package com.tom.service.datagen.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import com.tom.service.datagen.exception.BadRequestException;
+
+class TokenServiceTest {
+
+	private static final String SECRET = "0123456789abcdef0123456789abcdef";
+
+	private final Authentication admin = UsernamePasswordAuthenticationToken.authenticated("admin", null,
+			List.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
+
+	@Test
+	void verifiesTokensItIssued() {
+		TokenService tokens = new TokenService(SECRET, Duration.ofMinutes(5));
+		String token = tokens.issue(admin).accessToken();
+
+		Authentication authentication = tokens.verify(token);
+		assertThat(authentication.getName()).isEqualTo("admin");
+		assertThat(authentication.getAuthorities()).extracting(Object::toString).containsExactly("ROLE_ADMIN");
+		// Another node with the same secret accepts it too
+		assertThat(new TokenService(SECRET, Duration.ofMinutes(5)).verify(token).getName()).isEqualTo("admin");
+		assertThatThrownBy(() -> tokens.issue(authentication)).isInstanceOf(BadRequestException.class);
+	}
+
+	@Test
+	void rejectsForgedAndExpiredTokens() {
+		TokenService tokens = new TokenService(SECRET, Duration.ofMinutes(5));
+		String token = tokens.issue(admin).accessToken();
+		String[] parts = token.split("\\.");
+
+		String forged = parts[0] + "." + parts[1] + "x." + parts[2];
+		assertThatThrownBy(() -> tokens.verify(forged)).isInstanceOf(BadCredentialsException.class);
+		assertThatThrownBy(() -> new TokenService("", Duration.ofMinutes(5)).verify(token))
+				.isInstanceOf(BadCredentialsException.class);
+		TokenService expiring = new TokenService(SECRET, Duration.ZERO);
+		assertThatThrownBy(() -> expiring.verify(expiring.issue(admin).accessToken()))
+				.hasMessage("Token expired");
+	}
+
+}
@@ -0,0 +1,145 @@
+package com.tom.service.datagen.sink;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tom.service.datagen.common.GenerateData;
+import com.tom.service.datagen.dto.PublishResponse;
+import com.tom.service.datagen.engine.GenerationEngine;
+import com.tom.service.datagen.engine.GenerationJob;
+import com.tom.service.datagen.exception.BadRequestException;
+import com.tom.service.datagen.format.Compression;
+import com.tom.service.datagen.format.OutputFormat;
+import com.tom.service.datagen.metrics.GenerationMetrics;
+import com.tom.service.datagen.model.Employee;
+import com.tom.service.datagen.pool.EmployeePools;
+import com.tom.service.datagen.pool.ValuePools;
+import com.tom.service.datagen.service.PublishService;
+import com.tom.service.datagen.unique.UniquenessMode;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PublishServiceTest {
+
+	private final ObjectMapper mapper = new ObjectMapper();
+	private final GenerateData data = new GenerateData();
+	private final EmployeePools pools = new ValuePools(256, 7919L, "", "-", mapper).current();
+	private final GenerationEngine engine = new GenerationEngine(4);
+	private final MockProducer<byte[], byte[]> producer = new MockProducer<>(true, new ByteArraySerializer(),
+			new ByteArraySerializer());
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	private final PublishService service = new PublishService(engine, new KafkaProducers("mock:9092",
+			DataSize.ofMegabytes(1), 1000) {
+		@Override
+		public Producer<byte[], byte[]> open(KafkaSettings settings) {
+			return producer;
+		}
+	}, registry, new GenerationMetrics(registry));
+	private final GenerationJob job = GenerationJob.of(5_000, 0, 42L, null, UniquenessMode.CONSTRUCTIVE, 0.001,
+			OutputFormat.CSV, Compression.NONE, pools);
+
+	PublishServiceTest() {
+		ReflectionTestUtils.setField(service, "batchSize", 700);
+		ReflectionTestUtils.setField(service, "maxPendingBatches", 2);
+		ReflectionTestUtils.setField(service, "metricTopics", Set.of());
+	}
+
+	@AfterEach
+	void tearDown() {
+		engine.shutdown();
+	}
+
+	@Test
+	void publishesEveryRowAsJsonKeyedByRowNumber() throws Exception {
+		PublishResponse response = service.publish(job, data,
+				new KafkaSettings("employees", RecordFormat.JSON, 5, 65536, 5, "all", "none"));
+
+		List<ProducerRecord<byte[], byte[]>> sent = producer.history();
+		assertThat(sent).hasSize(5_000);
+		assertThat(response.records()).isEqualTo(5_000);
+		assertThat(registry.counter("datagen.publish.records", "dataset", "employees", "topic", "employees",
+				"format", "JSON").count()).isEqualTo(5_000);
+		assertThat(registry.counter("datagen.rows", "dataset", "employees", "format", "JSON").count())
+				.isEqualTo(5_000);
+		assertThat(registry.timer("datagen.stage", "dataset", "employees", "format", "JSON", "stage", "encode")
+				.count()).isEqualTo(8);
+
+		ProducerRecord<byte[], byte[]> record = sent.get(1234);
+		Employee expected = data.generateSingleEmployee(job, 1234);
+		JsonNode value = mapper.readTree(record.value());
+		assertThat(new String(record.key(), StandardCharsets.US_ASCII)).isEqualTo("1234");
+		assertThat(value.get("id").asLong()).isEqualTo(expected.getId());
+		assertThat(value.get("email").asText()).isEqualTo(expected.getEmail());
+		assertThat(value.get("gender").asText()).isEqualTo(expected.getGender().name());
+		assertThat(value.get("hireDate").asText()).isEqualTo(expected.getHireDate().toString());
+	}
+
+	@Test
+	void avroValuesFollowTheReturnedSchema() throws Exception {
+		PublishResponse response = service.publish(job, data,
+				new KafkaSettings("employees", RecordFormat.AVRO, 0, 16384, 1, "1", "none"));
+
+		JsonNode schema = mapper.readTree(response.schema());
+		assertThat(schema.get("name").asText()).isEqualTo("Employees");
+		assertThat(schema.get("fields").get(0).get("type").get(1).asText()).isEqualTo("long");
+
+		Employee expected = data.generateSingleEmployee(job, 7);
+		ByteBuffer value = ByteBuffer.wrap(producer.history().get(7).value());
+		assertThat(value.get()).isEqualTo((byte) 2);
+		assertThat(readLong(value)).isEqualTo(expected.getId());
+		assertThat(value.get()).isEqualTo((byte) 2);
+		byte[] firstName = new byte[(int) readLong(value)];
+		value.get(firstName);
+		assertThat(new String(firstName, StandardCharsets.UTF_8)).isEqualTo(expected.getFirstName());
+	}
+
+	@Test
+	void foldsUnknownTopicsIntoOneTag() throws Exception {
+		service.publish(job, data, new KafkaSettings("scratch-1", RecordFormat.JSON, 5, 65536, 5, "all", "none"));
+
+		assertThat(registry.find("datagen.publish.records").tag("topic", "scratch-1").counter()).isNull();
+		assertThat(registry.counter("datagen.publish.records", "dataset", "employees", "topic", "other",
+				"format", "JSON").count()).isEqualTo(5_000);
+	}
+
+	@Test
+	void producersThatFailToOpenAreNotCountedAsActive() {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		PublishService unconfigured = new PublishService(engine, new KafkaProducers("", DataSize.ofMegabytes(1), 1000),
+				registry, new GenerationMetrics(registry));
+
+		assertThatThrownBy(() -> unconfigured.publish(job, data,
+				new KafkaSettings("employees", RecordFormat.JSON, 5, 65536, 5, "all", "none")))
+				.isInstanceOf(BadRequestException.class);
+		assertThat(registry.get("datagen.publish.active").gauge().value()).isZero();
+	}
+
+	private static long readLong(ByteBuffer buffer) {
+		long n = 0;
+		int shift = 0;
+		byte b;
+		do {
+			b = buffer.get();
+			n |= (long) (b & 0x7F) << shift;
+			shift += 7;
+		} while ((b & 0x80) != 0);
+		return (n >>> 1) ^ -(n & 1);
+	}
+
+}
@@ -0,0 +1,96 @@
+package com.tom.service.datagen.sink;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tom.service.datagen.common.GenerateData;
+import com.tom.service.datagen.dto.LoadResponse;
+import com.tom.service.datagen.engine.GenerationEngine;
+import com.tom.service.datagen.engine.GenerationJob;
+import com.tom.service.datagen.exception.BadRequestException;
+import com.tom.service.datagen.format.Compression;
+import com.tom.service.datagen.format.OutputFormat;
+import com.tom.service.datagen.metrics.GenerationMetrics;
+import com.tom.service.datagen.model.Employee;
+import com.tom.service.datagen.pool.EmployeePools;
+import com.tom.service.datagen.pool.ValuePools;
+import com.tom.service.datagen.service.SinkService;
+import com.tom.service.datagen.unique.UniquenessMode;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class SinkServiceTest {
+
+	private static final String URL = "jdbc:h2:mem:sink;DB_CLOSE_DELAY=-1";
+
+	private final GenerateData data = new GenerateData();
+	private final EmployeePools pools = new ValuePools(256, 7919L, "", "-", new ObjectMapper()).current();
+	private final GenerationEngine engine = new GenerationEngine(4);
+	private final SinkService service = new SinkService(engine, new SinkConnections(URL, "sa", ""),
+			new GenerationMetrics(new SimpleMeterRegistry()));
+
+	SinkServiceTest() {
+		ReflectionTestUtils.setField(service, "batchSize", 1000);
+		ReflectionTestUtils.setField(service, "defaultWriters", 3);
+	}
+
+	@AfterEach
+	void tearDown() throws SQLException {
+		engine.shutdown();
+		try (Connection connection = DriverManager.getConnection(URL, "sa", "");
+				Statement statement = connection.createStatement()) {
+			statement.execute("DROP ALL OBJECTS");
+		}
+	}
+
+	@Test
+	void batchModeLoadsEveryGeneratedRow() throws Exception {
+		GenerationJob job = GenerationJob.of(25_000, 0, 42L, null, UniquenessMode.CONSTRUCTIVE, 0.001,
+				OutputFormat.CSV, Compression.NONE, pools);
+
+		LoadResponse response = service.load(job, data, "employees", SinkMode.BATCH, true, null);
+
+		assertThat(response.rows()).isEqualTo(25_000);
+		Employee expected = data.generateSingleEmployee(job, 12_345);
+		try (Connection connection = DriverManager.getConnection(URL, "sa", "");
+				Statement statement = connection.createStatement()) {
+			ResultSet count = statement.executeQuery("SELECT COUNT(*), COUNT(DISTINCT id) FROM employees");
+			count.next();
+			assertThat(count.getLong(1)).isEqualTo(25_000);
+			assertThat(count.getLong(2)).isEqualTo(25_000);
+
+			ResultSet row = statement.executeQuery(
+					"SELECT email, salary, gender, hire_date, termination_date FROM employees WHERE id = "
+							+ expected.getId());
+			row.next();
+			assertThat(row.getString(1)).isEqualTo(expected.getEmail());
+			assertThat(row.getDouble(2)).isEqualTo(expected.getSalary());
+			assertThat(row.getString(3)).isEqualTo(expected.getGender().name());
+			assertThat(row.getObject(4, LocalDate.class)).isEqualTo(expected.getHireDate());
+			assertThat(row.getObject(5, LocalDate.class)).isEqualTo(expected.getTerminationDate());
+		}
+	}
+
+	@Test
+	void rejectsCopyOutsidePostgresAndInvalidTables() {
+		GenerationJob job = GenerationJob.of(10, 0, 1L, pools);
+
+		assertThatThrownBy(() -> service.load(job, data, "employees", SinkMode.COPY, true, null))
+				.isInstanceOf(BadRequestException.class).hasMessageContaining("PostgreSQL");
+		assertThatThrownBy(() -> service.load(job, data, "employees; DROP TABLE x", SinkMode.BATCH, true, null))
+				.isInstanceOf(BadRequestException.class).hasMessageContaining("Invalid table name");
+	}
+
+}
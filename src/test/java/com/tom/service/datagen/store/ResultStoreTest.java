@@ -0,0 +1,66 @@
+package com.tom.service.datagen.store;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import com.tom.service.datagen.format.Compression;
+import com.tom.service.datagen.format.OutputFormat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ResultStoreTest {
+
+	@TempDir
+	Path directory;
+
+	private ResultStore store(long diskBudget) {
+		return new ResultStore(directory, DataSize.ofKilobytes(64), DataSize.ofBytes(diskBudget),
+				DataSize.ofKilobytes(1), Duration.ofMinutes(1), new SimpleMeterRegistry());
+	}
+
+	@Test
+	void failsWhileSpillingPastTheDiskBudget() throws IOException {
+		ResultStore store = store(8 * 1024);
+		byte[] block = new byte[1024];
+
+		try (ResultWriter writer = store.open(OutputFormat.CSV, Compression.NONE)) {
+			for (int i = 0; i < 8; i++) {
+				writer.write(block);
+			}
+			assertThatThrownBy(() -> writer.write(block)).isInstanceOf(IOException.class)
+					.hasMessageContaining("disk budget");
+			assertThat(writer.size()).isEqualTo(8 * 1024);
+		}
+
+		assertThat(store.size()).isZero();
+		assertThat(store.diskBytes()).isZero();
+		try (var files = Files.list(directory)) {
+			assertThat(files).isEmpty();
+		}
+		// Nothing stays reserved by the aborted result
+		assertThat(store.put(new byte[8 * 1024], OutputFormat.CSV, Compression.NONE).isOnDisk()).isTrue();
+	}
+
+	@Test
+	void evictsOlderResultsToMakeRoom() throws IOException {
+		ResultStore store = store(8 * 1024);
+		StoredResult older = store.put(new byte[5 * 1024], OutputFormat.CSV, Compression.NONE);
+
+		StoredResult newer = store.put(new byte[5 * 1024], OutputFormat.CSV, Compression.NONE);
+
+		assertThat(store.get(older.getId())).isEmpty();
+		assertThat(store.get(newer.getId())).contains(newer);
+		assertThat(store.diskBytes()).isEqualTo(5 * 1024);
+		assertThat(Files.exists(older.getFile())).isFalse();
+	}
+
+}
@@ -0,0 +1,62 @@
+package com.tom.service.datagen.timeseries;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.tom.service.datagen.encoder.RowBuffer;
+
+class MarketSimulatorTest {
+
+	private static final Instant START = Instant.parse("2024-01-02T14:30:00Z");
+
+	@Test
+	void barsAreConsistentAndInTimestampOrder() {
+		for (MarketProcess process : MarketProcess.values()) {
+			MarketFeed feed = new MarketFeed(List.of("AAPL", "KO", "V"), Duration.ofMinutes(1), START, process, 0.05,
+					0.4, 8, 42L);
+			String[] lines = write(new MarketSimulator(feed), 3000).split("\n");
+
+			assertThat(write(new MarketSimulator(feed), 3000)).isEqualTo(String.join("\n", lines) + "\n");
+			double[] lastClose = new double[3];
+			for (int i = 0; i < lines.length; i++) {
+				String[] bar = lines[i].split(",");
+				double open = Double.parseDouble(bar[2]);
+				double high = Double.parseDouble(bar[3]);
+				double low = Double.parseDouble(bar[4]);
+				double close = Double.parseDouble(bar[5]);
+
+				assertThat(bar[0]).isEqualTo(feed.symbols().get(i % 3));
+				assertThat(Instant.parse(bar[1])).isEqualTo(START.plus(Duration.ofMinutes(i / 3)));
+				assertThat(high).isGreaterThanOrEqualTo(Math.max(open, close));
+				assertThat(low).isLessThanOrEqualTo(Math.min(open, close)).isPositive();
+				assertThat(Long.parseLong(bar[6])).isPositive();
+				if (i >= 3) {
+					assertThat(open).isEqualTo(lastClose[i % 3]);
+				}
+				lastClose[i % 3] = close;
+			}
+		}
+	}
+
+	@Test
+	void writesDecimalsWithFixedScale() {
+		RowBuffer buffer = new RowBuffer();
+		buffer.writeDecimal(12.5, 2).write((byte) ' ').writeDecimal(-0.004, 2).write((byte) ' ')
+				.writeDecimal(0.996, 2).write((byte) ' ').writeDecimal(7.25, 0);
+
+		assertThat(new String(buffer.toByteArray(), StandardCharsets.UTF_8)).isEqualTo("12.50 0.00 1.00 7");
+	}
+
+	private static String write(MarketSimulator simulator, int bars) {
+		RowBuffer buffer = new RowBuffer();
+		simulator.writeBars(buffer, BarFormat.CSV, bars);
+		return new String(buffer.toByteArray(), StandardCharsets.UTF_8);
+	}
+
+}
@@ -0,0 +1,30 @@
+package com.tom.service.datagen.unique;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class UniquenessTrackersTest {
+
+	@Test
+	void footprintMatchesTheTablesAndRejectsWhatCannotFit() {
+		// 1.5 million slots round up to 2^21 longs per tracker
+		assertThat(UniquenessTrackers.footprint(UniquenessMode.EXACT, 1_000_000, 0.001)).isEqualTo(2L << 24);
+		assertThat(UniquenessTrackers.footprint(UniquenessMode.EXACT, 1L << 30, 0.001)).isEqualTo(Long.MAX_VALUE);
+		assertThat(UniquenessTrackers.footprint(UniquenessMode.APPROXIMATE, 1_000_000, 0.001))
+				.isBetween(3_000_000L, 4_000_000L);
+		assertThat(UniquenessTrackers.footprint(UniquenessMode.CONSTRUCTIVE, Long.MAX_VALUE, 0.001)).isZero();
+	}
+
+	@Test
+	void allocatesOnFirstUseAndAgainAfterRelease() {
+		UniquenessTrackers trackers = new UniquenessTrackers(UniquenessMode.EXACT, 1000, 0.001);
+		UniquenessTracker emails = trackers.emails();
+		assertThat(emails.add("a@example.com")).isTrue();
+		assertThat(trackers.emails()).isSameAs(emails);
+
+		trackers.release();
+		assertThat(trackers.emails()).isNotSameAs(emails);
+	}
+
+}